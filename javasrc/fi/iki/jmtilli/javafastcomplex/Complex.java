@@ -600,6 +600,72 @@ public class Complex implements ComplexNumber, Serializable {
   {
     return ComplexUtils.tanh(this);
   }
+  /**
+     Calculate the principal branch of the log-gamma function of this
+     complex number.
+    
+     @return The log-gamma function of this complex number
+   */
+  public Complex lgamma()
+  {
+    return ComplexUtils.lgamma(this);
+  }
+  /**
+     Calculate the gamma function of this complex number.
+    
+     @return The gamma function of this complex number
+   */
+  public Complex gamma()
+  {
+    return ComplexUtils.gamma(this);
+  }
+  /**
+     Calculate the digamma function of this complex number.
+    
+     @return The digamma function of this complex number
+   */
+  public Complex digamma()
+  {
+    return ComplexUtils.digamma(this);
+  }
+  /**
+     Calculate the Faddeeva function w(z) = exp(-z^2)*erfc(-iz) of this
+     complex number.
+    
+     @return The Faddeeva function of this complex number
+   */
+  public Complex faddeeva()
+  {
+    return ComplexUtils.faddeeva(this);
+  }
+  /**
+     Calculate the error function of this complex number.
+    
+     @return The error function of this complex number
+   */
+  public Complex erf()
+  {
+    return ComplexUtils.erf(this);
+  }
+  /**
+     Calculate the complementary error function of this complex number.
+    
+     @return The complementary error function of this complex number
+   */
+  public Complex erfc()
+  {
+    return ComplexUtils.erfc(this);
+  }
+  /**
+     Calculate the scaled complementary error function exp(z^2)*erfc(z) of
+     this complex number.
+    
+     @return The scaled complementary error function of this complex number
+   */
+  public Complex erfcx()
+  {
+    return ComplexUtils.erfcx(this);
+  }
   /**
      Raise this complex number to a complex power
 
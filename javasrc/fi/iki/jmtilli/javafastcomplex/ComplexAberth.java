@@ -0,0 +1,416 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   A polynomial root finder using the Aberth-Ehrlich iteration, which
+   refines approximations of all roots simultaneously.
+
+   Each iteration replaces every approximation z_i by
+
+     z_i - N_i/(1 - N_i*sum_{j!=i} 1/(z_i - z_j)), N_i = p(z_i)/p'(z_i)
+
+   which converges cubically to simple roots. The corrections of an
+   iteration are all calculated from the approximations of the previous
+   iteration, so they can be calculated in parallel in a ForkJoinPool and
+   the results do not depend on the parallelism. The initial
+   approximations are placed on circles having the radii given by the
+   Newton polygon of the coefficient magnitudes, as in MPSolve, so that
+   polynomials with coefficients of very different magnitudes converge
+   quickly.
+
+   An approximation is converged when the value of the polynomial is
+   within the bound of its rounding errors, and converged approximations
+   are no longer corrected. For |z| &gt; 1, the polynomial is evaluated as
+   z^n*q(1/z), where q has the coefficients in reversed order, to avoid
+   overflow. The quotients are calculated with Smith's method, so no
+   squared magnitudes underflow or overflow either.
+
+   A root finder can be used by multiple threads at the same time.
+ */
+public class ComplexAberth {
+  /**
+     The approximate number of roots corrected by one task.
+   */
+  private static final int TASK_ROOTS = 64;
+  /**
+     The maximum number of iterations.
+   */
+  private final int maxIterations;
+  /**
+     The pool running the tasks, or null.
+   */
+  private final ForkJoinPool pool;
+
+  /**
+     Create a sequential root finder
+
+     @param maxIterations The maximum number of iterations
+   */
+  public ComplexAberth(int maxIterations)
+  {
+    this(maxIterations, null);
+  }
+  /**
+     Create a root finder
+
+     @param maxIterations The maximum number of iterations
+     @param pool The pool running the tasks, or null to calculate the
+                 corrections sequentially
+   */
+  public ComplexAberth(int maxIterations, ForkJoinPool pool)
+  {
+    if (maxIterations < 0)
+    {
+      throw new IllegalArgumentException(
+          "invalid maximum number of iterations: " + maxIterations);
+    }
+    this.maxIterations = maxIterations;
+    this.pool = pool;
+  }
+
+  /**
+     Find all roots of a polynomial
+
+     @param p The polynomial, the leading coefficient of which must be
+              nonzero
+     @param roots The complex buffer array for the roots, the size of which
+                  must be the degree of the polynomial
+     @return The number of iterations if all roots converged, or -1 if the
+             maximum number of iterations was reached
+   */
+  public int solve(ComplexPolynomial p, ComplexBufferArray roots)
+  {
+    final int n = p.degree();
+    if (roots.size() != n)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + n + ", " + roots.size());
+    }
+    if (n > 0 && p.getCoefficientReal(n) == 0.0 &&
+        p.getCoefficientImag(n) == 0.0)
+    {
+      throw new IllegalArgumentException("leading coefficient is zero");
+    }
+    final Solve s = new Solve(p, roots);
+    int remaining = s.initialize();
+    int iter = 0;
+    while (remaining > 0)
+    {
+      if (iter >= maxIterations)
+      {
+        return -1;
+      }
+      if (pool == null || remaining <= TASK_ROOTS)
+      {
+        s.correct(0, n);
+      }
+      else
+      {
+        pool.invoke(new Task(s, 0, n));
+      }
+      remaining = s.update();
+      iter++;
+    }
+    return iter;
+  }
+
+  /**
+     The state of one root finding.
+   */
+  private static final class Solve {
+    private final int n;
+    private final double[] c_re, c_im, c_abs, r_re, r_im, r_abs;
+    private final double[] z_re, z_im, d_re, d_im;
+    private final boolean[] converged, correct;
+    private final double eps;
+
+    Solve(ComplexPolynomial p, ComplexBufferArray roots)
+    {
+      n = p.degree();
+      c_re = new double[n + 1];
+      c_im = new double[n + 1];
+      c_abs = new double[n + 1];
+      r_re = new double[n + 1];
+      r_im = new double[n + 1];
+      r_abs = new double[n + 1];
+      for (int k = 0; k <= n; k++)
+      {
+        c_re[k] = p.getCoefficientReal(k);
+        c_im[k] = p.getCoefficientImag(k);
+        c_abs[k] = ComplexUtils.abs(c_re[k], c_im[k]);
+        r_re[n - k] = c_re[k];
+        r_im[n - k] = c_im[k];
+        r_abs[n - k] = c_abs[k];
+      }
+      z_re = roots.getRealArray();
+      z_im = roots.getImagArray();
+      d_re = new double[n];
+      d_im = new double[n];
+      converged = new boolean[n];
+      correct = new boolean[n];
+      eps = 2.0*(n + 1)*Math.ulp(1.0);
+    }
+
+    /**
+       Place the initial approximations on the circles of the Newton
+       polygon, the upper convex hull of the points (k, log|c_k|).
+
+       @return The number of unconverged approximations
+     */
+    int initialize()
+    {
+      // roots at the origin are exact
+      int m0 = 0;
+      while (m0 < n && c_abs[m0] == 0.0)
+      {
+        z_re[m0] = 0.0;
+        z_im[m0] = 0.0;
+        converged[m0] = true;
+        m0++;
+      }
+      final int[] hull = new int[n + 1];
+      final double[] a = new double[n + 1];
+      int h = 0;
+      for (int k = m0; k <= n; k++)
+      {
+        if (c_abs[k] == 0.0)
+        {
+          continue;
+        }
+        a[k] = Math.log(c_abs[k]);
+        while (h >= 2)
+        {
+          final int k1 = hull[h - 2], k2 = hull[h - 1];
+          // pop k2 unless it is strictly above the line from k1 to k
+          if ((a[k2] - a[k1])*(k - k1) > (a[k] - a[k1])*(k2 - k1))
+          {
+            break;
+          }
+          h--;
+        }
+        hull[h++] = k;
+      }
+      int pos = m0;
+      for (int v = 0; v + 1 < h; v++)
+      {
+        final int k1 = hull[v], k2 = hull[v + 1], count = k2 - k1;
+        final double u = Math.exp((a[k1] - a[k2])/count);
+        for (int j = 0; j < count; j++)
+        {
+          final double angle =
+              2.0*Math.PI*j/count + 2.0*Math.PI*k1/n + 0.4;
+          z_re[pos] = u*Math.cos(angle);
+          z_im[pos] = u*Math.sin(angle);
+          pos++;
+        }
+      }
+      return n - m0;
+    }
+
+    /**
+       Calculate the corrections of the unconverged approximations in a
+       range, marking approximations converged if the polynomial vanishes
+       within its rounding errors.
+
+       @param lo The first root, inclusive
+       @param hi The last root, exclusive
+     */
+    void correct(int lo, int hi)
+    {
+      for (int i = lo; i < hi; i++)
+      {
+        correct[i] = false;
+        if (converged[i])
+        {
+          continue;
+        }
+        final double x = z_re[i], y = z_im[i];
+        final double mod = ComplexUtils.abs(x, y);
+        final boolean reversed = mod > 1.0;
+        final double[] a_re = reversed ? r_re : c_re;
+        final double[] a_im = reversed ? r_im : c_im;
+        final double[] a_abs = reversed ? r_abs : c_abs;
+        // evaluate at w = z or w = 1/z, dividing with Smith's method so
+        // that no squared magnitudes underflow or overflow
+        double w_re = x, w_im = y, wmod = mod;
+        if (reversed)
+        {
+          if (Math.abs(x) >= Math.abs(y))
+          {
+            final double r = y/x, den = x + y*r;
+            w_re = 1.0/den;
+            w_im = -r/den;
+          }
+          else
+          {
+            final double r = x/y, den = y + x*r;
+            w_re = r/den;
+            w_im = -1.0/den;
+          }
+          wmod = 1.0/mod;
+        }
+        double p_re = a_re[n], p_im = a_im[n], dp_re = 0.0, dp_im = 0.0;
+        double bound = a_abs[n];
+        for (int k = n - 1; k >= 0; k--)
+        {
+          final double s = dp_re*w_re - dp_im*w_im + p_re;
+          dp_im = dp_re*w_im + dp_im*w_re + p_im;
+          dp_re = s;
+          final double t = p_re*w_re - p_im*w_im + a_re[k];
+          p_im = p_re*w_im + p_im*w_re + a_im[k];
+          p_re = t;
+          bound = bound*wmod + a_abs[k];
+        }
+        final double pmod = ComplexUtils.abs(p_re, p_im);
+        if (pmod <= eps*bound)
+        {
+          converged[i] = true;
+          continue;
+        }
+        // g = p'(w)/p(w)
+        double g_re, g_im;
+        if (Math.abs(p_re) >= Math.abs(p_im))
+        {
+          final double r = p_im/p_re, den = p_re + p_im*r;
+          g_re = (dp_re + dp_im*r)/den;
+          g_im = (dp_im - dp_re*r)/den;
+        }
+        else
+        {
+          final double r = p_re/p_im, den = p_im + p_re*r;
+          g_re = (dp_re*r + dp_im)/den;
+          g_im = (dp_im*r - dp_re)/den;
+        }
+        // f = p'(z)/p(z)
+        double f_re = g_re, f_im = g_im;
+        if (reversed)
+        {
+          // p'(z)/p(z) = (n - w*q'(w)/q(w))/z = (n - w*q'/q)*w
+          final double h_re = n - (w_re*g_re - w_im*g_im);
+          final double h_im = -(w_re*g_im + w_im*g_re);
+          f_re = h_re*w_re - h_im*w_im;
+          f_im = h_re*w_im + h_im*w_re;
+        }
+        for (int j = 0; j < n; j++)
+        {
+          final double u_re = x - z_re[j], u_im = y - z_im[j];
+          if (Math.abs(u_re) >= Math.abs(u_im))
+          {
+            if (u_re != 0.0)
+            {
+              final double r = u_im/u_re, den = u_re + u_im*r;
+              f_re -= 1.0/den;
+              f_im += r/den;
+            }
+          }
+          else
+          {
+            final double r = u_re/u_im, den = u_im + u_re*r;
+            f_re -= r/den;
+            f_im += 1.0/den;
+          }
+        }
+        // the correction 1/(p'/p - sum 1/(z_i - z_j))
+        if ((f_re == 0.0 && f_im == 0.0) ||
+            Double.isNaN(f_re) || Double.isNaN(f_im))
+        {
+          continue;
+        }
+        if (Math.abs(f_re) >= Math.abs(f_im))
+        {
+          final double r = f_im/f_re, den = f_re + f_im*r;
+          d_re[i] = 1.0/den;
+          d_im[i] = -r/den;
+        }
+        else
+        {
+          final double r = f_re/f_im, den = f_im + f_re*r;
+          d_re[i] = r/den;
+          d_im[i] = -1.0/den;
+        }
+        correct[i] = true;
+      }
+    }
+
+    /**
+       Apply the corrections.
+
+       @return The number of unconverged approximations
+     */
+    int update()
+    {
+      int remaining = 0;
+      for (int i = 0; i < n; i++)
+      {
+        if (!correct[i])
+        {
+          if (!converged[i])
+          {
+            remaining++;
+          }
+          continue;
+        }
+        z_re[i] -= d_re[i];
+        z_im[i] -= d_im[i];
+        final double dmod = ComplexUtils.abs(d_re[i], d_im[i]);
+        if (dmod <= Math.ulp(1.0)*ComplexUtils.abs(z_re[i], z_im[i]))
+        {
+          converged[i] = true;
+        }
+        else
+        {
+          remaining++;
+        }
+      }
+      return remaining;
+    }
+  }
+
+  private static final class Task extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final Solve solve;
+    private final int lo, hi;
+
+    Task(Solve solve, int lo, int hi)
+    {
+      this.solve = solve;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute()
+    {
+      if (hi - lo > TASK_ROOTS)
+      {
+        final int mid = (lo + hi) >>> 1;
+        invokeAll(new Task(solve, lo, mid), new Task(solve, mid, hi));
+        return;
+      }
+      solve.correct(lo, hi);
+    }
+  }
+};
@@ -0,0 +1,1668 @@
+package fi.iki.jmtilli.javafastcomplex;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+
+/**
+   Bessel, Hankel and modified Bessel functions of integer and real order,
+   and spherical Bessel and Hankel functions and Bessel and Hankel
+   functions of half-integer order, for a complex argument.
+
+   Every function fills a complex buffer array with the values of all
+   orders 0, 1, ..., size - 1, or nu, nu + 1, ..., nu + size - 1 for a
+   real order nu &ge; 0, for one argument. The orders are calculated
+   together with recurrence relations, so the whole sequence costs about as
+   much as a single order.
+
+   J_n(z) is calculated with Miller's backward recurrence, starting at an
+   order chosen like in Zhang and Jin, Computation of Special Functions
+   (1996). Orders where J_n(z) is less than about 1e-200 times J_0(z) are
+   set to zero. The sequence is normalized with exp(-iz) = J_0(z) +
+   2*sum (-i)^n J_n(z) in the upper half plane, and with its conjugate in
+   the lower half plane, which does not cancel for large |Im z|.
+
+   The Hankel function that decays in the half plane of z, H^(1) in the
+   upper and H^(2) in the lower half plane, grows with the order and is
+   calculated with the forward recurrence. Its orders 0 and 1 are
+   calculated from J and the Neumann series of Y where |z| &lt; 18 and
+   |Im z| &le; 2, with Steed's continued fraction for K_0 and K_1 where
+   |z| &lt; 18 and |Im z| &gt; 2, and with the Hankel asymptotic expansion
+   where |z| &ge; 18. The other Hankel function and Y are then calculated
+   order by order from J, since their forward recurrence loses accuracy
+   for large |Im z|.
+
+   The modified Bessel functions are I_n(z) = (-i)^n*J_n(iz) and
+   K_n(z) = (pi/2)*i^(n+1)*H^(1)_n(iz) for Re z &ge; 0, continued
+   analytically to Re z &lt; 0 with I_n.
+
+   The spherical functions j_n, y_n, h^(1)_n and h^(2)_n use the same
+   scheme with the recurrence f_{n-1} + f_{n+1} = ((2n + 1)/z)*f_n. The
+   backward recurrence of j_n is normalized with the larger of the
+   elementary j_0(z) = sin(z)/z and j_1(z) = sin(z)/z^2 - cos(z)/z, so
+   that a zero of one of them does not matter, and the forward recurrence
+   of the decaying spherical Hankel function starts from the elementary
+   h^(1)_0(z) = -i*exp(iz)/z and h^(1)_1(z) = (h^(1)_0(z) - exp(iz))/z.
+   The functions of half-integer order n + 1/2 are sqrt(2z/pi) times the
+   spherical functions of order n.
+
+   The real orders nu + n are calculated from the order mu = nu - l,
+   where l is the integer nearest to nu. J is calculated with Miller's
+   backward recurrence down to the order mu, and normalized with the
+   Wronskian of J and the decaying Hankel function, which does not cancel.
+   The orders mu and mu + 1 of the decaying Hankel function come from
+   Temme's series for K_mu(-iz) and K_{mu+1}(-iz) where |z| &lt; 2, from
+   Steed's continued fraction where |z| &lt; 18, and from the Hankel
+   asymptotic expansion where |z| &ge; 18. I and K are calculated from J
+   and the Hankel functions of iz or -iz.
+
+   Y, H^(1), H^(2), K, J and I of non-integer order, and the functions of
+   half-integer order have a branch cut on the negative real axis, and
+   take the values from above it for the imaginary part +0.0 and from
+   below it for -0.0; the spherical functions have none. The argument
+   zero gives NaN for them, and NaN arguments give NaN for all functions.
+ */
+public final class ComplexBessel {
+  private static final double EULER = 0.57721566490153286061;
+  /**
+     The radius above which the Hankel asymptotic expansion is used
+   */
+  private static final double ASYMPTOTIC_RADIUS = 18.0;
+  /**
+     The imaginary part up to which the Neumann series are used
+   */
+  private static final double NEUMANN_IMAG = 2.0;
+  /**
+     The maximum number of iterations of the continued fraction
+   */
+  private static final int STEED_ITERATIONS = 1000;
+  /**
+     The radius below which Temme's series is used for real orders
+   */
+  private static final double TEMME_RADIUS = 2.0;
+  /**
+     The coefficients c_k of 1/Gamma(z) = sum c_k*z^k for the odd k,
+     highest first.
+   */
+  private static final double[] RGAMMA_ODD = {
+    1.2267786282e-15, -2.05832605357e-14, -3.6968056186423e-12,
+    1.043426711691101e-10, 5.0020076444692229e-9, -2.056338416977607103e-7,
+    -1.2504934821426706573e-6, 1.2805028238811618615e-4,
+    -1.1651675918590651121e-3, -9.6219715278769735621e-3,
+    1.6653861138229148950e-1, -6.5587807152025388107e-1, 1.0};
+  /**
+     The coefficients c_k of 1/Gamma(z) = sum c_k*z^k for the even k,
+     highest first.
+   */
+  private static final double[] RGAMMA_EVEN = {
+    -1.181259301e-16, -5.3481225394e-15, 5.100370287455e-13,
+    7.7822634399051e-12, -1.1812745704870201e-9, 6.1160951044814158e-9,
+    1.1330272319816958824e-6, -2.0134854780788238655e-5,
+    -2.1524167411495097281e-4, 7.2189432466630995423e-3,
+    -4.2197734555544336748e-2, -4.2002635034095235529e-2,
+    5.7721566490153286060e-1};
+  /*
+     Offsets of J_0, J_1, Y_0, Y_1 and the orders 0 and 1 of the decaying
+     Hankel function in the array of values
+   */
+  private static final int J0 = 0, J1 = 2, Y0 = 4, Y1 = 6, H0 = 8, H1 = 10;
+  /**
+     Per-thread scratch space for an order sequence and the values of the
+     low orders
+   */
+  private static final ThreadLocal<double[][]> SCRATCH =
+      new ThreadLocal<double[][]>() {
+    @Override
+    protected double[][] initialValue()
+    {
+      return new double[][]{new double[0], new double[0], new double[12]};
+    }
+  };
+
+  private ComplexBessel() {}
+
+  private static double[][] scratch(int size)
+  {
+    double[][] s = SCRATCH.get();
+    if (s[0].length < size)
+    {
+      s = new double[][]{new double[size], new double[size], s[2]};
+      SCRATCH.set(s);
+    }
+    return s;
+  }
+
+  /*
+     Whether the argument is in the upper half plane, or above the branch
+     cut on the negative real axis. The sign of a zero imaginary part
+     decides the side of the cut, like in Math.atan2(y, x).
+   */
+  private static boolean upper(double y)
+  {
+    return Math.copySign(1.0, y) > 0;
+  }
+
+  /*
+     The order of magnitude, -log10|J_n(x)|, of J_n(x) for n &gt; x
+   */
+  private static double envj(int n, double x)
+  {
+    return 0.5*Math.log10(6.28*n) - n*Math.log10(1.36*x/n);
+  }
+
+  /*
+     Solve envj(n, x) = obj for n with the secant method
+   */
+  private static int solveEnvj(double x, int n0, double obj)
+  {
+    double f0 = envj(n0, x) - obj;
+    int n1 = n0 + 5;
+    double f1 = envj(n1, x) - obj;
+    int nn = n1;
+    for (int it = 0; it < 20; it++)
+    {
+      nn = (int)(n1 - (n1 - n0)/(1.0 - f0/f1));
+      final double f = envj(nn, x) - obj;
+      if (Math.abs(nn - n1) < 1)
+      {
+        break;
+      }
+      n0 = n1;
+      f0 = f1;
+      n1 = nn;
+      f1 = f;
+    }
+    return nn;
+  }
+
+  /*
+     The starting order of the backward recurrence where |J_n(x)| is
+     about 10^-mp
+   */
+  private static int msta1(double x, int mp)
+  {
+    return solveEnvj(x, (int)(1.1*x) + 1, mp);
+  }
+
+  /*
+     The starting order of the backward recurrence for mp significant
+     digits of J_n(x)
+   */
+  private static int msta2(double x, int n, int mp)
+  {
+    final double hmp = 0.5*mp, ejn = envj(n, x);
+    if (ejn <= hmp)
+    {
+      return solveEnvj(x, (int)(1.1*x) + 1, mp) + 10;
+    }
+    return solveEnvj(x, n, hmp + ejn) + 10;
+  }
+
+  /*
+     Fill the orders 0 ... n of J with Miller's backward recurrence, and
+     store J_0, J_1 and the values of Y_0 and Y_1 from the Neumann series
+     into v.
+   */
+  private static void miller(double x, double y, double[] j_re,
+                             double[] j_im, int n, double[] v)
+  {
+    final double a0 = ComplexUtils.abs(x, y);
+    int nm = Math.max(n, 1);
+    int m = msta1(a0, 200);
+    if (m < nm)
+    {
+      nm = m;
+    }
+    else
+    {
+      m = msta2(a0, nm, 15);
+    }
+    for (int k = m + 1; k <= n; k++)
+    {
+      j_re[k] = 0.0;
+      j_im[k] = 0.0;
+    }
+    final boolean upper = upper(y);
+    // r = 2/z
+    final double d = 2.0/(x*x + y*y);
+    final double r_re = x*d, r_im = -y*d;
+    double f_re = 1e-100, f_im = 0.0, g_re = 0.0, g_im = 0.0;
+    double f1_re = 0.0, f1_im = 0.0;
+    double s_re = 0.0, s_im = 0.0;
+    double s0_re = 0.0, s0_im = 0.0, s1_re = 0.0, s1_im = 0.0;
+    for (int k = m; k > 0; k--)
+    {
+      // f = f_k, g = f_{k+1}
+      if (k <= n)
+      {
+        j_re[k] = f_re;
+        j_im[k] = f_im;
+      }
+      if (k == 1)
+      {
+        f1_re = f_re;
+        f1_im = f_im;
+      }
+      // s = f_0 + 2*sum (-i)^k f_k, or with i^k in the lower half plane
+      switch (k & 3)
+      {
+        case 0:
+          s_re += 2.0*f_re;
+          s_im += 2.0*f_im;
+          break;
+        case 1:
+          s_re += upper ? 2.0*f_im : -2.0*f_im;
+          s_im += upper ? -2.0*f_re : 2.0*f_re;
+          break;
+        case 2:
+          s_re -= 2.0*f_re;
+          s_im -= 2.0*f_im;
+          break;
+        default:
+          s_re += upper ? -2.0*f_im : 2.0*f_im;
+          s_im += upper ? 2.0*f_re : -2.0*f_re;
+          break;
+      }
+      // s0 = sum (-1)^j f_2j/j, s1 = sum (-1)^j (2j + 1)/(j*(j + 1)) f_2j+1
+      if ((k & 1) == 0)
+      {
+        final int j = k/2;
+        final double c = ((j & 1) == 0 ? 1.0 : -1.0)/j;
+        s0_re += c*f_re;
+        s0_im += c*f_im;
+      }
+      else if (k >= 3)
+      {
+        final int j = (k - 1)/2;
+        final double c = ((j & 1) == 0 ? 1.0 : -1.0)*(2*j + 1)/(j*(j + 1.0));
+        s1_re += c*f_re;
+        s1_im += c*f_im;
+      }
+      // f_{k-1} = (2k/z)*f_k - f_{k+1}
+      final double t_re = k*(r_re*f_re - r_im*f_im) - g_re;
+      final double t_im = k*(r_re*f_im + r_im*f_re) - g_im;
+      g_re = f_re;
+      g_im = f_im;
+      f_re = t_re;
+      f_im = t_im;
+    }
+    s_re += f_re;
+    s_im += f_im;
+    // c = exp(-iz)/s in the upper and exp(iz)/s in the lower half plane
+    final double e = Math.exp(upper ? y : -y);
+    final double e_re = e*Math.cos(x), e_im = upper ? -e*Math.sin(x)
+                                                    : e*Math.sin(x);
+    final double sd = 1.0/(s_re*s_re + s_im*s_im);
+    final double c_re = (e_re*s_re + e_im*s_im)*sd;
+    // the normalization of a real sequence is real
+    final double c_im = y == 0.0 ? 0.0 : (e_im*s_re - e_re*s_im)*sd;
+    for (int k = 1; k <= Math.min(n, m); k++)
+    {
+      final double t = j_re[k];
+      j_re[k] = t*c_re - j_im[k]*c_im;
+      j_im[k] = t*c_im + j_im[k]*c_re;
+    }
+    final double j0_re = f_re*c_re - f_im*c_im, j0_im = f_re*c_im + f_im*c_re;
+    j_re[0] = j0_re;
+    j_im[0] = j0_im;
+    final double j1_re = f1_re*c_re - f1_im*c_im;
+    final double j1_im = f1_re*c_im + f1_im*c_re;
+    v[J0] = j0_re;
+    v[J0 + 1] = j0_im;
+    v[J1] = j1_re;
+    v[J1 + 1] = j1_im;
+    // Y_0 = (2/pi)*(log(z/2) + gamma)*J_0 - (4/pi)*s0
+    // Y_1 = -(2/pi)*J_0/z + (2/pi)*(log(z/2) + gamma - 1)*J_1 - (2/pi)*s1
+    final double l_re = Math.log(0.5*a0) + EULER, l_im = Math.atan2(y, x);
+    final double n0_re = s0_re*c_re - s0_im*c_im;
+    final double n0_im = s0_re*c_im + s0_im*c_re;
+    final double n1_re = s1_re*c_re - s1_im*c_im;
+    final double n1_im = s1_re*c_im + s1_im*c_re;
+    final double tp = 2.0/Math.PI;
+    v[Y0] = tp*(l_re*j0_re - l_im*j0_im - 2.0*n0_re);
+    v[Y0 + 1] = tp*(l_re*j0_im + l_im*j0_re - 2.0*n0_im);
+    final double q_re = 0.5*(r_re*j0_re - r_im*j0_im);
+    final double q_im = 0.5*(r_re*j0_im + r_im*j0_re);
+    v[Y1] = tp*(-q_re + (l_re - 1.0)*j1_re - l_im*j1_im - n1_re);
+    v[Y1 + 1] = tp*(-q_im + (l_re - 1.0)*j1_im + l_im*j1_re - n1_im);
+  }
+
+  /*
+     Store exp(i*mu*pi/2) times H^(1)_mu(z) and H^(1)_{mu+1}(z) for
+     Im z &gt; 0 and |z| &ge; 18 into v with the Hankel asymptotic expansion.
+   */
+  private static void asymptotic(double x, double y, double mu, double[] v)
+  {
+    final double m2 = x*x + y*y;
+    // i/z
+    final double u_re = y/m2, u_im = x/m2;
+    // E = sqrt(2/(pi*z))*exp(i*(z - pi/4))
+    final double a = 2.0/Math.PI*x/m2, b = -2.0/Math.PI*y/m2;
+    final double t = Math.sqrt(0.5*(Math.abs(a) + ComplexUtils.abs(a, b)));
+    final double sq_re = a >= 0.0 ? t : Math.abs(b)/(2.0*t);
+    final double sq_im = a >= 0.0 ? b/(2.0*t) : Math.copySign(t, b);
+    final double ey = Math.exp(-y)/Math.sqrt(2.0);
+    final double cos = Math.cos(x), sin = Math.sin(x);
+    final double p_re = ey*(cos + sin), p_im = ey*(sin - cos);
+    final double e_re = sq_re*p_re - sq_im*p_im;
+    final double e_im = sq_re*p_im + sq_im*p_re;
+    for (int o = 0; o <= 1; o++)
+    {
+      final double nu = mu + o;
+      // sum a_k(nu)*(i/z)^k, a_k = a_{k-1}*(4*nu^2 - (2k - 1)^2)/(8k)
+      double s_re = 1.0, s_im = 0.0, w_re = 1.0, w_im = 0.0, c = 1.0;
+      double previous = Double.POSITIVE_INFINITY;
+      for (int k = 1; ; k++)
+      {
+        c *= (4*nu*nu - (2*k - 1)*(2*k - 1))/(8.0*k);
+        final double tw = w_re*u_re - w_im*u_im;
+        w_im = w_re*u_im + w_im*u_re;
+        w_re = tw;
+        final double d_re = c*w_re, d_im = c*w_im;
+        final double size = ComplexUtils.abs(d_re, d_im);
+        if (size >= previous)
+        {
+          break;
+        }
+        s_re += d_re;
+        s_im += d_im;
+        previous = size;
+        if (size < 1e-17*ComplexUtils.abs(s_re, s_im))
+        {
+          break;
+        }
+      }
+      final double h_re = e_re*s_re - e_im*s_im;
+      final double h_im = e_re*s_im + e_im*s_re;
+      if (o == 0)
+      {
+        v[H0] = h_re;
+        v[H0 + 1] = h_im;
+      }
+      else
+      {
+        // exp(-i*pi/2) = -i
+        v[H1] = h_im;
+        v[H1 + 1] = -h_re;
+      }
+    }
+  }
+
+  /*
+     Store exp(i*mu*pi/2) times H^(1)_mu(z) and H^(1)_{mu+1}(z) for
+     Im z &gt; 0 into v from K_mu(-iz) and K_{mu+1}(-iz), calculated with
+     Steed's continued fraction as in Numerical Recipes (bessik), which
+     converges for |z| &gt; 2.
+   */
+  private static void steed(double x, double y, double mu, double[] v)
+  {
+    // w = -iz
+    final double w_re = y, w_im = -x;
+    double b_re = 2.0 + 2.0*w_re, b_im = 2.0*w_im;
+    final double bd = 1.0/(b_re*b_re + b_im*b_im);
+    double d_re = b_re*bd, d_im = -b_im*bd;
+    double h_re = d_re, h_im = d_im, delh_re = d_re, delh_im = d_im;
+    double q1_re = 0.0, q1_im = 0.0, q2_re = 1.0, q2_im = 0.0;
+    final double a1 = 0.25 - mu*mu;
+    double q_re = a1, q_im = 0.0, c = a1, a = -a1;
+    double s_re = 1.0 + q_re*delh_re, s_im = q_re*delh_im;
+    for (int i = 1; i <= STEED_ITERATIONS; i++)
+    {
+      a -= 2*i;
+      c = -a*c/(i + 1.0);
+      final double qn_re = (q1_re - (b_re*q2_re - b_im*q2_im))/a;
+      final double qn_im = (q1_im - (b_re*q2_im + b_im*q2_re))/a;
+      q1_re = q2_re;
+      q1_im = q2_im;
+      q2_re = qn_re;
+      q2_im = qn_im;
+      q_re += c*qn_re;
+      q_im += c*qn_im;
+      b_re += 2.0;
+      // d = 1/(b + a*d)
+      final double t_re = b_re + a*d_re, t_im = b_im + a*d_im;
+      final double td = 1.0/(t_re*t_re + t_im*t_im);
+      d_re = t_re*td;
+      d_im = -t_im*td;
+      // delh = (b*d - 1)*delh
+      final double f_re = b_re*d_re - b_im*d_im - 1.0;
+      final double f_im = b_re*d_im + b_im*d_re;
+      final double dh = f_re*delh_re - f_im*delh_im;
+      delh_im = f_re*delh_im + f_im*delh_re;
+      delh_re = dh;
+      h_re += delh_re;
+      h_im += delh_im;
+      final double ds_re = q_re*delh_re - q_im*delh_im;
+      final double ds_im = q_re*delh_im + q_im*delh_re;
+      s_re += ds_re;
+      s_im += ds_im;
+      if (ComplexUtils.abs(ds_re, ds_im) < 1e-16*ComplexUtils.abs(s_re, s_im))
+      {
+        break;
+      }
+    }
+    h_re *= a1;
+    h_im *= a1;
+    // K_mu = sqrt(pi/(2w))*exp(-w)/s, principal root since Re w > 0
+    final double wm = w_re*w_re + w_im*w_im;
+    final double pa = 0.5*Math.PI*w_re/wm, pb = -0.5*Math.PI*w_im/wm;
+    final double t = Math.sqrt(0.5*(pa + ComplexUtils.abs(pa, pb)));
+    final double sq_re = t, sq_im = pb/(2.0*t);
+    final double ew = Math.exp(-w_re);
+    final double ex_re = ew*Math.cos(w_im), ex_im = -ew*Math.sin(w_im);
+    final double n_re = sq_re*ex_re - sq_im*ex_im;
+    final double n_im = sq_re*ex_im + sq_im*ex_re;
+    final double sd = 1.0/(s_re*s_re + s_im*s_im);
+    final double k0_re = (n_re*s_re + n_im*s_im)*sd;
+    final double k0_im = (n_im*s_re - n_re*s_im)*sd;
+    // K_{mu+1} = K_mu*(mu + w + 1/2 - h)/w
+    final double g_re = mu + w_re + 0.5 - h_re, g_im = w_im - h_im;
+    final double kg_re = k0_re*g_re - k0_im*g_im;
+    final double kg_im = k0_re*g_im + k0_im*g_re;
+    final double k1_re = (kg_re*w_re + kg_im*w_im)/wm;
+    final double k1_im = (kg_im*w_re - kg_re*w_im)/wm;
+    // exp(i*mu*pi/2)*H^(1)_mu(z) = -(2i/pi)*K_mu(-iz) and
+    // exp(i*mu*pi/2)*H^(1)_{mu+1}(z) = -(2/pi)*K_{mu+1}(-iz)
+    final double tp = 2.0/Math.PI;
+    v[H0] = tp*k0_im;
+    v[H0 + 1] = -tp*k0_re;
+    v[H1] = -tp*k1_re;
+    v[H1 + 1] = -tp*k1_im;
+  }
+
+  /*
+     Fill the orders 0 ... n of J into j and of the Hankel function that
+     decays in the half plane of z, H^(1) for Im z &ge; 0 and H^(2)
+     otherwise, into h.
+   */
+  private static void sequences(double x, double y,
+                                double[] j_re, double[] j_im,
+                                double[] h_re, double[] h_im, int n,
+                                double[] v)
+  {
+    miller(x, y, j_re, j_im, n, v);
+    final boolean upper = upper(y);
+    final double ay = Math.abs(y);
+    if (ComplexUtils.abs(x, y) < ASYMPTOTIC_RADIUS && ay <= NEUMANN_IMAG)
+    {
+      // H^(1) = J + iY, H^(2) = J - iY
+      final double sign = upper ? 1.0 : -1.0;
+      v[H0] = v[J0] - sign*v[Y0 + 1];
+      v[H0 + 1] = v[J0 + 1] + sign*v[Y0];
+      v[H1] = v[J1] - sign*v[Y1 + 1];
+      v[H1 + 1] = v[J1 + 1] + sign*v[Y1];
+    }
+    else
+    {
+      if (ComplexUtils.abs(x, y) >= ASYMPTOTIC_RADIUS)
+      {
+        asymptotic(x, ay, 0.0, v);
+      }
+      else
+      {
+        steed(x, ay, 0.0, v);
+      }
+      if (!upper)
+      {
+        // H^(2)(z) = conj(H^(1)(conj(z)))
+        v[H0 + 1] = -v[H0 + 1];
+        v[H1 + 1] = -v[H1 + 1];
+      }
+    }
+    h_re[0] = v[H0];
+    h_im[0] = v[H0 + 1];
+    if (n >= 1)
+    {
+      h_re[1] = v[H1];
+      h_im[1] = v[H1 + 1];
+    }
+    // h_{k+1} = (2k/z)*h_k - h_{k-1}
+    final double d = 2.0/(x*x + y*y);
+    final double r_re = x*d, r_im = -y*d;
+    for (int k = 1; k < n; k++)
+    {
+      h_re[k + 1] = k*(r_re*h_re[k] - r_im*h_im[k]) - h_re[k - 1];
+      h_im[k + 1] = k*(r_re*h_im[k] + r_im*h_re[k]) - h_im[k - 1];
+    }
+  }
+
+  /*
+     Store exp(i*mu*pi/2) times H^(1)_mu(z) and H^(1)_{mu+1}(z) for
+     Im z &ge; 0 and |z| &lt; 2 into v from K_mu(-iz) and K_{mu+1}(-iz),
+     calculated with Temme's series as in Numerical Recipes (bessik), for
+     |mu| &le; 1/2.
+   */
+  private static void temme(double x, double y, double mu, double[] v)
+  {
+    // w = -iz, h = w/2
+    final double w_re = y, w_im = -x;
+    final double h_re = 0.5*w_re, h_im = 0.5*w_im;
+    final double pimu = Math.PI*mu;
+    final double fact = Math.abs(pimu) < 1e-16 ? 1.0 : pimu/Math.sin(pimu);
+    // d = -log(w/2), e = mu*d
+    final double d_re = -Math.log(ComplexUtils.abs(h_re, h_im));
+    final double d_im = -Math.atan2(h_im, h_re);
+    final double e_re = mu*d_re, e_im = mu*d_im;
+    final double ce = Math.cos(e_im), se = Math.sin(e_im);
+    final double ch = Math.cosh(e_re), sh = Math.sinh(e_re);
+    // g = sinh(e)/e*d = sinh(e)/mu
+    final double g_re = mu == 0.0 ? d_re : sh*ce/mu;
+    final double g_im = mu == 0.0 ? d_im : ch*se/mu;
+    // gam1 = (1/Gamma(1 - mu) - 1/Gamma(1 + mu))/(2*mu),
+    // gam2 = (1/Gamma(1 - mu) + 1/Gamma(1 + mu))/2
+    final double m2 = mu*mu;
+    double gam1 = 0.0, gam2 = 0.0;
+    for (int k = 0; k < RGAMMA_ODD.length; k++)
+    {
+      gam1 = gam1*m2 + RGAMMA_EVEN[k];
+      gam2 = gam2*m2 + RGAMMA_ODD[k];
+    }
+    gam1 = -gam1;
+    final double gampl = gam2 - mu*gam1, gammi = gam2 + mu*gam1;
+    // f = fact*(gam1*cosh(e) + gam2*g)
+    double f_re = fact*(gam1*ch*ce + gam2*g_re);
+    double f_im = fact*(gam1*sh*se + gam2*g_im);
+    // p = exp(e)/(2*gampl), q = exp(-e)/(2*gammi)
+    final double ep = 0.5*Math.exp(e_re)/gampl;
+    final double em = 0.5*Math.exp(-e_re)/gammi;
+    double p_re = ep*ce, p_im = ep*se, q_re = em*ce, q_im = -em*se;
+    // c = (w^2/4)^k/k!
+    final double dd_re = h_re*h_re - h_im*h_im, dd_im = 2.0*h_re*h_im;
+    double c_re = 1.0, c_im = 0.0;
+    double s0_re = f_re, s0_im = f_im, s1_re = p_re, s1_im = p_im;
+    for (int k = 1; k <= STEED_ITERATIONS; k++)
+    {
+      final double den = 1.0/(k*k - m2);
+      f_re = (k*f_re + p_re + q_re)*den;
+      f_im = (k*f_im + p_im + q_im)*den;
+      final double tc = (c_re*dd_re - c_im*dd_im)/k;
+      c_im = (c_re*dd_im + c_im*dd_re)/k;
+      c_re = tc;
+      p_re /= k - mu;
+      p_im /= k - mu;
+      q_re /= k + mu;
+      q_im /= k + mu;
+      final double del_re = c_re*f_re - c_im*f_im;
+      final double del_im = c_re*f_im + c_im*f_re;
+      s0_re += del_re;
+      s0_im += del_im;
+      final double u_re = p_re - k*f_re, u_im = p_im - k*f_im;
+      s1_re += c_re*u_re - c_im*u_im;
+      s1_im += c_re*u_im + c_im*u_re;
+      if (ComplexUtils.abs(del_re, del_im) <
+          1e-17*ComplexUtils.abs(s0_re, s0_im))
+      {
+        break;
+      }
+    }
+    // K_mu = s0, K_{mu+1} = 2*s1/w
+    final double wm = w_re*w_re + w_im*w_im;
+    final double k1_re = 2.0*(s1_re*w_re + s1_im*w_im)/wm;
+    final double k1_im = 2.0*(s1_im*w_re - s1_re*w_im)/wm;
+    // exp(i*mu*pi/2)*H^(1)_mu(z) = -(2i/pi)*K_mu(-iz) and
+    // exp(i*mu*pi/2)*H^(1)_{mu+1}(z) = -(2/pi)*K_{mu+1}(-iz)
+    final double tp = 2.0/Math.PI;
+    v[H0] = tp*s0_im;
+    v[H0 + 1] = -tp*s0_re;
+    v[H1] = -tp*k1_re;
+    v[H1 + 1] = -tp*k1_im;
+  }
+
+  /*
+     Store the orders mu and mu + 1 of the Hankel function that decays in
+     the half plane of z, H^(1) for Im z &ge; 0 and H^(2) otherwise, into
+     v, for |mu| &le; 1/2.
+   */
+  private static void lowHankel(double x, double y, double mu, double[] v)
+  {
+    final double ay = Math.abs(y), r = ComplexUtils.abs(x, y);
+    if (r >= ASYMPTOTIC_RADIUS)
+    {
+      asymptotic(x, ay, mu, v);
+    }
+    else if (r >= TEMME_RADIUS)
+    {
+      steed(x, ay, mu, v);
+    }
+    else
+    {
+      temme(x, ay, mu, v);
+    }
+    if (mu != 0.0)
+    {
+      // multiply by exp(-i*mu*pi/2)
+      final double c = Math.cos(0.5*Math.PI*mu);
+      final double s = -Math.sin(0.5*Math.PI*mu);
+      for (int o = H0; o <= H1; o += 2)
+      {
+        final double a = v[o], b = v[o + 1];
+        v[o] = a*c - b*s;
+        v[o + 1] = a*s + b*c;
+      }
+    }
+    if (!upper(y))
+    {
+      // H^(2)(z) = conj(H^(1)(conj(z)))
+      v[H0 + 1] = -v[H0 + 1];
+      v[H1 + 1] = -v[H1 + 1];
+    }
+  }
+
+  /*
+     Fill the orders mu + l ... mu + l + n of J with Miller's backward
+     recurrence down to the order mu, and store the orders mu and mu + 1
+     of the Hankel function that decays in the half plane of z into v.
+     The sequence is normalized with the Wronskian
+     J_{mu+1}*H_mu - J_mu*H_{mu+1} = 2i/(pi*z) of H^(1), or its negative
+     of H^(2), which does not cancel anywhere.
+   */
+  private static void realMiller(double x, double y, double mu, int l,
+                                 double[] j_re, double[] j_im, int n,
+                                 double[] v)
+  {
+    final double a0 = ComplexUtils.abs(x, y);
+    final int top = l + n;
+    int nm = Math.max(top, 1);
+    int m = msta1(a0, 200);
+    if (m < nm)
+    {
+      nm = m;
+    }
+    else
+    {
+      m = msta2(a0, nm, 15);
+    }
+    m = Math.max(m, 1);
+    for (int k = Math.max(m + 1, l); k <= top; k++)
+    {
+      j_re[k - l] = 0.0;
+      j_im[k - l] = 0.0;
+    }
+    // r = 2/z
+    final double d = 2.0/(x*x + y*y);
+    final double r_re = x*d, r_im = -y*d;
+    double f_re = 1e-100, f_im = 0.0, g_re = 0.0, g_im = 0.0;
+    double f1_re = 0.0, f1_im = 0.0;
+    for (int k = m; k > 0; k--)
+    {
+      // f = f_k, g = f_{k+1}
+      if (k >= l && k <= top)
+      {
+        j_re[k - l] = f_re;
+        j_im[k - l] = f_im;
+      }
+      if (k == 1)
+      {
+        f1_re = f_re;
+        f1_im = f_im;
+      }
+      // f_{k-1} = (2(mu + k)/z)*f_k - f_{k+1}
+      final double t_re = (mu + k)*(r_re*f_re - r_im*f_im) - g_re;
+      final double t_im = (mu + k)*(r_re*f_im + r_im*f_re) - g_im;
+      g_re = f_re;
+      g_im = f_im;
+      f_re = t_re;
+      f_im = t_im;
+    }
+    if (l == 0)
+    {
+      j_re[0] = f_re;
+      j_im[0] = f_im;
+    }
+    lowHankel(x, y, mu, v);
+    // c = W/(f_1*H_0 - f_0*H_1), W = +-2i/(pi*z) = +-(d/pi)*(y + ix)
+    final double w = (upper(y) ? 1.0 : -1.0)*d/Math.PI;
+    final double w_re = w*y, w_im = w*x;
+    final double s_re = f1_re*v[H0] - f1_im*v[H0 + 1]
+                      - (f_re*v[H1] - f_im*v[H1 + 1]);
+    final double s_im = f1_re*v[H0 + 1] + f1_im*v[H0]
+                      - (f_re*v[H1 + 1] + f_im*v[H1]);
+    final double sd = 1.0/(s_re*s_re + s_im*s_im);
+    final double c_re = (w_re*s_re + w_im*s_im)*sd;
+    final double c_im = (w_im*s_re - w_re*s_im)*sd;
+    for (int k = l; k <= Math.min(m, top); k++)
+    {
+      final double t = j_re[k - l];
+      j_re[k - l] = t*c_re - j_im[k - l]*c_im;
+      j_im[k - l] = t*c_im + j_im[k - l]*c_re;
+    }
+  }
+
+  /*
+     Fill the orders mu + l ... mu + l + n of J into j and of the Hankel
+     function that decays in the half plane of z into h.
+   */
+  private static void realSequences(double x, double y, double mu, int l,
+                                    double[] j_re, double[] j_im,
+                                    double[] h_re, double[] h_im, int n,
+                                    double[] v)
+  {
+    realMiller(x, y, mu, l, j_re, j_im, n, v);
+    final double d = 2.0/(x*x + y*y);
+    final double r_re = x*d, r_im = -y*d;
+    double a_re = v[H0], a_im = v[H0 + 1], b_re = v[H1], b_im = v[H1 + 1];
+    for (int k = 0; k <= l + n; k++)
+    {
+      // a = h_k, b = h_{k+1}
+      if (k >= l)
+      {
+        h_re[k - l] = a_re;
+        h_im[k - l] = a_im;
+      }
+      // h_{k+2} = (2(mu + k + 1)/z)*h_{k+1} - h_k
+      final double t_re = (mu + k + 1)*(r_re*b_re - r_im*b_im) - a_re;
+      final double t_im = (mu + k + 1)*(r_re*b_im + r_im*b_re) - a_im;
+      a_re = b_re;
+      a_im = b_im;
+      b_re = t_re;
+      b_im = t_im;
+    }
+  }
+
+  /*
+     Handle the arguments NaN and zero for the lowest order nu. Returns
+     true if the result was filled.
+   */
+  private static boolean special(double x, double y, double[] re,
+                                 double[] im, int n, double nu,
+                                 boolean regular)
+  {
+    final boolean nan = Double.isNaN(x) || Double.isNaN(y);
+    if (!nan && (x != 0.0 || y != 0.0))
+    {
+      return false;
+    }
+    for (int k = 0; k <= n; k++)
+    {
+      re[k] = (regular && !nan) ? (nu + k == 0.0 ? 1.0 : 0.0) : Double.NaN;
+      im[k] = (regular && !nan) ? 0.0 : Double.NaN;
+    }
+    return true;
+  }
+
+  /*
+     Multiply the orders 0 ... n by c*i^(k + shift).
+   */
+  private static void rotate(double[] re, double[] im, int n, int shift,
+                             double c)
+  {
+    for (int k = 0; k <= n; k++)
+    {
+      final double a = c*re[k], b = c*im[k];
+      switch ((k + shift) & 3)
+      {
+        case 0:
+          re[k] = a;
+          im[k] = b;
+          break;
+        case 1:
+          re[k] = -b;
+          im[k] = a;
+          break;
+        case 2:
+          re[k] = -a;
+          im[k] = -b;
+          break;
+        default:
+          re[k] = b;
+          im[k] = -a;
+          break;
+      }
+    }
+  }
+
+  private static void zeroImag(double[] im, int n)
+  {
+    for (int k = 0; k <= n; k++)
+    {
+      im[k] = 0.0;
+    }
+  }
+
+  /**
+     Calculate the Bessel functions of the first kind J_n(z) for the
+     orders n = 0, 1, ..., result.size() - 1.
+
+     @param z The argument
+     @param result The complex buffer array for the result
+     @return result
+   */
+  public static ComplexBufferArray besselJ(ComplexNumber z,
+                                           ComplexBufferArray result)
+  {
+    final double x = z.getReal(), y = z.getImag();
+    final double[] re = result.getRealArray(), im = result.getImagArray();
+    final int n = result.size() - 1;
+    if (n < 0 || special(x, y, re, im, n, 0.0, true))
+    {
+      return result;
+    }
+    miller(x, y, re, im, n, scratch(0)[2]);
+    if (y == 0.0)
+    {
+      zeroImag(im, n);
+    }
+    return result;
+  }
+
+  /**
+     Calculate the Bessel functions of the second kind Y_n(z) for the
+     orders n = 0, 1, ..., result.size() - 1.
+
+     @param z The argument
+     @param result The complex buffer array for the result
+     @return result
+   */
+  public static ComplexBufferArray besselY(ComplexNumber z,
+                                           ComplexBufferArray result)
+  {
+    final double x = z.getReal(), y = z.getImag();
+    final double[] re = result.getRealArray(), im = result.getImagArray();
+    final int n = result.size() - 1;
+    if (n < 0 || special(x, y, re, im, n, 0.0, false))
+    {
+      return result;
+    }
+    final double[][] s = scratch(n + 1);
+    final double[] j_re = s[0], j_im = s[1];
+    sequences(x, y, j_re, j_im, re, im, n, s[2]);
+    // Y = -i*(H^(1) - J) or Y = i*(H^(2) - J)
+    final double sign = upper(y) ? 1.0 : -1.0;
+    for (int k = 0; k <= n; k++)
+    {
+      final double d_re = re[k] - j_re[k], d_im = im[k] - j_im[k];
+      re[k] = sign*d_im;
+      im[k] = -sign*d_re;
+    }
+    if (y == 0.0 && x > 0.0)
+    {
+      zeroImag(im, n);
+    }
+    return result;
+  }
+
+  private static ComplexBufferArray hankel(ComplexNumber z,
+                                           ComplexBufferArray result,
+                                           boolean first)
+  {
+    final double x = z.getReal(), y = z.getImag();
+    final double[] re = result.getRealArray(), im = result.getImagArray();
+    final int n = result.size() - 1;
+    if (n < 0 || special(x, y, re, im, n, 0.0, false))
+    {
+      return result;
+    }
+    final double[][] s = scratch(n + 1);
+    final double[] j_re = s[0], j_im = s[1];
+    sequences(x, y, j_re, j_im, re, im, n, s[2]);
+    if (first != upper(y))
+    {
+      // H^(1) + H^(2) = 2*J
+      for (int k = 0; k <= n; k++)
+      {
+        re[k] = 2.0*j_re[k] - re[k];
+        im[k] = 2.0*j_im[k] - im[k];
+      }
+    }
+    return result;
+  }
+
+  /**
+     Calculate the Hankel functions of the first kind
+     H^(1)_n(z) = J_n(z) + i*Y_n(z) for the orders
+     n = 0, 1, ..., result.size() - 1.
+
+     @param z The argument
+     @param result The complex buffer array for the result
+     @return result
+   */
+  public static ComplexBufferArray hankel1(ComplexNumber z,
+                                           ComplexBufferArray result)
+  {
+    return hankel(z, result, true);
+  }
+
+  /**
+     Calculate the Hankel functions of the second kind
+     H^(2)_n(z) = J_n(z) - i*Y_n(z) for the orders
+     n = 0, 1, ..., result.size() - 1.
+
+     @param z The argument
+     @param result The complex buffer array for the result
+     @return result
+   */
+  public static ComplexBufferArray hankel2(ComplexNumber z,
+                                           ComplexBufferArray result)
+  {
+    return hankel(z, result, false);
+  }
+
+  /**
+     Calculate the modified Bessel functions of the first kind I_n(z) for
+     the orders n = 0, 1, ..., result.size() - 1.
+
+     @param z The argument
+     @param result The complex buffer array for the result
+     @return result
+   */
+  public static ComplexBufferArray besselI(ComplexNumber z,
+                                           ComplexBufferArray result)
+  {
+    final double x = z.getReal(), y = z.getImag();
+    final double[] re = result.getRealArray(), im = result.getImagArray();
+    final int n = result.size() - 1;
+    if (n < 0 || special(x, y, re, im, n, 0.0, true))
+    {
+      return result;
+    }
+    // I_n(z) = (-i)^n*J_n(iz)
+    miller(-y, x, re, im, n, scratch(0)[2]);
+    rotate(re, im, n, 0, 1.0);
+    for (int k = 1; k <= n; k += 2)
+    {
+      re[k] = -re[k];
+      im[k] = -im[k];
+    }
+    if (y == 0.0)
+    {
+      zeroImag(im, n);
+    }
+    return result;
+  }
+
+  /*
+     Fill the orders 0 ... n of K_n(z) for Re z &ge; 0.
+   */
+  private static void besselKRight(double x, double y, double[] re,
+                                   double[] im, int n, double[][] s)
+  {
+    // K_n(z) = (pi/2)*i^(n+1)*H^(1)_n(iz), where Im(iz) >= 0
+    sequences(-y, x, s[0], s[1], re, im, n, s[2]);
+    rotate(re, im, n, 1, 0.5*Math.PI);
+  }
+
+  /**
+     Calculate the modified Bessel functions of the second kind K_n(z) for
+     the orders n = 0, 1, ..., result.size() - 1.
+
+     @param z The argument
+     @param result The complex buffer array for the result
+     @return result
+   */
+  public static ComplexBufferArray besselK(ComplexNumber z,
+                                           ComplexBufferArray result)
+  {
+    final double x = z.getReal(), y = z.getImag();
+    final double[] re = result.getRealArray(), im = result.getImagArray();
+    final int n = result.size() - 1;
+    if (n < 0 || special(x, y, re, im, n, 0.0, false))
+    {
+      return result;
+    }
+    final double[][] s = scratch(n + 1);
+    if (x >= 0.0)
+    {
+      besselKRight(x, y, re, im, n, s);
+      if (y == 0.0)
+      {
+        zeroImag(im, n);
+      }
+      return result;
+    }
+    // K_n(z) = (-1)^n*K_n(-z) -+ i*pi*I_n(-z) above or below the cut
+    besselKRight(-x, -y, re, im, n, s);
+    final double[] i_re = s[0], i_im = s[1];
+    miller(y, -x, i_re, i_im, n, s[2]);
+    final double c = upper(y) ? -Math.PI : Math.PI;
+    for (int k = 0; k <= n; k++)
+    {
+      // i*pi*I_n(-z) = i*pi*(-i)^n*J_n(-iz) = pi*i^(1-n)*J_n(-iz)
+      double a = i_re[k], b = i_im[k];
+      switch ((1 - k) & 3)
+      {
+        case 1:
+          final double t = a;
+          a = -b;
+          b = t;
+          break;
+        case 2:
+          a = -a;
+          b = -b;
+          break;
+        case 3:
+          final double u = a;
+          a = b;
+          b = -u;
+          break;
+        default:
+          break;
+      }
+      final double sign = (k & 1) == 0 ? 1.0 : -1.0;
+      re[k] = sign*re[k] + c*a;
+      im[k] = sign*im[k] + c*b;
+    }
+    return result;
+  }
+
+  /*
+     Check the lowest real order nu and split it into nu = mu + l, where
+     l is an integer and |mu| &le; 1/2. Returns l.
+   */
+  private static int checkOrder(double nu, int n)
+  {
+    if (!(nu >= 0.0 && nu + n < Integer.MAX_VALUE))
+    {
+      throw new IllegalArgumentException("invalid order: " + nu);
+    }
+    return (int)Math.floor(nu + 0.5);
+  }
+
+  /*
+     Multiply the orders 0 ... n by c*exp(sign*i*(mu + l + k)*pi/2).
+   */
+  private static void rotateOrder(double[] re, double[] im, int n,
+                                  double mu, int l, int sign, double c)
+  {
+    final double b_re = c*Math.cos(0.5*Math.PI*mu);
+    final double b_im = sign*c*Math.sin(0.5*Math.PI*mu);
+    for (int k = 0; k <= n; k++)
+    {
+      final double a = re[k]*b_re - im[k]*b_im;
+      final double b = re[k]*b_im + im[k]*b_re;
+      switch ((sign*(l + k)) & 3)
+      {
+        case 0:
+          re[k] = a;
+          im[k] = b;
+          break;
+        case 1:
+          re[k] = -b;
+          im[k] = a;
+          break;
+        case 2:
+          re[k] = -a;
+          im[k] = -b;
+          break;
+        default:
+          re[k] = b;
+          im[k] = -a;
+          break;
+      }
+    }
+  }
+
+  /**
+     Calculate the Bessel functions of the first kind J_{nu+n}(z) for the
+     real orders nu + n, n = 0, 1, ..., result.size() - 1.
+
+     @param nu The lowest order, nu &ge; 0
+     @param z The argument
+     @param result The complex buffer array for the result
+     @return result
+     @throws IllegalArgumentException if nu is negative or not finite
+   */
+  public static ComplexBufferArray besselJ(double nu, ComplexNumber z,
+                                           ComplexBufferArray result)
+  {
+    final double x = z.getReal(), y = z.getImag();
+    final double[] re = result.getRealArray(), im = result.getImagArray();
+    final int n = result.size() - 1;
+    final int l = checkOrder(nu, n);
+    if (n < 0 || special(x, y, re, im, n, nu, true))
+    {
+      return result;
+    }
+    realMiller(x, y, nu - l, l, re, im, n, scratch(0)[2]);
+    if (y == 0.0 && x > 0.0)
+    {
+      zeroImag(im, n);
+    }
+    return result;
+  }
+
+  /**
+     Calculate the Bessel functions of the second kind Y_{nu+n}(z) for the
+     real orders nu + n, n = 0, 1, ..., result.size() - 1.
+
+     @param nu The lowest order, nu &ge; 0
+     @param z The argument
+     @param result The complex buffer array for the result
+     @return result
+     @throws IllegalArgumentException if nu is negative or not finite
+   */
+  public static ComplexBufferArray besselY(double nu, ComplexNumber z,
+                                           ComplexBufferArray result)
+  {
+    final double x = z.getReal(), y = z.getImag();
+    final double[] re = result.getRealArray(), im = result.getImagArray();
+    final int n = result.size() - 1;
+    final int l = checkOrder(nu, n);
+    if (n < 0 || special(x, y, re, im, n, nu, false))
+    {
+      return result;
+    }
+    final double[][] s = scratch(n + 1);
+    final double[] j_re = s[0], j_im = s[1];
+    realSequences(x, y, nu - l, l, j_re, j_im, re, im, n, s[2]);
+    // Y = -i*(H^(1) - J) or Y = i*(H^(2) - J)
+    final double sign = upper(y) ? 1.0 : -1.0;
+    for (int k = 0; k <= n; k++)
+    {
+      final double d_re = re[k] - j_re[k], d_im = im[k] - j_im[k];
+      re[k] = sign*d_im;
+      im[k] = -sign*d_re;
+    }
+    if (y == 0.0 && x > 0.0)
+    {
+      zeroImag(im, n);
+    }
+    return result;
+  }
+
+  /*
+     Fill the orders mu + l ... mu + l + n of H^(1) or H^(2) for z != 0.
+   */
+  private static void realHankel(double x, double y, double mu, int l,
+                                 double[] re, double[] im, int n,
+                                 boolean first)
+  {
+    final double[][] s = scratch(n + 1);
+    final double[] j_re = s[0], j_im = s[1];
+    realSequences(x, y, mu, l, j_re, j_im, re, im, n, s[2]);
+    if (first != upper(y))
+    {
+      // H^(1) + H^(2) = 2*J
+      for (int k = 0; k <= n; k++)
+      {
+        re[k] = 2.0*j_re[k] - re[k];
+        im[k] = 2.0*j_im[k] - im[k];
+      }
+    }
+  }
+
+  /**
+     Calculate the Hankel functions of the first kind H^(1)_{nu+n}(z) for
+     the real orders nu + n, n = 0, 1, ..., result.size() - 1.
+
+     @param nu The lowest order, nu &ge; 0
+     @param z The argument
+     @param result The complex buffer array for the result
+     @return result
+     @throws IllegalArgumentException if nu is negative or not finite
+   */
+  public static ComplexBufferArray hankel1(double nu, ComplexNumber z,
+                                           ComplexBufferArray result)
+  {
+    final double x = z.getReal(), y = z.getImag();
+    final double[] re = result.getRealArray(), im = result.getImagArray();
+    final int n = result.size() - 1;
+    final int l = checkOrder(nu, n);
+    if (n < 0 || special(x, y, re, im, n, nu, false))
+    {
+      return result;
+    }
+    realHankel(x, y, nu - l, l, re, im, n, true);
+    return result;
+  }
+
+  /**
+     Calculate the Hankel functions of the second kind H^(2)_{nu+n}(z) for
+     the real orders nu + n, n = 0, 1, ..., result.size() - 1.
+
+     @param nu The lowest order, nu &ge; 0
+     @param z The argument
+     @param result The complex buffer array for the result
+     @return result
+     @throws IllegalArgumentException if nu is negative or not finite
+   */
+  public static ComplexBufferArray hankel2(double nu, ComplexNumber z,
+                                           ComplexBufferArray result)
+  {
+    final double x = z.getReal(), y = z.getImag();
+    final double[] re = result.getRealArray(), im = result.getImagArray();
+    final int n = result.size() - 1;
+    final int l = checkOrder(nu, n);
+    if (n < 0 || special(x, y, re, im, n, nu, false))
+    {
+      return result;
+    }
+    realHankel(x, y, nu - l, l, re, im, n, false);
+    return result;
+  }
+
+  /**
+     Calculate the modified Bessel functions of the first kind I_{nu+n}(z)
+     for the real orders nu + n, n = 0, 1, ..., result.size() - 1.
+
+     @param nu The lowest order, nu &ge; 0
+     @param z The argument
+     @param result The complex buffer array for the result
+     @return result
+     @throws IllegalArgumentException if nu is negative or not finite
+   */
+  public static ComplexBufferArray besselI(double nu, ComplexNumber z,
+                                           ComplexBufferArray result)
+  {
+    final double x = z.getReal(), y = z.getImag();
+    final double[] re = result.getRealArray(), im = result.getImagArray();
+    final int n = result.size() - 1;
+    final int l = checkOrder(nu, n);
+    if (n < 0 || special(x, y, re, im, n, nu, true))
+    {
+      return result;
+    }
+    final double mu = nu - l;
+    if (upper(y))
+    {
+      // I_nu(z) = exp(i*nu*pi/2)*J_nu(-iz)
+      realMiller(y, -x, mu, l, re, im, n, scratch(0)[2]);
+      rotateOrder(re, im, n, mu, l, 1, 1.0);
+    }
+    else
+    {
+      // I_nu(z) = exp(-i*nu*pi/2)*J_nu(iz)
+      realMiller(-y, x, mu, l, re, im, n, scratch(0)[2]);
+      rotateOrder(re, im, n, mu, l, -1, 1.0);
+    }
+    if (y == 0.0 && x > 0.0)
+    {
+      zeroImag(im, n);
+    }
+    return result;
+  }
+
+  /**
+     Calculate the modified Bessel functions of the second kind
+     K_{nu+n}(z) for the real orders nu + n,
+     n = 0, 1, ..., result.size() - 1.
+
+     @param nu The lowest order, nu &ge; 0
+     @param z The argument
+     @param result The complex buffer array for the result
+     @return result
+     @throws IllegalArgumentException if nu is negative or not finite
+   */
+  public static ComplexBufferArray besselK(double nu, ComplexNumber z,
+                                           ComplexBufferArray result)
+  {
+    final double x = z.getReal(), y = z.getImag();
+    final double[] re = result.getRealArray(), im = result.getImagArray();
+    final int n = result.size() - 1;
+    final int l = checkOrder(nu, n);
+    if (n < 0 || special(x, y, re, im, n, nu, false))
+    {
+      return result;
+    }
+    final double mu = nu - l;
+    if ((x < 0.0 && upper(y)) || (x == 0.0 && y > 0.0))
+    {
+      // K_nu(z) = -(pi*i/2)*exp(-i*nu*pi/2)*H^(2)_nu(-iz)
+      realHankel(y, -x, mu, l, re, im, n, false);
+      rotateOrder(re, im, n, mu, l + 1, -1, 0.5*Math.PI);
+    }
+    else
+    {
+      // K_nu(z) = (pi*i/2)*exp(i*nu*pi/2)*H^(1)_nu(iz)
+      realHankel(-y, x, mu, l, re, im, n, true);
+      rotateOrder(re, im, n, mu, l + 1, 1, 0.5*Math.PI);
+    }
+    if (y == 0.0 && x > 0.0)
+    {
+      zeroImag(im, n);
+    }
+    return result;
+  }
+
+  /*
+     Fill the orders 0 ... n of the spherical Bessel function j with
+     Miller's backward recurrence, normalized with the larger of
+     j_0(z) = sin(z)/z and j_1(z) = sin(z)/z^2 - cos(z)/z.
+   */
+  private static void sphericalMiller(double x, double y, double[] j_re,
+                                      double[] j_im, int n)
+  {
+    final double a0 = ComplexUtils.abs(x, y);
+    int nm = Math.max(n, 1);
+    int m = msta1(a0, 200);
+    if (m < nm)
+    {
+      nm = m;
+    }
+    else
+    {
+      m = msta2(a0, nm, 15);
+    }
+    m = Math.max(m, 1);
+    for (int k = m + 1; k <= n; k++)
+    {
+      j_re[k] = 0.0;
+      j_im[k] = 0.0;
+    }
+    // r = 1/z
+    final double d = 1.0/(x*x + y*y);
+    final double r_re = x*d, r_im = -y*d;
+    double f_re = 1e-100, f_im = 0.0, g_re = 0.0, g_im = 0.0;
+    double f1_re = 0.0, f1_im = 0.0;
+    for (int k = m; k > 0; k--)
+    {
+      // f = f_k, g = f_{k+1}
+      if (k <= n)
+      {
+        j_re[k] = f_re;
+        j_im[k] = f_im;
+      }
+      if (k == 1)
+      {
+        f1_re = f_re;
+        f1_im = f_im;
+      }
+      // f_{k-1} = ((2k + 1)/z)*f_k - f_{k+1}
+      final double t_re = (2*k + 1)*(r_re*f_re - r_im*f_im) - g_re;
+      final double t_im = (2*k + 1)*(r_re*f_im + r_im*f_re) - g_im;
+      g_re = f_re;
+      g_im = f_im;
+      f_re = t_re;
+      f_im = t_im;
+    }
+    // sin z, cos z, j_0 = sin(z)/z and j_1 = (j_0 - cos z)/z
+    final double ch = Math.cosh(y), sh = Math.sinh(y);
+    final double sin = Math.sin(x), cos = Math.cos(x);
+    final double sn_re = sin*ch, sn_im = cos*sh;
+    final double cs_re = cos*ch, cs_im = -sin*sh;
+    final double j0_re = sn_re*r_re - sn_im*r_im;
+    final double j0_im = sn_re*r_im + sn_im*r_re;
+    final double u_re = j0_re - cs_re, u_im = j0_im - cs_im;
+    final double j1_re = u_re*r_re - u_im*r_im;
+    final double j1_im = u_re*r_im + u_im*r_re;
+    // c = j_0/f_0 or j_1/f_1, whichever is not near a zero
+    final double c_re, c_im;
+    if (ComplexUtils.abs(j0_re, j0_im) >= ComplexUtils.abs(j1_re, j1_im))
+    {
+      final double sd = 1.0/(f_re*f_re + f_im*f_im);
+      c_re = (j0_re*f_re + j0_im*f_im)*sd;
+      c_im = (j0_im*f_re - j0_re*f_im)*sd;
+    }
+    else
+    {
+      final double sd = 1.0/(f1_re*f1_re + f1_im*f1_im);
+      c_re = (j1_re*f1_re + j1_im*f1_im)*sd;
+      c_im = (j1_im*f1_re - j1_re*f1_im)*sd;
+    }
+    for (int k = 1; k <= Math.min(n, m); k++)
+    {
+      final double t = j_re[k];
+      j_re[k] = t*c_re - j_im[k]*c_im;
+      j_im[k] = t*c_im + j_im[k]*c_re;
+    }
+    j_re[0] = f_re*c_re - f_im*c_im;
+    j_im[0] = f_re*c_im + f_im*c_re;
+  }
+
+  /*
+     Fill the orders 0 ... n of the spherical j into j and of the
+     spherical Hankel function that decays in the half plane of z, h^(1)
+     for Im z &ge; 0 and h^(2) otherwise, into h.
+   */
+  private static void sphericalSequences(double x, double y,
+                                         double[] j_re, double[] j_im,
+                                         double[] h_re, double[] h_im,
+                                         int n)
+  {
+    sphericalMiller(x, y, j_re, j_im, n);
+    final double sign = upper(y) ? 1.0 : -1.0;
+    // E = exp(sign*iz)
+    final double e = Math.exp(-sign*y);
+    final double e_re = e*Math.cos(x), e_im = sign*e*Math.sin(x);
+    final double d = 1.0/(x*x + y*y);
+    final double r_re = x*d, r_im = -y*d;
+    // h_0 = -sign*i*E/z, h_1 = (h_0 - E)/z
+    final double q_re = e_re*r_re - e_im*r_im;
+    final double q_im = e_re*r_im + e_im*r_re;
+    double h0_re = sign*q_im, h0_im = -sign*q_re;
+    final double p_re = h0_re - e_re, p_im = h0_im - e_im;
+    double h1_re = p_re*r_re - p_im*r_im, h1_im = p_re*r_im + p_im*r_re;
+    h_re[0] = h0_re;
+    h_im[0] = h0_im;
+    // h_{k+1} = ((2k + 1)/z)*h_k - h_{k-1}
+    for (int k = 1; k <= n; k++)
+    {
+      h_re[k] = h1_re;
+      h_im[k] = h1_im;
+      final double t_re = (2*k + 1)*(r_re*h1_re - r_im*h1_im) - h0_re;
+      final double t_im = (2*k + 1)*(r_re*h1_im + r_im*h1_re) - h0_im;
+      h0_re = h1_re;
+      h0_im = h1_im;
+      h1_re = t_re;
+      h1_im = t_im;
+    }
+  }
+
+  /*
+     Multiply the orders 0 ... n by sqrt(2z/pi), which turns the
+     spherical functions into the cylindrical functions of the orders
+     n + 1/2, with the branch cut on the negative real axis and the
+     values from the side given by the sign of Im z.
+   */
+  private static void halfOrder(double x, double y, double[] re,
+                                double[] im, int n)
+  {
+    final double a = 2.0/Math.PI*x, b = 2.0/Math.PI*y;
+    final double t = Math.sqrt(0.5*(Math.abs(a) + ComplexUtils.abs(a, b)));
+    final double sq_re = a >= 0.0 ? t : Math.abs(b)/(2.0*t);
+    final double sq_im = a >= 0.0 ? (t == 0.0 ? 0.0 : b/(2.0*t))
+                                  : Math.copySign(t, b);
+    for (int k = 0; k <= n; k++)
+    {
+      final double u = re[k];
+      re[k] = u*sq_re - im[k]*sq_im;
+      im[k] = u*sq_im + im[k]*sq_re;
+    }
+  }
+
+  /**
+     Calculate the spherical Bessel functions of the first kind
+     j_n(z) = sqrt(pi/(2z))*J_{n+1/2}(z) for the orders
+     n = 0, 1, ..., result.size() - 1.
+
+     @param z The argument
+     @param result The complex buffer array for the result
+     @return result
+   */
+  public static ComplexBufferArray sphericalJ(ComplexNumber z,
+                                              ComplexBufferArray result)
+  {
+    final double x = z.getReal(), y = z.getImag();
+    final double[] re = result.getRealArray(), im = result.getImagArray();
+    final int n = result.size() - 1;
+    if (n < 0 || special(x, y, re, im, n, 0.0, true))
+    {
+      return result;
+    }
+    sphericalMiller(x, y, re, im, n);
+    if (y == 0.0)
+    {
+      zeroImag(im, n);
+    }
+    return result;
+  }
+
+  /**
+     Calculate the spherical Bessel functions of the second kind
+     y_n(z) = sqrt(pi/(2z))*Y_{n+1/2}(z) for the orders
+     n = 0, 1, ..., result.size() - 1.
+
+     @param z The argument
+     @param result The complex buffer array for the result
+     @return result
+   */
+  public static ComplexBufferArray sphericalY(ComplexNumber z,
+                                              ComplexBufferArray result)
+  {
+    final double x = z.getReal(), y = z.getImag();
+    final double[] re = result.getRealArray(), im = result.getImagArray();
+    final int n = result.size() - 1;
+    if (n < 0 || special(x, y, re, im, n, 0.0, false))
+    {
+      return result;
+    }
+    final double[][] s = scratch(n + 1);
+    final double[] j_re = s[0], j_im = s[1];
+    sphericalSequences(x, y, j_re, j_im, re, im, n);
+    // y = -i*(h^(1) - j) or y = i*(h^(2) - j)
+    final double sign = upper(y) ? 1.0 : -1.0;
+    for (int k = 0; k <= n; k++)
+    {
+      final double d_re = re[k] - j_re[k], d_im = im[k] - j_im[k];
+      re[k] = sign*d_im;
+      im[k] = -sign*d_re;
+    }
+    if (y == 0.0)
+    {
+      zeroImag(im, n);
+    }
+    return result;
+  }
+
+  private static ComplexBufferArray sphericalHankel(ComplexNumber z,
+                                                    ComplexBufferArray result,
+                                                    boolean first)
+  {
+    final double x = z.getReal(), y = z.getImag();
+    final double[] re = result.getRealArray(), im = result.getImagArray();
+    final int n = result.size() - 1;
+    if (n < 0 || special(x, y, re, im, n, 0.0, false))
+    {
+      return result;
+    }
+    final double[][] s = scratch(n + 1);
+    final double[] j_re = s[0], j_im = s[1];
+    sphericalSequences(x, y, j_re, j_im, re, im, n);
+    if (first != upper(y))
+    {
+      // h^(1) + h^(2) = 2*j
+      for (int k = 0; k <= n; k++)
+      {
+        re[k] = 2.0*j_re[k] - re[k];
+        im[k] = 2.0*j_im[k] - im[k];
+      }
+    }
+    return result;
+  }
+
+  /**
+     Calculate the spherical Hankel functions of the first kind
+     h^(1)_n(z) = j_n(z) + i*y_n(z) for the orders
+     n = 0, 1, ..., result.size() - 1.
+
+     @param z The argument
+     @param result The complex buffer array for the result
+     @return result
+   */
+  public static ComplexBufferArray sphericalHankel1(ComplexNumber z,
+                                                    ComplexBufferArray result)
+  {
+    return sphericalHankel(z, result, true);
+  }
+
+  /**
+     Calculate the spherical Hankel functions of the second kind
+     h^(2)_n(z) = j_n(z) - i*y_n(z) for the orders
+     n = 0, 1, ..., result.size() - 1.
+
+     @param z The argument
+     @param result The complex buffer array for the result
+     @return result
+   */
+  public static ComplexBufferArray sphericalHankel2(ComplexNumber z,
+                                                    ComplexBufferArray result)
+  {
+    return sphericalHankel(z, result, false);
+  }
+
+  /**
+     Calculate the Bessel functions of the first kind J_{n+1/2}(z) for the
+     half-integer orders n + 1/2, n = 0, 1, ..., result.size() - 1.
+
+     @param z The argument
+     @param result The complex buffer array for the result
+     @return result
+   */
+  public static ComplexBufferArray besselJHalf(ComplexNumber z,
+                                               ComplexBufferArray result)
+  {
+    sphericalJ(z, result);
+    halfOrder(z.getReal(), z.getImag(), result.getRealArray(),
+              result.getImagArray(), result.size() - 1);
+    return result;
+  }
+
+  /**
+     Calculate the Bessel functions of the second kind Y_{n+1/2}(z) for
+     the half-integer orders n + 1/2, n = 0, 1, ..., result.size() - 1.
+
+     @param z The argument
+     @param result The complex buffer array for the result
+     @return result
+   */
+  public static ComplexBufferArray besselYHalf(ComplexNumber z,
+                                               ComplexBufferArray result)
+  {
+    sphericalY(z, result);
+    halfOrder(z.getReal(), z.getImag(), result.getRealArray(),
+              result.getImagArray(), result.size() - 1);
+    return result;
+  }
+
+  /**
+     Calculate the Hankel functions of the first kind H^(1)_{n+1/2}(z) for
+     the half-integer orders n + 1/2, n = 0, 1, ..., result.size() - 1.
+
+     @param z The argument
+     @param result The complex buffer array for the result
+     @return result
+   */
+  public static ComplexBufferArray hankel1Half(ComplexNumber z,
+                                               ComplexBufferArray result)
+  {
+    sphericalHankel1(z, result);
+    halfOrder(z.getReal(), z.getImag(), result.getRealArray(),
+              result.getImagArray(), result.size() - 1);
+    return result;
+  }
+
+  /**
+     Calculate the Hankel functions of the second kind H^(2)_{n+1/2}(z) for
+     the half-integer orders n + 1/2, n = 0, 1, ..., result.size() - 1.
+
+     @param z The argument
+     @param result The complex buffer array for the result
+     @return result
+   */
+  public static ComplexBufferArray hankel2Half(ComplexNumber z,
+                                               ComplexBufferArray result)
+  {
+    sphericalHankel2(z, result);
+    halfOrder(z.getReal(), z.getImag(), result.getRealArray(),
+              result.getImagArray(), result.size() - 1);
+    return result;
+  }
+};
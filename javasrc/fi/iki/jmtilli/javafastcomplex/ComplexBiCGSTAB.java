@@ -0,0 +1,188 @@
+package fi.iki.jmtilli.javafastcomplex;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   The biconjugate gradient stabilized method BiCGSTAB.
+
+   Works for general nonsingular matrices with two operator applications
+   per iteration and a short recurrence, so the workspace is only eight
+   vectors of the system size. The convergence is not monotonic and the
+   method can break down, in which case solve() returns false with the
+   current approximation. The preconditioner is applied from the right.
+ */
+public class ComplexBiCGSTAB extends ComplexKrylovSolver {
+  /**
+     The scaled residual.
+   */
+  private final ComplexBufferArray r;
+  /**
+     The initial scaled residual, the shadow residual.
+   */
+  private final ComplexBufferArray r0;
+  /**
+     The search direction.
+   */
+  private final ComplexBufferArray p;
+  /**
+     The operator applied to the preconditioned search direction.
+   */
+  private final ComplexBufferArray v;
+  /**
+     The intermediate residual after the first half step.
+   */
+  private final ComplexBufferArray s;
+  /**
+     The operator applied to the preconditioned intermediate residual.
+   */
+  private final ComplexBufferArray t;
+  /**
+     The preconditioned search direction.
+   */
+  private final ComplexBufferArray phat;
+  /**
+     The preconditioned intermediate residual.
+   */
+  private final ComplexBufferArray shat;
+  /**
+     The inner product of the shadow residual and the residual of the
+     previous iteration.
+   */
+  private final ComplexBuffer rho = new ComplexBuffer();
+  /**
+     The inner product of the shadow residual and the residual.
+   */
+  private final ComplexBuffer rhoNew = new ComplexBuffer();
+  /**
+     The step length along the preconditioned search direction.
+   */
+  private final ComplexBuffer alpha = new ComplexBuffer();
+  /**
+     The step length along the preconditioned intermediate residual.
+   */
+  private final ComplexBuffer omega = new ComplexBuffer();
+  /**
+     The coefficient of the previous search direction.
+   */
+  private final ComplexBuffer beta = new ComplexBuffer();
+  /**
+     Scratch for inner products and coefficients.
+   */
+  private final ComplexBuffer tmp = new ComplexBuffer();
+
+  /**
+     Create a BiCGSTAB solver
+
+     @param n The system size
+     @param tolerance The relative residual tolerance
+     @param maxIterations The maximum number of iterations
+   */
+  public ComplexBiCGSTAB(int n, double tolerance, int maxIterations)
+  {
+    super(n, tolerance, maxIterations);
+    this.r = new ComplexBufferArray(n);
+    this.r0 = new ComplexBufferArray(n);
+    this.p = new ComplexBufferArray(n);
+    this.v = new ComplexBufferArray(n);
+    this.s = new ComplexBufferArray(n);
+    this.t = new ComplexBufferArray(n);
+    this.phat = new ComplexBufferArray(n);
+    this.shat = new ComplexBufferArray(n);
+  }
+
+  @Override
+  public boolean solve(ComplexLinearOperator a, ComplexPreconditioner m,
+                       ComplexBufferArray b, ComplexBufferArray x)
+  {
+    checkSizes(a, b, x);
+    double bnorm = b.normAll();
+    if (bnorm == 0.0)
+    {
+      bnorm = 1.0;
+    }
+    // the residual is scaled by a power of two, and so are the other
+    // vectors
+    final double scale = residualScale(bnorm);
+    bnorm *= scale;
+    iterations = 0;
+    residual(a, b, x, r).multiplyAllInPlace(scale);
+    relativeResidual = r.normAll()/bnorm;
+    r0.setAll(r);
+    while (relativeResidual > tolerance && iterations < maxIterations)
+    {
+      iterations++;
+      r0.innerProductAll(r, rhoNew);
+      if (rhoNew.getReal() == 0.0 && rhoNew.getImag() == 0.0)
+      {
+        return false;
+      }
+      if (iterations == 1)
+      {
+        p.setAll(r);
+      }
+      else
+      {
+        // beta = (rhoNew/rho)*(alpha/omega), p = r + beta*(p - omega*v)
+        beta.set(rhoNew).divideInPlace(rho)
+            .multiplyInPlace(alpha).divideInPlace(omega);
+        p.multiplyAddAllInPlace(tmp.set(omega).negateInPlace(), v);
+        p.multiplyAllInPlace(beta).addAllInPlace(r);
+      }
+      precondition(m, p, phat);
+      a.multiply(phat, v);
+      r0.innerProductAll(v, tmp);
+      if (tmp.getReal() == 0.0 && tmp.getImag() == 0.0)
+      {
+        return false;
+      }
+      alpha.set(rhoNew).divideInPlace(tmp);
+      // s = r - alpha*v
+      s.setAll(r).multiplyAddAllInPlace(tmp.set(alpha).negateInPlace(), v);
+      x.multiplyAddAllInPlace(tmp.set(alpha).divideInPlace(scale), phat);
+      relativeResidual = s.normAll()/bnorm;
+      if (relativeResidual <= tolerance)
+      {
+        break;
+      }
+      precondition(m, s, shat);
+      a.multiply(shat, t);
+      // omega = <t,s>/<t,t>
+      final double tt = t.normAll();
+      if (tt == 0.0)
+      {
+        return false;
+      }
+      t.innerProductAll(s, omega).divideInPlace(tt*tt);
+      x.multiplyAddAllInPlace(tmp.set(omega).divideInPlace(scale), shat);
+      // r = s - omega*t
+      r.setAll(s).multiplyAddAllInPlace(tmp.set(omega).negateInPlace(), t);
+      relativeResidual = r.normAll()/bnorm;
+      if (omega.getReal() == 0.0 && omega.getImag() == 0.0)
+      {
+        return false;
+      }
+      rho.set(rhoNew);
+    }
+    return relativeResidual <= tolerance;
+  }
+};
@@ -287,16 +287,16 @@ public class ComplexBuffer implements ComplexNumber, Serializable {
     return divideReversedInPlace(1.0);
   }
   /**
-     Calculate the square root of the value of this buffer and store the result
-     in this buffer
+     Calculate the square root of a complex number and store the result in
+     this buffer
 
+     @param re The real part of the complex number
+     @param im The imaginary part of the complex number
      @return this
    */
-  public ComplexBuffer sqrtInPlace()
+  private ComplexBuffer setSqrt(double re, double im)
   {
-    final double w = ComplexUtils.calcSqrtAuxiliaryNumber(this);
-    final double re = this.getReal();
-    final double im = this.getImag();
+    final double w = ComplexUtils.calcSqrtAuxiliaryNumber(re, im);
     if (w == 0.0)
     {
       return this.set(+0.0, +0.0);
@@ -314,6 +314,16 @@ public class ComplexBuffer implements ComplexNumber, Serializable {
       return this.set(Math.abs(im)/(2*w), -w);
     }
   }
+  /**
+     Calculate the square root of the value of this buffer and store the result
+     in this buffer
+
+     @return this
+   */
+  public ComplexBuffer sqrtInPlace()
+  {
+    return this.setSqrt(this.getReal(), this.getImag());
+  }
   /**
      Calculate the exponential of the value of this buffer and store the result
      in this buffer
@@ -325,6 +335,18 @@ public class ComplexBuffer implements ComplexNumber, Serializable {
     final double m = Math.exp(this.getReal());
     return this.set(m*Math.cos(this.getImag()), m*Math.sin(this.getImag()));
   }
+  /**
+     Calculate the logarithm of a complex number and store the result in this
+     buffer
+
+     @param re The real part of the complex number
+     @param im The imaginary part of the complex number
+     @return this
+   */
+  private ComplexBuffer setLog(double re, double im)
+  {
+    return this.set(Math.log(ComplexUtils.abs(re, im)), Math.atan2(im, re));
+  }
   /**
      Calculate the logarithm of the value of this buffer and store the result
      in this buffer
@@ -333,7 +355,7 @@ public class ComplexBuffer implements ComplexNumber, Serializable {
    */
   public ComplexBuffer logInPlace()
   {
-    return this.set(Math.log(this.abs()), this.arg());
+    return this.setLog(this.getReal(), this.getImag());
   }
   /**
      Calculate the logarithm of 1 added to the value of this buffer and store
@@ -382,6 +404,73 @@ public class ComplexBuffer implements ComplexNumber, Serializable {
                     - two_mul_sin_im_div_2_sq,
                     Math.sin(im)*(1 + expm1_re));
   }
+  /**
+     Calculate the inverse cosine of a complex number and store the result in
+     this buffer
+
+     Uses acos(z) = -i*log(z + i*sqrt(1-z*z)) evaluated on the real and
+     imaginary parts, so no objects are created.
+
+     @param re The real part of the complex number
+     @param im The imaginary part of the complex number
+     @return this
+   */
+  private ComplexBuffer setAcos(double re, double im)
+  {
+    this.setSqrt(1.0 - (re*re - im*im), -(im*re + re*im));
+    final double sqrt_re = this.getReal(), sqrt_im = this.getImag();
+    this.setLog(re - sqrt_im, im + sqrt_re);
+    return this.set(this.getImag(), -this.getReal());
+  }
+  /**
+     Calculate the inverse sine of a complex number and store the result in
+     this buffer
+
+     Uses asin(z) = -i*log(i*z + sqrt(1-z*z)) evaluated on the real and
+     imaginary parts, so no objects are created.
+
+     @param re The real part of the complex number
+     @param im The imaginary part of the complex number
+     @return this
+   */
+  private ComplexBuffer setAsin(double re, double im)
+  {
+    this.setSqrt(1.0 - (re*re - im*im), -(im*re + re*im));
+    final double sqrt_re = this.getReal(), sqrt_im = this.getImag();
+    this.setLog(sqrt_re - im, sqrt_im + re);
+    return this.set(this.getImag(), -this.getReal());
+  }
+  /**
+     Calculate the inverse tangent of a complex number and store the result in
+     this buffer
+
+     Uses atan(z) = i/2*log((i+z)/(i-z)) evaluated on the real and
+     imaginary parts, so no objects are created.
+
+     @param re The real part of the complex number
+     @param im The imaginary part of the complex number
+     @return this
+   */
+  private ComplexBuffer setAtan(double re, double im)
+  {
+    final double num_re = re + 0.0, num_im = im + 1.0;
+    final double den_re = 0.0 - re, den_im = 1.0 - im;
+    if (Math.abs(den_re) > Math.abs(den_im))
+    {
+      final double den_im_div_re = den_im/den_re;
+      final double w = 1.0 / (den_re + den_im*den_im_div_re);
+      this.setLog((num_re + num_im*den_im_div_re) * w,
+                  (num_im - num_re*den_im_div_re) * w);
+    }
+    else
+    {
+      final double den_re_div_im = den_re/den_im;
+      final double w = 1.0 / (den_im + den_re*den_re_div_im);
+      this.setLog((num_re*den_re_div_im + num_im) * w,
+                  (num_im*den_re_div_im - num_re) * w);
+    }
+    return this.set(-0.5*this.getImag(), 0.5*this.getReal());
+  }
   /**
      Calculate the inverse hyperbolic cosine of the value of the buffer
      and store the result in this buffer
@@ -390,9 +479,9 @@ public class ComplexBuffer implements ComplexNumber, Serializable {
    */
   public ComplexBuffer acoshInPlace()
   {
-    // Could be optimized a lot, eg. multiplication with Complex.I
-    this.acosInPlace();
-    return this.multiplyInPlace(Complex.I);
+    // acosh(z) = i*acos(z)
+    this.setAcos(this.getReal(), this.getImag());
+    return this.set(-this.getImag(), this.getReal());
   }
   /**
      Calculate the inverse hyperbolic sine of the value of the buffer
@@ -402,11 +491,9 @@ public class ComplexBuffer implements ComplexNumber, Serializable {
    */
   public ComplexBuffer asinhInPlace()
   {
-    // Could be optimized a lot, eg. multiplication with Complex.I
-    this.multiplyInPlace(Complex.I);
-    this.asinInPlace();
-    this.multiplyInPlace(Complex.I);
-    return this.negateInPlace();
+    // asinh(z) = -i*asin(i*z)
+    this.setAsin(-this.getImag(), this.getReal());
+    return this.set(this.getImag(), -this.getReal());
   }
   /**
      Calculate the inverse hyperbolic tangent of the value of the buffer
@@ -416,11 +503,9 @@ public class ComplexBuffer implements ComplexNumber, Serializable {
    */
   public ComplexBuffer atanhInPlace()
   {
-    // Could be optimized a lot, eg. multiplication with Complex.I
-    this.multiplyInPlace(Complex.I);
-    this.atanInPlace();
-    this.multiplyInPlace(Complex.I);
-    return this.negateInPlace();
+    // atanh(z) = -i*atan(i*z)
+    this.setAtan(-this.getImag(), this.getReal());
+    return this.set(this.getImag(), -this.getReal());
   }
   /**
      Calculate the inverse cosine of the value of the buffer
@@ -430,13 +515,7 @@ public class ComplexBuffer implements ComplexNumber, Serializable {
    */
   public ComplexBuffer acosInPlace()
   {
-    // Generates one object of garbage
-    // Could be optimized a lot, eg. multiplication with Complex.I
-    final ComplexBuffer copy = new ComplexBuffer(this);
-    this.multiplyInPlace(this).subtractReversedInPlace(1.0).sqrtInPlace();
-    this.multiplyInPlace(Complex.I).addInPlace(copy);
-    this.logInPlace();
-    return this.multiplyInPlace(Complex.I).negateInPlace();
+    return this.setAcos(this.getReal(), this.getImag());
   }
   /**
      Calculate the inverse sine of the value of the buffer
@@ -446,13 +525,7 @@ public class ComplexBuffer implements ComplexNumber, Serializable {
    */
   public ComplexBuffer asinInPlace()
   {
-    // Generates one object of garbage
-    // Could be optimized a lot, eg. multiplication with Complex.I
-    final ComplexBuffer copy = new ComplexBuffer(this);
-    this.multiplyInPlace(this).subtractReversedInPlace(1.0).sqrtInPlace();
-    this.addInPlace(copy.multiplyInPlace(Complex.I));
-    this.logInPlace();
-    return this.multiplyInPlace(Complex.I).negateInPlace();
+    return this.setAsin(this.getReal(), this.getImag());
   }
   /**
      Calculate the inverse tangent of the value of the buffer
@@ -462,13 +535,7 @@ public class ComplexBuffer implements ComplexNumber, Serializable {
    */
   public ComplexBuffer atanInPlace()
   {
-    // Generates one object of garbage
-    // Could be optimized a lot, eg. mul/add/sub with Complex.I
-    final ComplexBuffer copy = new ComplexBuffer(this);
-    this.addInPlace(Complex.I);
-    this.divideInPlace(copy.subtractReversedInPlace(Complex.I));
-    this.logInPlace();
-    return this.multiplyInPlace(0.5).multiplyInPlace(Complex.I);
+    return this.setAtan(this.getReal(), this.getImag());
   }
   /**
      Calculate the cosine of the value of the buffer
@@ -541,6 +608,76 @@ public class ComplexBuffer implements ComplexNumber, Serializable {
     final double d = Math.cosh(real_x2) + Math.cos(imag_x2);
     return this.set(Math.sinh(real_x2)/d, Math.sin(imag_x2)/d);
   }
+  /**
+     Calculate the principal branch of the log-gamma function of the value
+     of the buffer and store the result in this buffer
+
+     @return this
+   */
+  public ComplexBuffer lgammaInPlace()
+  {
+    return ComplexGamma.lgamma(this.getReal(), this.getImag(), this);
+  }
+  /**
+     Calculate the gamma function of the value of the buffer
+     and store the result in this buffer
+
+     @return this
+   */
+  public ComplexBuffer gammaInPlace()
+  {
+    return ComplexGamma.gamma(this.getReal(), this.getImag(), this);
+  }
+  /**
+     Calculate the digamma function of the value of the buffer
+     and store the result in this buffer
+
+     @return this
+   */
+  public ComplexBuffer digammaInPlace()
+  {
+    return ComplexGamma.digamma(this.getReal(), this.getImag(), this);
+  }
+  /**
+     Calculate the Faddeeva function of the value of the buffer and store
+     the result in this buffer
+
+     @return this
+   */
+  public ComplexBuffer faddeevaInPlace()
+  {
+    return ComplexFaddeeva.faddeeva(this.getReal(), this.getImag(), this);
+  }
+  /**
+     Calculate the error function of the value of the buffer
+     and store the result in this buffer
+
+     @return this
+   */
+  public ComplexBuffer erfInPlace()
+  {
+    return ComplexFaddeeva.erf(this.getReal(), this.getImag(), this);
+  }
+  /**
+     Calculate the complementary error function of the value of the buffer
+     and store the result in this buffer
+
+     @return this
+   */
+  public ComplexBuffer erfcInPlace()
+  {
+    return ComplexFaddeeva.erfc(this.getReal(), this.getImag(), this);
+  }
+  /**
+     Calculate the scaled complementary error function of the value of the
+     buffer and store the result in this buffer
+
+     @return this
+   */
+  public ComplexBuffer erfcxInPlace()
+  {
+    return ComplexFaddeeva.erfcx(this.getReal(), this.getImag(), this);
+  }
   /**
      Raise this complex number to a real power
      and store the result in this buffer
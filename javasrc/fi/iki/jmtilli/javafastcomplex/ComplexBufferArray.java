@@ -54,6 +54,31 @@ public class ComplexBufferArray implements ComplexNumberArray, Serializable {
     return re.length;
   }
 
+  /**
+     Returns the array of real parts backing this buffer.
+
+     Intended for the algorithms in this package which work directly on the
+     split real and imaginary parts.
+
+     @return The array of real parts
+   */
+  double[] getRealArray()
+  {
+    return this.re;
+  }
+  /**
+     Returns the array of imaginary parts backing this buffer.
+
+     Intended for the algorithms in this package which work directly on the
+     split real and imaginary parts.
+
+     @return The array of imaginary parts
+   */
+  double[] getImagArray()
+  {
+    return this.im;
+  }
+
   /**
      Create a complex buffer array
 
@@ -301,17 +326,17 @@ public class ComplexBufferArray implements ComplexNumberArray, Serializable {
     return divideReversedInPlace(i, 1.0);
   }
   /**
-     Calculate the square root of the value of this buffer and store the result
-     in this buffer
+     Calculate the square root of a complex number and store the result in
+     this buffer
 
      @param i The array index
+     @param re The real part of the complex number
+     @param im The imaginary part of the complex number
      @return this
    */
-  public ComplexBufferArray sqrtInPlace(int i)
+  private ComplexBufferArray setSqrt(int i, double re, double im)
   {
-    final double w = ComplexUtils.calcSqrtAuxiliaryNumber(this, i);
-    final double re = this.getReal(i);
-    final double im = this.getImag(i);
+    final double w = ComplexUtils.calcSqrtAuxiliaryNumber(re, im);
     if (w == 0.0)
     {
       return this.set(i, +0.0, +0.0);
@@ -329,6 +354,17 @@ public class ComplexBufferArray implements ComplexNumberArray, Serializable {
       return this.set(i, Math.abs(im)/(2*w), -w);
     }
   }
+  /**
+     Calculate the square root of the value of this buffer and store the result
+     in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexBufferArray sqrtInPlace(int i)
+  {
+    return this.setSqrt(i, this.getReal(i), this.getImag(i));
+  }
   /**
      Calculate the exponential of the value of this buffer and store the result
      in this buffer
@@ -341,6 +377,19 @@ public class ComplexBufferArray implements ComplexNumberArray, Serializable {
     final double m = Math.exp(this.getReal(i));
     return this.set(i, m*Math.cos(this.getImag(i)), m*Math.sin(this.getImag(i)));
   }
+  /**
+     Calculate the logarithm of a complex number and store the result in this
+     buffer
+
+     @param i The array index
+     @param re The real part of the complex number
+     @param im The imaginary part of the complex number
+     @return this
+   */
+  private ComplexBufferArray setLog(int i, double re, double im)
+  {
+    return this.set(i, Math.log(ComplexUtils.abs(re, im)), Math.atan2(im, re));
+  }
   /**
      Calculate the logarithm of the value of this buffer and store the result
      in this buffer
@@ -350,7 +399,7 @@ public class ComplexBufferArray implements ComplexNumberArray, Serializable {
    */
   public ComplexBufferArray logInPlace(int i)
   {
-    return this.set(i, Math.log(this.abs(i)), this.arg(i));
+    return this.setLog(i, this.getReal(i), this.getImag(i));
   }
   /**
      Calculate the logarithm of 1 added to the value of this buffer and store
@@ -402,6 +451,76 @@ public class ComplexBufferArray implements ComplexNumberArray, Serializable {
                     - two_mul_sin_im_div_2_sq,
                     Math.sin(im)*(1 + expm1_re));
   }
+  /**
+     Calculate the inverse cosine of a complex number and store the result in
+     this buffer
+
+     Uses acos(z) = -i*log(z + i*sqrt(1-z*z)) evaluated on the real and
+     imaginary parts, so no objects are created.
+
+     @param i The array index
+     @param re The real part of the complex number
+     @param im The imaginary part of the complex number
+     @return this
+   */
+  private ComplexBufferArray setAcos(int i, double re, double im)
+  {
+    this.setSqrt(i, 1.0 - (re*re - im*im), -(im*re + re*im));
+    final double sqrt_re = this.getReal(i), sqrt_im = this.getImag(i);
+    this.setLog(i, re - sqrt_im, im + sqrt_re);
+    return this.set(i, this.getImag(i), -this.getReal(i));
+  }
+  /**
+     Calculate the inverse sine of a complex number and store the result in
+     this buffer
+
+     Uses asin(z) = -i*log(i*z + sqrt(1-z*z)) evaluated on the real and
+     imaginary parts, so no objects are created.
+
+     @param i The array index
+     @param re The real part of the complex number
+     @param im The imaginary part of the complex number
+     @return this
+   */
+  private ComplexBufferArray setAsin(int i, double re, double im)
+  {
+    this.setSqrt(i, 1.0 - (re*re - im*im), -(im*re + re*im));
+    final double sqrt_re = this.getReal(i), sqrt_im = this.getImag(i);
+    this.setLog(i, sqrt_re - im, sqrt_im + re);
+    return this.set(i, this.getImag(i), -this.getReal(i));
+  }
+  /**
+     Calculate the inverse tangent of a complex number and store the result in
+     this buffer
+
+     Uses atan(z) = i/2*log((i+z)/(i-z)) evaluated on the real and
+     imaginary parts, so no objects are created.
+
+     @param i The array index
+     @param re The real part of the complex number
+     @param im The imaginary part of the complex number
+     @return this
+   */
+  private ComplexBufferArray setAtan(int i, double re, double im)
+  {
+    final double num_re = re + 0.0, num_im = im + 1.0;
+    final double den_re = 0.0 - re, den_im = 1.0 - im;
+    if (Math.abs(den_re) > Math.abs(den_im))
+    {
+      final double den_im_div_re = den_im/den_re;
+      final double w = 1.0 / (den_re + den_im*den_im_div_re);
+      this.setLog(i, (num_re + num_im*den_im_div_re) * w,
+                     (num_im - num_re*den_im_div_re) * w);
+    }
+    else
+    {
+      final double den_re_div_im = den_re/den_im;
+      final double w = 1.0 / (den_im + den_re*den_re_div_im);
+      this.setLog(i, (num_re*den_re_div_im + num_im) * w,
+                     (num_im*den_re_div_im - num_re) * w);
+    }
+    return this.set(i, -0.5*this.getImag(i), 0.5*this.getReal(i));
+  }
   /**
      Calculate the inverse hyperbolic cosine of the value of the buffer
      and store the result in this buffer
@@ -411,9 +530,9 @@ public class ComplexBufferArray implements ComplexNumberArray, Serializable {
    */
   public ComplexBufferArray acoshInPlace(int i)
   {
-    // Could be optimized a lot, eg. multiplication with Complex.I
-    this.acosInPlace(i);
-    return this.multiplyInPlace(i, Complex.I);
+    // acosh(z) = i*acos(z)
+    this.setAcos(i, this.getReal(i), this.getImag(i));
+    return this.set(i, -this.getImag(i), this.getReal(i));
   }
   /**
      Calculate the inverse hyperbolic sine of the value of the buffer
@@ -424,11 +543,9 @@ public class ComplexBufferArray implements ComplexNumberArray, Serializable {
    */
   public ComplexBufferArray asinhInPlace(int i)
   {
-    // Could be optimized a lot, eg. multiplication with Complex.I
-    this.multiplyInPlace(i, Complex.I);
-    this.asinInPlace(i);
-    this.multiplyInPlace(i, Complex.I);
-    return this.negateInPlace(i);
+    // asinh(z) = -i*asin(i*z)
+    this.setAsin(i, -this.getImag(i), this.getReal(i));
+    return this.set(i, this.getImag(i), -this.getReal(i));
   }
   /**
      Calculate the inverse hyperbolic tangent of the value of the buffer
@@ -439,11 +556,9 @@ public class ComplexBufferArray implements ComplexNumberArray, Serializable {
    */
   public ComplexBufferArray atanhInPlace(int i)
   {
-    // Could be optimized a lot, eg. multiplication with Complex.I
-    this.multiplyInPlace(i, Complex.I);
-    this.atanInPlace(i);
-    this.multiplyInPlace(i, Complex.I);
-    return this.negateInPlace(i);
+    // atanh(z) = -i*atan(i*z)
+    this.setAtan(i, -this.getImag(i), this.getReal(i));
+    return this.set(i, this.getImag(i), -this.getReal(i));
   }
   /**
      Calculate the inverse cosine of the value of the buffer
@@ -454,13 +569,7 @@ public class ComplexBufferArray implements ComplexNumberArray, Serializable {
    */
   public ComplexBufferArray acosInPlace(int i)
   {
-    // Generates one object of garbage
-    // Could be optimized a lot, eg. multiplication with Complex.I
-    final ComplexBuffer copy = new ComplexBuffer(getReal(i), getImag(i));
-    this.multiplyInPlace(i, copy).subtractReversedInPlace(i, 1.0).sqrtInPlace(i);
-    this.multiplyInPlace(i, Complex.I).addInPlace(i, copy);
-    this.logInPlace(i);
-    return this.multiplyInPlace(i, Complex.I).negateInPlace(i);
+    return this.setAcos(i, this.getReal(i), this.getImag(i));
   }
   /**
      Calculate the inverse sine of the value of the buffer
@@ -471,13 +580,7 @@ public class ComplexBufferArray implements ComplexNumberArray, Serializable {
    */
   public ComplexBufferArray asinInPlace(int i)
   {
-    // Generates one object of garbage
-    // Could be optimized a lot, eg. multiplication with Complex.I
-    final ComplexBuffer copy = new ComplexBuffer(getReal(i), getImag(i));
-    this.multiplyInPlace(i, copy).subtractReversedInPlace(i, 1.0).sqrtInPlace(i);
-    this.addInPlace(i, copy.multiplyInPlace(Complex.I));
-    this.logInPlace(i);
-    return this.multiplyInPlace(i, Complex.I).negateInPlace(i);
+    return this.setAsin(i, this.getReal(i), this.getImag(i));
   }
   /**
      Calculate the inverse tangent of the value of the buffer
@@ -488,13 +591,7 @@ public class ComplexBufferArray implements ComplexNumberArray, Serializable {
    */
   public ComplexBufferArray atanInPlace(int i)
   {
-    // Generates one object of garbage
-    // Could be optimized a lot, eg. mul/add/sub with Complex.I
-    final ComplexBuffer copy = new ComplexBuffer(getReal(i), getImag(i));
-    this.addInPlace(i, Complex.I);
-    this.divideInPlace(i, copy.subtractReversedInPlace(Complex.I));
-    this.logInPlace(i);
-    return this.multiplyInPlace(i, 0.5).multiplyInPlace(i, Complex.I);
+    return this.setAtan(i, this.getReal(i), this.getImag(i));
   }
   /**
      Calculate the cosine of the value of the buffer
@@ -573,6 +670,93 @@ public class ComplexBufferArray implements ComplexNumberArray, Serializable {
     final double d = Math.cosh(real_x2) + Math.cos(imag_x2);
     return this.set(i, Math.sinh(real_x2)/d, Math.sin(imag_x2)/d);
   }
+  /**
+     Calculate the principal branch of the log-gamma function of the value
+     of the buffer and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexBufferArray lgammaInPlace(int i)
+  {
+    final ComplexBuffer t = ComplexGamma.temp();
+    ComplexGamma.lgamma(this.re[i], this.im[i], t);
+    return this.set(i, t.getReal(), t.getImag());
+  }
+  /**
+     Calculate the gamma function of the value of the buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexBufferArray gammaInPlace(int i)
+  {
+    final ComplexBuffer t = ComplexGamma.temp();
+    ComplexGamma.gamma(this.re[i], this.im[i], t);
+    return this.set(i, t.getReal(), t.getImag());
+  }
+  /**
+     Calculate the digamma function of the value of the buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexBufferArray digammaInPlace(int i)
+  {
+    final ComplexBuffer t = ComplexGamma.temp();
+    ComplexGamma.digamma(this.re[i], this.im[i], t);
+    return this.set(i, t.getReal(), t.getImag());
+  }
+  /**
+     Calculate the Faddeeva function of the value of the buffer and store
+     the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexBufferArray faddeevaInPlace(int i)
+  {
+    ComplexFaddeeva.faddeeva(this.re, this.im, i, i + 1);
+    return this;
+  }
+  /**
+     Calculate the error function of the value of the buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexBufferArray erfInPlace(int i)
+  {
+    ComplexFaddeeva.erf(this.re, this.im, i, i + 1);
+    return this;
+  }
+  /**
+     Calculate the complementary error function of the value of the buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexBufferArray erfcInPlace(int i)
+  {
+    ComplexFaddeeva.erfc(this.re, this.im, i, i + 1);
+    return this;
+  }
+  /**
+     Calculate the scaled complementary error function of the value of the
+     buffer and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexBufferArray erfcxInPlace(int i)
+  {
+    ComplexFaddeeva.erfcx(this.re, this.im, i, i + 1);
+    return this;
+  }
   /**
      Raise this complex number to a real power
      and store the result in this buffer
@@ -835,6 +1019,1068 @@ public class ComplexBufferArray implements ComplexNumberArray, Serializable {
     }
   }
 
+  /**
+     Check that a range is within an array of the given size.
+
+     @param size The size of the array
+     @param from The first index of the range, inclusive
+     @param to The last index of the range, exclusive
+   */
+  static void checkRange(int size, int from, int to)
+  {
+    if (from < 0 || to > size || from > to)
+    {
+      throw new IndexOutOfBoundsException(
+          "range [" + from + "," + to + ") out of bounds for size " + size);
+    }
+  }
+  /**
+     Check that another array has the same size as this array.
+
+     @param c The other complex number array
+   */
+  private void checkSameSize(ComplexBufferArray c)
+  {
+    if (c.re.length != this.re.length)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + this.re.length + ", " + c.re.length);
+    }
+  }
+
+  /**
+     Add a range of another complex number array to a range of this buffer
+     and store the result in this buffer
+
+     The element at index k of this buffer is added with the element at
+     index j+k-from of the other array. If c is this array, the ranges
+     must either be the same or not overlap.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexBufferArray addRangeInPlace(int from, int to,
+                                            ComplexBufferArray c, int j)
+  {
+    checkRange(this.re.length, from, to);
+    checkRange(c.re.length, j, j + (to - from));
+    final double[] re = this.re, im = this.im;
+    final double[] c_re = c.re, c_im = c.im;
+    final int off = j - from;
+    for (int k = from; k < to; k++)
+    {
+      re[k] += c_re[k + off];
+      im[k] += c_im[k + off];
+    }
+    return this;
+  }
+  /**
+     Add another complex number to a range of this buffer and store the
+     result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexBufferArray addRangeInPlace(int from, int to, ComplexNumber c)
+  {
+    checkRange(this.re.length, from, to);
+    final double[] re = this.re, im = this.im;
+    final double c_re = c.getReal(), c_im = c.getImag();
+    for (int k = from; k < to; k++)
+    {
+      re[k] += c_re;
+      im[k] += c_im;
+    }
+    return this;
+  }
+  /**
+     Add a real number to a range of this buffer and store the result in this
+     buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param d The real number
+
+     @return this
+   */
+  public ComplexBufferArray addRangeInPlace(int from, int to, double d)
+  {
+    checkRange(this.re.length, from, to);
+    final double[] re = this.re;
+    for (int k = from; k < to; k++)
+    {
+      re[k] += d;
+    }
+    return this;
+  }
+  /**
+     Add another complex number array to this buffer elementwise and store
+     the result in this buffer
+
+     @param c The other complex number array of the same size
+
+     @return this
+   */
+  public ComplexBufferArray addAllInPlace(ComplexBufferArray c)
+  {
+    checkSameSize(c);
+    return this.addRangeInPlace(0, this.re.length, c, 0);
+  }
+  /**
+     Add another complex number to every element of this buffer and store the
+     result in this buffer
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexBufferArray addAllInPlace(ComplexNumber c)
+  {
+    return this.addRangeInPlace(0, this.re.length, c);
+  }
+  /**
+     Add a real number to every element of this buffer and store the result
+     in this buffer
+
+     @param d The real number
+
+     @return this
+   */
+  public ComplexBufferArray addAllInPlace(double d)
+  {
+    return this.addRangeInPlace(0, this.re.length, d);
+  }
+  /**
+     Subtract a range of another complex number array from a range of this
+     buffer and store the result in this buffer
+
+     The element at index j+k-from of the other array is subtracted from the
+     element at index k of this buffer. If c is this array, the ranges
+     must either be the same or not overlap.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexBufferArray subtractRangeInPlace(int from, int to,
+                                                 ComplexBufferArray c, int j)
+  {
+    checkRange(this.re.length, from, to);
+    checkRange(c.re.length, j, j + (to - from));
+    final double[] re = this.re, im = this.im;
+    final double[] c_re = c.re, c_im = c.im;
+    final int off = j - from;
+    for (int k = from; k < to; k++)
+    {
+      re[k] -= c_re[k + off];
+      im[k] -= c_im[k + off];
+    }
+    return this;
+  }
+  /**
+     Subtract another complex number from a range of this buffer and store
+     the result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexBufferArray subtractRangeInPlace(int from, int to,
+                                                 ComplexNumber c)
+  {
+    checkRange(this.re.length, from, to);
+    final double[] re = this.re, im = this.im;
+    final double c_re = c.getReal(), c_im = c.getImag();
+    for (int k = from; k < to; k++)
+    {
+      re[k] -= c_re;
+      im[k] -= c_im;
+    }
+    return this;
+  }
+  /**
+     Subtract a real number from a range of this buffer and store the result
+     in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param d The real number
+
+     @return this
+   */
+  public ComplexBufferArray subtractRangeInPlace(int from, int to, double d)
+  {
+    checkRange(this.re.length, from, to);
+    final double[] re = this.re;
+    for (int k = from; k < to; k++)
+    {
+      re[k] -= d;
+    }
+    return this;
+  }
+  /**
+     Subtract another complex number array from this buffer elementwise and
+     store the result in this buffer
+
+     @param c The other complex number array of the same size
+
+     @return this
+   */
+  public ComplexBufferArray subtractAllInPlace(ComplexBufferArray c)
+  {
+    checkSameSize(c);
+    return this.subtractRangeInPlace(0, this.re.length, c, 0);
+  }
+  /**
+     Subtract another complex number from every element of this buffer and
+     store the result in this buffer
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexBufferArray subtractAllInPlace(ComplexNumber c)
+  {
+    return this.subtractRangeInPlace(0, this.re.length, c);
+  }
+  /**
+     Subtract a real number from every element of this buffer and store the
+     result in this buffer
+
+     @param d The real number
+
+     @return this
+   */
+  public ComplexBufferArray subtractAllInPlace(double d)
+  {
+    return this.subtractRangeInPlace(0, this.re.length, d);
+  }
+  /**
+     Multiply a range of this buffer by a range of another complex number
+     array and store the result in this buffer
+
+     The element at index k of this buffer is multiplied by the element at
+     index j+k-from of the other array. If c is this array, the ranges
+     must either be the same or not overlap.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexBufferArray multiplyRangeInPlace(int from, int to,
+                                                 ComplexBufferArray c, int j)
+  {
+    checkRange(this.re.length, from, to);
+    checkRange(c.re.length, j, j + (to - from));
+    final double[] re = this.re, im = this.im;
+    final double[] c_re = c.re, c_im = c.im;
+    final int off = j - from;
+    for (int k = from; k < to; k++)
+    {
+      final double this_re = re[k], this_im = im[k];
+      final double that_re = c_re[k + off], that_im = c_im[k + off];
+      re[k] = this_re*that_re - this_im*that_im;
+      im[k] = this_im*that_re + this_re*that_im;
+    }
+    return this;
+  }
+  /**
+     Multiply a range of this buffer by another complex number and store the
+     result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexBufferArray multiplyRangeInPlace(int from, int to,
+                                                 ComplexNumber c)
+  {
+    checkRange(this.re.length, from, to);
+    final double[] re = this.re, im = this.im;
+    final double that_re = c.getReal(), that_im = c.getImag();
+    for (int k = from; k < to; k++)
+    {
+      final double this_re = re[k], this_im = im[k];
+      re[k] = this_re*that_re - this_im*that_im;
+      im[k] = this_im*that_re + this_re*that_im;
+    }
+    return this;
+  }
+  /**
+     Multiply a range of this buffer by a real number and store the result
+     in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param d The real number
+
+     @return this
+   */
+  public ComplexBufferArray multiplyRangeInPlace(int from, int to, double d)
+  {
+    checkRange(this.re.length, from, to);
+    final double[] re = this.re, im = this.im;
+    for (int k = from; k < to; k++)
+    {
+      re[k] *= d;
+      im[k] *= d;
+    }
+    return this;
+  }
+  /**
+     Multiply this buffer by another complex number array elementwise and
+     store the result in this buffer
+
+     @param c The other complex number array of the same size
+
+     @return this
+   */
+  public ComplexBufferArray multiplyAllInPlace(ComplexBufferArray c)
+  {
+    checkSameSize(c);
+    return this.multiplyRangeInPlace(0, this.re.length, c, 0);
+  }
+  /**
+     Multiply every element of this buffer by another complex number and
+     store the result in this buffer
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexBufferArray multiplyAllInPlace(ComplexNumber c)
+  {
+    return this.multiplyRangeInPlace(0, this.re.length, c);
+  }
+  /**
+     Multiply every element of this buffer by a real number and store the
+     result in this buffer
+
+     @param d The real number
+
+     @return this
+   */
+  public ComplexBufferArray multiplyAllInPlace(double d)
+  {
+    return this.multiplyRangeInPlace(0, this.re.length, d);
+  }
+  /**
+     Divide a range of this buffer by a range of another complex number
+     array and store the result in this buffer
+
+     The element at index k of this buffer is divided by the element at
+     index j+k-from of the other array. If c is this array, the ranges
+     must either be the same or not overlap.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexBufferArray divideRangeInPlace(int from, int to,
+                                               ComplexBufferArray c, int j)
+  {
+    checkRange(this.re.length, from, to);
+    checkRange(c.re.length, j, j + (to - from));
+    final double[] re = this.re, im = this.im;
+    final double[] c_re_ar = c.re, c_im_ar = c.im;
+    final int off = j - from;
+    for (int k = from; k < to; k++)
+    {
+      final double this_re = re[k], this_im = im[k];
+      final double c_re = c_re_ar[k + off], c_im = c_im_ar[k + off];
+      if (Math.abs(c_re) > Math.abs(c_im))
+      {
+        final double c_im_div_re = c_im/c_re;
+        final double w = 1.0 / (c_re + c_im*c_im_div_re);
+        re[k] = (this_re + this_im*c_im_div_re) * w;
+        im[k] = (this_im - this_re*c_im_div_re) * w;
+      }
+      else
+      {
+        final double c_re_div_im = c_re/c_im;
+        final double w = 1.0 / (c_im + c_re*c_re_div_im);
+        re[k] = (this_re*c_re_div_im + this_im) * w;
+        im[k] = (this_im*c_re_div_im - this_re) * w;
+      }
+    }
+    return this;
+  }
+  /**
+     Divide a range of this buffer by another complex number and store the
+     result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexBufferArray divideRangeInPlace(int from, int to,
+                                               ComplexNumber c)
+  {
+    checkRange(this.re.length, from, to);
+    final double[] re = this.re, im = this.im;
+    final double c_re = c.getReal(), c_im = c.getImag();
+    // The divisor is the same for every element, so the branch and the
+    // division can be done only once outside the loop.
+    if (Math.abs(c_re) > Math.abs(c_im))
+    {
+      final double c_im_div_re = c_im/c_re;
+      final double w = 1.0 / (c_re + c_im*c_im_div_re);
+      for (int k = from; k < to; k++)
+      {
+        final double this_re = re[k], this_im = im[k];
+        re[k] = (this_re + this_im*c_im_div_re) * w;
+        im[k] = (this_im - this_re*c_im_div_re) * w;
+      }
+    }
+    else
+    {
+      final double c_re_div_im = c_re/c_im;
+      final double w = 1.0 / (c_im + c_re*c_re_div_im);
+      for (int k = from; k < to; k++)
+      {
+        final double this_re = re[k], this_im = im[k];
+        re[k] = (this_re*c_re_div_im + this_im) * w;
+        im[k] = (this_im*c_re_div_im - this_re) * w;
+      }
+    }
+    return this;
+  }
+  /**
+     Divide a range of this buffer by a real number and store the result
+     in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param d The real number
+
+     @return this
+   */
+  public ComplexBufferArray divideRangeInPlace(int from, int to, double d)
+  {
+    checkRange(this.re.length, from, to);
+    final double[] re = this.re, im = this.im;
+    for (int k = from; k < to; k++)
+    {
+      re[k] /= d;
+      im[k] /= d;
+    }
+    return this;
+  }
+  /**
+     Divide this buffer by another complex number array elementwise and
+     store the result in this buffer
+
+     @param c The other complex number array of the same size
+
+     @return this
+   */
+  public ComplexBufferArray divideAllInPlace(ComplexBufferArray c)
+  {
+    checkSameSize(c);
+    return this.divideRangeInPlace(0, this.re.length, c, 0);
+  }
+  /**
+     Divide every element of this buffer by another complex number and
+     store the result in this buffer
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexBufferArray divideAllInPlace(ComplexNumber c)
+  {
+    return this.divideRangeInPlace(0, this.re.length, c);
+  }
+  /**
+     Divide every element of this buffer by a real number and store the
+     result in this buffer
+
+     @param d The real number
+
+     @return this
+   */
+  public ComplexBufferArray divideAllInPlace(double d)
+  {
+    return this.divideRangeInPlace(0, this.re.length, d);
+  }
+  /**
+     Multiply ranges of two complex number arrays and add the products to a
+     range of this buffer
+
+     The product of the elements at index ai+k-from of the array a and
+     index bi+k-from of the array b is added to the element at index k of
+     this buffer. The arrays a and b must not overlap with the modified
+     range of this buffer unless they are at the same indices.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param a The first factor array
+     @param ai The array index to the first factor array
+     @param b The second factor array
+     @param bi The array index to the second factor array
+
+     @return this
+   */
+  public ComplexBufferArray multiplyAddRangeInPlace(int from, int to,
+                                                    ComplexBufferArray a,
+                                                    int ai,
+                                                    ComplexBufferArray b,
+                                                    int bi)
+  {
+    checkRange(this.re.length, from, to);
+    checkRange(a.re.length, ai, ai + (to - from));
+    checkRange(b.re.length, bi, bi + (to - from));
+    final double[] re = this.re, im = this.im;
+    final double[] a_re = a.re, a_im = a.im;
+    final double[] b_re = b.re, b_im = b.im;
+    final int a_off = ai - from, b_off = bi - from;
+    for (int k = from; k < to; k++)
+    {
+      final double x_re = a_re[k + a_off], x_im = a_im[k + a_off];
+      final double y_re = b_re[k + b_off], y_im = b_im[k + b_off];
+      re[k] += x_re*y_re - x_im*y_im;
+      im[k] += x_im*y_re + x_re*y_im;
+    }
+    return this;
+  }
+  /**
+     Multiply a range of a complex number array by a complex number and add
+     the products to a range of this buffer
+
+     The product of c and the element at index j+k-from of the array x is
+     added to the element at index k of this buffer.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The complex factor
+     @param x The complex number array
+     @param j The array index to the complex number array
+
+     @return this
+   */
+  public ComplexBufferArray multiplyAddRangeInPlace(int from, int to,
+                                                    ComplexNumber c,
+                                                    ComplexBufferArray x, int j)
+  {
+    checkRange(this.re.length, from, to);
+    checkRange(x.re.length, j, j + (to - from));
+    final double[] re = this.re, im = this.im;
+    final double[] x_re = x.re, x_im = x.im;
+    final double c_re = c.getReal(), c_im = c.getImag();
+    final int off = j - from;
+    for (int k = from; k < to; k++)
+    {
+      final double y_re = x_re[k + off], y_im = x_im[k + off];
+      re[k] += c_re*y_re - c_im*y_im;
+      im[k] += c_im*y_re + c_re*y_im;
+    }
+    return this;
+  }
+  /**
+     Multiply two complex number arrays elementwise and add the products to
+     this buffer
+
+     @param a The first factor array of the same size
+     @param b The second factor array of the same size
+
+     @return this
+   */
+  public ComplexBufferArray multiplyAddAllInPlace(ComplexBufferArray a,
+                                                  ComplexBufferArray b)
+  {
+    checkSameSize(a);
+    checkSameSize(b);
+    return this.multiplyAddRangeInPlace(0, this.re.length, a, 0, b, 0);
+  }
+  /**
+     Multiply a complex number array by a complex number and add the
+     products to this buffer
+
+     @param c The complex factor
+     @param x The complex number array of the same size
+
+     @return this
+   */
+  public ComplexBufferArray multiplyAddAllInPlace(ComplexNumber c,
+                                                  ComplexBufferArray x)
+  {
+    checkSameSize(x);
+    return this.multiplyAddRangeInPlace(0, this.re.length, c, x, 0);
+  }
+  /**
+     Calculate the conjugate of a range of this buffer and store the result
+     in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexBufferArray conjugateRangeInPlace(int from, int to)
+  {
+    checkRange(this.re.length, from, to);
+    final double[] im = this.im;
+    for (int k = from; k < to; k++)
+    {
+      im[k] = -im[k];
+    }
+    return this;
+  }
+  /**
+     Calculate the conjugate of every element of this buffer and store the
+     result in this buffer
+
+     @return this
+   */
+  public ComplexBufferArray conjugateAllInPlace()
+  {
+    return this.conjugateRangeInPlace(0, this.re.length);
+  }
+  /**
+     Calculate the principal branch of the log-gamma function of a range of
+     this buffer and store the result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexBufferArray lgammaRangeInPlace(int from, int to)
+  {
+    checkRange(this.re.length, from, to);
+    final double[] re = this.re, im = this.im;
+    final ComplexBuffer t = ComplexGamma.temp();
+    for (int k = from; k < to; k++)
+    {
+      ComplexGamma.lgamma(re[k], im[k], t);
+      re[k] = t.getReal();
+      im[k] = t.getImag();
+    }
+    return this;
+  }
+  /**
+     Calculate the principal branch of the log-gamma function of every
+     element of this buffer and store the result in this buffer
+
+     @return this
+   */
+  public ComplexBufferArray lgammaAllInPlace()
+  {
+    return this.lgammaRangeInPlace(0, this.re.length);
+  }
+  /**
+     Calculate the gamma function of a range of this buffer and store the
+     result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexBufferArray gammaRangeInPlace(int from, int to)
+  {
+    checkRange(this.re.length, from, to);
+    final double[] re = this.re, im = this.im;
+    final ComplexBuffer t = ComplexGamma.temp();
+    for (int k = from; k < to; k++)
+    {
+      ComplexGamma.gamma(re[k], im[k], t);
+      re[k] = t.getReal();
+      im[k] = t.getImag();
+    }
+    return this;
+  }
+  /**
+     Calculate the gamma function of every element of this buffer and store
+     the result in this buffer
+
+     @return this
+   */
+  public ComplexBufferArray gammaAllInPlace()
+  {
+    return this.gammaRangeInPlace(0, this.re.length);
+  }
+  /**
+     Calculate the digamma function of a range of this buffer and store the
+     result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexBufferArray digammaRangeInPlace(int from, int to)
+  {
+    checkRange(this.re.length, from, to);
+    final double[] re = this.re, im = this.im;
+    final ComplexBuffer t = ComplexGamma.temp();
+    for (int k = from; k < to; k++)
+    {
+      ComplexGamma.digamma(re[k], im[k], t);
+      re[k] = t.getReal();
+      im[k] = t.getImag();
+    }
+    return this;
+  }
+  /**
+     Calculate the digamma function of every element of this buffer and store
+     the result in this buffer
+
+     @return this
+   */
+  public ComplexBufferArray digammaAllInPlace()
+  {
+    return this.digammaRangeInPlace(0, this.re.length);
+  }
+  /**
+     Calculate the Faddeeva function of a range of this buffer and store the
+     result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexBufferArray faddeevaRangeInPlace(int from, int to)
+  {
+    checkRange(this.re.length, from, to);
+    ComplexFaddeeva.faddeeva(this.re, this.im, from, to);
+    return this;
+  }
+  /**
+     Calculate the Faddeeva function of every element of this buffer and
+     store the result in this buffer
+
+     @return this
+   */
+  public ComplexBufferArray faddeevaAllInPlace()
+  {
+    return this.faddeevaRangeInPlace(0, this.re.length);
+  }
+  /**
+     Calculate the error function of a range of this buffer and store the
+     result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexBufferArray erfRangeInPlace(int from, int to)
+  {
+    checkRange(this.re.length, from, to);
+    ComplexFaddeeva.erf(this.re, this.im, from, to);
+    return this;
+  }
+  /**
+     Calculate the error function of every element of this buffer and store
+     the result in this buffer
+
+     @return this
+   */
+  public ComplexBufferArray erfAllInPlace()
+  {
+    return this.erfRangeInPlace(0, this.re.length);
+  }
+  /**
+     Calculate the complementary error function of a range of this buffer
+     and store the result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexBufferArray erfcRangeInPlace(int from, int to)
+  {
+    checkRange(this.re.length, from, to);
+    ComplexFaddeeva.erfc(this.re, this.im, from, to);
+    return this;
+  }
+  /**
+     Calculate the complementary error function of every element of this
+     buffer and store the result in this buffer
+
+     @return this
+   */
+  public ComplexBufferArray erfcAllInPlace()
+  {
+    return this.erfcRangeInPlace(0, this.re.length);
+  }
+  /**
+     Calculate the scaled complementary error function of a range of this
+     buffer and store the result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexBufferArray erfcxRangeInPlace(int from, int to)
+  {
+    checkRange(this.re.length, from, to);
+    ComplexFaddeeva.erfcx(this.re, this.im, from, to);
+    return this;
+  }
+  /**
+     Calculate the scaled complementary error function of every element of
+     this buffer and store the result in this buffer
+
+     @return this
+   */
+  public ComplexBufferArray erfcxAllInPlace()
+  {
+    return this.erfcxRangeInPlace(0, this.re.length);
+  }
+  /**
+     Calculate the absolute values of a range of this buffer.
+
+     The absolute value of the element at index k is stored at index
+     off+k-from of the result array. The result is within one ulp of
+     abs(int); NaN, infinite and very large or small values are handled
+     exactly like in abs(int).
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param result The result array
+     @param off The index to the result array
+
+     @return result
+   */
+  public double[] absRange(int from, int to, double[] result, int off)
+  {
+    checkRange(this.re.length, from, to);
+    checkRange(result.length, off, off + (to - from));
+    final double[] re = this.re, im = this.im;
+    final int result_off = off - from;
+    for (int k = from; k < to; k++)
+    {
+      final double a = Math.abs(re[k]), b = Math.abs(im[k]);
+      final double m = Math.max(a, b);
+      // Math.hypot is slow; the squares can neither overflow nor lose
+      // precision if the larger part is within a safe range. This check
+      // also fails for NaN.
+      if (m > 1e-150 && m < 1e150)
+      {
+        result[k + result_off] = Math.sqrt(a*a + b*b);
+      }
+      else
+      {
+        result[k + result_off] = this.abs(k);
+      }
+    }
+    return result;
+  }
+  /**
+     Calculate the absolute values of every element of this buffer.
+
+     @param result The result array of at least the size of this buffer
+
+     @return result
+   */
+  public double[] absAll(double[] result)
+  {
+    return this.absRange(0, this.re.length, result, 0);
+  }
+
+  /**
+     Copy a range of another array to this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number array
+     @param j The array index to the other array of the element copied to
+              index from
+
+     @return this
+   */
+  public ComplexBufferArray setRange(int from, int to, ComplexBufferArray c,
+                                     int j)
+  {
+    checkRange(this.re.length, from, to);
+    checkRange(c.re.length, j, j + (to - from));
+    System.arraycopy(c.re, j, this.re, from, to - from);
+    System.arraycopy(c.im, j, this.im, from, to - from);
+    return this;
+  }
+  /**
+     Copy every element of another array of the same size to this buffer
+
+     @param c The complex number array of the same size
+
+     @return this
+   */
+  public ComplexBufferArray setAll(ComplexBufferArray c)
+  {
+    checkSameSize(c);
+    return this.setRange(0, this.re.length, c, 0);
+  }
+  /**
+     Calculate the inner product sum conj(this[k])*c[k] of this buffer and
+     another array of the same size
+
+     @param c The complex number array of the same size
+     @param result The complex buffer for the inner product
+
+     @return result
+   */
+  public ComplexBuffer innerProductAll(ComplexBufferArray c,
+                                       ComplexBuffer result)
+  {
+    checkSameSize(c);
+    final double[] a_re = this.re, a_im = this.im, b_re = c.re, b_im = c.im;
+    double s_re = 0.0, s_im = 0.0;
+    for (int k = 0; k < a_re.length; k++)
+    {
+      s_re += a_re[k]*b_re[k] + a_im[k]*b_im[k];
+      s_im += a_re[k]*b_im[k] - a_im[k]*b_re[k];
+    }
+    return result.set(s_re, s_im);
+  }
+  /**
+     Calculate the unconjugated dot product sum this[k]*c[k] of this buffer
+     and another array of the same size
+
+     The unconjugated dot product is a bilinear form, which is what
+     algorithms for complex symmetric matrices need.
+
+     @param c The complex number array of the same size
+     @param result The complex buffer for the dot product
+
+     @return result
+   */
+  public ComplexBuffer dotAll(ComplexBufferArray c, ComplexBuffer result)
+  {
+    checkSameSize(c);
+    final double[] a_re = this.re, a_im = this.im, b_re = c.re, b_im = c.im;
+    double s_re = 0.0, s_im = 0.0;
+    for (int k = 0; k < a_re.length; k++)
+    {
+      s_re += a_re[k]*b_re[k] - a_im[k]*b_im[k];
+      s_im += a_re[k]*b_im[k] + a_im[k]*b_re[k];
+    }
+    return result.set(s_re, s_im);
+  }
+  /**
+     Calculate the Euclidean norm of this buffer.
+
+     The squares are summed without scaling if that neither underflows nor
+     overflows. Otherwise the parts are scaled by a power of two near the
+     inverse of the largest absolute value, so the norm is accurate for
+     any finite elements.
+
+     @return The square root of the sum of the squared absolute values
+   */
+  public double normAll()
+  {
+    return norm(this.re, this.im, 0, this.re.length);
+  }
+  /**
+     Calculate the Euclidean norm of a range of split real and imaginary
+     parts like normAll().
+
+     @param re The real parts
+     @param im The imaginary parts
+     @param from The first index, inclusive
+     @param to The last index, exclusive
+     @return The square root of the sum of the squared absolute values
+   */
+  static double norm(double[] re, double[] im, int from, int to)
+  {
+    double sum = 0.0;
+    for (int k = from; k < to; k++)
+    {
+      sum += re[k]*re[k] + im[k]*im[k];
+    }
+    // The squares smaller than the minimum normal number lose precision,
+    // which is negligible relative to a sum this large. This check also
+    // fails for NaN.
+    if (sum >= 1e-280 && sum <= Double.MAX_VALUE)
+    {
+      return Math.sqrt(sum);
+    }
+    return scaledNorm(re, im, from, to);
+  }
+  /**
+     Calculate the Euclidean norm of a range of split real and imaginary
+     parts, scaling them to avoid underflow and overflow of the squares.
+
+     @param re The real parts
+     @param im The imaginary parts
+     @param from The first index, inclusive
+     @param to The last index, exclusive
+     @return The square root of the sum of the squared absolute values
+   */
+  static double scaledNorm(double[] re, double[] im, int from, int to)
+  {
+    double max = 0.0;
+    for (int k = from; k < to; k++)
+    {
+      max = Math.max(max, Math.max(Math.abs(re[k]), Math.abs(im[k])));
+    }
+    if (max == 0.0 || !(max <= Double.MAX_VALUE))
+    {
+      return max;
+    }
+    // multiplying by a power of two is exact
+    final int e = Math.getExponent(max);
+    final double scale = Math.scalb(1.0, -e);
+    double sum = 0.0;
+    for (int k = from; k < to; k++)
+    {
+      final double x = re[k]*scale, y = im[k]*scale;
+      sum += x*x + y*y;
+    }
+    return Math.scalb(Math.sqrt(sum), e);
+  }
+  /**
+     Calculate the exponent of a power of two by which split real and
+     imaginary parts are divided before a decomposition, so that the
+     products and sums of squares of the largest parts neither underflow
+     nor overflow.
+
+     @param re The real parts
+     @param im The imaginary parts
+     @return The binary exponent of the largest absolute part, or 0 if it
+             is between 1e-135 and 1e135, zero or not finite
+   */
+  static int scaleExponent(double[] re, double[] im)
+  {
+    double max = 0.0;
+    for (int k = 0; k < re.length; k++)
+    {
+      max = Math.max(max, Math.max(Math.abs(re[k]), Math.abs(im[k])));
+    }
+    if (max == 0.0 || !(max <= Double.MAX_VALUE) ||
+        (max >= 1e-135 && max <= 1e135))
+    {
+      return 0;
+    }
+    return Math.getExponent(max);
+  }
+
   /**
      Calculate the absolute value of the complex number in this complex buffer.
 
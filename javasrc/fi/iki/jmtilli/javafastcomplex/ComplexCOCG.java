@@ -0,0 +1,134 @@
+package fi.iki.jmtilli.javafastcomplex;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   The conjugate orthogonal conjugate gradient method COCG.
+
+   A variant of the conjugate gradient method for complex symmetric (not
+   Hermitian) matrices, A = A^T, such as those of Helmholtz problems with
+   absorbing boundaries. It uses the unconjugated bilinear form x^T*y in
+   place of the inner product, needs one operator application per
+   iteration and only four vectors of workspace. The preconditioner must
+   also be complex symmetric, for example the diagonal of A. The method
+   can break down, in which case solve() returns false with the current
+   approximation.
+ */
+public class ComplexCOCG extends ComplexKrylovSolver {
+  /**
+     The scaled residual.
+   */
+  private final ComplexBufferArray r;
+  /**
+     The preconditioned residual.
+   */
+  private final ComplexBufferArray z;
+  /**
+     The search direction.
+   */
+  private final ComplexBufferArray p;
+  /**
+     The operator applied to the search direction.
+   */
+  private final ComplexBufferArray q;
+  /**
+     The bilinear form of the residual and the preconditioned residual.
+   */
+  private final ComplexBuffer rho = new ComplexBuffer();
+  /**
+     The bilinear form of the updated residual and preconditioned
+     residual.
+   */
+  private final ComplexBuffer rhoNew = new ComplexBuffer();
+  /**
+     The step length along the search direction.
+   */
+  private final ComplexBuffer alpha = new ComplexBuffer();
+  /**
+     Scratch for bilinear forms and coefficients.
+   */
+  private final ComplexBuffer tmp = new ComplexBuffer();
+
+  /**
+     Create a COCG solver
+
+     @param n The system size
+     @param tolerance The relative residual tolerance
+     @param maxIterations The maximum number of iterations
+   */
+  public ComplexCOCG(int n, double tolerance, int maxIterations)
+  {
+    super(n, tolerance, maxIterations);
+    this.r = new ComplexBufferArray(n);
+    this.z = new ComplexBufferArray(n);
+    this.p = new ComplexBufferArray(n);
+    this.q = new ComplexBufferArray(n);
+  }
+
+  @Override
+  public boolean solve(ComplexLinearOperator a, ComplexPreconditioner m,
+                       ComplexBufferArray b, ComplexBufferArray x)
+  {
+    checkSizes(a, b, x);
+    double bnorm = b.normAll();
+    if (bnorm == 0.0)
+    {
+      bnorm = 1.0;
+    }
+    // the residual is scaled by a power of two, and so are z, p and q
+    final double scale = residualScale(bnorm);
+    bnorm *= scale;
+    iterations = 0;
+    residual(a, b, x, r).multiplyAllInPlace(scale);
+    relativeResidual = r.normAll()/bnorm;
+    precondition(m, r, z);
+    p.setAll(z);
+    r.dotAll(z, rho);
+    while (relativeResidual > tolerance && iterations < maxIterations)
+    {
+      iterations++;
+      a.multiply(p, q);
+      p.dotAll(q, tmp);
+      if ((tmp.getReal() == 0.0 && tmp.getImag() == 0.0) ||
+          (rho.getReal() == 0.0 && rho.getImag() == 0.0))
+      {
+        return false;
+      }
+      alpha.set(rho).divideInPlace(tmp);
+      x.multiplyAddAllInPlace(tmp.set(alpha).divideInPlace(scale), p);
+      r.multiplyAddAllInPlace(alpha.negateInPlace(), q);
+      relativeResidual = r.normAll()/bnorm;
+      if (relativeResidual <= tolerance)
+      {
+        break;
+      }
+      precondition(m, r, z);
+      r.dotAll(z, rhoNew);
+      // p = z + (rhoNew/rho)*p
+      p.multiplyAllInPlace(tmp.set(rhoNew).divideInPlace(rho))
+          .addAllInPlace(z);
+      rho.set(rhoNew);
+    }
+    return relativeResidual <= tolerance;
+  }
+};
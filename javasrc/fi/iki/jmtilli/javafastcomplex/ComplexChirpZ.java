@@ -0,0 +1,311 @@
+package fi.iki.jmtilli.javafastcomplex;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   A chirp z-transform plan using Bluestein's algorithm.
+
+   Calculates X[k] = sum x[j]*exp(-i*j*(startAngle + k*angleStep)) for j in
+   [0,n) and k in [0,m) in O((n+m)*log(n+m)) time by expressing the
+   transform as a convolution, which is calculated with power of two fast
+   Fourier transforms. This allows a discrete Fourier transform of any size,
+   including prime sizes, without zero-padding the input. It also allows a
+   zoom transform: to evaluate m frequencies starting from f0 with the step
+   df, both in cycles per sample, use startAngle = 2*pi*f0 and
+   angleStep = 2*pi*df.
+
+   The plan precomputes the chirp sequences and the transform of the
+   convolution kernel, so the plan should be reused for transforms of the
+   same size. The scratch space is allocated once per thread and plan.
+
+   A plan can be used by multiple threads at the same time.
+ */
+public class ComplexChirpZ {
+  /**
+     The input size.
+   */
+  private final int n;
+  /**
+     The output size.
+   */
+  private final int m;
+  /**
+     The size of the convolution, a power of two.
+   */
+  private final int l;
+  /**
+     The power of two transform of size l.
+   */
+  private final ComplexFFT fft;
+  /**
+     The real parts of the input chirp exp(-i*(startAngle*j+angleStep*j*j/2)).
+   */
+  private final double[] pre_re;
+  /**
+     The imaginary parts of the input chirp.
+   */
+  private final double[] pre_im;
+  /**
+     The real parts of the output chirp exp(-i*angleStep*k*k/2).
+   */
+  private final double[] post_re;
+  /**
+     The imaginary parts of the output chirp.
+   */
+  private final double[] post_im;
+  /**
+     The real parts of the transformed convolution kernel divided by l.
+   */
+  private final double[] kernel_re;
+  /**
+     The imaginary parts of the transformed convolution kernel divided by l.
+   */
+  private final double[] kernel_im;
+  /**
+     Per-thread scratch space of the convolution size.
+   */
+  private final ThreadLocal<double[][]> scratch;
+
+  /**
+     Create a plan for a discrete Fourier transform of any size.
+
+     The forward transform is X[k] = sum x[j]*exp(-2*pi*i*j*k/n), i.e. the
+     same as in ComplexFFT.
+
+     @param n The transform size, at least 1
+   */
+  public ComplexChirpZ(int n)
+  {
+    this(n, n, 0.0, 2*Math.PI/n, true);
+  }
+  /**
+     Create a chirp z-transform plan.
+
+     @param n The input size, at least 1
+     @param m The output size, at least 1
+     @param startAngle The angle of the first output point on the unit circle
+     @param angleStep The angle between consecutive output points
+   */
+  public ComplexChirpZ(int n, int m, double startAngle, double angleStep)
+  {
+    this(n, m, startAngle, angleStep, false);
+  }
+  /**
+     Create a chirp z-transform plan.
+
+     @param n The input size, at least 1
+     @param m The output size, at least 1
+     @param startAngle The angle of the first output point on the unit circle
+     @param angleStep The angle between consecutive output points
+     @param dft Whether this is a discrete Fourier transform of size n, in
+                which case the chirp angles are reduced exactly
+   */
+  private ComplexChirpZ(int n, int m, double startAngle, double angleStep,
+                        boolean dft)
+  {
+    if (n < 1 || m < 1)
+    {
+      throw new IllegalArgumentException("invalid sizes: " + n + ", " + m);
+    }
+    if ((long)n + m - 1 > (1 << 30))
+    {
+      throw new IllegalArgumentException("too large sizes: " + n + ", " + m);
+    }
+    int l = 1;
+    while (l < n + m - 1)
+    {
+      l *= 2;
+    }
+    this.n = n;
+    this.m = m;
+    this.l = l;
+    this.fft = new ComplexFFT(l);
+    this.pre_re = new double[n];
+    this.pre_im = new double[n];
+    this.post_re = new double[m];
+    this.post_im = new double[m];
+    this.kernel_re = new double[l];
+    this.kernel_im = new double[l];
+    for (int j = 0; j < n; j++)
+    {
+      final double angle = startAngle*j + chirpAngle(j, n, angleStep, dft);
+      this.pre_re[j] = Math.cos(angle);
+      this.pre_im[j] = -Math.sin(angle);
+    }
+    for (int k = 0; k < m; k++)
+    {
+      final double angle = chirpAngle(k, n, angleStep, dft);
+      this.post_re[k] = Math.cos(angle);
+      this.post_im[k] = -Math.sin(angle);
+    }
+    // The kernel exp(i*angleStep*t*t/2) for t in (-n,m), negative t wrapped
+    for (int t = 0; t < m; t++)
+    {
+      final double angle = chirpAngle(t, n, angleStep, dft);
+      this.kernel_re[t] = Math.cos(angle);
+      this.kernel_im[t] = Math.sin(angle);
+    }
+    for (int t = 1; t < n; t++)
+    {
+      final double angle = chirpAngle(t, n, angleStep, dft);
+      this.kernel_re[l - t] = Math.cos(angle);
+      this.kernel_im[l - t] = Math.sin(angle);
+    }
+    this.fft.transform(this.kernel_re, this.kernel_im, 0, false);
+    for (int t = 0; t < l; t++)
+    {
+      this.kernel_re[t] /= l;
+      this.kernel_im[t] /= l;
+    }
+    this.scratch = new ThreadLocal<double[][]>() {
+      @Override
+      protected double[][] initialValue()
+      {
+        return new double[][]{
+          new double[ComplexChirpZ.this.l], new double[ComplexChirpZ.this.l]};
+      }
+    };
+  }
+
+  /**
+     Calculate the chirp angle angleStep*t*t/2.
+
+     @param t The index
+     @param n The transform size
+     @param angleStep The angle between consecutive output points
+     @param dft Whether angleStep is 2*pi/n, in which case t*t is reduced
+                modulo 2*n before multiplying to avoid losing precision
+     @return The chirp angle
+   */
+  private static double chirpAngle(int t, int n, double angleStep, boolean dft)
+  {
+    if (dft)
+    {
+      return Math.PI*(((long)t*t) % (2L*n))/n;
+    }
+    return angleStep*((double)t*t)/2;
+  }
+
+  /**
+     Returns the input size.
+
+     @return The input size
+   */
+  public int getInputSize()
+  {
+    return n;
+  }
+  /**
+     Returns the output size.
+
+     @return The output size
+   */
+  public int getOutputSize()
+  {
+    return m;
+  }
+
+  /**
+     Calculate the transform of a complex buffer array.
+
+     The input and the output can be the same array.
+
+     @param in The input array, the size of which must be the input size
+     @param out The output array, the size of which must be the output size
+   */
+  public void transform(ComplexBufferArray in, ComplexBufferArray out)
+  {
+    if (in.size() != n || out.size() != m)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + n + ", " + m + ", " + in.size() + ", " +
+          out.size());
+    }
+    transform(in, 0, out, 0);
+  }
+  /**
+     Calculate the transform of a range of a complex buffer array.
+
+     The input and the output ranges can overlap.
+
+     @param in The input array
+     @param in_off The array index of the first input element
+     @param out The output array
+     @param out_off The array index of the first output element
+   */
+  public void transform(ComplexBufferArray in, int in_off,
+                        ComplexBufferArray out, int out_off)
+  {
+    ComplexBufferArray.checkRange(in.size(), in_off, in_off + n);
+    ComplexBufferArray.checkRange(out.size(), out_off, out_off + m);
+    transform(in.getRealArray(), in.getImagArray(), in_off,
+              out.getRealArray(), out.getImagArray(), out_off);
+  }
+
+  /**
+     Calculate the transform.
+
+     The input and the output ranges can overlap.
+
+     @param in_re The real parts of the input
+     @param in_im The imaginary parts of the input
+     @param in_off The array index of the first input element
+     @param out_re The real parts of the output
+     @param out_im The imaginary parts of the output
+     @param out_off The array index of the first output element
+   */
+  void transform(double[] in_re, double[] in_im, int in_off,
+                 double[] out_re, double[] out_im, int out_off)
+  {
+    final double[][] s = scratch.get();
+    final double[] y_re = s[0], y_im = s[1];
+    final double[] pre_re = this.pre_re, pre_im = this.pre_im;
+    final double[] post_re = this.post_re, post_im = this.post_im;
+    final double[] kernel_re = this.kernel_re, kernel_im = this.kernel_im;
+    for (int j = 0; j < n; j++)
+    {
+      final double x_re = in_re[in_off + j], x_im = in_im[in_off + j];
+      y_re[j] = x_re*pre_re[j] - x_im*pre_im[j];
+      y_im[j] = x_im*pre_re[j] + x_re*pre_im[j];
+    }
+    for (int j = n; j < l; j++)
+    {
+      y_re[j] = 0.0;
+      y_im[j] = 0.0;
+    }
+    fft.transform(y_re, y_im, 0, false);
+    for (int t = 0; t < l; t++)
+    {
+      final double a_re = y_re[t], a_im = y_im[t];
+      y_re[t] = a_re*kernel_re[t] - a_im*kernel_im[t];
+      y_im[t] = a_im*kernel_re[t] + a_re*kernel_im[t];
+    }
+    fft.transform(y_re, y_im, 0, true);
+    for (int k = 0; k < m; k++)
+    {
+      final double c_re = y_re[k], c_im = y_im[k];
+      out_re[out_off + k] = c_re*post_re[k] - c_im*post_im[k];
+      out_im[out_off + k] = c_im*post_re[k] + c_re*post_im[k];
+    }
+  }
+};
@@ -0,0 +1,124 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   A large complex array in direct memory allocated outside the Java heap.
+
+   The real and imaginary parts are in separate direct buffers in the
+   native byte order, in chunks of 2^27 elements (1 GiB per part), so the
+   array may have more than 2^31 elements.
+
+   The memory is freed by close(), immediately if the JVM has
+   sun.misc.Unsafe.invokeCleaner (Java 9 and later), and otherwise when the
+   garbage collector finds the buffers unreachable.
+ */
+public final class ComplexDirectBufferArray extends ComplexLargeArray {
+  /**
+     The base-2 logarithm of the number of elements per chunk
+   */
+  static final int CHUNK_SHIFT = 27;
+
+  private ByteBuffer[] memory;
+
+  /**
+     Create a large complex array in direct memory initialized to zero.
+
+     @param size The size of the array
+   */
+  public ComplexDirectBufferArray(long size)
+  {
+    this(size, CHUNK_SHIFT);
+  }
+  /**
+     Create a large complex array with the given chunk size, for testing
+     arrays of many chunks.
+
+     @param size The size of the array
+     @param shift The base-2 logarithm of the number of elements per chunk
+   */
+  ComplexDirectBufferArray(long size, int shift)
+  {
+    this(size, shift, allocate(size, shift));
+  }
+  private ComplexDirectBufferArray(long size, int shift, ByteBuffer[] memory)
+  {
+    super(size, shift, 1, 0, doubles(memory, 0, memory.length/2),
+          doubles(memory, memory.length/2, memory.length/2));
+    this.memory = memory;
+  }
+
+  /*
+     The chunks of the real parts followed by the chunks of the imaginary
+     parts
+   */
+  private static ByteBuffer[] allocate(long size, int shift)
+  {
+    if (size < 0 || shift < 0 || shift > CHUNK_SHIFT)
+    {
+      throw new IllegalArgumentException("invalid size: " + size);
+    }
+    final int n = chunks(size, shift);
+    final ByteBuffer[] memory = new ByteBuffer[2*n];
+    for (int k = 0; k < n; k++)
+    {
+      final int bytes = chunkSize(size, shift, k)*8;
+      memory[k] = ByteBuffer.allocateDirect(bytes);
+      memory[n + k] = ByteBuffer.allocateDirect(bytes);
+    }
+    return memory;
+  }
+  private static DoubleBuffer[] doubles(ByteBuffer[] memory, int off,
+                                        int n)
+  {
+    final DoubleBuffer[] result = new DoubleBuffer[n];
+    for (int k = 0; k < n; k++)
+    {
+      result[k] =
+          memory[off + k].order(ByteOrder.nativeOrder()).asDoubleBuffer();
+    }
+    return result;
+  }
+
+  /**
+     Free the memory of this array.
+
+     Closing an already closed array does nothing.
+   */
+  public void close()
+  {
+    if (!detach())
+    {
+      return;
+    }
+    final ByteBuffer[] memory = this.memory;
+    this.memory = null;
+    for (int k = 0; k < memory.length; k++)
+    {
+      release(memory[k]);
+    }
+  }
+};
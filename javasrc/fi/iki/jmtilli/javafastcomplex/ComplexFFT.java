@@ -0,0 +1,546 @@
+package fi.iki.jmtilli.javafastcomplex;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   A fast Fourier transform plan for a fixed transform size.
+
+   The plan precomputes the twiddle factors and, for sizes that are powers
+   of two, the bit-reversal permutation. The transforms work directly on
+   the split real and imaginary arrays of a complex buffer array, so no
+   copying to another format is needed.
+
+   Sizes that are powers of two use an in-place radix-4 algorithm with a
+   radix-2 stage if needed. Other sizes use a mixed-radix algorithm
+   that needs scratch space of the transform size, which is allocated once
+   per thread and plan. Sizes having a prime factor larger than
+   BLUESTEIN_THRESHOLD use Bluestein's algorithm via ComplexChirpZ, so
+   all sizes are transformed in O(n*log(n)) time.
+
+   The forward transform is X[k] = sum x[j]*exp(-2*pi*i*j*k/n) and the
+   inverse transform is scaled by 1/n so that it is the exact inverse of
+   the forward transform.
+
+   A plan can be used by multiple threads at the same time.
+ */
+public class ComplexFFT {
+  /**
+     The largest prime factor of the transform size for which the
+     mixed-radix algorithm is used instead of Bluestein's algorithm.
+   */
+  public static final int BLUESTEIN_THRESHOLD = 100;
+  /**
+     The transform size.
+   */
+  private final int n;
+  /**
+     cos(2*pi*t/n) for t in [0,n), or null if Bluestein's algorithm is used.
+   */
+  private final double[] cos;
+  /**
+     sin(2*pi*t/n) for t in [0,n), or null if Bluestein's algorithm is used.
+   */
+  private final double[] sin;
+  /**
+     The bit-reversal permutation if n is a power of two, otherwise null.
+   */
+  private final int[] bitrev;
+  /**
+     The radices if the mixed-radix algorithm is used, otherwise null.
+   */
+  private final int[] factors;
+  /**
+     Per-thread scratch space for the mixed-radix algorithm.
+   */
+  private final ThreadLocal<double[][]> scratch;
+  /**
+     The chirp z-transform plan if n has a large prime factor, otherwise
+     null.
+   */
+  private final ComplexChirpZ chirpz;
+
+  /**
+     Create a fast Fourier transform plan
+
+     @param n The transform size, at least 1
+   */
+  public ComplexFFT(int n)
+  {
+    if (n < 1)
+    {
+      throw new IllegalArgumentException("invalid transform size: " + n);
+    }
+    this.n = n;
+    if (isPowerOfTwo(n))
+    {
+      final int bits = Integer.numberOfTrailingZeros(n);
+      this.bitrev = new int[n];
+      for (int i = 0; i < n; i++)
+      {
+        this.bitrev[i] = bits == 0 ? 0 : Integer.reverse(i) >>> (32 - bits);
+      }
+      this.factors = null;
+      this.scratch = null;
+      this.chirpz = null;
+    }
+    else
+    {
+      final int[] factors = factorize(n);
+      this.bitrev = null;
+      if (factors[factors.length - 1] > BLUESTEIN_THRESHOLD)
+      {
+        this.factors = null;
+        this.scratch = null;
+        this.chirpz = new ComplexChirpZ(n);
+        this.cos = null;
+        this.sin = null;
+        return;
+      }
+      this.factors = factors;
+      this.chirpz = null;
+      this.scratch = new ThreadLocal<double[][]>() {
+        @Override
+        protected double[][] initialValue()
+        {
+          final int maxFactor =
+              ComplexFFT.this.factors[ComplexFFT.this.factors.length - 1];
+          return new double[][]{
+            new double[ComplexFFT.this.n], new double[ComplexFFT.this.n],
+            new double[maxFactor], new double[maxFactor]};
+        }
+      };
+    }
+    this.cos = new double[n];
+    this.sin = new double[n];
+    for (int t = 0; t < n; t++)
+    {
+      final double angle = 2*Math.PI*t/n;
+      this.cos[t] = Math.cos(angle);
+      this.sin[t] = Math.sin(angle);
+    }
+  }
+
+  /**
+     Returns whether a number is a power of two.
+
+     @param n The number, at least 1
+     @return Whether n is a power of two
+   */
+  static boolean isPowerOfTwo(int n)
+  {
+    return (n & (n - 1)) == 0;
+  }
+
+  /**
+     Split a transform size into the radices of the mixed-radix algorithm.
+
+     Radix 4 is used as much as possible, then radix 2, then odd factors in
+     increasing order, so the last radix is the largest one.
+
+     @param n The transform size
+     @return The radices
+   */
+  private static int[] factorize(int n)
+  {
+    int[] tmp = new int[32];
+    int count = 0;
+    while (n % 4 == 0)
+    {
+      tmp[count++] = 4;
+      n /= 4;
+    }
+    while (n % 2 == 0)
+    {
+      tmp[count++] = 2;
+      n /= 2;
+    }
+    for (int p = 3; n > 1; p += 2)
+    {
+      if ((long)p*p > n)
+      {
+        p = n;
+      }
+      while (n % p == 0)
+      {
+        tmp[count++] = p;
+        n /= p;
+      }
+    }
+    int[] result = new int[count];
+    System.arraycopy(tmp, 0, result, 0, count);
+    return result;
+  }
+
+  /**
+     Returns the transform size.
+
+     @return The transform size
+   */
+  public int size()
+  {
+    return n;
+  }
+
+  /**
+     Check that a complex buffer array can hold a transform at an index.
+
+     @param a The complex buffer array
+     @param off The array index of the first element of the transform
+   */
+  private void checkArray(ComplexBufferArray a, int off)
+  {
+    if (off < 0 || off > a.size() - n)
+    {
+      throw new IndexOutOfBoundsException(
+          "transform of size " + n + " at " + off +
+          " out of bounds for size " + a.size());
+    }
+  }
+
+  /**
+     Calculate the forward transform of a complex buffer array in place.
+
+     @param a The complex buffer array, the size of which must be the
+              transform size
+   */
+  public void fftInPlace(ComplexBufferArray a)
+  {
+    if (a.size() != n)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + n + ", " + a.size());
+    }
+    fftInPlace(a, 0);
+  }
+  /**
+     Calculate the forward transform of a range of a complex buffer array in
+     place.
+
+     @param a The complex buffer array
+     @param off The array index of the first element of the transform
+   */
+  public void fftInPlace(ComplexBufferArray a, int off)
+  {
+    checkArray(a, off);
+    transform(a.getRealArray(), a.getImagArray(), off, false);
+  }
+  /**
+     Calculate the inverse transform of a complex buffer array in place.
+
+     @param a The complex buffer array, the size of which must be the
+              transform size
+   */
+  public void ifftInPlace(ComplexBufferArray a)
+  {
+    if (a.size() != n)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + n + ", " + a.size());
+    }
+    ifftInPlace(a, 0);
+  }
+  /**
+     Calculate the inverse transform of a range of a complex buffer array in
+     place.
+
+     @param a The complex buffer array
+     @param off The array index of the first element of the transform
+   */
+  public void ifftInPlace(ComplexBufferArray a, int off)
+  {
+    checkArray(a, off);
+    transform(a.getRealArray(), a.getImagArray(), off, true);
+    a.multiplyRangeInPlace(off, off + n, 1.0/n);
+  }
+
+  /**
+     Calculate an unscaled transform in place.
+
+     @param re The real parts
+     @param im The imaginary parts
+     @param off The array index of the first element of the transform
+     @param inverse Whether to use the positive sign in the exponent
+   */
+  void transform(double[] re, double[] im, int off, boolean inverse)
+  {
+    if (n == 1)
+    {
+      return;
+    }
+    if (bitrev != null)
+    {
+      transformPowerOfTwo(re, im, off, inverse);
+    }
+    else if (chirpz != null)
+    {
+      // The inverse transform is conj(fft(conj(x)))
+      if (inverse)
+      {
+        for (int i = off; i < off + n; i++)
+        {
+          im[i] = -im[i];
+        }
+      }
+      chirpz.transform(re, im, off, re, im, off);
+      if (inverse)
+      {
+        for (int i = off; i < off + n; i++)
+        {
+          im[i] = -im[i];
+        }
+      }
+    }
+    else
+    {
+      final double[][] s = scratch.get();
+      System.arraycopy(re, off, s[0], 0, n);
+      System.arraycopy(im, off, s[1], 0, n);
+      transformMixed(s[0], s[1], 0, 1, re, im, off, n, 0, 1,
+                     inverse ? -1.0 : 1.0, s[2], s[3]);
+    }
+  }
+
+  /**
+     Calculate an unscaled transform in place when n is a power of two.
+
+     @param re The real parts
+     @param im The imaginary parts
+     @param off The array index of the first element of the transform
+     @param inverse Whether to use the positive sign in the exponent
+   */
+  private void transformPowerOfTwo(double[] re, double[] im, int off,
+                                   boolean inverse)
+  {
+    final int[] bitrev = this.bitrev;
+    final double[] cos = this.cos, sin = this.sin;
+    final double sgn = inverse ? -1.0 : 1.0;
+    int m;
+    for (int i = 0; i < n; i++)
+    {
+      final int j = bitrev[i];
+      if (i < j)
+      {
+        double tmp = re[off + i];
+        re[off + i] = re[off + j];
+        re[off + j] = tmp;
+        tmp = im[off + i];
+        im[off + i] = im[off + j];
+        im[off + j] = tmp;
+      }
+    }
+    if ((Integer.numberOfTrailingZeros(n) & 1) != 0)
+    {
+      for (int i = off; i < off + n; i += 2)
+      {
+        final double a_re = re[i], a_im = im[i];
+        final double b_re = re[i + 1], b_im = im[i + 1];
+        re[i] = a_re + b_re;
+        im[i] = a_im + b_im;
+        re[i + 1] = a_re - b_re;
+        im[i + 1] = a_im - b_im;
+      }
+      m = 2;
+    }
+    else
+    {
+      m = 1;
+    }
+    /*
+       Radix-4 stages. After the bit reversal, the four quarters of a block
+       of size 4*m are the transforms of the elements having the residues 0,
+       2, 1 and 3 modulo 4 within the block.
+     */
+    for (; m < n; m *= 4)
+    {
+      final int twstep = n / (4*m);
+      for (int s = off; s < off + n; s += 4*m)
+      {
+        for (int k = 0; k < m; k++)
+        {
+          final int t1 = k*twstep, t2 = 2*t1, t3 = 3*t1;
+          final double w1_re = cos[t1], w1_im = -sgn*sin[t1];
+          final double w2_re = cos[t2], w2_im = -sgn*sin[t2];
+          final double w3_re = cos[t3], w3_im = -sgn*sin[t3];
+          final int i0 = s + k, i2 = i0 + m, i1 = i2 + m, i3 = i1 + m;
+          final double a0_re = re[i0], a0_im = im[i0];
+          final double x1_re = re[i1], x1_im = im[i1];
+          final double x2_re = re[i2], x2_im = im[i2];
+          final double x3_re = re[i3], x3_im = im[i3];
+          final double a1_re = x1_re*w1_re - x1_im*w1_im;
+          final double a1_im = x1_im*w1_re + x1_re*w1_im;
+          final double a2_re = x2_re*w2_re - x2_im*w2_im;
+          final double a2_im = x2_im*w2_re + x2_re*w2_im;
+          final double a3_re = x3_re*w3_re - x3_im*w3_im;
+          final double a3_im = x3_im*w3_re + x3_re*w3_im;
+          final double s02_re = a0_re + a2_re, s02_im = a0_im + a2_im;
+          final double d02_re = a0_re - a2_re, d02_im = a0_im - a2_im;
+          final double s13_re = a1_re + a3_re, s13_im = a1_im + a3_im;
+          // -i*sgn*(a1 - a3)
+          final double d13_re = sgn*(a1_im - a3_im);
+          final double d13_im = -sgn*(a1_re - a3_re);
+          re[i0] = s02_re + s13_re;
+          im[i0] = s02_im + s13_im;
+          re[i2] = d02_re + d13_re;
+          im[i2] = d02_im + d13_im;
+          re[i1] = s02_re - s13_re;
+          im[i1] = s02_im - s13_im;
+          re[i3] = d02_re - d13_re;
+          im[i3] = d02_im - d13_im;
+        }
+      }
+    }
+  }
+
+  /**
+     Calculate an unscaled transform out of place with the mixed-radix
+     decimation in time algorithm.
+
+     @param in_re The real parts of the input
+     @param in_im The imaginary parts of the input
+     @param in_off The array index of the first input element
+     @param in_stride The distance between consecutive input elements
+     @param out_re The real parts of the output
+     @param out_im The imaginary parts of the output
+     @param out_off The array index of the first output element
+     @param len The size of this subtransform
+     @param fi The index to the radix of this subtransform
+     @param twstride n/len
+     @param sgn 1.0 for the forward and -1.0 for the inverse transform
+     @param tmp_re Scratch space of at least the size of the largest radix
+     @param tmp_im Scratch space of at least the size of the largest radix
+   */
+  private void transformMixed(double[] in_re, double[] in_im,
+                              int in_off, int in_stride,
+                              double[] out_re, double[] out_im, int out_off,
+                              int len, int fi, int twstride, double sgn,
+                              double[] tmp_re, double[] tmp_im)
+  {
+    final int p = factors[fi];
+    final int m = len / p;
+    final double[] cos = this.cos, sin = this.sin;
+    if (m == 1)
+    {
+      for (int q = 0; q < p; q++)
+      {
+        out_re[out_off + q] = in_re[in_off + q*in_stride];
+        out_im[out_off + q] = in_im[in_off + q*in_stride];
+      }
+    }
+    else
+    {
+      for (int q = 0; q < p; q++)
+      {
+        transformMixed(in_re, in_im, in_off + q*in_stride, in_stride*p,
+                       out_re, out_im, out_off + q*m, m, fi + 1,
+                       twstride*p, sgn, tmp_re, tmp_im);
+      }
+    }
+    if (p == 2)
+    {
+      for (int k = 0; k < m; k++)
+      {
+        final int i0 = out_off + k, i1 = i0 + m;
+        final int t = k*twstride;
+        final double w_re = cos[t], w_im = -sgn*sin[t];
+        final double a_re = out_re[i0], a_im = out_im[i0];
+        final double x_re = out_re[i1], x_im = out_im[i1];
+        final double b_re = x_re*w_re - x_im*w_im;
+        final double b_im = x_im*w_re + x_re*w_im;
+        out_re[i0] = a_re + b_re;
+        out_im[i0] = a_im + b_im;
+        out_re[i1] = a_re - b_re;
+        out_im[i1] = a_im - b_im;
+      }
+    }
+    else if (p == 4)
+    {
+      for (int k = 0; k < m; k++)
+      {
+        final int t1 = k*twstride, t2 = 2*t1, t3 = 3*t1;
+        final double w1_re = cos[t1], w1_im = -sgn*sin[t1];
+        final double w2_re = cos[t2], w2_im = -sgn*sin[t2];
+        final double w3_re = cos[t3], w3_im = -sgn*sin[t3];
+        final int i0 = out_off + k, i1 = i0 + m, i2 = i1 + m, i3 = i2 + m;
+        final double a0_re = out_re[i0], a0_im = out_im[i0];
+        final double x1_re = out_re[i1], x1_im = out_im[i1];
+        final double x2_re = out_re[i2], x2_im = out_im[i2];
+        final double x3_re = out_re[i3], x3_im = out_im[i3];
+        final double a1_re = x1_re*w1_re - x1_im*w1_im;
+        final double a1_im = x1_im*w1_re + x1_re*w1_im;
+        final double a2_re = x2_re*w2_re - x2_im*w2_im;
+        final double a2_im = x2_im*w2_re + x2_re*w2_im;
+        final double a3_re = x3_re*w3_re - x3_im*w3_im;
+        final double a3_im = x3_im*w3_re + x3_re*w3_im;
+        final double s02_re = a0_re + a2_re, s02_im = a0_im + a2_im;
+        final double d02_re = a0_re - a2_re, d02_im = a0_im - a2_im;
+        final double s13_re = a1_re + a3_re, s13_im = a1_im + a3_im;
+        final double d13_re = sgn*(a1_im - a3_im);
+        final double d13_im = -sgn*(a1_re - a3_re);
+        out_re[i0] = s02_re + s13_re;
+        out_im[i0] = s02_im + s13_im;
+        out_re[i1] = d02_re + d13_re;
+        out_im[i1] = d02_im + d13_im;
+        out_re[i2] = s02_re - s13_re;
+        out_im[i2] = s02_im - s13_im;
+        out_re[i3] = d02_re - d13_re;
+        out_im[i3] = d02_im - d13_im;
+      }
+    }
+    else
+    {
+      // Generic radix: W_p^(q*s) = W_n^((q*s mod p)*n/p)
+      final int pstride = n / p;
+      for (int k = 0; k < m; k++)
+      {
+        for (int q = 0; q < p; q++)
+        {
+          final int idx = out_off + q*m + k;
+          final int t = q*k*twstride;
+          final double w_re = cos[t], w_im = -sgn*sin[t];
+          final double x_re = out_re[idx], x_im = out_im[idx];
+          tmp_re[q] = x_re*w_re - x_im*w_im;
+          tmp_im[q] = x_im*w_re + x_re*w_im;
+        }
+        for (int s = 0; s < p; s++)
+        {
+          double sum_re = tmp_re[0], sum_im = tmp_im[0];
+          int qs = 0;
+          for (int q = 1; q < p; q++)
+          {
+            qs += s;
+            if (qs >= p)
+            {
+              qs -= p;
+            }
+            final int t = qs*pstride;
+            final double w_re = cos[t], w_im = -sgn*sin[t];
+            sum_re += tmp_re[q]*w_re - tmp_im[q]*w_im;
+            sum_im += tmp_im[q]*w_re + tmp_re[q]*w_im;
+          }
+          out_re[out_off + s*m + k] = sum_re;
+          out_im[out_off + s*m + k] = sum_im;
+        }
+      }
+    }
+  }
+};
@@ -0,0 +1,564 @@
+package fi.iki.jmtilli.javafastcomplex;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+
+/**
+   The Faddeeva function w(z) = exp(-z^2)*erfc(-iz) and the complex error
+   functions erf, erfc and erfcx(z) = exp(z^2)*erfc(z) = w(iz).
+
+   In the upper half plane, w(z) is calculated with the rational
+   approximation of Weideman (1994) with N = 40 terms where |z| &lt; 7 and
+   with the Laplace continued fraction where |z| &ge; 7, both accurate to a
+   relative error of about 1e-14. The lower half plane uses the reflection
+   w(z) = 2*exp(-z^2) - w(-z). The error functions are calculated from
+   w(z), except erf(z) for |z| &lt; 1/2, which uses its Taylor series to
+   avoid cancellation.
+
+   The functions for array ranges evaluate the same approximations in
+   chunks. The Weideman approximation is evaluated for every element with
+   loops that have no branches, and the elements that need the continued
+   fraction or the Taylor series are gathered for separate passes, so the
+   results are identical to the functions for single values.
+ */
+final class ComplexFaddeeva {
+  /**
+     The parameter L = sqrt(N/sqrt(2)) of the Weideman approximation
+   */
+  private static final double L = 5.3182958969449885;
+  /**
+     The coefficients of the Weideman approximation, highest first.
+   */
+  private static final double[] WEIDEMAN = {
+    -1.8996949473949275e-15, 1.1280735623643963e-15,
+    1.1357687198999245e-14, -5.409310282882108e-15, -7.074086260286856e-14,
+    1.3725620586715298e-14, 4.532966678260672e-13, 1.203145821938811e-13,
+    -2.9076883421828657e-12, -2.727602315820052e-12, 1.771449521401118e-11,
+    3.472726709304553e-11, -9.05512445092828e-11, -3.563233986597654e-10,
+    2.1086006347066422e-10, 3.01778054000907e-9, 3.249746518043703e-9,
+    -1.8315616783040445e-8, -6.351773485044292e-8,
+    1.4198642399935523e-8, 5.91213695189949e-7, 1.4835661132200783e-6,
+    -1.0660138984947105e-6, -1.8007447144750946e-5,
+    -5.5913092642483174e-5, -3.939363145489577e-5, 4.398070159869664e-4,
+    2.7054056330737897e-3, 1.004818624278342e-2, 2.920291647124186e-2,
+    7.182361779074335e-2, 0.15504263802479493, 0.2998943799615006,
+    0.5266528988277086, 0.8472174576593817, 1.256381567576513,
+    1.7253830848179776, 2.201513794878312, 2.61605415276186,
+    2.8996245093897053};
+  /**
+     The number of terms in the continued fraction
+   */
+  private static final int CF_TERMS = 12;
+  /**
+     The squared radius above which the continued fraction is used
+   */
+  private static final double CF_RADIUS2 = 49.0;
+  /**
+     The coefficients 2/sqrt(pi)*(-1)^k/(k!*(2k + 1)) of the Taylor series
+     of erf(z)/z in z^2, highest first.
+   */
+  private static final double[] TAYLOR = {
+    9.422759064650411e-11, -1.2290555301717928e-9, 1.4807192815879218e-8,
+    -1.6365844691234924e-7, 1.6462114365889248e-6,
+    -1.492565035840625e-5, 1.2055332981789664e-4, -8.548327023450853e-4,
+    5.223977625442188e-3, -2.6866170645131252e-2, 0.11283791670955126,
+    -0.37612638903183754, 1.1283791670955126};
+  /**
+     The squared radius below which the Taylor series of erf is used
+   */
+  private static final double TAYLOR_RADIUS2 = 0.25;
+  /**
+     1/sqrt(pi)
+   */
+  private static final double INV_SQRT_PI = 0.5641895835477563;
+  /**
+     The number of elements in a chunk of the array functions
+   */
+  private static final int CHUNK = 256;
+  /**
+     Per-thread scratch space for the array functions
+   */
+  private static final ThreadLocal<double[][]> SCRATCH =
+      new ThreadLocal<double[][]>() {
+    @Override
+    protected double[][] initialValue()
+    {
+      return new double[8][CHUNK];
+    }
+  };
+  /**
+     Per-thread lists of gathered indices for the array functions
+   */
+  private static final ThreadLocal<int[]> INDEX = new ThreadLocal<int[]>() {
+    @Override
+    protected int[] initialValue()
+    {
+      return new int[CHUNK];
+    }
+  };
+
+  private ComplexFaddeeva() {}
+
+  /*
+     Calculate w(z) for Im z >= 0.
+   */
+  private static ComplexBuffer upper(double x, double y,
+                                     ComplexBuffer result)
+  {
+    double w_re, w_im;
+    if (x*x + y*y >= CF_RADIUS2)
+    {
+      // w(z) = i/sqrt(pi)/(z - (1/2)/(z - 1/(z - (3/2)/(z - ...))))
+      double t_re = x, t_im = y;
+      for (int k = CF_TERMS; k > 0; k--)
+      {
+        final double c = 0.5*k/(t_re*t_re + t_im*t_im);
+        t_re = x - c*t_re;
+        t_im = y + c*t_im;
+      }
+      final double d = INV_SQRT_PI/(t_re*t_re + t_im*t_im);
+      w_re = t_im*d;
+      w_im = t_re*d;
+    }
+    else
+    {
+      // w(z) = 2*p(Z)/(L - iz)^2 + 1/sqrt(pi)/(L - iz),
+      // Z = (L + iz)/(L - iz)
+      final double a = L + y, den = 1.0/(a*a + x*x);
+      final double q_re = a*den, q_im = x*den;
+      final double b = L - y;
+      final double z_re = b*q_re - x*q_im, z_im = b*q_im + x*q_re;
+      double p_re = WEIDEMAN[0], p_im = 0.0;
+      for (int k = 1; k < WEIDEMAN.length; k++)
+      {
+        final double t = p_re*z_re - p_im*z_im + WEIDEMAN[k];
+        p_im = p_re*z_im + p_im*z_re;
+        p_re = t;
+      }
+      final double qq_re = 2.0*(q_re*q_re - q_im*q_im);
+      final double qq_im = 4.0*q_re*q_im;
+      w_re = p_re*qq_re - p_im*qq_im + INV_SQRT_PI*q_re;
+      w_im = p_re*qq_im + p_im*qq_re + INV_SQRT_PI*q_im;
+    }
+    if (y == 0.0)
+    {
+      // Re w(x) = exp(-x^2) on the real axis
+      w_re = Math.exp(-x*x);
+    }
+    return result.set(w_re, w_im);
+  }
+
+  /*
+     Calculate w(z) = 2*exp(-z^2) - w(-z) for Im z < 0, where result
+     contains w(-z).
+   */
+  private static ComplexBuffer reflect(double x, double y,
+                                       ComplexBuffer result)
+  {
+    final double m = 2.0*Math.exp((y - x)*(y + x));
+    if (m == 0.0)
+    {
+      return result.set(-result.getReal(), -result.getImag());
+    }
+    final double ph = -2.0*x*y;
+    return result.set(m*Math.cos(ph) - result.getReal(),
+                      m*Math.sin(ph) - result.getImag());
+  }
+
+  /*
+     Calculate erfc(u) = exp(-u^2)*w(iu), where u is z or -z so that
+     Re u >= 0.
+   */
+  private static ComplexBuffer erfcRight(double re, double im,
+                                         ComplexBuffer result)
+  {
+    final double u_re = re >= 0.0 ? re : -re;
+    final double u_im = re >= 0.0 ? im : -im;
+    upper(-u_im, u_re, result);
+    final double m = Math.exp((u_im - u_re)*(u_im + u_re));
+    if (m == 0.0)
+    {
+      return result.set(0.0, 0.0);
+    }
+    final double ph = -2.0*u_re*u_im;
+    final double e_re = m*Math.cos(ph), e_im = m*Math.sin(ph);
+    final double w_re = result.getReal(), w_im = result.getImag();
+    return result.set(e_re*w_re - e_im*w_im, e_re*w_im + e_im*w_re);
+  }
+
+  /**
+     Calculate the Faddeeva function w(z) = exp(-z^2)*erfc(-iz)
+
+     @param re The real part of the argument
+     @param im The imaginary part of the argument
+     @param result The complex buffer for the result
+     @return result
+   */
+  static ComplexBuffer faddeeva(double re, double im, ComplexBuffer result)
+  {
+    if (im < 0.0)
+    {
+      upper(-re, -im, result);
+      return reflect(re, im, result);
+    }
+    return upper(re, im, result);
+  }
+
+  /**
+     Calculate the scaled complementary error function
+     erfcx(z) = exp(z^2)*erfc(z)
+
+     @param re The real part of the argument
+     @param im The imaginary part of the argument
+     @param result The complex buffer for the result
+     @return result
+   */
+  static ComplexBuffer erfcx(double re, double im, ComplexBuffer result)
+  {
+    return faddeeva(-im, re, result);
+  }
+
+  /**
+     Calculate the complementary error function
+
+     @param re The real part of the argument
+     @param im The imaginary part of the argument
+     @param result The complex buffer for the result
+     @return result
+   */
+  static ComplexBuffer erfc(double re, double im, ComplexBuffer result)
+  {
+    erfcRight(re, im, result);
+    if (re >= 0.0)
+    {
+      return result;
+    }
+    return result.set(2.0 - result.getReal(), -result.getImag());
+  }
+
+  /**
+     Calculate the error function
+
+     @param re The real part of the argument
+     @param im The imaginary part of the argument
+     @param result The complex buffer for the result
+     @return result
+   */
+  static ComplexBuffer erf(double re, double im, ComplexBuffer result)
+  {
+    if (re*re + im*im < TAYLOR_RADIUS2)
+    {
+      final double w2_re = re*re - im*im, w2_im = 2.0*re*im;
+      double s_re = TAYLOR[0], s_im = 0.0;
+      for (int k = 1; k < TAYLOR.length; k++)
+      {
+        final double t = s_re*w2_re - s_im*w2_im + TAYLOR[k];
+        s_im = s_re*w2_im + s_im*w2_re;
+        s_re = t;
+      }
+      return result.set(re*s_re - im*s_im, re*s_im + im*s_re);
+    }
+    erfcRight(re, im, result);
+    if (re >= 0.0)
+    {
+      // erf is odd, so it is imaginary on the imaginary axis
+      return result.set(re == 0.0 ? re : 1.0 - result.getReal(),
+                        -result.getImag());
+    }
+    return result.set(result.getReal() - 1.0, result.getImag());
+  }
+
+  /*
+     Calculate w(z) for the chunk arguments x + iy in s[0] and s[1], which
+     must have y >= 0, and store the results in s[6] and s[7].
+   */
+  private static void upper(double[][] s, int[] index, int n)
+  {
+    final double[] x = s[0], y = s[1];
+    final double[] z_re = s[2], z_im = s[3], q_re = s[4], q_im = s[5];
+    final double[] w_re = s[6], w_im = s[7];
+    for (int k = 0; k < n; k++)
+    {
+      final double a = L + y[k], den = 1.0/(a*a + x[k]*x[k]);
+      q_re[k] = a*den;
+      q_im[k] = x[k]*den;
+      final double b = L - y[k];
+      z_re[k] = b*q_re[k] - x[k]*q_im[k];
+      z_im[k] = b*q_im[k] + x[k]*q_re[k];
+      w_re[k] = WEIDEMAN[0];
+      w_im[k] = 0.0;
+    }
+    for (int j = 1; j < WEIDEMAN.length; j++)
+    {
+      final double c = WEIDEMAN[j];
+      for (int k = 0; k < n; k++)
+      {
+        final double t = w_re[k]*z_re[k] - w_im[k]*z_im[k] + c;
+        w_im[k] = w_re[k]*z_im[k] + w_im[k]*z_re[k];
+        w_re[k] = t;
+      }
+    }
+    for (int k = 0; k < n; k++)
+    {
+      final double qq_re = 2.0*(q_re[k]*q_re[k] - q_im[k]*q_im[k]);
+      final double qq_im = 4.0*q_re[k]*q_im[k];
+      final double p_re = w_re[k], p_im = w_im[k];
+      w_re[k] = p_re*qq_re - p_im*qq_im + INV_SQRT_PI*q_re[k];
+      w_im[k] = p_re*qq_im + p_im*qq_re + INV_SQRT_PI*q_im[k];
+    }
+    int m = 0;
+    for (int k = 0; k < n; k++)
+    {
+      if (x[k]*x[k] + y[k]*y[k] >= CF_RADIUS2)
+      {
+        index[m++] = k;
+      }
+    }
+    if (m > 0)
+    {
+      // the continued fraction for the gathered arguments, with the
+      // arguments in q and the partial fractions in z
+      for (int i = 0; i < m; i++)
+      {
+        q_re[i] = z_re[i] = x[index[i]];
+        q_im[i] = z_im[i] = y[index[i]];
+      }
+      for (int k = CF_TERMS; k > 0; k--)
+      {
+        for (int i = 0; i < m; i++)
+        {
+          final double c = 0.5*k/(z_re[i]*z_re[i] + z_im[i]*z_im[i]);
+          z_re[i] = q_re[i] - c*z_re[i];
+          z_im[i] = q_im[i] + c*z_im[i];
+        }
+      }
+      for (int i = 0; i < m; i++)
+      {
+        final double d = INV_SQRT_PI/(z_re[i]*z_re[i] + z_im[i]*z_im[i]);
+        w_re[index[i]] = z_im[i]*d;
+        w_im[index[i]] = z_re[i]*d;
+      }
+    }
+    for (int k = 0; k < n; k++)
+    {
+      if (y[k] == 0.0)
+      {
+        w_re[k] = Math.exp(-x[k]*x[k]);
+      }
+    }
+  }
+
+  /*
+     Calculate w(z), or w(iz) = erfcx(z) if rotate is set, for a range of
+     arrays in place.
+   */
+  private static void faddeeva(double[] re, double[] im, int from, int to,
+                               boolean rotate)
+  {
+    final double[][] s = SCRATCH.get();
+    final int[] index = INDEX.get();
+    final double[] x = s[0], y = s[1], w_re = s[6], w_im = s[7];
+    for (int off = from; off < to; off += CHUNK)
+    {
+      final int n = Math.min(CHUNK, to - off);
+      for (int k = 0; k < n; k++)
+      {
+        final double a = rotate ? -im[off + k] : re[off + k];
+        final double b = rotate ? re[off + k] : im[off + k];
+        x[k] = b < 0.0 ? -a : a;
+        y[k] = b < 0.0 ? -b : b;
+      }
+      upper(s, index, n);
+      for (int k = 0; k < n; k++)
+      {
+        final double a = rotate ? -im[off + k] : re[off + k];
+        final double b = rotate ? re[off + k] : im[off + k];
+        if (b < 0.0)
+        {
+          final double m = 2.0*Math.exp((b - a)*(b + a));
+          if (m == 0.0)
+          {
+            re[off + k] = -w_re[k];
+            im[off + k] = -w_im[k];
+          }
+          else
+          {
+            final double ph = -2.0*a*b;
+            re[off + k] = m*Math.cos(ph) - w_re[k];
+            im[off + k] = m*Math.sin(ph) - w_im[k];
+          }
+        }
+        else
+        {
+          re[off + k] = w_re[k];
+          im[off + k] = w_im[k];
+        }
+      }
+    }
+  }
+
+  /*
+     Calculate erfc(z), or erf(z) if erf is set, for a range of arrays in
+     place.
+   */
+  private static void erfc(double[] re, double[] im, int from, int to,
+                           boolean erf)
+  {
+    final double[][] s = SCRATCH.get();
+    final int[] index = INDEX.get();
+    final double[] x = s[0], y = s[1], w_re = s[6], w_im = s[7];
+    for (int off = from; off < to; off += CHUNK)
+    {
+      final int n = Math.min(CHUNK, to - off);
+      for (int k = 0; k < n; k++)
+      {
+        final double r = re[off + k], i = im[off + k];
+        x[k] = -(r >= 0.0 ? i : -i);
+        y[k] = r >= 0.0 ? r : -r;
+      }
+      upper(s, index, n);
+      int m = 0;
+      if (erf)
+      {
+        final double[] z_re = s[2], z_im = s[3];
+        for (int k = 0; k < n; k++)
+        {
+          final double r = re[off + k], i = im[off + k];
+          if (r*r + i*i < TAYLOR_RADIUS2)
+          {
+            z_re[m] = r;
+            z_im[m] = i;
+            index[m++] = k;
+          }
+        }
+      }
+      for (int k = 0; k < n; k++)
+      {
+        final double r = re[off + k], i = im[off + k];
+        final double u_re = r >= 0.0 ? r : -r, u_im = r >= 0.0 ? i : -i;
+        final double e = Math.exp((u_im - u_re)*(u_im + u_re));
+        double c_re = 0.0, c_im = 0.0;
+        if (e != 0.0)
+        {
+          final double ph = -2.0*u_re*u_im;
+          final double e_re = e*Math.cos(ph), e_im = e*Math.sin(ph);
+          c_re = e_re*w_re[k] - e_im*w_im[k];
+          c_im = e_re*w_im[k] + e_im*w_re[k];
+        }
+        if (erf)
+        {
+          re[off + k] = r >= 0.0 ? (r == 0.0 ? r : 1.0 - c_re) : c_re - 1.0;
+          im[off + k] = r >= 0.0 ? -c_im : c_im;
+        }
+        else
+        {
+          re[off + k] = r >= 0.0 ? c_re : 2.0 - c_re;
+          im[off + k] = r >= 0.0 ? c_im : -c_im;
+        }
+      }
+      if (m > 0)
+      {
+        // the Taylor series of erf for the gathered small arguments
+        final double[] z_re = s[2], z_im = s[3];
+        final double[] w2_re = s[4], w2_im = s[5];
+        final double[] s_re = s[6], s_im = s[7];
+        for (int i = 0; i < m; i++)
+        {
+          w2_re[i] = z_re[i]*z_re[i] - z_im[i]*z_im[i];
+          w2_im[i] = 2.0*z_re[i]*z_im[i];
+          s_re[i] = TAYLOR[0];
+          s_im[i] = 0.0;
+        }
+        for (int j = 1; j < TAYLOR.length; j++)
+        {
+          final double c = TAYLOR[j];
+          for (int i = 0; i < m; i++)
+          {
+            final double t = s_re[i]*w2_re[i] - s_im[i]*w2_im[i] + c;
+            s_im[i] = s_re[i]*w2_im[i] + s_im[i]*w2_re[i];
+            s_re[i] = t;
+          }
+        }
+        for (int i = 0; i < m; i++)
+        {
+          re[off + index[i]] = z_re[i]*s_re[i] - z_im[i]*s_im[i];
+          im[off + index[i]] = z_re[i]*s_im[i] + z_im[i]*s_re[i];
+        }
+      }
+    }
+  }
+
+  /**
+     Calculate the Faddeeva function for a range of arrays in place
+
+     @param re The real parts
+     @param im The imaginary parts
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+   */
+  static void faddeeva(double[] re, double[] im, int from, int to)
+  {
+    faddeeva(re, im, from, to, false);
+  }
+
+  /**
+     Calculate the scaled complementary error function for a range of
+     arrays in place
+
+     @param re The real parts
+     @param im The imaginary parts
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+   */
+  static void erfcx(double[] re, double[] im, int from, int to)
+  {
+    faddeeva(re, im, from, to, true);
+  }
+
+  /**
+     Calculate the complementary error function for a range of arrays in
+     place
+
+     @param re The real parts
+     @param im The imaginary parts
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+   */
+  static void erfc(double[] re, double[] im, int from, int to)
+  {
+    erfc(re, im, from, to, false);
+  }
+
+  /**
+     Calculate the error function for a range of arrays in place
+
+     @param re The real parts
+     @param im The imaginary parts
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+   */
+  static void erf(double[] re, double[] im, int from, int to)
+  {
+    erfc(re, im, from, to, true);
+  }
+};
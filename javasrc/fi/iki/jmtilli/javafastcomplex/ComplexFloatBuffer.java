@@ -0,0 +1,871 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.io.Serializable;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   A mutable single-precision complex number.
+
+   Like ComplexBuffer, but the real and imaginary parts are floats. The
+   arithmetic is done in single precision, with double arguments rounded
+   to float first. The other functions are calculated in double precision
+   and the result is rounded to single precision.
+ */
+public class ComplexFloatBuffer implements ComplexNumber, Serializable {
+  private static final long serialVersionUID = 4417902264591847163L;
+  /**
+     The real part.
+     @serial
+   */
+  private float re;
+  /**
+     The imaginary part.
+     @serial
+   */
+  private float im;
+
+  /**
+     Create a complex buffer that initially stores the specified complex number.
+
+     @param num The specified complex number
+   */
+  public ComplexFloatBuffer(ComplexNumber num)
+  {
+    this(num.getReal(), num.getImag());
+  }
+  /**
+     Create a complex buffer that initially stores the specified complex number.
+
+     @param num The specified complex numberarray
+     @param j The array inex
+   */
+  public ComplexFloatBuffer(ComplexNumberArray num, int j)
+  {
+    this(num.getReal(j), num.getImag(j));
+  }
+  /**
+     Create a complex buffer that initially has zero real and imaginary parts.
+   */
+  public ComplexFloatBuffer()
+  {
+    this(+0.0, +0.0);
+  }
+  /**
+     Create a complex buffer that initially the specified real part and zero as
+     the imaginary part.
+
+     @param re The initial real part
+   */
+  public ComplexFloatBuffer(double re)
+  {
+    this(re, +0.0);
+  }
+  /**
+     Create a complex buffer that initially has the specified real and
+     imaginary parts
+
+     @param re The initial real part
+     @param im The initial imaginary part
+   */
+  public ComplexFloatBuffer(double re, double im)
+  {
+    this.set(re, im);
+  }
+  /**
+     Modify the real part of this complex buffer and set imaginary part to zero.
+
+     @param re The new real part
+     @return this
+   */
+  public ComplexFloatBuffer set(double re)
+  {
+    this.re = (float)re;
+    this.im = +0.0f;
+    return this;
+  }
+  /**
+     Modify the real and imaginary parts of this complex buffer
+
+     @param re The new real part
+     @param im The new imaginary part
+     @return this
+   */
+  public ComplexFloatBuffer set(double re, double im)
+  {
+    this.re = (float)re;
+    this.im = (float)im;
+    return this;
+  }
+  /**
+     Modify the value of this complex buffer
+
+     @param num The new value
+     @return this
+   */
+  public ComplexFloatBuffer set(ComplexNumber num)
+  {
+    return this.set(num.getReal(), num.getImag());
+  }
+  /**
+     Modify the value of this complex buffer
+
+     @param num The new value array
+     @param j The array index
+     @return this
+   */
+  public ComplexFloatBuffer set(ComplexNumberArray num, int j)
+  {
+    return this.set(num.getReal(j), num.getImag(j));
+  }
+  /**
+     Get the value of this complex buffer as an immutable object
+
+     @return A new immutable complex number that has the same value as this
+             buffer
+   */
+  public Complex get()
+  {
+    return Complex.valueOf(this.getReal(), this.getImag());
+  }
+  /*
+     The value of this buffer in a per-thread double precision buffer
+   */
+  private ComplexBuffer temp()
+  {
+    return ComplexGamma.temp().set(this.re, this.im);
+  }
+  private ComplexFloatBuffer add(float c_re, float c_im)
+  {
+    this.re += c_re;
+    this.im += c_im;
+    return this;
+  }
+  private ComplexFloatBuffer addReal(float d)
+  {
+    this.re += d;
+    return this;
+  }
+  private ComplexFloatBuffer sub(float c_re, float c_im)
+  {
+    this.re -= c_re;
+    this.im -= c_im;
+    return this;
+  }
+  private ComplexFloatBuffer subReal(float d)
+  {
+    this.re -= d;
+    return this;
+  }
+  private ComplexFloatBuffer subRev(float c_re, float c_im)
+  {
+    this.re = c_re - this.re;
+    this.im = c_im - this.im;
+    return this;
+  }
+  private ComplexFloatBuffer subRevReal(float d)
+  {
+    this.re = d - this.re;
+    this.im = -this.im;
+    return this;
+  }
+  private ComplexFloatBuffer scale(float d)
+  {
+    this.re *= d;
+    this.im *= d;
+    return this;
+  }
+  private ComplexFloatBuffer divReal(float d)
+  {
+    this.re /= d;
+    this.im /= d;
+    return this;
+  }
+  private ComplexFloatBuffer mul(float that_re, float that_im)
+  {
+    final float this_re = this.re, this_im = this.im;
+    this.re = this_re*that_re - this_im*that_im;
+    this.im = this_im*that_re + this_re*that_im;
+    return this;
+  }
+  private ComplexFloatBuffer div(float c_re, float c_im)
+  {
+    final float this_re = this.re, this_im = this.im;
+    if (Math.abs(c_re) > Math.abs(c_im))
+    {
+      final float c_im_div_re = c_im/c_re;
+      final float w = 1.0f / (c_re + c_im*c_im_div_re);
+      this.re = (this_re + this_im*c_im_div_re) * w;
+      this.im = (this_im - this_re*c_im_div_re) * w;
+    }
+    else
+    {
+      final float c_re_div_im = c_re/c_im;
+      final float w = 1.0f / (c_im + c_re*c_re_div_im);
+      this.re = (this_re*c_re_div_im + this_im) * w;
+      this.im = (this_im*c_re_div_im - this_re) * w;
+    }
+    return this;
+  }
+  private ComplexFloatBuffer divRev(float c_re, float c_im)
+  {
+    final float this_re = this.re, this_im = this.im;
+    if (Math.abs(this_re) > Math.abs(this_im))
+    {
+      final float this_im_div_re = this_im/this_re;
+      final float w = 1.0f / (this_re + this_im*this_im_div_re);
+      this.re = (c_re + c_im*this_im_div_re) * w;
+      this.im = (c_im - c_re*this_im_div_re) * w;
+    }
+    else
+    {
+      final float this_re_div_im = this_re/this_im;
+      final float w = 1.0f / (this_im + this_re*this_re_div_im);
+      this.re = (c_re*this_re_div_im + c_im) * w;
+      this.im = (c_im*this_re_div_im - c_re) * w;
+    }
+    return this;
+  }
+  private ComplexFloatBuffer divRevReal(float d)
+  {
+    return this.divRev(d, 0.0f);
+  }
+  /**
+     Add another complex number to this buffer and store the result in this
+     buffer
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexFloatBuffer addInPlace(ComplexNumber c)
+  {
+    return this.add((float)c.getReal(), (float)c.getImag());
+  }
+  /**
+     Add another complex number to this buffer and store the result in this
+     buffer
+
+     @param c The other complex number array
+     @param j The array index
+
+     @return this
+   */
+  public ComplexFloatBuffer addInPlace(ComplexNumberArray c, int j)
+  {
+    return this.add((float)c.getReal(j), (float)c.getImag(j));
+  }
+  /**
+     Add a real number to this buffer and store the result in this buffer
+
+     @param d The real number
+
+     @return this
+   */
+  public ComplexFloatBuffer addInPlace(double d)
+  {
+    return this.addReal((float)d);
+  }
+  /**
+     Subtract another complex number from this buffer and store the result in
+     this buffer
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexFloatBuffer subtractInPlace(ComplexNumber c)
+  {
+    return this.sub((float)c.getReal(), (float)c.getImag());
+  }
+  /**
+     Subtract another complex number from this buffer and store the result in
+     this buffer
+
+     @param c The other complex number array
+     @param j The array index
+
+     @return this
+   */
+  public ComplexFloatBuffer subtractInPlace(ComplexNumberArray c, int j)
+  {
+    return this.sub((float)c.getReal(j), (float)c.getImag(j));
+  }
+  /**
+     Subtract a real number from this buffer and store the result in
+     this buffer
+
+     @param d The real number
+
+     @return this
+   */
+  public ComplexFloatBuffer subtractInPlace(double d)
+  {
+    return this.subReal((float)d);
+  }
+  /**
+     Subtract the value of this buffer from another complex number and store
+     the result in this buffer
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexFloatBuffer subtractReversedInPlace(ComplexNumber c)
+  {
+    return this.subRev((float)c.getReal(), (float)c.getImag());
+  }
+  /**
+     Subtract the value of this buffer from another complex number and store
+     the result in this buffer
+
+     @param c The other complex number array
+     @param j The array index
+
+     @return this
+   */
+  public ComplexFloatBuffer subtractReversedInPlace(ComplexNumberArray c, int j)
+  {
+    return this.subRev((float)c.getReal(j), (float)c.getImag(j));
+  }
+  /**
+     Subtract the value of this buffer from a real number and store the result
+     in this buffer
+
+     @param d The real number
+
+     @return this
+   */
+  public ComplexFloatBuffer subtractReversedInPlace(double d)
+  {
+    return this.subRevReal((float)d);
+  }
+  /**
+     Negate the value of this buffer and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer negateInPlace()
+  {
+    return this.set(-this.getReal(), -this.getImag());
+  }
+  /**
+     Calculate the conjugate of the value of this buffer and store the
+     result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer conjugateInPlace()
+  {
+    return this.set(this.getReal(), -this.getImag());
+  }
+  /**
+     Calculate the inverse of the value of this buffer and store the
+     result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer invertInPlace()
+  {
+    return this.set(this.temp().invertInPlace());
+  }
+  /**
+     Calculate the square root of the value of this buffer and store the result
+     in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer sqrtInPlace()
+  {
+    return this.set(this.temp().sqrtInPlace());
+  }
+  /**
+     Calculate the exponential of the value of this buffer and store the result
+     in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer expInPlace()
+  {
+    return this.set(this.temp().expInPlace());
+  }
+  /**
+     Calculate the logarithm of the value of this buffer and store the result
+     in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer logInPlace()
+  {
+    return this.set(this.temp().logInPlace());
+  }
+  /**
+     Calculate the logarithm of 1 added to the value of this buffer and store
+     the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer log1pInPlace()
+  {
+    return this.set(this.temp().log1pInPlace());
+  }
+  /**
+     Calculate exp(this)-1 and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer expm1InPlace()
+  {
+    return this.set(this.temp().expm1InPlace());
+  }
+  /**
+     Calculate the inverse hyperbolic cosine of the value of the buffer
+     and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer acoshInPlace()
+  {
+    return this.set(this.temp().acoshInPlace());
+  }
+  /**
+     Calculate the inverse hyperbolic sine of the value of the buffer
+     and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer asinhInPlace()
+  {
+    return this.set(this.temp().asinhInPlace());
+  }
+  /**
+     Calculate the inverse hyperbolic tangent of the value of the buffer
+     and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer atanhInPlace()
+  {
+    return this.set(this.temp().atanhInPlace());
+  }
+  /**
+     Calculate the inverse cosine of the value of the buffer
+     and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer acosInPlace()
+  {
+    return this.set(this.temp().acosInPlace());
+  }
+  /**
+     Calculate the inverse sine of the value of the buffer
+     and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer asinInPlace()
+  {
+    return this.set(this.temp().asinInPlace());
+  }
+  /**
+     Calculate the inverse tangent of the value of the buffer
+     and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer atanInPlace()
+  {
+    return this.set(this.temp().atanInPlace());
+  }
+  /**
+     Calculate the cosine of the value of the buffer
+     and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer cosInPlace()
+  {
+    return this.set(this.temp().cosInPlace());
+  }
+  /**
+     Calculate the sine of the value of the buffer
+     and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer sinInPlace()
+  {
+    return this.set(this.temp().sinInPlace());
+  }
+  /**
+     Calculate the tangent of the value of the buffer
+     and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer tanInPlace()
+  {
+    return this.set(this.temp().tanInPlace());
+  }
+  /**
+     Calculate the hyperbolic cosine of the value of the buffer
+     and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer coshInPlace()
+  {
+    return this.set(this.temp().coshInPlace());
+  }
+  /**
+     Calculate the hyperbolic sine of the value of the buffer
+     and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer sinhInPlace()
+  {
+    return this.set(this.temp().sinhInPlace());
+  }
+  /**
+     Calculate the hyperbolic tangent of the value of the buffer
+     and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer tanhInPlace()
+  {
+    return this.set(this.temp().tanhInPlace());
+  }
+  /**
+     Calculate the principal branch of the log-gamma function of the value
+     of the buffer and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer lgammaInPlace()
+  {
+    return this.set(this.temp().lgammaInPlace());
+  }
+  /**
+     Calculate the gamma function of the value of the buffer
+     and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer gammaInPlace()
+  {
+    return this.set(this.temp().gammaInPlace());
+  }
+  /**
+     Calculate the digamma function of the value of the buffer
+     and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer digammaInPlace()
+  {
+    return this.set(this.temp().digammaInPlace());
+  }
+  /**
+     Calculate the Faddeeva function of the value of the buffer and store
+     the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer faddeevaInPlace()
+  {
+    return this.set(this.temp().faddeevaInPlace());
+  }
+  /**
+     Calculate the error function of the value of the buffer
+     and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer erfInPlace()
+  {
+    return this.set(this.temp().erfInPlace());
+  }
+  /**
+     Calculate the complementary error function of the value of the buffer
+     and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer erfcInPlace()
+  {
+    return this.set(this.temp().erfcInPlace());
+  }
+  /**
+     Calculate the scaled complementary error function of the value of the
+     buffer and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBuffer erfcxInPlace()
+  {
+    return this.set(this.temp().erfcxInPlace());
+  }
+  /**
+     Raise this complex number to a real power
+     and store the result in this buffer
+
+     @param b The real power
+
+     @return this
+   */
+  public ComplexFloatBuffer powInPlace(double b)
+  {
+    return this.set(this.temp().powInPlace(b));
+  }
+  /**
+     Raise this complex number to a complex power
+     and store the result in this buffer
+
+     @param b The complex power
+
+     @return this
+   */
+  public ComplexFloatBuffer powInPlace(ComplexNumber b)
+  {
+    return this.set(this.temp().powInPlace(b));
+  }
+  /**
+     Raise this complex number to a complex power
+     and store the result in this buffer
+
+     @param b The complex power array
+     @param j The array index
+
+     @return this
+   */
+  public ComplexFloatBuffer powInPlace(ComplexNumberArray b, int j)
+  {
+    return this.set(this.temp().powInPlace(b, j));
+  }
+  /**
+     Multiply the value of this complex buffer by another complex number
+     and store the result in this buffer
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexFloatBuffer multiplyInPlace(ComplexNumber c)
+  {
+    return this.mul((float)c.getReal(), (float)c.getImag());
+  }
+  /**
+     Multiply the value of this complex buffer by another complex number
+     and store the result in this buffer
+
+     @param c The other complex number array
+     @param j The array index
+
+     @return this
+   */
+  public ComplexFloatBuffer multiplyInPlace(ComplexNumberArray c, int j)
+  {
+    return this.mul((float)c.getReal(j), (float)c.getImag(j));
+  }
+  /**
+     Multiply the value of this complex buffer by a real number
+     and store the result in this buffer
+
+     @param d The real number
+
+     @return this
+   */
+  public ComplexFloatBuffer multiplyInPlace(double d)
+  {
+    return this.scale((float)d);
+  }
+  /**
+     Multiply the value of this complex buffer by an integer
+     and store the result in this buffer
+
+     @param i The integer
+
+     @return this
+   */
+  public ComplexFloatBuffer multiplyInPlace(int i)
+  {
+    return this.scale((float)i);
+  }
+  /**
+     Divide the value of this complex buffer by another complex number
+     and store the result in this buffer
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexFloatBuffer divideInPlace(ComplexNumber c)
+  {
+    return this.div((float)c.getReal(), (float)c.getImag());
+  }
+  /**
+     Divide the value of this complex buffer by another complex number
+     and store the result in this buffer
+
+     @param c The other complex number array
+     @param j The array index
+
+     @return this
+   */
+  public ComplexFloatBuffer divideInPlace(ComplexNumberArray c, int j)
+  {
+    return this.div((float)c.getReal(j), (float)c.getImag(j));
+  }
+  /**
+     Divide the value of this complex buffer by a real number
+     and store the result in this buffer
+
+     @param d The real number
+
+     @return this
+   */
+  public ComplexFloatBuffer divideInPlace(double d)
+  {
+    return this.divReal((float)d);
+  }
+  /**
+     Divide another complex number by the value of this complex buffer
+     and store the result in this buffer
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexFloatBuffer divideReversedInPlace(ComplexNumber c)
+  {
+    return this.divRev((float)c.getReal(), (float)c.getImag());
+  }
+  /**
+     Divide another complex number by the value of this complex buffer
+     and store the result in this buffer
+
+     @param c The other complex number array
+     @param j The array index
+
+     @return this
+   */
+  public ComplexFloatBuffer divideReversedInPlace(ComplexNumberArray c, int j)
+  {
+    return this.divRev((float)c.getReal(j), (float)c.getImag(j));
+  }
+  /**
+     Divide a real number by the value of this complex buffer
+     and store the result in this buffer
+
+     @param d The real number
+
+     @return this
+   */
+  public ComplexFloatBuffer divideReversedInPlace(double d)
+  {
+    return this.divRevReal((float)d);
+  }
+  /**
+     Returns the real part of the complex number.
+
+     @return The real part
+   */
+  public double getReal()
+  {
+    return this.re;
+  }
+  /**
+     Returns the imaginary part of the complex number.
+
+     @return The imaginary part
+   */
+  public double getImag()
+  {
+    return this.im;
+  }
+
+  /**
+     Calculate the absolute value of the complex number in this complex buffer.
+
+     @return x&ge;0 The absolute value
+   */
+  public double abs()
+  {
+    return ComplexUtils.abs(this);
+  }
+  /**
+     Calculate the argument of the complex number in this complex buffer.
+
+     The argument is the angle between the positive real axis and the point
+     that represents this number in the complex plane.
+
+     @return -pi&le;x&le;pi The argument
+   */
+  public double arg()
+  {
+    return ComplexUtils.arg(this);
+  }
+  /**
+     Check whether the complex number in this buffer is NaN (not-a-numer).
+
+     A complex number is considered NaN if either the real or the imaginary
+     part is NaN.
+
+     @return Whether the complex number in this buffer is NaN
+   */
+  public boolean isNaN()
+  {
+    return ComplexUtils.isNaN(this);
+  }
+  /**
+     Check whether the complex number in this buffer is infinite.
+
+     A complex number is considered infinite if either the real or the
+     imaginary part is infinite. If either the real of imaginary part
+     is NaN, the number is not considered infinite, so isNaN() and
+     isInfinite() cannot be true at the same time.
+
+     @return Whether the complex number in this buffer is infinite
+   */
+  public boolean isInfinite()
+  {
+    return ComplexUtils.isInfinite(this);
+  }
+  /**
+     Returns a String representation of the complex number in this complex
+     buffer.
+    
+     @return "NaN" if NaN<br/>
+             re if purely real<br/>
+             im + "i" if purely imaginary<br/>
+             re " + " + im + "i" if imaginary part positive<br/>
+             re " - " + (-im) + "i" if imaginary part negative
+   */
+  public String toString()
+  {
+    return ComplexUtils.toString(this);
+  }
+
+};
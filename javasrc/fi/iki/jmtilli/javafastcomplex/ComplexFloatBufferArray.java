@@ -0,0 +1,2008 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.io.Serializable;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   A mutable array of single-precision complex numbers.
+
+   Like ComplexBufferArray, but the real and imaginary parts are stored in
+   float arrays, which halves the memory and memory bandwidth needed. The
+   arithmetic is done in single precision, with double arguments rounded
+   to float first. The other functions are calculated in double precision
+   and the result is rounded to single precision. Sums of products, such
+   as the inner product, are accumulated in double precision.
+ */
+public class ComplexFloatBufferArray implements ComplexNumberArray,
+                                                Serializable {
+  private static final long serialVersionUID = 2893349760121870415L;
+  /**
+     The real part.
+     @serial
+   */
+  private float[] re;
+  /**
+     The imaginary part.
+     @serial
+   */
+  private float[] im;
+
+  /**
+     Returns the size of the array.
+
+     @return The size
+   */
+  public int size()
+  {
+    return re.length;
+  }
+
+  /**
+     Create a complex float buffer array
+
+     @param size The size of the array
+   */
+  public ComplexFloatBufferArray(int size)
+  {
+    this.re = new float[size];
+    this.im = new float[size];
+  }
+  /**
+     Modify the real part of this complex buffer and set imaginary part to zero.
+
+     @param i The array index
+     @param re The new real part
+     @return this
+   */
+  public ComplexFloatBufferArray set(int i, double re)
+  {
+    this.re[i] = (float)re;
+    this.im[i] = +0.0f;
+    return this;
+  }
+  /**
+     Modify the real and imaginary parts of this complex buffer
+
+     @param i The array index
+     @param re The new real part
+     @param im The new imaginary part
+     @return this
+   */
+  public ComplexFloatBufferArray set(int i, double re, double im)
+  {
+    this.re[i] = (float)re;
+    this.im[i] = (float)im;
+    return this;
+  }
+
+  /**
+     Returns the real part of the complex number.
+
+     @param i The array index
+     @return The real part
+   */
+  public double getReal(int i)
+  {
+    return this.re[i];
+  }
+  /**
+     Returns the imaginary part of the complex number.
+
+     @param i The array index
+     @return The imaginary part
+   */
+  public double getImag(int i)
+  {
+    return this.im[i];
+  }
+
+  /**
+     Modify the value of this complex buffer
+
+     @param i The array index
+     @param num The new value
+     @return this
+   */
+  public ComplexFloatBufferArray set(int i, ComplexNumber num)
+  {
+    return this.set(i, num.getReal(), num.getImag());
+  }
+  /**
+     Modify the value of this complex buffer
+
+     @param i The array index
+     @param num The new value array
+     @param j The array index to the other array
+     @return this
+   */
+  public ComplexFloatBufferArray set(int i, ComplexNumberArray num, int j)
+  {
+    return this.set(i, num.getReal(j), num.getImag(j));
+  }
+  /**
+     Get the value of this complex buffer as an immutable object
+
+     @param i The array index
+     @return A new immutable complex number that has the same value as this
+             buffer
+   */
+  public Complex get(int i)
+  {
+    return Complex.valueOf(this.getReal(i), this.getImag(i));
+  }
+  /*
+     The value of an element in a per-thread double precision buffer
+   */
+  private ComplexBuffer temp(int i)
+  {
+    return ComplexGamma.temp().set(this.re[i], this.im[i]);
+  }
+  private ComplexFloatBufferArray add(int i, float c_re, float c_im)
+  {
+    this.re[i] += c_re;
+    this.im[i] += c_im;
+    return this;
+  }
+  private ComplexFloatBufferArray addReal(int i, float d)
+  {
+    this.re[i] += d;
+    return this;
+  }
+  private ComplexFloatBufferArray sub(int i, float c_re, float c_im)
+  {
+    this.re[i] -= c_re;
+    this.im[i] -= c_im;
+    return this;
+  }
+  private ComplexFloatBufferArray subReal(int i, float d)
+  {
+    this.re[i] -= d;
+    return this;
+  }
+  private ComplexFloatBufferArray subRev(int i, float c_re, float c_im)
+  {
+    this.re[i] = c_re - this.re[i];
+    this.im[i] = c_im - this.im[i];
+    return this;
+  }
+  private ComplexFloatBufferArray subRevReal(int i, float d)
+  {
+    this.re[i] = d - this.re[i];
+    this.im[i] = -this.im[i];
+    return this;
+  }
+  private ComplexFloatBufferArray scale(int i, float d)
+  {
+    this.re[i] *= d;
+    this.im[i] *= d;
+    return this;
+  }
+  private ComplexFloatBufferArray divReal(int i, float d)
+  {
+    this.re[i] /= d;
+    this.im[i] /= d;
+    return this;
+  }
+  private ComplexFloatBufferArray mul(int i, float that_re, float that_im)
+  {
+    final float this_re = this.re[i], this_im = this.im[i];
+    this.re[i] = this_re*that_re - this_im*that_im;
+    this.im[i] = this_im*that_re + this_re*that_im;
+    return this;
+  }
+  private ComplexFloatBufferArray div(int i, float c_re, float c_im)
+  {
+    final float this_re = this.re[i], this_im = this.im[i];
+    if (Math.abs(c_re) > Math.abs(c_im))
+    {
+      final float c_im_div_re = c_im/c_re;
+      final float w = 1.0f / (c_re + c_im*c_im_div_re);
+      this.re[i] = (this_re + this_im*c_im_div_re) * w;
+      this.im[i] = (this_im - this_re*c_im_div_re) * w;
+    }
+    else
+    {
+      final float c_re_div_im = c_re/c_im;
+      final float w = 1.0f / (c_im + c_re*c_re_div_im);
+      this.re[i] = (this_re*c_re_div_im + this_im) * w;
+      this.im[i] = (this_im*c_re_div_im - this_re) * w;
+    }
+    return this;
+  }
+  private ComplexFloatBufferArray divRev(int i, float c_re, float c_im)
+  {
+    final float this_re = this.re[i], this_im = this.im[i];
+    if (Math.abs(this_re) > Math.abs(this_im))
+    {
+      final float this_im_div_re = this_im/this_re;
+      final float w = 1.0f / (this_re + this_im*this_im_div_re);
+      this.re[i] = (c_re + c_im*this_im_div_re) * w;
+      this.im[i] = (c_im - c_re*this_im_div_re) * w;
+    }
+    else
+    {
+      final float this_re_div_im = this_re/this_im;
+      final float w = 1.0f / (this_im + this_re*this_re_div_im);
+      this.re[i] = (c_re*this_re_div_im + c_im) * w;
+      this.im[i] = (c_im*this_re_div_im - c_re) * w;
+    }
+    return this;
+  }
+  private ComplexFloatBufferArray divRevReal(int i, float d)
+  {
+    return this.divRev(i, d, 0.0f);
+  }
+  /**
+     Add another complex number to this buffer and store the result in this
+     buffer
+
+     @param i The array index
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexFloatBufferArray addInPlace(int i, ComplexNumber c)
+  {
+    return this.add(i, (float)c.getReal(), (float)c.getImag());
+  }
+  /**
+     Add another complex number to this buffer and store the result in this
+     buffer
+
+     @param i The array index
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexFloatBufferArray addInPlace(int i, ComplexNumberArray c, int j)
+  {
+    return this.add(i, (float)c.getReal(j), (float)c.getImag(j));
+  }
+  /**
+     Add a real number to this buffer and store the result in this buffer
+
+     @param i The array index
+     @param d The real number
+
+     @return this
+   */
+  public ComplexFloatBufferArray addInPlace(int i, double d)
+  {
+    return this.addReal(i, (float)d);
+  }
+  /**
+     Subtract another complex number from this buffer and store the result in
+     this buffer
+
+     @param i The array index
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexFloatBufferArray subtractInPlace(int i, ComplexNumber c)
+  {
+    return this.sub(i, (float)c.getReal(), (float)c.getImag());
+  }
+  /**
+     Subtract another complex number from this buffer and store the result in
+     this buffer
+
+     @param i The array index
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexFloatBufferArray subtractInPlace(int i, ComplexNumberArray c,
+                                                 int j)
+  {
+    return this.sub(i, (float)c.getReal(j), (float)c.getImag(j));
+  }
+  /**
+     Subtract a real number from this buffer and store the result in
+     this buffer
+
+     @param i The array index
+     @param d The real number
+
+     @return this
+   */
+  public ComplexFloatBufferArray subtractInPlace(int i, double d)
+  {
+    return this.subReal(i, (float)d);
+  }
+  /**
+     Subtract the value of this buffer from another complex number and store
+     the result in this buffer
+
+     @param i The array index
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexFloatBufferArray subtractReversedInPlace(int i, ComplexNumber c)
+  {
+    return this.subRev(i, (float)c.getReal(), (float)c.getImag());
+  }
+  /**
+     Subtract the value of this buffer from another complex number and store
+     the result in this buffer
+
+     @param i The array index
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexFloatBufferArray subtractReversedInPlace(int i,
+                                                         ComplexNumberArray c,
+                                                         int j)
+  {
+    return this.subRev(i, (float)c.getReal(j), (float)c.getImag(j));
+  }
+  /**
+     Subtract the value of this buffer from a real number and store the result
+     in this buffer
+
+     @param i The array index
+     @param d The real number
+
+     @return this
+   */
+  public ComplexFloatBufferArray subtractReversedInPlace(int i, double d)
+  {
+    return this.subRevReal(i, (float)d);
+  }
+  /**
+     Negate the value of this buffer and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray negateInPlace(int i)
+  {
+    return this.set(i, -this.getReal(i), -this.getImag(i));
+  }
+  /**
+     Calculate the conjugate of the value of this buffer and store the
+     result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray conjugateInPlace(int i)
+  {
+    return this.set(i, this.getReal(i), -this.getImag(i));
+  }
+  /**
+     Calculate the inverse of the value of this buffer and store the
+     result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray invertInPlace(int i)
+  {
+    return this.set(i, this.temp(i).invertInPlace());
+  }
+  /**
+     Calculate the square root of the value of this buffer and store the result
+     in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray sqrtInPlace(int i)
+  {
+    return this.set(i, this.temp(i).sqrtInPlace());
+  }
+  /**
+     Calculate the exponential of the value of this buffer and store the result
+     in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray expInPlace(int i)
+  {
+    return this.set(i, this.temp(i).expInPlace());
+  }
+  /**
+     Calculate the logarithm of the value of this buffer and store the result
+     in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray logInPlace(int i)
+  {
+    return this.set(i, this.temp(i).logInPlace());
+  }
+  /**
+     Calculate the logarithm of 1 added to the value of this buffer and store
+     the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray log1pInPlace(int i)
+  {
+    return this.set(i, this.temp(i).log1pInPlace());
+  }
+  /**
+     Calculate exp(this)-1 and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray expm1InPlace(int i)
+  {
+    return this.set(i, this.temp(i).expm1InPlace());
+  }
+  /**
+     Calculate the inverse hyperbolic cosine of the value of the buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray acoshInPlace(int i)
+  {
+    return this.set(i, this.temp(i).acoshInPlace());
+  }
+  /**
+     Calculate the inverse hyperbolic sine of the value of the buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray asinhInPlace(int i)
+  {
+    return this.set(i, this.temp(i).asinhInPlace());
+  }
+  /**
+     Calculate the inverse hyperbolic tangent of the value of the buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray atanhInPlace(int i)
+  {
+    return this.set(i, this.temp(i).atanhInPlace());
+  }
+  /**
+     Calculate the inverse cosine of the value of the buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray acosInPlace(int i)
+  {
+    return this.set(i, this.temp(i).acosInPlace());
+  }
+  /**
+     Calculate the inverse sine of the value of the buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray asinInPlace(int i)
+  {
+    return this.set(i, this.temp(i).asinInPlace());
+  }
+  /**
+     Calculate the inverse tangent of the value of the buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray atanInPlace(int i)
+  {
+    return this.set(i, this.temp(i).atanInPlace());
+  }
+  /**
+     Calculate the cosine of the value of the buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray cosInPlace(int i)
+  {
+    return this.set(i, this.temp(i).cosInPlace());
+  }
+  /**
+     Calculate the sine of the value of the buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray sinInPlace(int i)
+  {
+    return this.set(i, this.temp(i).sinInPlace());
+  }
+  /**
+     Calculate the tangent of the value of the buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray tanInPlace(int i)
+  {
+    return this.set(i, this.temp(i).tanInPlace());
+  }
+  /**
+     Calculate the hyperbolic cosine of the value of the buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray coshInPlace(int i)
+  {
+    return this.set(i, this.temp(i).coshInPlace());
+  }
+  /**
+     Calculate the hyperbolic sine of the value of the buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray sinhInPlace(int i)
+  {
+    return this.set(i, this.temp(i).sinhInPlace());
+  }
+  /**
+     Calculate the hyperbolic tangent of the value of the buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray tanhInPlace(int i)
+  {
+    return this.set(i, this.temp(i).tanhInPlace());
+  }
+  /**
+     Calculate the principal branch of the log-gamma function of the value
+     of the buffer and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray lgammaInPlace(int i)
+  {
+    return this.set(i, this.temp(i).lgammaInPlace());
+  }
+  /**
+     Calculate the gamma function of the value of the buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray gammaInPlace(int i)
+  {
+    return this.set(i, this.temp(i).gammaInPlace());
+  }
+  /**
+     Calculate the digamma function of the value of the buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray digammaInPlace(int i)
+  {
+    return this.set(i, this.temp(i).digammaInPlace());
+  }
+  /**
+     Calculate the Faddeeva function of the value of the buffer and store
+     the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray faddeevaInPlace(int i)
+  {
+    return this.set(i, this.temp(i).faddeevaInPlace());
+  }
+  /**
+     Calculate the error function of the value of the buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray erfInPlace(int i)
+  {
+    return this.set(i, this.temp(i).erfInPlace());
+  }
+  /**
+     Calculate the complementary error function of the value of the buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray erfcInPlace(int i)
+  {
+    return this.set(i, this.temp(i).erfcInPlace());
+  }
+  /**
+     Calculate the scaled complementary error function of the value of the
+     buffer and store the result in this buffer
+
+     @param i The array index
+     @return this
+   */
+  public ComplexFloatBufferArray erfcxInPlace(int i)
+  {
+    return this.set(i, this.temp(i).erfcxInPlace());
+  }
+  /**
+     Raise this complex number to a real power
+     and store the result in this buffer
+
+     @param i The array index
+     @param b The real power
+
+     @return this
+   */
+  public ComplexFloatBufferArray powInPlace(int i, double b)
+  {
+    return this.set(i, this.temp(i).powInPlace(b));
+  }
+  /**
+     Raise this complex number to a complex power
+     and store the result in this buffer
+
+     @param i The array index
+     @param b The complex power
+
+     @return this
+   */
+  public ComplexFloatBufferArray powInPlace(int i, ComplexNumber b)
+  {
+    return this.set(i, this.temp(i).powInPlace(b));
+  }
+  /**
+     Raise this complex number to a complex power
+     and store the result in this buffer
+
+     @param i The array index
+     @param b The complex power array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexFloatBufferArray powInPlace(int i, ComplexNumberArray b, int j)
+  {
+    return this.set(i, this.temp(i).powInPlace(b, j));
+  }
+  /**
+     Multiply the value of this complex buffer by another complex number
+     and store the result in this buffer
+
+     @param i The array index
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexFloatBufferArray multiplyInPlace(int i, ComplexNumber c)
+  {
+    return this.mul(i, (float)c.getReal(), (float)c.getImag());
+  }
+  /**
+     Multiply the value of this complex buffer by another complex number
+     and store the result in this buffer
+
+     @param i The array index
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexFloatBufferArray multiplyInPlace(int i, ComplexNumberArray c,
+                                                 int j)
+  {
+    return this.mul(i, (float)c.getReal(j), (float)c.getImag(j));
+  }
+  /**
+     Multiply the value of this complex buffer by a real number
+     and store the result in this buffer
+
+     @param i The array index
+     @param d The real number
+
+     @return this
+   */
+  public ComplexFloatBufferArray multiplyInPlace(int i, double d)
+  {
+    return this.scale(i, (float)d);
+  }
+  /**
+     Multiply the value of this complex buffer by an integer
+     and store the result in this buffer
+
+     @param i The array index
+     @param x The integer
+
+     @return this
+   */
+  public ComplexFloatBufferArray multiplyInPlace(int i, int x)
+  {
+    return this.scale(i, (float)x);
+  }
+  /**
+     Divide the value of this complex buffer by another complex number
+     and store the result in this buffer
+
+     @param i The array index
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexFloatBufferArray divideInPlace(int i, ComplexNumber c)
+  {
+    return this.div(i, (float)c.getReal(), (float)c.getImag());
+  }
+  /**
+     Divide the value of this complex buffer by another complex number
+     and store the result in this buffer
+
+     @param i The array index
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexFloatBufferArray divideInPlace(int i, ComplexNumberArray c,
+                                               int j)
+  {
+    return this.div(i, (float)c.getReal(j), (float)c.getImag(j));
+  }
+  /**
+     Divide the value of this complex buffer by a real number
+     and store the result in this buffer
+
+     @param i The array index
+     @param d The real number
+
+     @return this
+   */
+  public ComplexFloatBufferArray divideInPlace(int i, double d)
+  {
+    return this.divReal(i, (float)d);
+  }
+  /**
+     Divide another complex number by the value of this complex buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexFloatBufferArray divideReversedInPlace(int i, ComplexNumber c)
+  {
+    return this.divRev(i, (float)c.getReal(), (float)c.getImag());
+  }
+  /**
+     Divide another complex number by the value of this complex buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexFloatBufferArray divideReversedInPlace(int i,
+                                                       ComplexNumberArray c,
+                                                       int j)
+  {
+    return this.divRev(i, (float)c.getReal(j), (float)c.getImag(j));
+  }
+  /**
+     Divide a real number by the value of this complex buffer
+     and store the result in this buffer
+
+     @param i The array index
+     @param d The real number
+
+     @return this
+   */
+  public ComplexFloatBufferArray divideReversedInPlace(int i, double d)
+  {
+    return this.divRevReal(i, (float)d);
+  }
+
+  /**
+     Check that another array has the same size as this array.
+
+     @param c The other complex number array
+   */
+  private void checkSameSize(ComplexFloatBufferArray c)
+  {
+    if (c.re.length != this.re.length)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + this.re.length + ", " + c.re.length);
+    }
+  }
+
+  /**
+     Add a range of another complex number array to a range of this buffer
+     and store the result in this buffer
+
+     The element at index k of this buffer is added with the element at
+     index j+k-from of the other array. If c is this array, the ranges
+     must either be the same or not overlap.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexFloatBufferArray addRangeInPlace(int from, int to,
+                                                 ComplexFloatBufferArray c,
+                                                 int j)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    ComplexBufferArray.checkRange(c.re.length, j, j + (to - from));
+    final float[] re = this.re, im = this.im;
+    final float[] c_re = c.re, c_im = c.im;
+    final int off = j - from;
+    for (int k = from; k < to; k++)
+    {
+      re[k] += c_re[k + off];
+      im[k] += c_im[k + off];
+    }
+    return this;
+  }
+  /**
+     Add another complex number to a range of this buffer and store the
+     result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexFloatBufferArray addRangeInPlace(int from, int to,
+                                                 ComplexNumber c)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    final float[] re = this.re, im = this.im;
+    final float c_re = (float)c.getReal(), c_im = (float)c.getImag();
+    for (int k = from; k < to; k++)
+    {
+      re[k] += c_re;
+      im[k] += c_im;
+    }
+    return this;
+  }
+  /**
+     Add a real number to a range of this buffer and store the result in this
+     buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param d The real number
+
+     @return this
+   */
+  public ComplexFloatBufferArray addRangeInPlace(int from, int to, double d)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    final float f = (float)d;
+    final float[] re = this.re;
+    for (int k = from; k < to; k++)
+    {
+      re[k] += f;
+    }
+    return this;
+  }
+  /**
+     Add another complex number array to this buffer elementwise and store
+     the result in this buffer
+
+     @param c The other complex number array of the same size
+
+     @return this
+   */
+  public ComplexFloatBufferArray addAllInPlace(ComplexFloatBufferArray c)
+  {
+    checkSameSize(c);
+    return this.addRangeInPlace(0, this.re.length, c, 0);
+  }
+  /**
+     Add another complex number to every element of this buffer and store the
+     result in this buffer
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexFloatBufferArray addAllInPlace(ComplexNumber c)
+  {
+    return this.addRangeInPlace(0, this.re.length, c);
+  }
+  /**
+     Add a real number to every element of this buffer and store the result
+     in this buffer
+
+     @param d The real number
+
+     @return this
+   */
+  public ComplexFloatBufferArray addAllInPlace(double d)
+  {
+    return this.addRangeInPlace(0, this.re.length, d);
+  }
+  /**
+     Subtract a range of another complex number array from a range of this
+     buffer and store the result in this buffer
+
+     The element at index j+k-from of the other array is subtracted from the
+     element at index k of this buffer. If c is this array, the ranges
+     must either be the same or not overlap.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexFloatBufferArray subtractRangeInPlace(int from, int to,
+                                                      ComplexFloatBufferArray c,
+                                                      int j)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    ComplexBufferArray.checkRange(c.re.length, j, j + (to - from));
+    final float[] re = this.re, im = this.im;
+    final float[] c_re = c.re, c_im = c.im;
+    final int off = j - from;
+    for (int k = from; k < to; k++)
+    {
+      re[k] -= c_re[k + off];
+      im[k] -= c_im[k + off];
+    }
+    return this;
+  }
+  /**
+     Subtract another complex number from a range of this buffer and store
+     the result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexFloatBufferArray subtractRangeInPlace(int from, int to,
+                                                      ComplexNumber c)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    final float[] re = this.re, im = this.im;
+    final float c_re = (float)c.getReal(), c_im = (float)c.getImag();
+    for (int k = from; k < to; k++)
+    {
+      re[k] -= c_re;
+      im[k] -= c_im;
+    }
+    return this;
+  }
+  /**
+     Subtract a real number from a range of this buffer and store the result
+     in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param d The real number
+
+     @return this
+   */
+  public ComplexFloatBufferArray subtractRangeInPlace(int from, int to,
+                                                      double d)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    final float f = (float)d;
+    final float[] re = this.re;
+    for (int k = from; k < to; k++)
+    {
+      re[k] -= f;
+    }
+    return this;
+  }
+  /**
+     Subtract another complex number array from this buffer elementwise and
+     store the result in this buffer
+
+     @param c The other complex number array of the same size
+
+     @return this
+   */
+  public ComplexFloatBufferArray subtractAllInPlace(ComplexFloatBufferArray c)
+  {
+    checkSameSize(c);
+    return this.subtractRangeInPlace(0, this.re.length, c, 0);
+  }
+  /**
+     Subtract another complex number from every element of this buffer and
+     store the result in this buffer
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexFloatBufferArray subtractAllInPlace(ComplexNumber c)
+  {
+    return this.subtractRangeInPlace(0, this.re.length, c);
+  }
+  /**
+     Subtract a real number from every element of this buffer and store the
+     result in this buffer
+
+     @param d The real number
+
+     @return this
+   */
+  public ComplexFloatBufferArray subtractAllInPlace(double d)
+  {
+    return this.subtractRangeInPlace(0, this.re.length, d);
+  }
+  /**
+     Multiply a range of this buffer by a range of another complex number
+     array and store the result in this buffer
+
+     The element at index k of this buffer is multiplied by the element at
+     index j+k-from of the other array. If c is this array, the ranges
+     must either be the same or not overlap.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexFloatBufferArray multiplyRangeInPlace(int from, int to,
+                                                      ComplexFloatBufferArray c,
+                                                      int j)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    ComplexBufferArray.checkRange(c.re.length, j, j + (to - from));
+    final float[] re = this.re, im = this.im;
+    final float[] c_re = c.re, c_im = c.im;
+    final int off = j - from;
+    for (int k = from; k < to; k++)
+    {
+      final float this_re = re[k], this_im = im[k];
+      final float that_re = c_re[k + off], that_im = c_im[k + off];
+      re[k] = this_re*that_re - this_im*that_im;
+      im[k] = this_im*that_re + this_re*that_im;
+    }
+    return this;
+  }
+  /**
+     Multiply a range of this buffer by another complex number and store the
+     result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexFloatBufferArray multiplyRangeInPlace(int from, int to,
+                                                      ComplexNumber c)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    final float[] re = this.re, im = this.im;
+    final float that_re = (float)c.getReal(), that_im = (float)c.getImag();
+    for (int k = from; k < to; k++)
+    {
+      final float this_re = re[k], this_im = im[k];
+      re[k] = this_re*that_re - this_im*that_im;
+      im[k] = this_im*that_re + this_re*that_im;
+    }
+    return this;
+  }
+  /**
+     Multiply a range of this buffer by a real number and store the result
+     in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param d The real number
+
+     @return this
+   */
+  public ComplexFloatBufferArray multiplyRangeInPlace(int from, int to,
+                                                      double d)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    final float f = (float)d;
+    final float[] re = this.re, im = this.im;
+    for (int k = from; k < to; k++)
+    {
+      re[k] *= f;
+      im[k] *= f;
+    }
+    return this;
+  }
+  /**
+     Multiply this buffer by another complex number array elementwise and
+     store the result in this buffer
+
+     @param c The other complex number array of the same size
+
+     @return this
+   */
+  public ComplexFloatBufferArray multiplyAllInPlace(ComplexFloatBufferArray c)
+  {
+    checkSameSize(c);
+    return this.multiplyRangeInPlace(0, this.re.length, c, 0);
+  }
+  /**
+     Multiply every element of this buffer by another complex number and
+     store the result in this buffer
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexFloatBufferArray multiplyAllInPlace(ComplexNumber c)
+  {
+    return this.multiplyRangeInPlace(0, this.re.length, c);
+  }
+  /**
+     Multiply every element of this buffer by a real number and store the
+     result in this buffer
+
+     @param d The real number
+
+     @return this
+   */
+  public ComplexFloatBufferArray multiplyAllInPlace(double d)
+  {
+    return this.multiplyRangeInPlace(0, this.re.length, d);
+  }
+  /**
+     Divide a range of this buffer by a range of another complex number
+     array and store the result in this buffer
+
+     The element at index k of this buffer is divided by the element at
+     index j+k-from of the other array. If c is this array, the ranges
+     must either be the same or not overlap.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexFloatBufferArray divideRangeInPlace(int from, int to,
+                                                    ComplexFloatBufferArray c,
+                                                    int j)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    ComplexBufferArray.checkRange(c.re.length, j, j + (to - from));
+    final float[] re = this.re, im = this.im;
+    final float[] c_re_ar = c.re, c_im_ar = c.im;
+    final int off = j - from;
+    for (int k = from; k < to; k++)
+    {
+      final float this_re = re[k], this_im = im[k];
+      final float c_re = c_re_ar[k + off], c_im = c_im_ar[k + off];
+      if (Math.abs(c_re) > Math.abs(c_im))
+      {
+        final float c_im_div_re = c_im/c_re;
+        final float w = 1.0f / (c_re + c_im*c_im_div_re);
+        re[k] = (this_re + this_im*c_im_div_re) * w;
+        im[k] = (this_im - this_re*c_im_div_re) * w;
+      }
+      else
+      {
+        final float c_re_div_im = c_re/c_im;
+        final float w = 1.0f / (c_im + c_re*c_re_div_im);
+        re[k] = (this_re*c_re_div_im + this_im) * w;
+        im[k] = (this_im*c_re_div_im - this_re) * w;
+      }
+    }
+    return this;
+  }
+  /**
+     Divide a range of this buffer by another complex number and store the
+     result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexFloatBufferArray divideRangeInPlace(int from, int to,
+                                                    ComplexNumber c)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    final float[] re = this.re, im = this.im;
+    final float c_re = (float)c.getReal(), c_im = (float)c.getImag();
+    // The divisor is the same for every element, so the branch and the
+    // division can be done only once outside the loop.
+    if (Math.abs(c_re) > Math.abs(c_im))
+    {
+      final float c_im_div_re = c_im/c_re;
+      final float w = 1.0f / (c_re + c_im*c_im_div_re);
+      for (int k = from; k < to; k++)
+      {
+        final float this_re = re[k], this_im = im[k];
+        re[k] = (this_re + this_im*c_im_div_re) * w;
+        im[k] = (this_im - this_re*c_im_div_re) * w;
+      }
+    }
+    else
+    {
+      final float c_re_div_im = c_re/c_im;
+      final float w = 1.0f / (c_im + c_re*c_re_div_im);
+      for (int k = from; k < to; k++)
+      {
+        final float this_re = re[k], this_im = im[k];
+        re[k] = (this_re*c_re_div_im + this_im) * w;
+        im[k] = (this_im*c_re_div_im - this_re) * w;
+      }
+    }
+    return this;
+  }
+  /**
+     Divide a range of this buffer by a real number and store the result
+     in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param d The real number
+
+     @return this
+   */
+  public ComplexFloatBufferArray divideRangeInPlace(int from, int to, double d)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    final float f = (float)d;
+    final float[] re = this.re, im = this.im;
+    for (int k = from; k < to; k++)
+    {
+      re[k] /= f;
+      im[k] /= f;
+    }
+    return this;
+  }
+  /**
+     Divide this buffer by another complex number array elementwise and
+     store the result in this buffer
+
+     @param c The other complex number array of the same size
+
+     @return this
+   */
+  public ComplexFloatBufferArray divideAllInPlace(ComplexFloatBufferArray c)
+  {
+    checkSameSize(c);
+    return this.divideRangeInPlace(0, this.re.length, c, 0);
+  }
+  /**
+     Divide every element of this buffer by another complex number and
+     store the result in this buffer
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexFloatBufferArray divideAllInPlace(ComplexNumber c)
+  {
+    return this.divideRangeInPlace(0, this.re.length, c);
+  }
+  /**
+     Divide every element of this buffer by a real number and store the
+     result in this buffer
+
+     @param d The real number
+
+     @return this
+   */
+  public ComplexFloatBufferArray divideAllInPlace(double d)
+  {
+    return this.divideRangeInPlace(0, this.re.length, d);
+  }
+  /**
+     Multiply ranges of two complex number arrays and add the products to a
+     range of this buffer
+
+     The product of the elements at index ai+k-from of the array a and
+     index bi+k-from of the array b is added to the element at index k of
+     this buffer. The arrays a and b must not overlap with the modified
+     range of this buffer unless they are at the same indices.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param a The first factor array
+     @param ai The array index to the first factor array
+     @param b The second factor array
+     @param bi The array index to the second factor array
+
+     @return this
+   */
+  public ComplexFloatBufferArray multiplyAddRangeInPlace(
+      int from, int to, ComplexFloatBufferArray a, int ai,
+      ComplexFloatBufferArray b, int bi)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    ComplexBufferArray.checkRange(a.re.length, ai, ai + (to - from));
+    ComplexBufferArray.checkRange(b.re.length, bi, bi + (to - from));
+    final float[] re = this.re, im = this.im;
+    final float[] a_re = a.re, a_im = a.im;
+    final float[] b_re = b.re, b_im = b.im;
+    final int a_off = ai - from, b_off = bi - from;
+    for (int k = from; k < to; k++)
+    {
+      final float x_re = a_re[k + a_off], x_im = a_im[k + a_off];
+      final float y_re = b_re[k + b_off], y_im = b_im[k + b_off];
+      re[k] += x_re*y_re - x_im*y_im;
+      im[k] += x_im*y_re + x_re*y_im;
+    }
+    return this;
+  }
+  /**
+     Multiply a range of a complex number array by a complex number and add
+     the products to a range of this buffer
+
+     The product of c and the element at index j+k-from of the array x is
+     added to the element at index k of this buffer.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The complex factor
+     @param x The complex number array
+     @param j The array index to the complex number array
+
+     @return this
+   */
+  public ComplexFloatBufferArray multiplyAddRangeInPlace(
+      int from, int to, ComplexNumber c, ComplexFloatBufferArray x, int j)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    ComplexBufferArray.checkRange(x.re.length, j, j + (to - from));
+    final float[] re = this.re, im = this.im;
+    final float[] x_re = x.re, x_im = x.im;
+    final float c_re = (float)c.getReal(), c_im = (float)c.getImag();
+    final int off = j - from;
+    for (int k = from; k < to; k++)
+    {
+      final float y_re = x_re[k + off], y_im = x_im[k + off];
+      re[k] += c_re*y_re - c_im*y_im;
+      im[k] += c_im*y_re + c_re*y_im;
+    }
+    return this;
+  }
+  /**
+     Multiply two complex number arrays elementwise and add the products to
+     this buffer
+
+     @param a The first factor array of the same size
+     @param b The second factor array of the same size
+
+     @return this
+   */
+  public ComplexFloatBufferArray multiplyAddAllInPlace(
+      ComplexFloatBufferArray a, ComplexFloatBufferArray b)
+  {
+    checkSameSize(a);
+    checkSameSize(b);
+    return this.multiplyAddRangeInPlace(0, this.re.length, a, 0, b, 0);
+  }
+  /**
+     Multiply a complex number array by a complex number and add the
+     products to this buffer
+
+     @param c The complex factor
+     @param x The complex number array of the same size
+
+     @return this
+   */
+  public ComplexFloatBufferArray multiplyAddAllInPlace(
+      ComplexNumber c, ComplexFloatBufferArray x)
+  {
+    checkSameSize(x);
+    return this.multiplyAddRangeInPlace(0, this.re.length, c, x, 0);
+  }
+  /**
+     Calculate the conjugate of a range of this buffer and store the result
+     in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexFloatBufferArray conjugateRangeInPlace(int from, int to)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    final float[] im = this.im;
+    for (int k = from; k < to; k++)
+    {
+      im[k] = -im[k];
+    }
+    return this;
+  }
+  /**
+     Calculate the conjugate of every element of this buffer and store the
+     result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBufferArray conjugateAllInPlace()
+  {
+    return this.conjugateRangeInPlace(0, this.re.length);
+  }
+  /**
+     Calculate the principal branch of the log-gamma function of a range of
+     this buffer and store the result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexFloatBufferArray lgammaRangeInPlace(int from, int to)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    final float[] re = this.re, im = this.im;
+    final ComplexBuffer t = ComplexGamma.temp();
+    for (int k = from; k < to; k++)
+    {
+      ComplexGamma.lgamma(re[k], im[k], t);
+      re[k] = (float)t.getReal();
+      im[k] = (float)t.getImag();
+    }
+    return this;
+  }
+  /**
+     Calculate the principal branch of the log-gamma function of every
+     element of this buffer and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBufferArray lgammaAllInPlace()
+  {
+    return this.lgammaRangeInPlace(0, this.re.length);
+  }
+  /**
+     Calculate the gamma function of a range of this buffer and store the
+     result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexFloatBufferArray gammaRangeInPlace(int from, int to)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    final float[] re = this.re, im = this.im;
+    final ComplexBuffer t = ComplexGamma.temp();
+    for (int k = from; k < to; k++)
+    {
+      ComplexGamma.gamma(re[k], im[k], t);
+      re[k] = (float)t.getReal();
+      im[k] = (float)t.getImag();
+    }
+    return this;
+  }
+  /**
+     Calculate the gamma function of every element of this buffer and store
+     the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBufferArray gammaAllInPlace()
+  {
+    return this.gammaRangeInPlace(0, this.re.length);
+  }
+  /**
+     Calculate the digamma function of a range of this buffer and store the
+     result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexFloatBufferArray digammaRangeInPlace(int from, int to)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    final float[] re = this.re, im = this.im;
+    final ComplexBuffer t = ComplexGamma.temp();
+    for (int k = from; k < to; k++)
+    {
+      ComplexGamma.digamma(re[k], im[k], t);
+      re[k] = (float)t.getReal();
+      im[k] = (float)t.getImag();
+    }
+    return this;
+  }
+  /**
+     Calculate the digamma function of every element of this buffer and store
+     the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBufferArray digammaAllInPlace()
+  {
+    return this.digammaRangeInPlace(0, this.re.length);
+  }
+  /**
+     Calculate the Faddeeva function of a range of this buffer and store the
+     result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexFloatBufferArray faddeevaRangeInPlace(int from, int to)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    final float[] re = this.re, im = this.im;
+    final ComplexBuffer t = ComplexGamma.temp();
+    for (int k = from; k < to; k++)
+    {
+      ComplexFaddeeva.faddeeva(re[k], im[k], t);
+      re[k] = (float)t.getReal();
+      im[k] = (float)t.getImag();
+    }
+    return this;
+  }
+  /**
+     Calculate the Faddeeva function of every element of this buffer and
+     store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBufferArray faddeevaAllInPlace()
+  {
+    return this.faddeevaRangeInPlace(0, this.re.length);
+  }
+  /**
+     Calculate the error function of a range of this buffer and store the
+     result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexFloatBufferArray erfRangeInPlace(int from, int to)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    final float[] re = this.re, im = this.im;
+    final ComplexBuffer t = ComplexGamma.temp();
+    for (int k = from; k < to; k++)
+    {
+      ComplexFaddeeva.erf(re[k], im[k], t);
+      re[k] = (float)t.getReal();
+      im[k] = (float)t.getImag();
+    }
+    return this;
+  }
+  /**
+     Calculate the error function of every element of this buffer and store
+     the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBufferArray erfAllInPlace()
+  {
+    return this.erfRangeInPlace(0, this.re.length);
+  }
+  /**
+     Calculate the complementary error function of a range of this buffer
+     and store the result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexFloatBufferArray erfcRangeInPlace(int from, int to)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    final float[] re = this.re, im = this.im;
+    final ComplexBuffer t = ComplexGamma.temp();
+    for (int k = from; k < to; k++)
+    {
+      ComplexFaddeeva.erfc(re[k], im[k], t);
+      re[k] = (float)t.getReal();
+      im[k] = (float)t.getImag();
+    }
+    return this;
+  }
+  /**
+     Calculate the complementary error function of every element of this
+     buffer and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBufferArray erfcAllInPlace()
+  {
+    return this.erfcRangeInPlace(0, this.re.length);
+  }
+  /**
+     Calculate the scaled complementary error function of a range of this
+     buffer and store the result in this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexFloatBufferArray erfcxRangeInPlace(int from, int to)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    final float[] re = this.re, im = this.im;
+    final ComplexBuffer t = ComplexGamma.temp();
+    for (int k = from; k < to; k++)
+    {
+      ComplexFaddeeva.erfcx(re[k], im[k], t);
+      re[k] = (float)t.getReal();
+      im[k] = (float)t.getImag();
+    }
+    return this;
+  }
+  /**
+     Calculate the scaled complementary error function of every element of
+     this buffer and store the result in this buffer
+
+     @return this
+   */
+  public ComplexFloatBufferArray erfcxAllInPlace()
+  {
+    return this.erfcxRangeInPlace(0, this.re.length);
+  }
+  /**
+     Check that a double precision array has the same size as this array.
+
+     @param c The other complex number array
+   */
+  private void checkSameSize(ComplexBufferArray c)
+  {
+    if (c.size() != this.re.length)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + this.re.length + ", " + c.size());
+    }
+  }
+  /**
+     Calculate the absolute values of a range of this buffer.
+
+     The absolute value of the element at index k is stored at index
+     off+k-from of the result array. The result is abs(int) rounded to
+     single precision, with at most one ulp of difference.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param result The result array
+     @param off The index to the result array
+
+     @return result
+   */
+  public float[] absRange(int from, int to, float[] result, int off)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    ComplexBufferArray.checkRange(result.length, off, off + (to - from));
+    final float[] re = this.re, im = this.im;
+    final int result_off = off - from;
+    for (int k = from; k < to; k++)
+    {
+      // The squares of floats can neither overflow nor lose precision in
+      // double precision, so Math.hypot is not needed.
+      final double a = re[k], b = im[k];
+      result[k + result_off] = (float)Math.sqrt(a*a + b*b);
+    }
+    return result;
+  }
+  /**
+     Calculate the absolute values of every element of this buffer.
+
+     @param result The result array of at least the size of this buffer
+
+     @return result
+   */
+  public float[] absAll(float[] result)
+  {
+    return this.absRange(0, this.re.length, result, 0);
+  }
+
+  /**
+     Copy a range of another array to this buffer
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number array
+     @param j The array index to the other array of the element copied to
+              index from
+
+     @return this
+   */
+  public ComplexFloatBufferArray setRange(int from, int to,
+                                          ComplexFloatBufferArray c, int j)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    ComplexBufferArray.checkRange(c.re.length, j, j + (to - from));
+    System.arraycopy(c.re, j, this.re, from, to - from);
+    System.arraycopy(c.im, j, this.im, from, to - from);
+    return this;
+  }
+  /**
+     Copy every element of another array of the same size to this buffer
+
+     @param c The complex number array of the same size
+
+     @return this
+   */
+  public ComplexFloatBufferArray setAll(ComplexFloatBufferArray c)
+  {
+    checkSameSize(c);
+    return this.setRange(0, this.re.length, c, 0);
+  }
+  /**
+     Copy a range of a double precision array to this buffer, rounding the
+     values to single precision
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The double precision complex number array
+     @param j The array index to the other array of the element copied to
+              index from
+
+     @return this
+   */
+  public ComplexFloatBufferArray setRange(int from, int to,
+                                          ComplexBufferArray c, int j)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    ComplexBufferArray.checkRange(c.size(), j, j + (to - from));
+    final float[] re = this.re, im = this.im;
+    final double[] c_re = c.getRealArray(), c_im = c.getImagArray();
+    final int off = j - from;
+    for (int k = from; k < to; k++)
+    {
+      re[k] = (float)c_re[k + off];
+      im[k] = (float)c_im[k + off];
+    }
+    return this;
+  }
+  /**
+     Copy every element of a double precision array of the same size to this
+     buffer, rounding the values to single precision
+
+     @param c The double precision complex number array of the same size
+
+     @return this
+   */
+  public ComplexFloatBufferArray setAll(ComplexBufferArray c)
+  {
+    checkSameSize(c);
+    return this.setRange(0, this.re.length, c, 0);
+  }
+  /**
+     Copy a range of this buffer to a double precision array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param result The double precision complex number array
+     @param j The array index to the result array of the element copied from
+              index from
+
+     @return result
+   */
+  public ComplexBufferArray getRange(int from, int to,
+                                     ComplexBufferArray result, int j)
+  {
+    ComplexBufferArray.checkRange(this.re.length, from, to);
+    ComplexBufferArray.checkRange(result.size(), j, j + (to - from));
+    final float[] re = this.re, im = this.im;
+    final double[] r_re = result.getRealArray(), r_im = result.getImagArray();
+    final int off = j - from;
+    for (int k = from; k < to; k++)
+    {
+      r_re[k + off] = re[k];
+      r_im[k + off] = im[k];
+    }
+    return result;
+  }
+  /**
+     Copy every element of this buffer to a double precision array of the
+     same size
+
+     @param result The double precision complex number array of the same size
+
+     @return result
+   */
+  public ComplexBufferArray getAll(ComplexBufferArray result)
+  {
+    checkSameSize(result);
+    return this.getRange(0, this.re.length, result, 0);
+  }
+  /**
+     Calculate the inner product sum conj(this[k])*c[k] of this buffer and
+     another array of the same size
+
+     The sum is accumulated in double precision.
+
+     @param c The complex number array of the same size
+     @param result The complex buffer for the inner product
+
+     @return result
+   */
+  public ComplexBuffer innerProductAll(ComplexFloatBufferArray c,
+                                       ComplexBuffer result)
+  {
+    checkSameSize(c);
+    final float[] a_re = this.re, a_im = this.im, b_re = c.re, b_im = c.im;
+    double s_re = 0.0, s_im = 0.0;
+    for (int k = 0; k < a_re.length; k++)
+    {
+      final double x_re = a_re[k], x_im = a_im[k];
+      final double y_re = b_re[k], y_im = b_im[k];
+      s_re += x_re*y_re + x_im*y_im;
+      s_im += x_re*y_im - x_im*y_re;
+    }
+    return result.set(s_re, s_im);
+  }
+  /**
+     Calculate the unconjugated dot product sum this[k]*c[k] of this buffer
+     and another array of the same size
+
+     The sum is accumulated in double precision.
+
+     @param c The complex number array of the same size
+     @param result The complex buffer for the dot product
+
+     @return result
+   */
+  public ComplexBuffer dotAll(ComplexFloatBufferArray c, ComplexBuffer result)
+  {
+    checkSameSize(c);
+    final float[] a_re = this.re, a_im = this.im, b_re = c.re, b_im = c.im;
+    double s_re = 0.0, s_im = 0.0;
+    for (int k = 0; k < a_re.length; k++)
+    {
+      final double x_re = a_re[k], x_im = a_im[k];
+      final double y_re = b_re[k], y_im = b_im[k];
+      s_re += x_re*y_re - x_im*y_im;
+      s_im += x_re*y_im + x_im*y_re;
+    }
+    return result.set(s_re, s_im);
+  }
+  /**
+     Calculate the Euclidean norm of this buffer.
+
+     The sum is accumulated in double precision.
+
+     @return The square root of the sum of the squared absolute values
+   */
+  public double normAll()
+  {
+    final float[] re = this.re, im = this.im;
+    double sum = 0.0;
+    for (int k = 0; k < re.length; k++)
+    {
+      final double x_re = re[k], x_im = im[k];
+      sum += x_re*x_re + x_im*x_im;
+    }
+    return Math.sqrt(sum);
+  }
+
+  /**
+     Calculate the absolute value of the complex number in this complex buffer.
+
+     @param i The array index
+     @return x&ge;0 The absolute value
+   */
+  public double abs(int i)
+  {
+    return ComplexUtils.abs(this, i);
+  }
+  /**
+     Calculate the argument of the complex number in this complex buffer.
+
+     The argument is the angle between the positive real axis and the point
+     that represents this number in the complex plane.
+
+     @param i The array index
+     @return -pi&le;x&le;pi The argument
+   */
+  public double arg(int i)
+  {
+    return ComplexUtils.arg(this, i);
+  }
+  /**
+     Check whether the complex number in this buffer is NaN (not-a-numer).
+
+     A complex number is considered NaN if either the real or the imaginary
+     part is NaN.
+
+     @param i The array index
+     @return Whether the complex number in this buffer is NaN
+   */
+  public boolean isNaN(int i)
+  {
+    return ComplexUtils.isNaN(this, i);
+  }
+  /**
+     Check whether the complex number in this buffer is infinite.
+
+     A complex number is considered infinite if either the real or the
+     imaginary part is infinite. If either the real of imaginary part
+     is NaN, the number is not considered infinite, so isNaN() and
+     isInfinite() cannot be true at the same time.
+
+     @param i The array index
+     @return Whether the complex number in this buffer is infinite
+   */
+  public boolean isInfinite(int i)
+  {
+    return ComplexUtils.isInfinite(this, i);
+  }
+  /**
+     Returns a String representation of the complex number in this complex
+     buffer.
+    
+     @param i The array index
+     @return "NaN" if NaN<br/>
+             re if purely real<br/>
+             im + "i" if purely imaginary<br/>
+             re " + " + im + "i" if imaginary part positive<br/>
+             re " - " + (-im) + "i" if imaginary part negative
+   */
+  public String toString(int i)
+  {
+    return ComplexUtils.toString(this, i);
+  }
+
+};
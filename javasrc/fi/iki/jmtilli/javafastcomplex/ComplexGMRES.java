@@ -0,0 +1,256 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.util.Arrays;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   The restarted generalized minimal residual method GMRES(m).
+
+   Works for any nonsingular matrix. The Arnoldi basis is orthogonalized
+   with the modified Gram-Schmidt method and the least squares problem is
+   solved incrementally with complex Givens rotations, so the residual
+   norm is known at every iteration without calculating the solution. The
+   preconditioner is applied from the right, so the residual norm is that
+   of the original system. The workspace is m+3 vectors of the system
+   size.
+ */
+public class ComplexGMRES extends ComplexKrylovSolver {
+  /**
+     The restart length.
+   */
+  private final int m;
+  /**
+     The Arnoldi basis.
+   */
+  private final ComplexBufferArray[] v;
+  /**
+     The preconditioned basis vector.
+   */
+  private final ComplexBufferArray z;
+  /**
+     The result of the operator.
+   */
+  private final ComplexBufferArray w;
+  /**
+     The real parts of the Hessenberg matrix, column-major, m+1 rows.
+   */
+  private final double[] h_re;
+  /**
+     The imaginary parts of the Hessenberg matrix, column-major, m+1 rows.
+   */
+  private final double[] h_im;
+  /**
+     The cosines of the Givens rotations.
+   */
+  private final double[] cs;
+  /**
+     The real parts of the sines of the Givens rotations.
+   */
+  private final double[] sn_re;
+  /**
+     The imaginary parts of the sines of the Givens rotations.
+   */
+  private final double[] sn_im;
+  /**
+     The real parts of the rotated right-hand side of the least squares
+     problem.
+   */
+  private final double[] g_re;
+  /**
+     The imaginary parts of the rotated right-hand side of the least
+     squares problem.
+   */
+  private final double[] g_im;
+  /**
+     Scratch for inner products and coefficients.
+   */
+  private final ComplexBuffer tmp = new ComplexBuffer();
+  /**
+     Scratch for the diagonal elements of the Hessenberg matrix.
+   */
+  private final ComplexBuffer diag = new ComplexBuffer();
+
+  /**
+     Create a GMRES(m) solver
+
+     @param n The system size
+     @param m The restart length, at least 1
+     @param tolerance The relative residual tolerance
+     @param maxIterations The maximum total number of iterations
+   */
+  public ComplexGMRES(int n, int m, double tolerance, int maxIterations)
+  {
+    super(n, tolerance, maxIterations);
+    if (m < 1)
+    {
+      throw new IllegalArgumentException("invalid restart length: " + m);
+    }
+    this.m = m;
+    this.v = new ComplexBufferArray[m + 1];
+    for (int i = 0; i <= m; i++)
+    {
+      this.v[i] = new ComplexBufferArray(n);
+    }
+    this.z = new ComplexBufferArray(n);
+    this.w = new ComplexBufferArray(n);
+    this.h_re = new double[(m + 1)*m];
+    this.h_im = new double[(m + 1)*m];
+    this.cs = new double[m];
+    this.sn_re = new double[m];
+    this.sn_im = new double[m];
+    this.g_re = new double[m + 1];
+    this.g_im = new double[m + 1];
+  }
+
+  @Override
+  public boolean solve(ComplexLinearOperator a, ComplexPreconditioner p,
+                       ComplexBufferArray b, ComplexBufferArray x)
+  {
+    checkSizes(a, b, x);
+    final int ld = m + 1;
+    double bnorm = b.normAll();
+    if (bnorm == 0.0)
+    {
+      bnorm = 1.0;
+    }
+    iterations = 0;
+    while (true)
+    {
+      residual(a, b, x, v[0]);
+      final double beta = v[0].normAll();
+      relativeResidual = beta/bnorm;
+      if (relativeResidual <= tolerance || iterations >= maxIterations)
+      {
+        return relativeResidual <= tolerance;
+      }
+      v[0].multiplyAllInPlace(1.0/beta);
+      Arrays.fill(g_re, 0.0);
+      Arrays.fill(g_im, 0.0);
+      g_re[0] = beta;
+      int j = 0;
+      while (j < m && iterations < maxIterations)
+      {
+        iterations++;
+        precondition(p, v[j], z);
+        a.multiply(z, w);
+        // modified Gram-Schmidt
+        final int col = j*ld;
+        for (int i = 0; i <= j; i++)
+        {
+          v[i].innerProductAll(w, tmp);
+          h_re[col + i] = tmp.getReal();
+          h_im[col + i] = tmp.getImag();
+          w.multiplyAddAllInPlace(tmp.negateInPlace(), v[i]);
+        }
+        final double hnext = w.normAll();
+        h_re[col + j + 1] = hnext;
+        h_im[col + j + 1] = 0.0;
+        if (hnext != 0.0)
+        {
+          v[j + 1].setAll(w).multiplyAllInPlace(1.0/hnext);
+        }
+        // apply the previous rotations to the new column
+        for (int i = 0; i < j; i++)
+        {
+          rotate(i, col + i);
+        }
+        // the new rotation eliminates H[j+1,j]
+        final double a_re = h_re[col + j], a_im = h_im[col + j];
+        final double a_abs = ComplexUtils.abs(a_re, a_im);
+        final double r = ComplexUtils.abs(a_abs, hnext);
+        if (r == 0.0)
+        {
+          cs[j] = 1.0;
+          sn_re[j] = 0.0;
+          sn_im[j] = 0.0;
+        }
+        else if (a_abs == 0.0)
+        {
+          cs[j] = 0.0;
+          sn_re[j] = 1.0;
+          sn_im[j] = 0.0;
+        }
+        else
+        {
+          // c = |a|/r and s = (a/|a|)*conj(b)/r with b = hnext real
+          cs[j] = a_abs/r;
+          sn_re[j] = a_re/a_abs*hnext/r;
+          sn_im[j] = a_im/a_abs*hnext/r;
+        }
+        rotate(j, col + j);
+        g_re[j + 1] = -(sn_re[j]*g_re[j] + sn_im[j]*g_im[j]);
+        g_im[j + 1] = -(sn_re[j]*g_im[j] - sn_im[j]*g_re[j]);
+        g_re[j] *= cs[j];
+        g_im[j] *= cs[j];
+        j++;
+        relativeResidual = ComplexUtils.abs(g_re[j], g_im[j])/bnorm;
+        if (relativeResidual <= tolerance || hnext == 0.0)
+        {
+          break;
+        }
+      }
+      // solve the upper triangular system H*y = g in place in g
+      for (int i = j - 1; i >= 0; i--)
+      {
+        double s_re = g_re[i], s_im = g_im[i];
+        for (int k = i + 1; k < j; k++)
+        {
+          final double t_re = h_re[k*ld + i], t_im = h_im[k*ld + i];
+          s_re -= t_re*g_re[k] - t_im*g_im[k];
+          s_im -= t_re*g_im[k] + t_im*g_re[k];
+        }
+        tmp.set(s_re, s_im).divideInPlace(
+            diag.set(h_re[i*ld + i], h_im[i*ld + i]));
+        g_re[i] = tmp.getReal();
+        g_im[i] = tmp.getImag();
+      }
+      // x += M^-1*(V*y)
+      w.setAll(v[0]).multiplyAllInPlace(tmp.set(g_re[0], g_im[0]));
+      for (int i = 1; i < j; i++)
+      {
+        w.multiplyAddAllInPlace(tmp.set(g_re[i], g_im[i]), v[i]);
+      }
+      precondition(p, w, z);
+      x.addAllInPlace(z);
+    }
+  }
+
+  /**
+     Apply Givens rotation i to rows i and i+1 of a column of the
+     Hessenberg matrix.
+
+     @param i The rotation
+     @param k The array index of row i of the column
+   */
+  private void rotate(int i, int k)
+  {
+    final double c = cs[i], s_re = sn_re[i], s_im = sn_im[i];
+    final double x_re = h_re[k], x_im = h_im[k];
+    final double y_re = h_re[k + 1], y_im = h_im[k + 1];
+    // [x; y] = [c s; -conj(s) c]*[x; y]
+    h_re[k] = c*x_re + s_re*y_re - s_im*y_im;
+    h_im[k] = c*x_im + s_re*y_im + s_im*y_re;
+    h_re[k + 1] = c*y_re - (s_re*x_re + s_im*x_im);
+    h_im[k + 1] = c*y_im - (s_re*x_im - s_im*x_re);
+  }
+};
@@ -0,0 +1,368 @@
+package fi.iki.jmtilli.javafastcomplex;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   The complex gamma, log-gamma and digamma functions.
+
+   The log-gamma function is the principal branch, which is analytic
+   except on the nonpositive real axis, real on the positive real axis and
+   continuous from above on the negative real axis, like in SciPy. It is
+   calculated with the Stirling series where |Re z| or |Im z| exceeds 7,
+   with Taylor series around 1 and 2 where it has zeros, with the
+   recurrence lgamma(z) = lgamma(z + 1) - log(z) elsewhere in the right
+   half plane, keeping track of the branch, and with the reflection
+   formula in the left half plane. The gamma function is the exponential
+   of the log-gamma function. The digamma function uses the asymptotic
+   series after shifting the argument to |z| &ge; 10 with the recurrence,
+   and the reflection formula in the left half plane.
+
+   The functions store their results into a complex buffer, which is also
+   used to carry intermediate results, so that they do not allocate
+   memory. Poles give NaN.
+ */
+final class ComplexGamma {
+  /**
+     The coefficients B_2k/(2k*(2k - 1)) of the Stirling series, highest
+     first.
+   */
+  private static final double[] STIRLING = {
+    -2.955065359477124183e-2, 6.4102564102564102564e-3,
+    -1.9175269175269175269e-3, 8.4175084175084175084e-4,
+    -5.952380952380952381e-4, 7.9365079365079365079e-4,
+    -2.7777777777777777778e-3, 8.3333333333333333333e-2};
+  /**
+     The coefficients of lgamma(1 + w) = w*sum c_k*w^k, c_0 = -gamma and
+     c_k = (-1)^(k+1)*zeta(k + 1)/(k + 1), highest first.
+   */
+  private static final double[] TAYLOR = {
+    -4.3478266053040261208e-2, 4.5454556293204669004e-2,
+    -4.7619070330142225511e-2, 5.0000047698101693361e-2,
+    -5.2631679379616658210e-2, 5.5555767627403614128e-2,
+    -5.8823978658684585030e-2, 6.2500955141213038191e-2,
+    -6.6668705882420464803e-2, 7.1432946295361329780e-2,
+    -7.6932516411352194763e-2, 8.3353840546109003729e-2,
+    -9.0954017145829041402e-2, 1.0009945751278180592e-1,
+    -1.1133426586956468585e-1, 1.2550966952474304494e-1,
+    -1.4404989676884610850e-1, 1.6955717699740818771e-1,
+    -2.0738555102867398117e-1, 2.7058080842778453601e-1,
+    -4.0068563438653143072e-1, 8.2246703342411320303e-1,
+    -5.7721566490153286555e-1};
+  /**
+     The coefficients B_2k/(2k) of the asymptotic digamma series, highest
+     first.
+   */
+  private static final double[] DIGAMMA = {
+    -3617.0/8160.0, 1.0/12.0, -691.0/32760.0, 1.0/132.0, -1.0/240.0,
+    1.0/252.0, -1.0/120.0, 1.0/12.0};
+  /**
+     log(2*pi)/2
+   */
+  private static final double HALF_LOG_2PI = 0.91893853320467274178;
+  /**
+     log(2*pi)
+   */
+  private static final double LOG_2PI = 1.8378770664093454836;
+  /**
+     Per-thread complex buffers for the complex buffer array functions.
+   */
+  private static final ThreadLocal<ComplexBuffer> TEMP =
+      new ThreadLocal<ComplexBuffer>() {
+    @Override
+    protected ComplexBuffer initialValue()
+    {
+      return new ComplexBuffer();
+    }
+  };
+
+  private ComplexGamma() {}
+
+  /**
+     Returns a per-thread complex buffer for intermediate results.
+
+     @return The complex buffer of this thread
+   */
+  static ComplexBuffer temp()
+  {
+    return TEMP.get();
+  }
+
+  private static boolean isPole(double re, double im)
+  {
+    return im == 0.0 && re <= 0.0 && re == Math.floor(re);
+  }
+
+  /**
+     Calculate the principal branch of the logarithm of the gamma function
+
+     @param re The real part of the argument
+     @param im The imaginary part of the argument
+     @param result The complex buffer for the result
+     @return result
+   */
+  static ComplexBuffer lgamma(double re, double im, ComplexBuffer result)
+  {
+    if (Double.isNaN(re) || Double.isNaN(im) || isPole(re, im))
+    {
+      return result.set(Double.NaN, Double.NaN);
+    }
+    if (im < 0.0)
+    {
+      // lgamma(conj(z)) = conj(lgamma(z))
+      lgammaUpper(re, -im, result);
+      return result.set(result.getReal(), -result.getImag());
+    }
+    return lgammaUpper(re, im, result);
+  }
+
+  private static ComplexBuffer lgammaUpper(double re, double im,
+                                           ComplexBuffer result)
+  {
+    if (re >= 0.1)
+    {
+      return lgammaRight(re, im, result);
+    }
+    // lgamma(z) = log(2*pi) - i*pi/2 + i*pi*z - log(1 - exp(2*i*pi*z))
+    //             - lgamma(1 - z) for Im z >= 0
+    lgammaRight(1.0 - re, -im, result);
+    final double a = result.getReal(), b = result.getImag();
+    final double u_re = -2.0*Math.PI*im;
+    final double u_im = 2.0*Math.PI*(re - Math.rint(re));
+    // w = 1 - exp(u) = -expm1(u)
+    final double em1 = Math.expm1(u_re);
+    final double s = Math.sin(0.5*u_im);
+    final double w_re = -(em1*Math.cos(u_im) - 2.0*s*s);
+    final double w_im = -(em1 + 1.0)*Math.sin(u_im);
+    return result.set(
+        LOG_2PI - Math.PI*im - Math.log(ComplexUtils.abs(w_re, w_im)) - a,
+        -0.5*Math.PI + Math.PI*re - Math.atan2(w_im, w_re) - b);
+  }
+
+  private static ComplexBuffer lgammaRight(double re, double im,
+                                           ComplexBuffer result)
+  {
+    if (re > 7.0 || Math.abs(im) > 7.0)
+    {
+      return stirling(re, im, result);
+    }
+    if (ComplexUtils.abs(re - 1.0, im) <= 0.2)
+    {
+      return taylor(re - 1.0, im, result);
+    }
+    if (ComplexUtils.abs(re - 2.0, im) <= 0.2)
+    {
+      // lgamma(2 + w) = log1p(w) + lgamma(1 + w)
+      final double w_re = re - 2.0, w_im = im;
+      taylor(w_re, w_im, result);
+      return result.set(
+          result.getReal() + 0.5*Math.log1p(2.0*w_re + w_re*w_re + w_im*w_im),
+          result.getImag() + Math.atan2(w_im, 1.0 + w_re));
+    }
+    if (im < 0.0)
+    {
+      recurrence(re, -im, result);
+      return result.set(result.getReal(), -result.getImag());
+    }
+    return recurrence(re, im, result);
+  }
+
+  /**
+     lgamma(z) = lgamma(z + m) - log(z*(z + 1)*...*(z + m - 1)), where the
+     logarithm of the product is the sum of the principal logarithms of the
+     factors, which differs from the principal logarithm of the product by
+     2*pi*i for every time the product crosses the negative real axis.
+   */
+  private static ComplexBuffer recurrence(double re, double im,
+                                          ComplexBuffer result)
+  {
+    double p_re = re, p_im = im;
+    int flips = 0;
+    boolean negative = false;
+    re += 1.0;
+    while (re <= 7.0)
+    {
+      final double t = p_re*re - p_im*im;
+      p_im = p_re*im + p_im*re;
+      p_re = t;
+      final boolean n = p_im < 0.0;
+      if (n && !negative)
+      {
+        flips++;
+      }
+      negative = n;
+      re += 1.0;
+    }
+    stirling(re, im, result);
+    return result.set(
+        result.getReal() - Math.log(ComplexUtils.abs(p_re, p_im)),
+        result.getImag() - Math.atan2(p_im, p_re) - 2.0*Math.PI*flips);
+  }
+
+  private static ComplexBuffer stirling(double re, double im,
+                                        ComplexBuffer result)
+  {
+    // 1/z with Smith's method, as |z|^2 overflows beyond 1e154
+    double r_re, r_im;
+    if (Math.abs(re) >= Math.abs(im))
+    {
+      final double q = im/re, den = re + im*q;
+      r_re = 1.0/den;
+      r_im = -q/den;
+    }
+    else
+    {
+      final double q = re/im, den = im + re*q;
+      r_re = q/den;
+      r_im = -1.0/den;
+    }
+    final double rr_re = r_re*r_re - r_im*r_im, rr_im = 2.0*r_re*r_im;
+    double s_re = STIRLING[0], s_im = 0.0;
+    for (int k = 1; k < STIRLING.length; k++)
+    {
+      final double t = s_re*rr_re - s_im*rr_im + STIRLING[k];
+      s_im = s_re*rr_im + s_im*rr_re;
+      s_re = t;
+    }
+    final double l_re = Math.log(ComplexUtils.abs(re, im));
+    final double l_im = Math.atan2(im, re);
+    final double h_re = re - 0.5;
+    return result.set(
+        h_re*l_re - im*l_im - re + HALF_LOG_2PI + r_re*s_re - r_im*s_im,
+        h_re*l_im + im*l_re - im + r_re*s_im + r_im*s_re);
+  }
+
+  private static ComplexBuffer taylor(double re, double im,
+                                      ComplexBuffer result)
+  {
+    double s_re = TAYLOR[0], s_im = 0.0;
+    for (int k = 1; k < TAYLOR.length; k++)
+    {
+      final double t = s_re*re - s_im*im + TAYLOR[k];
+      s_im = s_re*im + s_im*re;
+      s_re = t;
+    }
+    return result.set(re*s_re - im*s_im, re*s_im + im*s_re);
+  }
+
+  /**
+     Calculate the gamma function
+
+     @param re The real part of the argument
+     @param im The imaginary part of the argument
+     @param result The complex buffer for the result
+     @return result
+   */
+  static ComplexBuffer gamma(double re, double im, ComplexBuffer result)
+  {
+    lgamma(re, im, result);
+    final double m = Math.exp(result.getReal()), arg = result.getImag();
+    if (im == 0.0 && !Double.isNaN(arg))
+    {
+      // real arguments have real values; the argument is a multiple of pi
+      return result.set(m*Math.cos(arg), 0.0);
+    }
+    return result.set(m*Math.cos(arg), m*Math.sin(arg));
+  }
+
+  /**
+     Calculate the digamma function, the logarithmic derivative of the
+     gamma function
+
+     @param re The real part of the argument
+     @param im The imaginary part of the argument
+     @param result The complex buffer for the result
+     @return result
+   */
+  static ComplexBuffer digamma(double re, double im, ComplexBuffer result)
+  {
+    if (Double.isNaN(re) || Double.isNaN(im) || isPole(re, im))
+    {
+      return result.set(Double.NaN, Double.NaN);
+    }
+    if (re >= 0.5)
+    {
+      return digammaRight(re, im, result);
+    }
+    // digamma(z) = digamma(1 - z) - pi*cot(pi*z)
+    digammaRight(1.0 - re, -im, result);
+    final double a = Math.PI*(re - Math.rint(re)), b = Math.PI*im;
+    double c_re, c_im;
+    if (Math.abs(b) > 20.0)
+    {
+      c_re = 0.0;
+      c_im = b > 0.0 ? -1.0 : 1.0;
+    }
+    else
+    {
+      // cot(a + ib) = (sin(2a) - i*sinh(2b))/(2*(sinh(b)^2 + sin(a)^2))
+      final double sa = Math.sin(a), sb = Math.sinh(b);
+      final double den = 2.0*(sb*sb + sa*sa);
+      c_re = Math.sin(2.0*a)/den;
+      c_im = -Math.sinh(2.0*b)/den;
+    }
+    return result.set(result.getReal() - Math.PI*c_re,
+                      result.getImag() - Math.PI*c_im);
+  }
+
+  private static ComplexBuffer digammaRight(double re, double im,
+                                            ComplexBuffer result)
+  {
+    // digamma(z) = digamma(z + 1) - 1/z
+    double acc_re = 0.0, acc_im = 0.0;
+    while (re < 10.0 && Math.abs(im) < 10.0)
+    {
+      final double m2 = re*re + im*im;
+      acc_re += re/m2;
+      acc_im -= im/m2;
+      re += 1.0;
+    }
+    // 1/z with Smith's method, as |z|^2 overflows beyond 1e154
+    double r_re, r_im;
+    if (Math.abs(re) >= Math.abs(im))
+    {
+      final double q = im/re, den = re + im*q;
+      r_re = 1.0/den;
+      r_im = -q/den;
+    }
+    else
+    {
+      final double q = re/im, den = im + re*q;
+      r_re = q/den;
+      r_im = -1.0/den;
+    }
+    final double rr_re = r_re*r_re - r_im*r_im, rr_im = 2.0*r_re*r_im;
+    double s_re = DIGAMMA[0], s_im = 0.0;
+    for (int k = 1; k < DIGAMMA.length; k++)
+    {
+      final double t = s_re*rr_re - s_im*rr_im + DIGAMMA[k];
+      s_im = s_re*rr_im + s_im*rr_re;
+      s_re = t;
+    }
+    // log(z) - 1/(2z) - sum B_2k/(2k*z^2k)
+    final double t_re = s_re*rr_re - s_im*rr_im;
+    final double t_im = s_re*rr_im + s_im*rr_re;
+    return result.set(
+        Math.log(ComplexUtils.abs(re, im)) - 0.5*r_re - t_re - acc_re,
+        Math.atan2(im, re) - 0.5*r_im - t_im - acc_im);
+  }
+};
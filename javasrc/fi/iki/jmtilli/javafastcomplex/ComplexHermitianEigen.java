@@ -0,0 +1,480 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.util.Arrays;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   The eigenvalues and eigenvectors of a Hermitian complex matrix.
+
+   The matrix is reduced to Hermitian tridiagonal form with Householder
+   reflections, the subdiagonal is made real and nonnegative with a
+   diagonal unitary scaling, and the resulting real symmetric tridiagonal
+   matrix is diagonalized with the implicit QL algorithm. If only the
+   eigenvalues are requested, the reflections are not stored and the QL
+   iteration does not accumulate rotations, which is several times faster.
+   A matrix having very small or large elements is first scaled by a power
+   of two, so that the sums of squares neither underflow nor overflow.
+
+   The eigenvalues are real and sorted in ascending order. The eigenvectors
+   are orthonormal and stored as the columns of a matrix V, so that
+   A*V = V*diag(eigenvalues).
+ */
+public class ComplexHermitianEigen {
+  /**
+     The size of the matrix.
+   */
+  private final int n;
+  /**
+     The eigenvalues in ascending order.
+   */
+  private final double[] eigenvalues;
+  /**
+     The eigenvectors as columns, or null if not calculated.
+   */
+  private final ComplexMatrix eigenvectors;
+
+  /**
+     Calculate the eigenvalues and eigenvectors of a Hermitian matrix
+
+     @param a The Hermitian matrix, which is not modified; only its lower
+              triangle and the real parts of its diagonal are used
+   */
+  public ComplexHermitianEigen(ComplexMatrix a)
+  {
+    this(a, true);
+  }
+  /**
+     Calculate the eigenvalues and optionally the eigenvectors of a
+     Hermitian matrix
+
+     @param a The Hermitian matrix, which is not modified; only its lower
+              triangle and the real parts of its diagonal are used
+     @param computeVectors Whether to calculate the eigenvectors
+   */
+  public ComplexHermitianEigen(ComplexMatrix a, boolean computeVectors)
+  {
+    if (a.getRows() != a.getColumns())
+    {
+      throw new IllegalArgumentException(
+          "matrix not square: " + a.getRows() + "x" + a.getColumns());
+    }
+    final int n = a.getRows();
+    this.n = n;
+    // the full Hermitian matrix from the lower triangle
+    final double[] re = a.getRealArray().clone();
+    final double[] im = a.getImagArray().clone();
+    for (int i = 0; i < n; i++)
+    {
+      im[i*n + i] = 0.0;
+      for (int j = i + 1; j < n; j++)
+      {
+        re[i*n + j] = re[j*n + i];
+        im[i*n + j] = -im[j*n + i];
+      }
+    }
+    // a power of two scaling is exact and keeps the squares in range
+    final int exp = ComplexBufferArray.scaleExponent(re, im);
+    if (exp != 0)
+    {
+      for (int k = 0; k < n*n; k++)
+      {
+        re[k] = Math.scalb(re[k], -exp);
+        im[k] = Math.scalb(im[k], -exp);
+      }
+    }
+    final double[] d = new double[n];
+    final double[] e = new double[n];
+    final double[] phase_re = new double[n];
+    final double[] phase_im = new double[n];
+    final double[] v_re = computeVectors ? new double[n*n] : null;
+    final double[] v_im = computeVectors ? new double[n*n] : null;
+    final double[] tau = new double[n];
+    tridiagonalize(n, re, im, d, e, phase_re, phase_im, v_re, v_im, tau);
+    // the eigenvectors of the tridiagonal matrix as rows
+    double[] zt = null;
+    if (computeVectors)
+    {
+      zt = new double[n*n];
+      for (int i = 0; i < n; i++)
+      {
+        zt[i*n + i] = 1.0;
+      }
+    }
+    tql2(n, d, e, zt);
+    sort(n, d, zt);
+    for (int i = 0; i < n; i++)
+    {
+      d[i] = Math.scalb(d[i], exp);
+    }
+    this.eigenvalues = d;
+    if (!computeVectors)
+    {
+      this.eigenvectors = null;
+      return;
+    }
+    // W = D*Z, then W = H_0*...*H_{n-3}*W
+    final ComplexMatrix w = new ComplexMatrix(n, n);
+    final double[] w_re = w.getRealArray(), w_im = w.getImagArray();
+    for (int r = 0; r < n; r++)
+    {
+      for (int c = 0; c < n; c++)
+      {
+        w_re[r*n + c] = phase_re[r]*zt[c*n + r];
+        w_im[r*n + c] = phase_im[r]*zt[c*n + r];
+      }
+    }
+    final double[] s_re = new double[n], s_im = new double[n];
+    for (int k = n - 3; k >= 0; k--)
+    {
+      if (tau[k] == 0.0)
+      {
+        continue;
+      }
+      Arrays.fill(s_re, 0.0);
+      Arrays.fill(s_im, 0.0);
+      // s = v^H*W
+      for (int r = k + 1; r < n; r++)
+      {
+        final double x_re = v_re[k*n + r], x_im = -v_im[k*n + r];
+        final int off = r*n;
+        for (int c = 0; c < n; c++)
+        {
+          s_re[c] += x_re*w_re[off + c] - x_im*w_im[off + c];
+          s_im[c] += x_re*w_im[off + c] + x_im*w_re[off + c];
+        }
+      }
+      // W = W - tau*v*s
+      for (int r = k + 1; r < n; r++)
+      {
+        final double x_re = tau[k]*v_re[k*n + r];
+        final double x_im = tau[k]*v_im[k*n + r];
+        final int off = r*n;
+        for (int c = 0; c < n; c++)
+        {
+          w_re[off + c] -= x_re*s_re[c] - x_im*s_im[c];
+          w_im[off + c] -= x_re*s_im[c] + x_im*s_re[c];
+        }
+      }
+    }
+    this.eigenvectors = w;
+  }
+
+  /**
+     Reduce a full Hermitian matrix to a real symmetric tridiagonal matrix.
+
+     @param n The size of the matrix
+     @param re The real parts of the matrix, destroyed
+     @param im The imaginary parts of the matrix, destroyed
+     @param d The diagonal of the tridiagonal matrix
+     @param e The subdiagonal of the tridiagonal matrix in e[0..n-2]
+     @param phase_re The real parts of the diagonal scaling
+     @param phase_im The imaginary parts of the diagonal scaling
+     @param v_re The real parts of the Householder vectors as rows, or null
+     @param v_im The imaginary parts of the Householder vectors as rows, or
+                 null
+     @param tau The Householder scale factors
+   */
+  private static void tridiagonalize(int n, double[] re, double[] im,
+                                     double[] d, double[] e,
+                                     double[] phase_re, double[] phase_im,
+                                     double[] v_re, double[] v_im,
+                                     double[] tau)
+  {
+    final double[] x_re = new double[n], x_im = new double[n];
+    final double[] p_re = new double[n], p_im = new double[n];
+    final double[] sub_re = new double[n], sub_im = new double[n];
+    for (int k = 0; k + 2 < n; k++)
+    {
+      for (int r = k + 1; r < n; r++)
+      {
+        x_re[r] = re[r*n + k];
+        x_im[r] = im[r*n + k];
+      }
+      final double xnorm = ComplexBufferArray.norm(x_re, x_im, k + 1, n);
+      final double x0 = ComplexUtils.abs(x_re[k + 1], x_im[k + 1]);
+      if (xnorm == 0.0)
+      {
+        tau[k] = 0.0;
+        sub_re[k] = 0.0;
+        sub_im[k] = 0.0;
+        continue;
+      }
+      final double ph_re = x0 == 0.0 ? 1.0 : x_re[k + 1]/x0;
+      final double ph_im = x0 == 0.0 ? 0.0 : x_im[k + 1]/x0;
+      // H*x = alpha*e1 with alpha = -phase*|x| and v = x - alpha*e1
+      sub_re[k] = -ph_re*xnorm;
+      sub_im[k] = -ph_im*xnorm;
+      x_re[k + 1] += ph_re*xnorm;
+      x_im[k + 1] += ph_im*xnorm;
+      // v/(xnorm + x0) and tau*(xnorm + x0)^2 keep 1/xnorm^2 out of it
+      final double w = xnorm + x0;
+      for (int r = k + 1; r < n; r++)
+      {
+        x_re[r] /= w;
+        x_im[r] /= w;
+      }
+      final double t = w/xnorm;
+      tau[k] = t;
+      if (v_re != null)
+      {
+        System.arraycopy(x_re, k + 1, v_re, k*n + k + 1, n - k - 1);
+        System.arraycopy(x_im, k + 1, v_im, k*n + k + 1, n - k - 1);
+      }
+      // p = tau*A22*v and K = tau/2*v^H*p
+      double kk = 0.0;
+      for (int r = k + 1; r < n; r++)
+      {
+        final int off = r*n;
+        double s_re = 0.0, s_im = 0.0;
+        for (int c = k + 1; c < n; c++)
+        {
+          s_re += re[off + c]*x_re[c] - im[off + c]*x_im[c];
+          s_im += re[off + c]*x_im[c] + im[off + c]*x_re[c];
+        }
+        p_re[r] = t*s_re;
+        p_im[r] = t*s_im;
+        kk += x_re[r]*p_re[r] + x_im[r]*p_im[r];
+      }
+      kk *= 0.5*t;
+      // q = p - K*v stored in p, A22 = A22 - v*q^H - q*v^H
+      for (int r = k + 1; r < n; r++)
+      {
+        p_re[r] -= kk*x_re[r];
+        p_im[r] -= kk*x_im[r];
+      }
+      for (int r = k + 1; r < n; r++)
+      {
+        final int off = r*n;
+        final double vr_re = x_re[r], vr_im = x_im[r];
+        final double qr_re = p_re[r], qr_im = p_im[r];
+        for (int c = k + 1; c < n; c++)
+        {
+          // v_r*conj(q_c) + q_r*conj(v_c)
+          re[off + c] -= vr_re*p_re[c] + vr_im*p_im[c] +
+                         qr_re*x_re[c] + qr_im*x_im[c];
+          im[off + c] -= vr_im*p_re[c] - vr_re*p_im[c] +
+                         qr_im*x_re[c] - qr_re*x_im[c];
+        }
+      }
+    }
+    if (n >= 2)
+    {
+      sub_re[n - 2] = re[(n - 1)*n + n - 2];
+      sub_im[n - 2] = im[(n - 1)*n + n - 2];
+    }
+    for (int i = 0; i < n; i++)
+    {
+      d[i] = re[i*n + i];
+    }
+    // D^H*T*D has the real subdiagonal |e_k|
+    if (n >= 1)
+    {
+      phase_re[0] = 1.0;
+      phase_im[0] = 0.0;
+    }
+    for (int k = 0; k + 1 < n; k++)
+    {
+      final double abs = ComplexUtils.abs(sub_re[k], sub_im[k]);
+      e[k] = abs;
+      double u_re = 1.0, u_im = 0.0;
+      if (abs != 0.0)
+      {
+        u_re = sub_re[k]/abs;
+        u_im = sub_im[k]/abs;
+      }
+      phase_re[k + 1] = phase_re[k]*u_re - phase_im[k]*u_im;
+      phase_im[k + 1] = phase_re[k]*u_im + phase_im[k]*u_re;
+    }
+    if (n >= 1)
+    {
+      e[n - 1] = 0.0;
+    }
+  }
+
+  /**
+     Diagonalize a real symmetric tridiagonal matrix with the implicit QL
+     algorithm.
+
+     @param n The size of the matrix
+     @param d The diagonal, replaced by the eigenvalues
+     @param e The subdiagonal in e[0..n-2], destroyed
+     @param zt The matrix whose rows are rotated like the eigenvectors, or
+               null
+   */
+  private static void tql2(int n, double[] d, double[] e, double[] zt)
+  {
+    final double eps = Math.ulp(1.0);
+    double f = 0.0, tst1 = 0.0;
+    for (int l = 0; l < n; l++)
+    {
+      tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+      int m = l;
+      while (m < n - 1 && Math.abs(e[m]) > eps*tst1)
+      {
+        m++;
+      }
+      if (m > l)
+      {
+        int iter = 0;
+        do
+        {
+          if (++iter > 60)
+          {
+            throw new ArithmeticException("eigenvalues did not converge");
+          }
+          double g = d[l];
+          double p = (d[l + 1] - g)/(2.0*e[l]);
+          double r = ComplexUtils.abs(p, 1.0);
+          if (p < 0)
+          {
+            r = -r;
+          }
+          d[l] = e[l]/(p + r);
+          d[l + 1] = e[l]*(p + r);
+          final double dl1 = d[l + 1];
+          double h = g - d[l];
+          for (int i = l + 2; i < n; i++)
+          {
+            d[i] -= h;
+          }
+          f += h;
+          p = d[m];
+          double c = 1.0, c2 = c, c3 = c;
+          final double el1 = e[l + 1];
+          double s = 0.0, s2 = 0.0;
+          for (int i = m - 1; i >= l; i--)
+          {
+            c3 = c2;
+            c2 = c;
+            s2 = s;
+            g = c*e[i];
+            h = c*p;
+            r = ComplexUtils.abs(p, e[i]);
+            e[i + 1] = s*r;
+            s = e[i]/r;
+            c = p/r;
+            p = c*d[i] - s*g;
+            d[i + 1] = h + s*(c*g + s*d[i]);
+            if (zt != null)
+            {
+              final int off0 = i*n, off1 = off0 + n;
+              for (int k = 0; k < n; k++)
+              {
+                final double z1 = zt[off1 + k], z0 = zt[off0 + k];
+                zt[off1 + k] = s*z0 + c*z1;
+                zt[off0 + k] = c*z0 - s*z1;
+              }
+            }
+          }
+          p = -s*s2*c3*el1*e[l]/dl1;
+          e[l] = s*p;
+          d[l] = c*p;
+        }
+        while (Math.abs(e[l]) > eps*tst1);
+      }
+      d[l] += f;
+      e[l] = 0.0;
+    }
+  }
+
+  /**
+     Sort the eigenvalues in ascending order together with the rows of a
+     matrix.
+
+     @param n The size of the matrix
+     @param d The eigenvalues
+     @param zt The matrix whose rows are the eigenvectors, or null
+   */
+  private static void sort(int n, double[] d, double[] zt)
+  {
+    for (int i = 0; i < n - 1; i++)
+    {
+      int k = i;
+      for (int j = i + 1; j < n; j++)
+      {
+        if (d[j] < d[k])
+        {
+          k = j;
+        }
+      }
+      if (k != i)
+      {
+        final double t = d[k];
+        d[k] = d[i];
+        d[i] = t;
+        if (zt != null)
+        {
+          for (int j = 0; j < n; j++)
+          {
+            final double z = zt[i*n + j];
+            zt[i*n + j] = zt[k*n + j];
+            zt[k*n + j] = z;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+     Returns the size of the matrix.
+
+     @return The number of rows and columns of the matrix
+   */
+  public int size()
+  {
+    return n;
+  }
+  /**
+     Returns the eigenvalues.
+
+     @return A copy of the eigenvalues in ascending order
+   */
+  public double[] getEigenvalues()
+  {
+    return eigenvalues.clone();
+  }
+  /**
+     Returns whether the eigenvectors were calculated.
+
+     @return Whether the eigenvectors were calculated
+   */
+  public boolean hasEigenvectors()
+  {
+    return eigenvectors != null;
+  }
+  /**
+     Returns the eigenvectors.
+
+     @return A copy of the matrix whose columns are the eigenvectors in the
+             order of the eigenvalues
+     @throws IllegalStateException if the eigenvectors were not calculated
+   */
+  public ComplexMatrix getEigenvectors()
+  {
+    if (eigenvectors == null)
+    {
+      throw new IllegalStateException("eigenvectors not calculated");
+    }
+    return new ComplexMatrix(eigenvectors);
+  }
+};
@@ -0,0 +1,2197 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.io.Serializable;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   A mutable complex number array in the interleaved layout.
+
+   The real and imaginary parts alternate in a single array of doubles,
+   re, im, re, im, ..., which is the layout of complex numbers in C, Fortran
+   and NumPy. An existing interleaved array can be wrapped without copying,
+   and an element is in a single cache line. ComplexBufferArray, which
+   stores the parts in separate arrays, is faster for bulk arithmetic.
+ */
+public class ComplexInterleavedArray implements ComplexNumberArray,
+                                                Serializable {
+  private static final long serialVersionUID = 2903861270358491827L;
+  /**
+     The real and imaginary parts, interleaved.
+     @serial
+   */
+  private double[] data;
+
+  /**
+     Create a complex interleaved array initialized to zero.
+
+     @param size The size of the array
+   */
+  public ComplexInterleavedArray(int size)
+  {
+    if (size < 0 || size > Integer.MAX_VALUE/2)
+    {
+      throw new IllegalArgumentException("invalid size: " + size);
+    }
+    this.data = new double[2*size];
+  }
+  /**
+     Create a complex interleaved array backed by an existing array.
+
+     The array is not copied, so changes to it are visible in this complex
+     array and vice versa.
+
+     @param data The interleaved real and imaginary parts
+   */
+  public ComplexInterleavedArray(double[] data)
+  {
+    if ((data.length & 1) != 0)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: odd length " + data.length);
+    }
+    this.data = data;
+  }
+
+  /**
+     Returns the size of the array.
+
+     @return The size
+   */
+  public int size()
+  {
+    return this.data.length/2;
+  }
+  /**
+     Returns the array backing this complex array.
+
+     The real part of the element i is at the index 2*i and the imaginary
+     part at the index 2*i+1.
+
+     @return The interleaved real and imaginary parts
+   */
+  public double[] getInterleavedArray()
+  {
+    return this.data;
+  }
+
+  /**
+     Modify the real part of this array element and set imaginary part to
+     zero.
+
+     @param i The array index
+     @param re The new real part
+     @return this
+   */
+  public ComplexInterleavedArray set(int i, double re)
+  {
+    return this.set(i, re, +0.0);
+  }
+  /**
+     Modify the value of this array element
+
+     @param i The array index
+     @param re The new real part
+     @param im The new imaginary part
+     @return this
+   */
+  public ComplexInterleavedArray set(int i, double re, double im)
+  {
+    this.data[2*i] = re;
+    this.data[2*i + 1] = im;
+    return this;
+  }
+  /**
+     Returns the real part of this array element
+
+     @param i The array index
+     @return The real part
+   */
+  public double getReal(int i)
+  {
+    return this.data[2*i];
+  }
+  /**
+     Returns the imaginary part of this array element
+
+     @param i The array index
+     @return The imaginary part
+   */
+  public double getImag(int i)
+  {
+    return this.data[2*i + 1];
+  }
+  /**
+     Modify the value of this array element
+
+     @param i The array index
+     @param num The new value
+     @return this
+   */
+  public ComplexInterleavedArray set(int i, ComplexNumber num)
+  {
+    return this.set(i, num.getReal(), num.getImag());
+  }
+  /**
+     Modify the value of this array element
+
+     @param i The array index
+     @param num The new value array
+     @param j The array index to the other array
+     @return this
+   */
+  public ComplexInterleavedArray set(int i, ComplexNumberArray num, int j)
+  {
+    return this.set(i, num.getReal(j), num.getImag(j));
+  }
+  /**
+     Get the value of this array element as an immutable object
+
+     @param i The array index
+     @return A new immutable complex number that has the same value as this
+             array element
+   */
+  public Complex get(int i)
+  {
+    return Complex.valueOf(this.getReal(i), this.getImag(i));
+  }
+  /**
+     Add another complex number to this array element and store the result
+     in this array element
+
+     @param i The array index
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexInterleavedArray addInPlace(int i, ComplexNumber c)
+  {
+    return this.set(i, this.getReal(i) + c.getReal(),
+                       this.getImag(i) + c.getImag());
+  }
+  /**
+     Add another complex number to this array element and store the result
+     in this array element
+
+     @param i The array index
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexInterleavedArray addInPlace(int i, ComplexNumberArray c, int j)
+  {
+    return this.set(i, this.getReal(i) + c.getReal(j),
+                       this.getImag(i) + c.getImag(j));
+  }
+  /**
+     Add a real number to this array element and store the result in this
+     array element
+
+     @param i The array index
+     @param d The real number
+
+     @return this
+   */
+  public ComplexInterleavedArray addInPlace(int i, double d)
+  {
+    return this.set(i, this.getReal(i) + d, this.getImag(i));
+  }
+  /**
+     Subtract another complex number from this array element and store the
+     result in this array element
+
+     @param i The array index
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexInterleavedArray subtractInPlace(int i, ComplexNumber c)
+  {
+    return this.set(i, this.getReal(i) - c.getReal(),
+                       this.getImag(i) - c.getImag());
+  }
+  /**
+     Subtract another complex number from this array element and store the
+     result in this array element
+
+     @param i The array index
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexInterleavedArray subtractInPlace(int i, ComplexNumberArray c,
+                                                 int j)
+  {
+    return this.set(i, this.getReal(i) - c.getReal(j),
+                       this.getImag(i) - c.getImag(j));
+  }
+  /**
+     Subtract a real number from this array element and store the result in
+     this array element
+
+     @param i The array index
+     @param d The real number
+
+     @return this
+   */
+  public ComplexInterleavedArray subtractInPlace(int i, double d)
+  {
+    return this.set(i, this.getReal(i) - d, this.getImag(i));
+  }
+  /**
+     Subtract the value of this array element from another complex number
+     and store the result in this array element
+
+     @param i The array index
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexInterleavedArray subtractReversedInPlace(int i, ComplexNumber c)
+  {
+    return this.set(i, c.getReal() - this.getReal(i),
+                       c.getImag() - this.getImag(i));
+  }
+  /**
+     Subtract the value of this array element from another complex number
+     and store the result in this array element
+
+     @param i The array index
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexInterleavedArray subtractReversedInPlace(int i,
+                                                         ComplexNumberArray c,
+                                                         int j)
+  {
+    return this.set(i, c.getReal(j) - this.getReal(i),
+                       c.getImag(j) - this.getImag(i));
+  }
+  /**
+     Subtract the value of this array element from a real number and store
+     the result in this array element
+
+     @param i The array index
+     @param d The real number
+
+     @return this
+   */
+  public ComplexInterleavedArray subtractReversedInPlace(int i, double d)
+  {
+    return this.set(i, d - this.getReal(i), -this.getImag(i));
+  }
+  /**
+     Negate the value of this array element and store the result in this
+     array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray negateInPlace(int i)
+  {
+    return this.set(i, -this.getReal(i), -this.getImag(i));
+  }
+  /**
+     Calculate the conjugate of the value of this array element and store the
+     result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray conjugateInPlace(int i)
+  {
+    return this.set(i, this.getReal(i), -this.getImag(i));
+  }
+  /**
+     Calculate the inverse of the value of this array element and store the
+     result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray invertInPlace(int i)
+  {
+    return divideReversedInPlace(i, 1.0);
+  }
+  /**
+     Calculate the square root of a complex number and store the result in
+     this array element
+
+     @param i The array index
+     @param re The real part of the complex number
+     @param im The imaginary part of the complex number
+     @return this
+   */
+  private ComplexInterleavedArray setSqrt(int i, double re, double im)
+  {
+    final double w = ComplexUtils.calcSqrtAuxiliaryNumber(re, im);
+    if (w == 0.0)
+    {
+      return this.set(i, +0.0, +0.0);
+    }
+    else if (re >= 0.0)
+    {
+      return this.set(i, w, im/(2*w));
+    }
+    else if (im >= 0.0)
+    {
+      return this.set(i, Math.abs(im)/(2*w), w);
+    }
+    else
+    {
+      return this.set(i, Math.abs(im)/(2*w), -w);
+    }
+  }
+  /**
+     Calculate the square root of the value of this array element and store
+     the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray sqrtInPlace(int i)
+  {
+    return this.setSqrt(i, this.getReal(i), this.getImag(i));
+  }
+  /**
+     Calculate the exponential of the value of this array element and store
+     the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray expInPlace(int i)
+  {
+    final double m = Math.exp(this.getReal(i));
+    return this.set(i, m*Math.cos(this.getImag(i)),
+                       m*Math.sin(this.getImag(i)));
+  }
+  /**
+     Calculate the logarithm of a complex number and store the result in this
+     array element
+
+     @param i The array index
+     @param re The real part of the complex number
+     @param im The imaginary part of the complex number
+     @return this
+   */
+  private ComplexInterleavedArray setLog(int i, double re, double im)
+  {
+    return this.set(i, Math.log(ComplexUtils.abs(re, im)), Math.atan2(im, re));
+  }
+  /**
+     Calculate the logarithm of the value of this array element and store
+     the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray logInPlace(int i)
+  {
+    return this.setLog(i, this.getReal(i), this.getImag(i));
+  }
+  /**
+     Calculate the logarithm of 1 added to the value of this array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray log1pInPlace(int i)
+  {
+    final double rho = this.abs(i);
+    final double re = this.getReal(i);
+    this.set(i, this.getReal(i) + 1, this.getImag(i));
+    if (rho > 0.375)
+    {
+      return this.logInPlace(i);
+    }
+    return this.set(i, 0.5*Math.log1p(2*re + rho*rho), this.arg(i));
+  }
+  /**
+     Calculate exp(this)-1 and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray expm1InPlace(int i)
+  {
+    /*
+       expm1(z) = exp(x)*exp(i*y) - 1
+                =   expm1(x) * (1 - 2*sin(y/2)**2)
+                  - 2*sin(y/2)**2
+                  + i*sin(y)*(1 + expm1(x))
+     */
+    final double re = this.getReal(i);
+    final double im = this.getImag(i);
+    final double rho = this.abs(i);
+    double expm1_re;
+    double two_mul_sin_im_div_2_sq;
+    if (rho > 0.5)
+    {
+      this.expInPlace(i);
+      return this.set(i, this.getReal(i) - 1, this.getImag(i));
+    }
+    expm1_re = Math.expm1(re);
+    two_mul_sin_im_div_2_sq = Math.sin(im/2);
+    two_mul_sin_im_div_2_sq = two_mul_sin_im_div_2_sq * two_mul_sin_im_div_2_sq;
+    return this.set(i,
+                      expm1_re * (1 - two_mul_sin_im_div_2_sq)
+                    - two_mul_sin_im_div_2_sq,
+                    Math.sin(im)*(1 + expm1_re));
+  }
+  /**
+     Calculate the inverse cosine of a complex number and store the result in
+     this array element
+
+     Uses acos(z) = -i*log(z + i*sqrt(1-z*z)) evaluated on the real and
+     imaginary parts, so no objects are created.
+
+     @param i The array index
+     @param re The real part of the complex number
+     @param im The imaginary part of the complex number
+     @return this
+   */
+  private ComplexInterleavedArray setAcos(int i, double re, double im)
+  {
+    this.setSqrt(i, 1.0 - (re*re - im*im), -(im*re + re*im));
+    final double sqrt_re = this.getReal(i), sqrt_im = this.getImag(i);
+    this.setLog(i, re - sqrt_im, im + sqrt_re);
+    return this.set(i, this.getImag(i), -this.getReal(i));
+  }
+  /**
+     Calculate the inverse sine of a complex number and store the result in
+     this array element
+
+     Uses asin(z) = -i*log(i*z + sqrt(1-z*z)) evaluated on the real and
+     imaginary parts, so no objects are created.
+
+     @param i The array index
+     @param re The real part of the complex number
+     @param im The imaginary part of the complex number
+     @return this
+   */
+  private ComplexInterleavedArray setAsin(int i, double re, double im)
+  {
+    this.setSqrt(i, 1.0 - (re*re - im*im), -(im*re + re*im));
+    final double sqrt_re = this.getReal(i), sqrt_im = this.getImag(i);
+    this.setLog(i, sqrt_re - im, sqrt_im + re);
+    return this.set(i, this.getImag(i), -this.getReal(i));
+  }
+  /**
+     Calculate the inverse tangent of a complex number and store the result in
+     this array element
+
+     Uses atan(z) = i/2*log((i+z)/(i-z)) evaluated on the real and
+     imaginary parts, so no objects are created.
+
+     @param i The array index
+     @param re The real part of the complex number
+     @param im The imaginary part of the complex number
+     @return this
+   */
+  private ComplexInterleavedArray setAtan(int i, double re, double im)
+  {
+    final double num_re = re + 0.0, num_im = im + 1.0;
+    final double den_re = 0.0 - re, den_im = 1.0 - im;
+    if (Math.abs(den_re) > Math.abs(den_im))
+    {
+      final double den_im_div_re = den_im/den_re;
+      final double w = 1.0 / (den_re + den_im*den_im_div_re);
+      this.setLog(i, (num_re + num_im*den_im_div_re) * w,
+                     (num_im - num_re*den_im_div_re) * w);
+    }
+    else
+    {
+      final double den_re_div_im = den_re/den_im;
+      final double w = 1.0 / (den_im + den_re*den_re_div_im);
+      this.setLog(i, (num_re*den_re_div_im + num_im) * w,
+                     (num_im*den_re_div_im - num_re) * w);
+    }
+    return this.set(i, -0.5*this.getImag(i), 0.5*this.getReal(i));
+  }
+  /**
+     Calculate the inverse hyperbolic cosine of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray acoshInPlace(int i)
+  {
+    // acosh(z) = i*acos(z)
+    this.setAcos(i, this.getReal(i), this.getImag(i));
+    return this.set(i, -this.getImag(i), this.getReal(i));
+  }
+  /**
+     Calculate the inverse hyperbolic sine of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray asinhInPlace(int i)
+  {
+    // asinh(z) = -i*asin(i*z)
+    this.setAsin(i, -this.getImag(i), this.getReal(i));
+    return this.set(i, this.getImag(i), -this.getReal(i));
+  }
+  /**
+     Calculate the inverse hyperbolic tangent of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray atanhInPlace(int i)
+  {
+    // atanh(z) = -i*atan(i*z)
+    this.setAtan(i, -this.getImag(i), this.getReal(i));
+    return this.set(i, this.getImag(i), -this.getReal(i));
+  }
+  /**
+     Calculate the inverse cosine of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray acosInPlace(int i)
+  {
+    return this.setAcos(i, this.getReal(i), this.getImag(i));
+  }
+  /**
+     Calculate the inverse sine of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray asinInPlace(int i)
+  {
+    return this.setAsin(i, this.getReal(i), this.getImag(i));
+  }
+  /**
+     Calculate the inverse tangent of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray atanInPlace(int i)
+  {
+    return this.setAtan(i, this.getReal(i), this.getImag(i));
+  }
+  /**
+     Calculate the cosine of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray cosInPlace(int i)
+  {
+    return this.set(i, Math.cos(getReal(i)) * Math.cosh(getImag(i)),
+                      -Math.sin(getReal(i)) * Math.sinh(getImag(i)));
+  }
+  /**
+     Calculate the sine of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray sinInPlace(int i)
+  {
+    return this.set(i, Math.sin(getReal(i)) * Math.cosh(getImag(i)),
+                       Math.cos(getReal(i)) * Math.sinh(getImag(i)));
+  }
+  /**
+     Calculate the tangent of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray tanInPlace(int i)
+  {
+    final double real_x2 = this.getReal(i) * 2;
+    final double imag_x2 = this.getImag(i) * 2;
+    final double d = Math.cos(real_x2) + Math.cosh(imag_x2);
+    return this.set(i, Math.sin(real_x2)/d, Math.sinh(imag_x2)/d);
+  }
+  /**
+     Calculate the hyperbolic cosine of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray coshInPlace(int i)
+  {
+    return this.set(i, Math.cosh(getReal(i)) * Math.cos(getImag(i)),
+                       Math.sinh(getReal(i)) * Math.sin(getImag(i)));
+
+  }
+  /**
+     Calculate the hyperbolic sine of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray sinhInPlace(int i)
+  {
+    return this.set(i, Math.sinh(getReal(i)) * Math.cos(getImag(i)),
+                       Math.cosh(getReal(i)) * Math.sin(getImag(i)));
+  }
+  /**
+     Calculate the hyperbolic tangent of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray tanhInPlace(int i)
+  {
+    final double real_x2 = this.getReal(i) * 2;
+    final double imag_x2 = this.getImag(i) * 2;
+    final double d = Math.cosh(real_x2) + Math.cos(imag_x2);
+    return this.set(i, Math.sinh(real_x2)/d, Math.sin(imag_x2)/d);
+  }
+  /**
+     Calculate the principal branch of the log-gamma function of the value
+     of the array element and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray lgammaInPlace(int i)
+  {
+    final ComplexBuffer t = ComplexGamma.temp();
+    ComplexGamma.lgamma(this.getReal(i), this.getImag(i), t);
+    return this.set(i, t.getReal(), t.getImag());
+  }
+  /**
+     Calculate the gamma function of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray gammaInPlace(int i)
+  {
+    final ComplexBuffer t = ComplexGamma.temp();
+    ComplexGamma.gamma(this.getReal(i), this.getImag(i), t);
+    return this.set(i, t.getReal(), t.getImag());
+  }
+  /**
+     Calculate the digamma function of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray digammaInPlace(int i)
+  {
+    final ComplexBuffer t = ComplexGamma.temp();
+    ComplexGamma.digamma(this.getReal(i), this.getImag(i), t);
+    return this.set(i, t.getReal(), t.getImag());
+  }
+  /**
+     Calculate the Faddeeva function of the value of the array element and
+     store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray faddeevaInPlace(int i)
+  {
+    final ComplexBuffer t = ComplexGamma.temp();
+    ComplexFaddeeva.faddeeva(this.getReal(i), this.getImag(i), t);
+    return this.set(i, t.getReal(), t.getImag());
+  }
+  /**
+     Calculate the error function of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray erfInPlace(int i)
+  {
+    final ComplexBuffer t = ComplexGamma.temp();
+    ComplexFaddeeva.erf(this.getReal(i), this.getImag(i), t);
+    return this.set(i, t.getReal(), t.getImag());
+  }
+  /**
+     Calculate the complementary error function of the value of the array
+     element and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray erfcInPlace(int i)
+  {
+    final ComplexBuffer t = ComplexGamma.temp();
+    ComplexFaddeeva.erfc(this.getReal(i), this.getImag(i), t);
+    return this.set(i, t.getReal(), t.getImag());
+  }
+  /**
+     Calculate the scaled complementary error function of the value of the
+     array element and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexInterleavedArray erfcxInPlace(int i)
+  {
+    final ComplexBuffer t = ComplexGamma.temp();
+    ComplexFaddeeva.erfcx(this.getReal(i), this.getImag(i), t);
+    return this.set(i, t.getReal(), t.getImag());
+  }
+  /**
+     Calculate the principal branch of the log-gamma function of a range of
+     this array and store the result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexInterleavedArray lgammaRangeInPlace(int from, int to)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    final double[] d = this.data;
+    final ComplexBuffer t = ComplexGamma.temp();
+    for (int k = from; k < to; k++)
+    {
+      ComplexGamma.lgamma(d[2*k], d[2*k+1], t);
+      d[2*k] = t.getReal();
+      d[2*k+1] = t.getImag();
+    }
+    return this;
+  }
+  /**
+     Calculate the principal branch of the log-gamma function of every
+     element of this array and store the result in this array
+
+     @return this
+   */
+  public ComplexInterleavedArray lgammaAllInPlace()
+  {
+    return this.lgammaRangeInPlace(0, this.size());
+  }
+  /**
+     Calculate the gamma function of a range of this array and store the
+     result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexInterleavedArray gammaRangeInPlace(int from, int to)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    final double[] d = this.data;
+    final ComplexBuffer t = ComplexGamma.temp();
+    for (int k = from; k < to; k++)
+    {
+      ComplexGamma.gamma(d[2*k], d[2*k+1], t);
+      d[2*k] = t.getReal();
+      d[2*k+1] = t.getImag();
+    }
+    return this;
+  }
+  /**
+     Calculate the gamma function of every element of this array and store
+     the result in this array
+
+     @return this
+   */
+  public ComplexInterleavedArray gammaAllInPlace()
+  {
+    return this.gammaRangeInPlace(0, this.size());
+  }
+  /**
+     Calculate the digamma function of a range of this array and store the
+     result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexInterleavedArray digammaRangeInPlace(int from, int to)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    final double[] d = this.data;
+    final ComplexBuffer t = ComplexGamma.temp();
+    for (int k = from; k < to; k++)
+    {
+      ComplexGamma.digamma(d[2*k], d[2*k+1], t);
+      d[2*k] = t.getReal();
+      d[2*k+1] = t.getImag();
+    }
+    return this;
+  }
+  /**
+     Calculate the digamma function of every element of this array and store
+     the result in this array
+
+     @return this
+   */
+  public ComplexInterleavedArray digammaAllInPlace()
+  {
+    return this.digammaRangeInPlace(0, this.size());
+  }
+  /**
+     Calculate the Faddeeva function of a range of this array and store the
+     result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexInterleavedArray faddeevaRangeInPlace(int from, int to)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    final double[] d = this.data;
+    final ComplexBuffer t = ComplexGamma.temp();
+    for (int k = from; k < to; k++)
+    {
+      ComplexFaddeeva.faddeeva(d[2*k], d[2*k+1], t);
+      d[2*k] = t.getReal();
+      d[2*k+1] = t.getImag();
+    }
+    return this;
+  }
+  /**
+     Calculate the Faddeeva function of every element of this array and
+     store the result in this array
+
+     @return this
+   */
+  public ComplexInterleavedArray faddeevaAllInPlace()
+  {
+    return this.faddeevaRangeInPlace(0, this.size());
+  }
+  /**
+     Calculate the error function of a range of this array and store the
+     result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexInterleavedArray erfRangeInPlace(int from, int to)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    final double[] d = this.data;
+    final ComplexBuffer t = ComplexGamma.temp();
+    for (int k = from; k < to; k++)
+    {
+      ComplexFaddeeva.erf(d[2*k], d[2*k+1], t);
+      d[2*k] = t.getReal();
+      d[2*k+1] = t.getImag();
+    }
+    return this;
+  }
+  /**
+     Calculate the error function of every element of this array and store
+     the result in this array
+
+     @return this
+   */
+  public ComplexInterleavedArray erfAllInPlace()
+  {
+    return this.erfRangeInPlace(0, this.size());
+  }
+  /**
+     Calculate the complementary error function of a range of this array
+     and store the result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexInterleavedArray erfcRangeInPlace(int from, int to)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    final double[] d = this.data;
+    final ComplexBuffer t = ComplexGamma.temp();
+    for (int k = from; k < to; k++)
+    {
+      ComplexFaddeeva.erfc(d[2*k], d[2*k+1], t);
+      d[2*k] = t.getReal();
+      d[2*k+1] = t.getImag();
+    }
+    return this;
+  }
+  /**
+     Calculate the complementary error function of every element of this
+     array and store the result in this array
+
+     @return this
+   */
+  public ComplexInterleavedArray erfcAllInPlace()
+  {
+    return this.erfcRangeInPlace(0, this.size());
+  }
+  /**
+     Calculate the scaled complementary error function of a range of this
+     array and store the result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexInterleavedArray erfcxRangeInPlace(int from, int to)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    final double[] d = this.data;
+    final ComplexBuffer t = ComplexGamma.temp();
+    for (int k = from; k < to; k++)
+    {
+      ComplexFaddeeva.erfcx(d[2*k], d[2*k+1], t);
+      d[2*k] = t.getReal();
+      d[2*k+1] = t.getImag();
+    }
+    return this;
+  }
+  /**
+     Calculate the scaled complementary error function of every element of
+     this array and store the result in this array
+
+     @return this
+   */
+  public ComplexInterleavedArray erfcxAllInPlace()
+  {
+    return this.erfcxRangeInPlace(0, this.size());
+  }
+  /**
+     Raise this complex number to a real power
+     and store the result in this array element
+
+     @param i The array index
+     @param b The real power
+
+     @return this
+   */
+  public ComplexInterleavedArray powInPlace(int i, double b)
+  {
+    return this.logInPlace(i).multiplyInPlace(i, b).expInPlace(i);
+  }
+  /**
+     Raise this complex number to a complex power
+     and store the result in this array element
+
+     @param i The array index
+     @param b The complex power
+
+     @return this
+   */
+  public ComplexInterleavedArray powInPlace(int i, ComplexNumber b)
+  {
+    if (b == this)
+    {
+      b = new Complex(b); // freeze b to make it work if b == this
+    }
+    return this.logInPlace(i).multiplyInPlace(i, b).expInPlace(i);
+  }
+  /**
+     Raise this complex number to a complex power
+     and store the result in this array element
+
+     @param i The array index
+     @param b The complex power array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexInterleavedArray powInPlace(int i, ComplexNumberArray b, int j)
+  {
+    if (b == this && i == j)
+    {
+      Complex frozen = new Complex(b.getReal(j), b.getImag(j));
+      return this.logInPlace(i).multiplyInPlace(i, frozen).expInPlace(i);
+    }
+    return this.logInPlace(i).multiplyInPlace(i, b, j).expInPlace(i);
+  }
+  /**
+     Multiply the value of this array element by another complex number
+     and store the result in this array element
+
+     @param i The array index
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexInterleavedArray multiplyInPlace(int i, ComplexNumber c)
+  {
+    double this_re = this.getReal(i), this_im = this.getImag(i);
+    double that_re = c.getReal(), that_im = c.getImag();
+    return this.set(i, this_re*that_re - this_im*that_im,
+                       this_im*that_re + this_re*that_im);
+  }
+  /**
+     Multiply the value of this array element by another complex number
+     and store the result in this array element
+
+     @param i The array index
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexInterleavedArray multiplyInPlace(int i, ComplexNumberArray c,
+                                                 int j)
+  {
+    double this_re = this.getReal(i), this_im = this.getImag(i);
+    double that_re = c.getReal(j), that_im = c.getImag(j);
+    return this.set(i, this_re*that_re - this_im*that_im,
+                       this_im*that_re + this_re*that_im);
+  }
+  /**
+     Multiply the value of this array element by a real number
+     and store the result in this array element
+
+     @param i The array index
+     @param d The real number
+
+     @return this
+   */
+  public ComplexInterleavedArray multiplyInPlace(int i, double d)
+  {
+    return this.set(i, this.getReal(i) * d, this.getImag(i) * d);
+  }
+  /**
+     Multiply the value of this array element by an integer
+     and store the result in this array element
+
+     @param i The array index
+     @param x The integer
+
+     @return this
+   */
+  public ComplexInterleavedArray multiplyInPlace(int i, int x)
+  {
+    return this.set(i, this.getReal(i) * x, this.getImag(i) * x);
+  }
+  /**
+     Divide the value of this array element by another complex number
+     and store the result in this array element
+
+     @param i The array index
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexInterleavedArray divideInPlace(int i, ComplexNumber c)
+  {
+    final double this_re = this.getReal(i), this_im = this.getImag(i);
+    final double c_re = c.getReal(), c_im = c.getImag();
+    if (Math.abs(c_re) > Math.abs(c_im))
+    {
+      final double c_im_div_re = c_im/c_re;
+      final double w = 1.0 / (c_re + c_im*c_im_div_re);
+      return this.set(i, (this_re + this_im*c_im_div_re) * w,
+                         (this_im - this_re*c_im_div_re) * w);
+    }
+    else
+    {
+      final double c_re_div_im = c_re/c_im;
+      final double w = 1.0 / (c_im + c_re*c_re_div_im);
+      return this.set(i, (this_re*c_re_div_im + this_im) * w,
+                         (this_im*c_re_div_im - this_re) * w);
+    }
+  }
+  /**
+     Divide the value of this array element by another complex number
+     and store the result in this array element
+
+     @param i The array index
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexInterleavedArray divideInPlace(int i, ComplexNumberArray c,
+                                               int j)
+  {
+    final double this_re = this.getReal(i), this_im = this.getImag(i);
+    final double c_re = c.getReal(j), c_im = c.getImag(j);
+    if (Math.abs(c_re) > Math.abs(c_im))
+    {
+      final double c_im_div_re = c_im/c_re;
+      final double w = 1.0 / (c_re + c_im*c_im_div_re);
+      return this.set(i, (this_re + this_im*c_im_div_re) * w,
+                         (this_im - this_re*c_im_div_re) * w);
+    }
+    else
+    {
+      final double c_re_div_im = c_re/c_im;
+      final double w = 1.0 / (c_im + c_re*c_re_div_im);
+      return this.set(i, (this_re*c_re_div_im + this_im) * w,
+                         (this_im*c_re_div_im - this_re) * w);
+    }
+  }
+  /**
+     Divide the value of this array element by a real number
+     and store the result in this array element
+
+     @param i The array index
+     @param d The real number
+
+     @return this
+   */
+  public ComplexInterleavedArray divideInPlace(int i, double d)
+  {
+    return this.set(i, this.getReal(i) / d, this.getImag(i) / d);
+  }
+  /**
+     Divide another complex number by the value of this array element
+     and store the result in this array element
+
+     @param i The array index
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexInterleavedArray divideReversedInPlace(int i, ComplexNumber c)
+  {
+    final double c_re = c.getReal(), c_im = c.getImag();
+    final double this_re = this.getReal(i), this_im = this.getImag(i);
+    if (Math.abs(this_re) > Math.abs(this_im))
+    {
+      final double this_im_div_re = this_im/this_re;
+      final double w = 1.0 / (this_re + this_im*this_im_div_re);
+      return this.set(i, (c_re + c_im*this_im_div_re) * w,
+                         (c_im - c_re*this_im_div_re) * w);
+    }
+    else
+    {
+      final double this_re_div_im = this_re/this_im;
+      final double w = 1.0 / (this_im + this_re*this_re_div_im);
+      return this.set(i, (c_re*this_re_div_im + c_im) * w,
+                         (c_im*this_re_div_im - c_re) * w);
+    }
+  }
+  /**
+     Divide another complex number by the value of this array element
+     and store the result in this array element
+
+     @param i The array index
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexInterleavedArray divideReversedInPlace(int i,
+                                                       ComplexNumberArray c,
+                                                       int j)
+  {
+    final double c_re = c.getReal(j), c_im = c.getImag(j);
+    final double this_re = this.getReal(i), this_im = this.getImag(i);
+    if (Math.abs(this_re) > Math.abs(this_im))
+    {
+      final double this_im_div_re = this_im/this_re;
+      final double w = 1.0 / (this_re + this_im*this_im_div_re);
+      return this.set(i, (c_re + c_im*this_im_div_re) * w,
+                         (c_im - c_re*this_im_div_re) * w);
+    }
+    else
+    {
+      final double this_re_div_im = this_re/this_im;
+      final double w = 1.0 / (this_im + this_re*this_re_div_im);
+      return this.set(i, (c_re*this_re_div_im + c_im) * w,
+                         (c_im*this_re_div_im - c_re) * w);
+    }
+  }
+  /**
+     Divide a real number by the value of this array element
+     and store the result in this array element
+
+     @param i The array index
+     @param d The real number
+
+     @return this
+   */
+  public ComplexInterleavedArray divideReversedInPlace(int i, double d)
+  {
+    final double old_re = this.getReal(i);
+    final double old_im = this.getImag(i);
+    if (Math.abs(old_re) > Math.abs(old_im))
+    {
+      final double im_div_re = old_im/old_re;
+      final double w = d / (old_re + old_im*im_div_re);
+      return this.set(i, w, -im_div_re * w);
+    }
+    else
+    {
+      final double re_div_im = old_re/old_im;
+      final double w = d / (old_im + old_re*re_div_im);
+      return this.set(i, re_div_im * w, -w);
+    }
+  }
+  /**
+     Check that another array has the same size as this array.
+
+     @param c The other complex number array
+   */
+  private void checkSameSize(ComplexNumberArray c)
+  {
+    if (c.size() != this.size())
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + this.size() + ", " + c.size());
+    }
+  }
+
+  /**
+     Add a range of another interleaved array to a range of this array and
+     store the result in this array
+
+     The element at index k of this array is added with the element at
+     index j+k-from of the other array. If c is this array, the ranges
+     must either be the same or not overlap.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other interleaved array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexInterleavedArray addRangeInPlace(int from, int to,
+                                                 ComplexInterleavedArray c,
+                                                 int j)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    ComplexBufferArray.checkRange(c.size(), j, j + (to - from));
+    final double[] d = this.data, e = c.data;
+    final int off = 2*(j - from);
+    for (int k = 2*from; k < 2*to; k++)
+    {
+      d[k] += e[k + off];
+    }
+    return this;
+  }
+  /**
+     Add another complex number to a range of this array and store the
+     result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexInterleavedArray addRangeInPlace(int from, int to,
+                                                 ComplexNumber c)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    final double[] d = this.data;
+    final double c_re = c.getReal(), c_im = c.getImag();
+    for (int k = 2*from; k < 2*to; k += 2)
+    {
+      d[k] += c_re;
+      d[k + 1] += c_im;
+    }
+    return this;
+  }
+  /**
+     Add a real number to a range of this array and store the result in
+     this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param x The real number
+
+     @return this
+   */
+  public ComplexInterleavedArray addRangeInPlace(int from, int to, double x)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    final double[] d = this.data;
+    for (int k = 2*from; k < 2*to; k += 2)
+    {
+      d[k] += x;
+    }
+    return this;
+  }
+  /**
+     Add another interleaved array to this array elementwise and store the
+     result in this array
+
+     @param c The other interleaved array of the same size
+
+     @return this
+   */
+  public ComplexInterleavedArray addAllInPlace(ComplexInterleavedArray c)
+  {
+    checkSameSize(c);
+    return this.addRangeInPlace(0, this.size(), c, 0);
+  }
+  /**
+     Add another complex number to every element of this array and store
+     the result in this array
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexInterleavedArray addAllInPlace(ComplexNumber c)
+  {
+    return this.addRangeInPlace(0, this.size(), c);
+  }
+  /**
+     Add a real number to every element of this array and store the result
+     in this array
+
+     @param x The real number
+
+     @return this
+   */
+  public ComplexInterleavedArray addAllInPlace(double x)
+  {
+    return this.addRangeInPlace(0, this.size(), x);
+  }
+
+  /**
+     Subtract a range of another interleaved array from a range of this
+     array and store the result in this array
+
+     The element at index j+k-from of the other array is subtracted from
+     the element at index k of this array. If c is this array, the ranges
+     must either be the same or not overlap.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other interleaved array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexInterleavedArray subtractRangeInPlace(int from, int to,
+                                                      ComplexInterleavedArray c,
+                                                      int j)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    ComplexBufferArray.checkRange(c.size(), j, j + (to - from));
+    final double[] d = this.data, e = c.data;
+    final int off = 2*(j - from);
+    for (int k = 2*from; k < 2*to; k++)
+    {
+      d[k] -= e[k + off];
+    }
+    return this;
+  }
+  /**
+     Subtract another complex number from a range of this array and store
+     the result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexInterleavedArray subtractRangeInPlace(int from, int to,
+                                                      ComplexNumber c)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    final double[] d = this.data;
+    final double c_re = c.getReal(), c_im = c.getImag();
+    for (int k = 2*from; k < 2*to; k += 2)
+    {
+      d[k] -= c_re;
+      d[k + 1] -= c_im;
+    }
+    return this;
+  }
+  /**
+     Subtract a real number from a range of this array and store the result
+     in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param x The real number
+
+     @return this
+   */
+  public ComplexInterleavedArray subtractRangeInPlace(int from, int to,
+                                                      double x)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    final double[] d = this.data;
+    for (int k = 2*from; k < 2*to; k += 2)
+    {
+      d[k] -= x;
+    }
+    return this;
+  }
+  /**
+     Subtract another interleaved array from this array elementwise and
+     store the result in this array
+
+     @param c The other interleaved array of the same size
+
+     @return this
+   */
+  public ComplexInterleavedArray subtractAllInPlace(ComplexInterleavedArray c)
+  {
+    checkSameSize(c);
+    return this.subtractRangeInPlace(0, this.size(), c, 0);
+  }
+  /**
+     Subtract another complex number from every element of this array and
+     store the result in this array
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexInterleavedArray subtractAllInPlace(ComplexNumber c)
+  {
+    return this.subtractRangeInPlace(0, this.size(), c);
+  }
+  /**
+     Subtract a real number from every element of this array and store the
+     result in this array
+
+     @param x The real number
+
+     @return this
+   */
+  public ComplexInterleavedArray subtractAllInPlace(double x)
+  {
+    return this.subtractRangeInPlace(0, this.size(), x);
+  }
+
+  /**
+     Multiply a range of this array by a range of another interleaved array
+     and store the result in this array
+
+     The element at index k of this array is multiplied by the element at
+     index j+k-from of the other array. If c is this array, the ranges
+     must either be the same or not overlap.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other interleaved array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexInterleavedArray multiplyRangeInPlace(int from, int to,
+                                                      ComplexInterleavedArray c,
+                                                      int j)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    ComplexBufferArray.checkRange(c.size(), j, j + (to - from));
+    final double[] d = this.data, e = c.data;
+    final int off = 2*(j - from);
+    for (int k = 2*from; k < 2*to; k += 2)
+    {
+      final double this_re = d[k], this_im = d[k + 1];
+      final double that_re = e[k + off], that_im = e[k + off + 1];
+      d[k] = this_re*that_re - this_im*that_im;
+      d[k + 1] = this_im*that_re + this_re*that_im;
+    }
+    return this;
+  }
+  /**
+     Multiply a range of this array by another complex number and store the
+     result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexInterleavedArray multiplyRangeInPlace(int from, int to,
+                                                      ComplexNumber c)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    final double[] d = this.data;
+    final double that_re = c.getReal(), that_im = c.getImag();
+    for (int k = 2*from; k < 2*to; k += 2)
+    {
+      final double this_re = d[k], this_im = d[k + 1];
+      d[k] = this_re*that_re - this_im*that_im;
+      d[k + 1] = this_im*that_re + this_re*that_im;
+    }
+    return this;
+  }
+  /**
+     Multiply a range of this array by a real number and store the result
+     in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param x The real number
+
+     @return this
+   */
+  public ComplexInterleavedArray multiplyRangeInPlace(int from, int to,
+                                                      double x)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    final double[] d = this.data;
+    for (int k = 2*from; k < 2*to; k++)
+    {
+      d[k] *= x;
+    }
+    return this;
+  }
+  /**
+     Multiply this array by another interleaved array elementwise and store
+     the result in this array
+
+     @param c The other interleaved array of the same size
+
+     @return this
+   */
+  public ComplexInterleavedArray multiplyAllInPlace(ComplexInterleavedArray c)
+  {
+    checkSameSize(c);
+    return this.multiplyRangeInPlace(0, this.size(), c, 0);
+  }
+  /**
+     Multiply every element of this array by another complex number and
+     store the result in this array
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexInterleavedArray multiplyAllInPlace(ComplexNumber c)
+  {
+    return this.multiplyRangeInPlace(0, this.size(), c);
+  }
+  /**
+     Multiply every element of this array by a real number and store the
+     result in this array
+
+     @param x The real number
+
+     @return this
+   */
+  public ComplexInterleavedArray multiplyAllInPlace(double x)
+  {
+    return this.multiplyRangeInPlace(0, this.size(), x);
+  }
+
+  /**
+     Divide a range of this array by a range of another interleaved array
+     and store the result in this array
+
+     The element at index k of this array is divided by the element at
+     index j+k-from of the other array. If c is this array, the ranges
+     must either be the same or not overlap.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other interleaved array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexInterleavedArray divideRangeInPlace(int from, int to,
+                                                    ComplexInterleavedArray c,
+                                                    int j)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    ComplexBufferArray.checkRange(c.size(), j, j + (to - from));
+    final double[] d = this.data, e = c.data;
+    final int off = 2*(j - from);
+    for (int k = 2*from; k < 2*to; k += 2)
+    {
+      final double this_re = d[k], this_im = d[k + 1];
+      final double c_re = e[k + off], c_im = e[k + off + 1];
+      if (Math.abs(c_re) > Math.abs(c_im))
+      {
+        final double c_im_div_re = c_im/c_re;
+        final double w = 1.0 / (c_re + c_im*c_im_div_re);
+        d[k] = (this_re + this_im*c_im_div_re) * w;
+        d[k + 1] = (this_im - this_re*c_im_div_re) * w;
+      }
+      else
+      {
+        final double c_re_div_im = c_re/c_im;
+        final double w = 1.0 / (c_im + c_re*c_re_div_im);
+        d[k] = (this_re*c_re_div_im + this_im) * w;
+        d[k + 1] = (this_im*c_re_div_im - this_re) * w;
+      }
+    }
+    return this;
+  }
+  /**
+     Divide a range of this array by another complex number and store the
+     result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexInterleavedArray divideRangeInPlace(int from, int to,
+                                                    ComplexNumber c)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    final double[] d = this.data;
+    final double c_re = c.getReal(), c_im = c.getImag();
+    // The divisor is the same for every element, so the branch and the
+    // division can be done only once outside the loop.
+    if (Math.abs(c_re) > Math.abs(c_im))
+    {
+      final double c_im_div_re = c_im/c_re;
+      final double w = 1.0 / (c_re + c_im*c_im_div_re);
+      for (int k = 2*from; k < 2*to; k += 2)
+      {
+        final double this_re = d[k], this_im = d[k + 1];
+        d[k] = (this_re + this_im*c_im_div_re) * w;
+        d[k + 1] = (this_im - this_re*c_im_div_re) * w;
+      }
+    }
+    else
+    {
+      final double c_re_div_im = c_re/c_im;
+      final double w = 1.0 / (c_im + c_re*c_re_div_im);
+      for (int k = 2*from; k < 2*to; k += 2)
+      {
+        final double this_re = d[k], this_im = d[k + 1];
+        d[k] = (this_re*c_re_div_im + this_im) * w;
+        d[k + 1] = (this_im*c_re_div_im - this_re) * w;
+      }
+    }
+    return this;
+  }
+  /**
+     Divide a range of this array by a real number and store the result in
+     this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param x The real number
+
+     @return this
+   */
+  public ComplexInterleavedArray divideRangeInPlace(int from, int to,
+                                                    double x)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    final double[] d = this.data;
+    for (int k = 2*from; k < 2*to; k++)
+    {
+      d[k] /= x;
+    }
+    return this;
+  }
+  /**
+     Divide this array by another interleaved array elementwise and store
+     the result in this array
+
+     @param c The other interleaved array of the same size
+
+     @return this
+   */
+  public ComplexInterleavedArray divideAllInPlace(ComplexInterleavedArray c)
+  {
+    checkSameSize(c);
+    return this.divideRangeInPlace(0, this.size(), c, 0);
+  }
+  /**
+     Divide every element of this array by another complex number and
+     store the result in this array
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexInterleavedArray divideAllInPlace(ComplexNumber c)
+  {
+    return this.divideRangeInPlace(0, this.size(), c);
+  }
+  /**
+     Divide every element of this array by a real number and store the
+     result in this array
+
+     @param x The real number
+
+     @return this
+   */
+  public ComplexInterleavedArray divideAllInPlace(double x)
+  {
+    return this.divideRangeInPlace(0, this.size(), x);
+  }
+
+  /**
+     Multiply ranges of two interleaved arrays and add the products to a
+     range of this array
+
+     The product of the elements at index ai+k-from of the array a and
+     index bi+k-from of the array b is added to the element at index k of
+     this array. The arrays a and b must not overlap with the modified
+     range of this array unless they are at the same indices.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param a The first factor array
+     @param ai The array index to the first factor array
+     @param b The second factor array
+     @param bi The array index to the second factor array
+
+     @return this
+   */
+  public ComplexInterleavedArray multiplyAddRangeInPlace(int from, int to,
+      ComplexInterleavedArray a, int ai, ComplexInterleavedArray b, int bi)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    ComplexBufferArray.checkRange(a.size(), ai, ai + (to - from));
+    ComplexBufferArray.checkRange(b.size(), bi, bi + (to - from));
+    final double[] d = this.data, a_d = a.data, b_d = b.data;
+    final int a_off = 2*(ai - from), b_off = 2*(bi - from);
+    for (int k = 2*from; k < 2*to; k += 2)
+    {
+      final double x_re = a_d[k + a_off], x_im = a_d[k + a_off + 1];
+      final double y_re = b_d[k + b_off], y_im = b_d[k + b_off + 1];
+      d[k] += x_re*y_re - x_im*y_im;
+      d[k + 1] += x_im*y_re + x_re*y_im;
+    }
+    return this;
+  }
+  /**
+     Multiply a range of an interleaved array by a complex number and add
+     the products to a range of this array
+
+     The product of c and the element at index j+k-from of the array x is
+     added to the element at index k of this array.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The complex factor
+     @param x The interleaved array
+     @param j The array index to the interleaved array
+
+     @return this
+   */
+  public ComplexInterleavedArray multiplyAddRangeInPlace(int from, int to,
+      ComplexNumber c, ComplexInterleavedArray x, int j)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    ComplexBufferArray.checkRange(x.size(), j, j + (to - from));
+    final double[] d = this.data, x_d = x.data;
+    final double c_re = c.getReal(), c_im = c.getImag();
+    final int off = 2*(j - from);
+    for (int k = 2*from; k < 2*to; k += 2)
+    {
+      final double y_re = x_d[k + off], y_im = x_d[k + off + 1];
+      d[k] += c_re*y_re - c_im*y_im;
+      d[k + 1] += c_im*y_re + c_re*y_im;
+    }
+    return this;
+  }
+  /**
+     Multiply two interleaved arrays elementwise and add the products to
+     this array
+
+     @param a The first factor array of the same size
+     @param b The second factor array of the same size
+
+     @return this
+   */
+  public ComplexInterleavedArray multiplyAddAllInPlace(
+      ComplexInterleavedArray a, ComplexInterleavedArray b)
+  {
+    checkSameSize(a);
+    checkSameSize(b);
+    return this.multiplyAddRangeInPlace(0, this.size(), a, 0, b, 0);
+  }
+  /**
+     Multiply an interleaved array by a complex number and add the products
+     to this array
+
+     @param c The complex factor
+     @param x The interleaved array of the same size
+
+     @return this
+   */
+  public ComplexInterleavedArray multiplyAddAllInPlace(ComplexNumber c,
+      ComplexInterleavedArray x)
+  {
+    checkSameSize(x);
+    return this.multiplyAddRangeInPlace(0, this.size(), c, x, 0);
+  }
+  /**
+     Calculate the conjugate of a range of this array and store the result
+     in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexInterleavedArray conjugateRangeInPlace(int from, int to)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    final double[] d = this.data;
+    for (int k = 2*from + 1; k < 2*to; k += 2)
+    {
+      d[k] = -d[k];
+    }
+    return this;
+  }
+  /**
+     Calculate the conjugate of every element of this array and store the
+     result in this array
+
+     @return this
+   */
+  public ComplexInterleavedArray conjugateAllInPlace()
+  {
+    return this.conjugateRangeInPlace(0, this.size());
+  }
+
+  /**
+     Calculate the absolute values of a range of this array.
+
+     The result at index off+k-from is the absolute value of the element at
+     index k. NaN, infinite and very large or small values are handled
+     exactly like in abs(int).
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param result The result array
+     @param off The index to the result array
+
+     @return result
+   */
+  public double[] absRange(int from, int to, double[] result, int off)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    ComplexBufferArray.checkRange(result.length, off, off + (to - from));
+    final double[] d = this.data;
+    for (int k = from; k < to; k++)
+    {
+      final double a = Math.abs(d[2*k]), b = Math.abs(d[2*k + 1]);
+      final double m = Math.max(a, b);
+      // the same fast path as in ComplexBufferArray.absRange
+      if (m > 1e-150 && m < 1e150)
+      {
+        result[k + off - from] = Math.sqrt(a*a + b*b);
+      }
+      else
+      {
+        result[k + off - from] = this.abs(k);
+      }
+    }
+    return result;
+  }
+  /**
+     Calculate the absolute values of every element of this array.
+
+     @param result The result array of at least the size of this array
+
+     @return result
+   */
+  public double[] absAll(double[] result)
+  {
+    return this.absRange(0, this.size(), result, 0);
+  }
+
+  /**
+     Copy a range of another interleaved array to this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other interleaved array
+     @param j The array index to the other array of the element copied to
+              index from
+
+     @return this
+   */
+  public ComplexInterleavedArray setRange(int from, int to,
+                                          ComplexInterleavedArray c, int j)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    ComplexBufferArray.checkRange(c.size(), j, j + (to - from));
+    System.arraycopy(c.data, 2*j, this.data, 2*from, 2*(to - from));
+    return this;
+  }
+  /**
+     Copy every element of another interleaved array of the same size to
+     this array
+
+     @param c The interleaved array of the same size
+
+     @return this
+   */
+  public ComplexInterleavedArray setAll(ComplexInterleavedArray c)
+  {
+    checkSameSize(c);
+    return this.setRange(0, this.size(), c, 0);
+  }
+  /**
+     Interleave a range of a complex buffer array in the split layout into
+     this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The complex buffer array
+     @param j The array index to the complex buffer array of the element
+              copied to index from
+
+     @return this
+   */
+  public ComplexInterleavedArray setRange(int from, int to,
+                                          ComplexBufferArray c, int j)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    ComplexBufferArray.checkRange(c.size(), j, j + (to - from));
+    final double[] d = this.data;
+    final double[] re = c.getRealArray(), im = c.getImagArray();
+    final int off = j - from;
+    for (int k = from; k < to; k++)
+    {
+      d[2*k] = re[k + off];
+      d[2*k + 1] = im[k + off];
+    }
+    return this;
+  }
+  /**
+     Interleave every element of a complex buffer array of the same size
+     into this array
+
+     @param c The complex buffer array of the same size
+
+     @return this
+   */
+  public ComplexInterleavedArray setAll(ComplexBufferArray c)
+  {
+    checkSameSize(c);
+    return this.setRange(0, this.size(), c, 0);
+  }
+  /**
+     Split a range of this array into a complex buffer array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param result The complex buffer array
+     @param j The array index to the complex buffer array of the element
+              copied from index from
+
+     @return result
+   */
+  public ComplexBufferArray getRange(int from, int to,
+                                     ComplexBufferArray result, int j)
+  {
+    ComplexBufferArray.checkRange(this.size(), from, to);
+    ComplexBufferArray.checkRange(result.size(), j, j + (to - from));
+    final double[] d = this.data;
+    final double[] re = result.getRealArray(), im = result.getImagArray();
+    final int off = j - from;
+    for (int k = from; k < to; k++)
+    {
+      re[k + off] = d[2*k];
+      im[k + off] = d[2*k + 1];
+    }
+    return result;
+  }
+  /**
+     Split every element of this array into a complex buffer array of the
+     same size
+
+     @param result The complex buffer array of the same size
+
+     @return result
+   */
+  public ComplexBufferArray getAll(ComplexBufferArray result)
+  {
+    checkSameSize(result);
+    return this.getRange(0, this.size(), result, 0);
+  }
+
+  /**
+     Calculate the inner product sum conj(this[k])*c[k] of this array and
+     another array of the same size
+
+     @param c The interleaved array of the same size
+     @param result The complex buffer for the inner product
+
+     @return result
+   */
+  public ComplexBuffer innerProductAll(ComplexInterleavedArray c,
+                                       ComplexBuffer result)
+  {
+    checkSameSize(c);
+    final double[] a = this.data, b = c.data;
+    double s_re = 0.0, s_im = 0.0;
+    for (int k = 0; k < a.length; k += 2)
+    {
+      s_re += a[k]*b[k] + a[k + 1]*b[k + 1];
+      s_im += a[k]*b[k + 1] - a[k + 1]*b[k];
+    }
+    return result.set(s_re, s_im);
+  }
+  /**
+     Calculate the unconjugated dot product sum this[k]*c[k] of this array
+     and another array of the same size
+
+     @param c The interleaved array of the same size
+     @param result The complex buffer for the dot product
+
+     @return result
+   */
+  public ComplexBuffer dotAll(ComplexInterleavedArray c, ComplexBuffer result)
+  {
+    checkSameSize(c);
+    final double[] a = this.data, b = c.data;
+    double s_re = 0.0, s_im = 0.0;
+    for (int k = 0; k < a.length; k += 2)
+    {
+      s_re += a[k]*b[k] - a[k + 1]*b[k + 1];
+      s_im += a[k]*b[k + 1] + a[k + 1]*b[k];
+    }
+    return result.set(s_re, s_im);
+  }
+  /**
+     Calculate the Euclidean norm of this array.
+
+     Like ComplexBufferArray.normAll(), the parts are scaled if the sum of
+     the squares would underflow or overflow.
+
+     @return The square root of the sum of the squared absolute values
+   */
+  public double normAll()
+  {
+    final double[] d = this.data;
+    double sum = 0.0;
+    for (int k = 0; k < d.length; k += 2)
+    {
+      sum += d[k]*d[k] + d[k + 1]*d[k + 1];
+    }
+    if (sum >= 1e-280 && sum <= Double.MAX_VALUE)
+    {
+      return Math.sqrt(sum);
+    }
+    double max = 0.0;
+    for (int k = 0; k < d.length; k++)
+    {
+      max = Math.max(max, Math.abs(d[k]));
+    }
+    if (max == 0.0 || !(max <= Double.MAX_VALUE))
+    {
+      return max;
+    }
+    // multiplying by a power of two is exact
+    final int e = Math.getExponent(max);
+    final double scale = Math.scalb(1.0, -e);
+    sum = 0.0;
+    for (int k = 0; k < d.length; k += 2)
+    {
+      final double x = d[k]*scale, y = d[k + 1]*scale;
+      sum += x*x + y*y;
+    }
+    return Math.scalb(Math.sqrt(sum), e);
+  }
+
+  /**
+     Calculate the absolute value of the complex number in this array element.
+
+     @param i The array index
+     @return x&ge;0 The absolute value
+   */
+  public double abs(int i)
+  {
+    return ComplexUtils.abs(this, i);
+  }
+  /**
+     Calculate the argument of the complex number in this array element.
+
+     The argument is the angle between the positive real axis and the point
+     that represents this number in the complex plane.
+
+     @param i The array index
+     @return -pi&le;x&le;pi The argument
+   */
+  public double arg(int i)
+  {
+    return ComplexUtils.arg(this, i);
+  }
+  /**
+     Check whether the complex number in this array element is NaN
+     (not-a-numer).
+
+     A complex number is considered NaN if either the real or the imaginary
+     part is NaN.
+
+     @param i The array index
+     @return Whether the complex number in this array element is NaN
+   */
+  public boolean isNaN(int i)
+  {
+    return ComplexUtils.isNaN(this, i);
+  }
+  /**
+     Check whether the complex number in this array element is infinite.
+
+     A complex number is considered infinite if either the real or the
+     imaginary part is infinite. If either the real of imaginary part
+     is NaN, the number is not considered infinite, so isNaN() and
+     isInfinite() cannot be true at the same time.
+
+     @param i The array index
+     @return Whether the complex number in this array element is infinite
+   */
+  public boolean isInfinite(int i)
+  {
+    return ComplexUtils.isInfinite(this, i);
+  }
+  /**
+     Returns a String representation of the complex number in this array
+     element.
+    
+     @param i The array index
+     @return "NaN" if NaN<br/>
+             re if purely real<br/>
+             im + "i" if purely imaginary<br/>
+             re " + " + im + "i" if imaginary part positive<br/>
+             re " - " + (-im) + "i" if imaginary part negative
+   */
+  public String toString(int i)
+  {
+    return ComplexUtils.toString(this, i);
+  }
+};
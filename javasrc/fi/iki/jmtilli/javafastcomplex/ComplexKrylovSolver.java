@@ -0,0 +1,195 @@
+package fi.iki.jmtilli.javafastcomplex;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   A common base class for iterative Krylov subspace solvers of complex
+   linear systems A*x = b.
+
+   A solver is created for a fixed system size and allocates all of its
+   workspace vectors at creation, so solving needs no allocation. The
+   iteration stops when the norm of the residual b - A*x relative to the
+   norm of b is at most the tolerance or when the maximum number of
+   iterations is reached. The matrix is accessed only through a
+   ComplexLinearOperator, and an optional ComplexPreconditioner
+   approximating the inverse of A can be given.
+
+   A solver must not be used by multiple threads at the same time.
+ */
+public abstract class ComplexKrylovSolver {
+  /**
+     The system size.
+   */
+  final int n;
+  /**
+     The relative residual tolerance.
+   */
+  final double tolerance;
+  /**
+     The maximum number of iterations.
+   */
+  final int maxIterations;
+  /**
+     The number of iterations of the last solve.
+   */
+  int iterations;
+  /**
+     The relative residual norm of the last solve.
+   */
+  double relativeResidual;
+
+  /**
+     Create a solver.
+
+     @param n The system size
+     @param tolerance The relative residual tolerance
+     @param maxIterations The maximum number of iterations
+   */
+  ComplexKrylovSolver(int n, double tolerance, int maxIterations)
+  {
+    if (n < 0)
+    {
+      throw new IllegalArgumentException("invalid system size: " + n);
+    }
+    if (!(tolerance >= 0.0) || maxIterations < 0)
+    {
+      throw new IllegalArgumentException(
+          "invalid stopping criteria: " + tolerance + ", " + maxIterations);
+    }
+    this.n = n;
+    this.tolerance = tolerance;
+    this.maxIterations = maxIterations;
+  }
+
+  /**
+     Returns the system size.
+
+     @return The system size
+   */
+  public int size()
+  {
+    return n;
+  }
+  /**
+     Returns the number of iterations of the last solve.
+
+     @return The number of iterations
+   */
+  public int getIterations()
+  {
+    return iterations;
+  }
+  /**
+     Returns the norm of the residual relative to the norm of the
+     right-hand side after the last solve.
+
+     @return The relative residual norm
+   */
+  public double getRelativeResidual()
+  {
+    return relativeResidual;
+  }
+
+  /**
+     Solve the system A*x = b
+
+     @param a The operator A, of the system size
+     @param m The preconditioner, or null for no preconditioning
+     @param b The right-hand side, which is not modified
+     @param x The initial guess, which is replaced by the solution
+     @return Whether the tolerance was reached
+   */
+  public abstract boolean solve(ComplexLinearOperator a,
+                                ComplexPreconditioner m,
+                                ComplexBufferArray b, ComplexBufferArray x);
+
+  /**
+     Check the sizes of the arguments of solve().
+
+     @param a The operator
+     @param b The right-hand side
+     @param x The initial guess
+   */
+  void checkSizes(ComplexLinearOperator a, ComplexBufferArray b,
+                  ComplexBufferArray x)
+  {
+    if (a.getRows() != n || a.getColumns() != n || b.size() != n ||
+        x.size() != n)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + n + ", " + a.getRows() + "x" +
+          a.getColumns() + ", " + b.size() + ", " + x.size());
+    }
+  }
+  /**
+     Calculate the residual r = b - A*x.
+
+     @param a The operator
+     @param b The right-hand side
+     @param x The current solution
+     @param r The complex buffer array for the residual
+     @return r
+   */
+  static ComplexBufferArray residual(ComplexLinearOperator a,
+                                     ComplexBufferArray b,
+                                     ComplexBufferArray x,
+                                     ComplexBufferArray r)
+  {
+    a.multiply(x, r);
+    return r.multiplyAllInPlace(-1.0).addAllInPlace(b);
+  }
+  /**
+     Returns the power of two nearest below the inverse of a norm.
+
+     The solvers whose recurrences use inner products of residuals scale
+     the residual by this factor so that the inner products neither
+     underflow nor overflow for a very small or large right-hand side.
+     Multiplying by a power of two is exact, so the scaling does not
+     change the results otherwise.
+
+     @param norm The nonzero norm of the right-hand side
+     @return The scale factor
+   */
+  static double residualScale(double norm)
+  {
+    return Math.scalb(1.0, -Math.getExponent(norm));
+  }
+  /**
+     Apply a preconditioner, or copy the vector if there is none.
+
+     @param m The preconditioner, or null
+     @param r The vector
+     @param z The complex buffer array for the result
+     @return z
+   */
+  static ComplexBufferArray precondition(ComplexPreconditioner m,
+                                         ComplexBufferArray r,
+                                         ComplexBufferArray z)
+  {
+    if (m == null)
+    {
+      return z.setAll(r);
+    }
+    return m.apply(r, z);
+  }
+};
@@ -0,0 +1,473 @@
+package fi.iki.jmtilli.javafastcomplex;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   An LU decomposition of a square complex matrix with partial pivoting.
+
+   The decomposition P*A = L*U is calculated with a blocked right-looking
+   algorithm: a panel of columns is factored, the corresponding rows of U
+   are calculated and the trailing submatrix is updated with a
+   matrix product whose inner loop runs over contiguous rows. The pivot of
+   each column is the element of the largest |re|+|im|.
+
+   The decomposition can be reused to solve any number of systems with
+   different right-hand sides, and a decomposition object can be reused
+   for other matrices of the same size with factor(), so that repeated
+   factorizations need no allocation.
+ */
+public class ComplexLU {
+  /**
+     The number of columns in a panel.
+   */
+  private static final int BLOCK = 64;
+  /**
+     The size of the matrix.
+   */
+  private final int n;
+  /**
+     The factors L and U, stored in the same matrix. The unit diagonal of L
+     is not stored.
+   */
+  private final ComplexMatrix lu;
+  /**
+     The row interchanges: row c was interchanged with row pivots[c].
+   */
+  private final int[] pivots;
+  /**
+     The real parts of the reciprocals of the diagonal of U.
+   */
+  private final double[] inv_re;
+  /**
+     The imaginary parts of the reciprocals of the diagonal of U.
+   */
+  private final double[] inv_im;
+  /**
+     Whether the number of row interchanges is odd.
+   */
+  private boolean oddPermutation;
+  /**
+     Whether U has a zero on its diagonal.
+   */
+  private boolean singular;
+
+  /**
+     Calculate the LU decomposition of a copy of a matrix
+
+     @param a The square matrix, which is not modified
+   */
+  public ComplexLU(ComplexMatrix a)
+  {
+    this(new ComplexMatrix(a), true);
+  }
+  /**
+     Calculate the LU decomposition of a matrix
+
+     @param a The square matrix
+     @param inPlace Whether to store the decomposition in a, overwriting its
+                    elements, instead of in a copy of a
+   */
+  public ComplexLU(ComplexMatrix a, boolean inPlace)
+  {
+    if (a.getRows() != a.getColumns())
+    {
+      throw new IllegalArgumentException(
+          "matrix not square: " + a.getRows() + "x" + a.getColumns());
+    }
+    this.n = a.getRows();
+    this.lu = inPlace ? a : new ComplexMatrix(a);
+    this.pivots = new int[n];
+    this.inv_re = new double[n];
+    this.inv_im = new double[n];
+    decompose();
+  }
+
+  /**
+     Returns the size of the matrix.
+
+     @return The number of rows and columns of the matrix
+   */
+  public int size()
+  {
+    return n;
+  }
+  /**
+     Returns whether the matrix is singular, so that systems cannot be
+     solved.
+
+     @return Whether the matrix is singular
+   */
+  public boolean isSingular()
+  {
+    return singular;
+  }
+
+  /**
+     Calculate the LU decomposition of another matrix of the same size,
+     reusing the storage of this decomposition.
+
+     @param a The square matrix, which is not modified
+     @return this
+   */
+  public ComplexLU factor(ComplexMatrix a)
+  {
+    if (a != lu)
+    {
+      lu.set(a);
+    }
+    decompose();
+    return this;
+  }
+
+  /**
+     Returns the determinant of the matrix.
+
+     @return The determinant
+   */
+  public Complex determinant()
+  {
+    final double[] re = lu.getRealArray(), im = lu.getImagArray();
+    double d_re = oddPermutation ? -1.0 : 1.0, d_im = 0.0;
+    for (int i = 0; i < n; i++)
+    {
+      final double u_re = re[i*n + i], u_im = im[i*n + i];
+      final double t = d_re*u_re - d_im*u_im;
+      d_im = d_re*u_im + d_im*u_re;
+      d_re = t;
+    }
+    return Complex.valueOf(d_re, d_im);
+  }
+
+  /**
+     Calculate the decomposition in lu.
+   */
+  private void decompose()
+  {
+    final double[] re = lu.getRealArray(), im = lu.getImagArray();
+    oddPermutation = false;
+    singular = false;
+    for (int kb = 0; kb < n; kb += BLOCK)
+    {
+      final int ke = Math.min(n, kb + BLOCK);
+      factorPanel(re, im, kb, ke);
+      // U12 = inv(L11)*A12
+      for (int i = kb + 1; i < ke; i++)
+      {
+        final int row_i = i*n;
+        for (int p = kb; p < i; p++)
+        {
+          subtractRow(re, im, re[row_i + p], im[row_i + p],
+                      p*n, row_i, ke, n);
+        }
+      }
+      // A22 = A22 - L21*U12
+      for (int i = ke; i < n; i++)
+      {
+        final int row_i = i*n;
+        int p = kb;
+        for (; p + 1 < ke; p += 2)
+        {
+          final double l0_re = re[row_i + p], l0_im = im[row_i + p];
+          final double l1_re = re[row_i + p + 1], l1_im = im[row_i + p + 1];
+          final int row_0 = p*n, row_1 = row_0 + n;
+          for (int j = ke; j < n; j++)
+          {
+            final double u0_re = re[row_0 + j], u0_im = im[row_0 + j];
+            final double u1_re = re[row_1 + j], u1_im = im[row_1 + j];
+            re[row_i + j] -= l0_re*u0_re - l0_im*u0_im +
+                             l1_re*u1_re - l1_im*u1_im;
+            im[row_i + j] -= l0_re*u0_im + l0_im*u0_re +
+                             l1_re*u1_im + l1_im*u1_re;
+          }
+        }
+        if (p < ke)
+        {
+          subtractRow(re, im, re[row_i + p], im[row_i + p],
+                      p*n, row_i, ke, n);
+        }
+      }
+    }
+    for (int i = 0; i < n; i++)
+    {
+      final double u_re = re[i*n + i], u_im = im[i*n + i];
+      if (u_re == 0.0 && u_im == 0.0)
+      {
+        singular = true;
+        inv_re[i] = 0.0;
+        inv_im[i] = 0.0;
+      }
+      else if (Math.abs(u_re) >= Math.abs(u_im))
+      {
+        final double r = u_im/u_re, d = u_re + u_im*r;
+        inv_re[i] = 1.0/d;
+        inv_im[i] = -r/d;
+      }
+      else
+      {
+        final double r = u_re/u_im, d = u_re*r + u_im;
+        inv_re[i] = r/d;
+        inv_im[i] = -1.0/d;
+      }
+    }
+  }
+
+  /**
+     Factor the columns [kb,ke) of the rows [kb,n) with partial pivoting,
+     interchanging whole rows.
+
+     @param re The real parts of the matrix
+     @param im The imaginary parts of the matrix
+     @param kb The first column of the panel, inclusive
+     @param ke The last column of the panel, exclusive
+   */
+  private void factorPanel(double[] re, double[] im, int kb, int ke)
+  {
+    for (int c = kb; c < ke; c++)
+    {
+      int pivot = c;
+      double max = -1.0;
+      for (int i = c; i < n; i++)
+      {
+        final double mag = Math.abs(re[i*n + c]) + Math.abs(im[i*n + c]);
+        if (mag > max)
+        {
+          max = mag;
+          pivot = i;
+        }
+      }
+      pivots[c] = pivot;
+      if (pivot != c)
+      {
+        swapRows(re, im, c, pivot, n);
+        oddPermutation = !oddPermutation;
+      }
+      final int row_c = c*n;
+      final double p_re = re[row_c + c], p_im = im[row_c + c];
+      if (p_re == 0.0 && p_im == 0.0)
+      {
+        continue;
+      }
+      for (int i = c + 1; i < n; i++)
+      {
+        final int row_i = i*n;
+        // L[i,c] = A[i,c]/A[c,c]
+        final double a_re = re[row_i + c], a_im = im[row_i + c];
+        final double l_re, l_im;
+        if (Math.abs(p_re) >= Math.abs(p_im))
+        {
+          final double r = p_im/p_re, d = p_re + p_im*r;
+          l_re = (a_re + a_im*r)/d;
+          l_im = (a_im - a_re*r)/d;
+        }
+        else
+        {
+          final double r = p_re/p_im, d = p_re*r + p_im;
+          l_re = (a_re*r + a_im)/d;
+          l_im = (a_im*r - a_re)/d;
+        }
+        re[row_i + c] = l_re;
+        im[row_i + c] = l_im;
+        subtractRow(re, im, l_re, l_im, row_c, row_i, c + 1, ke);
+      }
+    }
+  }
+
+  /**
+     Subtract a multiple of a range of a row from the same range of another
+     row.
+
+     @param re The real parts of the matrix
+     @param im The imaginary parts of the matrix
+     @param l_re The real part of the multiplier
+     @param l_im The imaginary part of the multiplier
+     @param src The array index of the first element of the source row
+     @param dst The array index of the first element of the destination row
+     @param from The first column, inclusive
+     @param to The last column, exclusive
+   */
+  private static void subtractRow(double[] re, double[] im,
+                                  double l_re, double l_im,
+                                  int src, int dst, int from, int to)
+  {
+    for (int j = from; j < to; j++)
+    {
+      final double u_re = re[src + j], u_im = im[src + j];
+      re[dst + j] -= l_re*u_re - l_im*u_im;
+      im[dst + j] -= l_re*u_im + l_im*u_re;
+    }
+  }
+
+  /**
+     Interchange a range of two rows.
+
+     @param re The real parts of the matrix
+     @param im The imaginary parts of the matrix
+     @param r1 The array index of the first element of the first row
+     @param r2 The array index of the first element of the second row
+     @param len The number of elements to interchange
+   */
+  private static void swapElements(double[] re, double[] im,
+                                   int r1, int r2, int len)
+  {
+    for (int j = 0; j < len; j++)
+    {
+      final double t_re = re[r1 + j], t_im = im[r1 + j];
+      re[r1 + j] = re[r2 + j];
+      im[r1 + j] = im[r2 + j];
+      re[r2 + j] = t_re;
+      im[r2 + j] = t_im;
+    }
+  }
+  /**
+     Interchange two rows of a matrix.
+
+     @param re The real parts of the matrix
+     @param im The imaginary parts of the matrix
+     @param i1 The first row
+     @param i2 The second row
+     @param cols The number of columns
+   */
+  private static void swapRows(double[] re, double[] im, int i1, int i2,
+                               int cols)
+  {
+    swapElements(re, im, i1*cols, i2*cols, cols);
+  }
+
+  /**
+     Throw an exception if the matrix is singular.
+   */
+  private void checkNonSingular()
+  {
+    if (singular)
+    {
+      throw new ArithmeticException("matrix is singular");
+    }
+  }
+
+  /**
+     Solve the system A*x = b in place
+
+     @param b The right-hand side, the size of which must be the size of the
+              matrix, which is replaced by the solution x
+     @return b
+     @throws ArithmeticException if the matrix is singular
+   */
+  public ComplexBufferArray solveInPlace(ComplexBufferArray b)
+  {
+    if (b.size() != n)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + n + ", " + b.size());
+    }
+    checkNonSingular();
+    final double[] re = lu.getRealArray(), im = lu.getImagArray();
+    final double[] x_re = b.getRealArray(), x_im = b.getImagArray();
+    for (int c = 0; c < n; c++)
+    {
+      if (pivots[c] != c)
+      {
+        swapElements(x_re, x_im, c, pivots[c], 1);
+      }
+    }
+    // L*y = P*b
+    for (int i = 1; i < n; i++)
+    {
+      final int row_i = i*n;
+      double s_re = x_re[i], s_im = x_im[i];
+      for (int p = 0; p < i; p++)
+      {
+        final double l_re = re[row_i + p], l_im = im[row_i + p];
+        s_re -= l_re*x_re[p] - l_im*x_im[p];
+        s_im -= l_re*x_im[p] + l_im*x_re[p];
+      }
+      x_re[i] = s_re;
+      x_im[i] = s_im;
+    }
+    // U*x = y
+    for (int i = n - 1; i >= 0; i--)
+    {
+      final int row_i = i*n;
+      double s_re = x_re[i], s_im = x_im[i];
+      for (int p = i + 1; p < n; p++)
+      {
+        final double u_re = re[row_i + p], u_im = im[row_i + p];
+        s_re -= u_re*x_re[p] - u_im*x_im[p];
+        s_im -= u_re*x_im[p] + u_im*x_re[p];
+      }
+      x_re[i] = s_re*inv_re[i] - s_im*inv_im[i];
+      x_im[i] = s_re*inv_im[i] + s_im*inv_re[i];
+    }
+    return b;
+  }
+  /**
+     Solve the system A*X = B in place for multiple right-hand sides
+
+     @param b The right-hand sides as columns, the number of rows of which
+              must be the size of the matrix, which are replaced by the
+              solutions X
+     @return b
+     @throws ArithmeticException if the matrix is singular
+   */
+  public ComplexMatrix solveInPlace(ComplexMatrix b)
+  {
+    if (b.getRows() != n)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + n + ", " + b.getRows());
+    }
+    checkNonSingular();
+    final int m = b.getColumns();
+    final double[] re = lu.getRealArray(), im = lu.getImagArray();
+    final double[] x_re = b.getRealArray(), x_im = b.getImagArray();
+    for (int c = 0; c < n; c++)
+    {
+      if (pivots[c] != c)
+      {
+        swapRows(x_re, x_im, c, pivots[c], m);
+      }
+    }
+    for (int i = 1; i < n; i++)
+    {
+      for (int p = 0; p < i; p++)
+      {
+        subtractRow(x_re, x_im, re[i*n + p], im[i*n + p], p*m, i*m, 0, m);
+      }
+    }
+    for (int i = n - 1; i >= 0; i--)
+    {
+      final int row_i = i*m;
+      for (int p = i + 1; p < n; p++)
+      {
+        subtractRow(x_re, x_im, re[i*n + p], im[i*n + p], p*m, row_i, 0, m);
+      }
+      final double d_re = inv_re[i], d_im = inv_im[i];
+      for (int j = row_i; j < row_i + m; j++)
+      {
+        final double s_re = x_re[j], s_im = x_im[j];
+        x_re[j] = s_re*d_re - s_im*d_im;
+        x_im[j] = s_re*d_im + s_im*d_re;
+      }
+    }
+    return b;
+  }
+};
@@ -0,0 +1,2976 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.io.Closeable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   A mutable complex number array with long indices, stored outside the
+   Java heap.
+
+   The elements are stored in chunks of 2^n elements in double buffers,
+   so that the size of the array is not limited by the 2^31 element limit
+   of Java arrays, and large arrays do not burden the garbage collector.
+   The real and imaginary parts are either in separate buffers (split
+   layout) or alternate in the same buffer (interleaved layout).
+
+   The methods taking int indices implement ComplexNumberArray for the
+   first 2^31 - 1 elements; the other methods take long indices.
+
+   The memory is released explicitly by close(), after which every access
+   throws IllegalStateException. The array must not be accessed by other
+   threads while it is being closed.
+ */
+public abstract class ComplexLargeArray implements ComplexNumberArray,
+                                                   Closeable {
+  /**
+     sun.misc.Unsafe.invokeCleaner, which frees direct and mapped buffers
+     immediately, or null if the JVM does not have it
+   */
+  private static final Method INVOKE_CLEANER;
+  private static final Object UNSAFE;
+  static {
+    Method method = null;
+    Object unsafe = null;
+    try
+    {
+      final Class<?> c = Class.forName("sun.misc.Unsafe");
+      method = c.getMethod("invokeCleaner", ByteBuffer.class);
+      final Field field = c.getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+      unsafe = field.get(null);
+    }
+    catch (ReflectiveOperationException | RuntimeException e)
+    {
+      method = null;
+      unsafe = null;
+    }
+    INVOKE_CLEANER = method;
+    UNSAFE = unsafe;
+  }
+
+  private final long size;
+  private final int shift;
+  private final long mask;
+  private final int stride;
+  private final int imOff;
+  private DoubleBuffer[] re;
+  private DoubleBuffer[] im;
+
+  /**
+     Create a large complex array from chunks of doubles.
+
+     The element i is in the chunk i &gt;&gt; shift at the position
+     (i &amp; (2^shift - 1))*stride of re, and that plus imOff of im.
+
+     @param size The number of elements
+     @param shift The base-2 logarithm of the number of elements per chunk
+     @param stride 1 for the split or 2 for the interleaved layout
+     @param imOff The offset of the imaginary parts
+     @param re The chunks of the real parts
+     @param im The chunks of the imaginary parts
+   */
+  ComplexLargeArray(long size, int shift, int stride, int imOff,
+                    DoubleBuffer[] re, DoubleBuffer[] im)
+  {
+    if (size < 0 || re.length != chunks(size, shift) ||
+        im.length != re.length)
+    {
+      throw new IllegalArgumentException("size mismatch: " + size);
+    }
+    this.size = size;
+    this.shift = shift;
+    this.mask = (1L << shift) - 1;
+    this.stride = stride;
+    this.imOff = imOff;
+    this.re = re;
+    this.im = im;
+  }
+
+  /**
+     The number of chunks of 2^shift elements for the given size.
+
+     @param size The number of elements
+     @param shift The base-2 logarithm of the number of elements per chunk
+     @return The number of chunks
+   */
+  static int chunks(long size, int shift)
+  {
+    final long n = (size + (1L << shift) - 1) >>> shift;
+    if (n > Integer.MAX_VALUE)
+    {
+      throw new IllegalArgumentException("too large size: " + size);
+    }
+    return (int)n;
+  }
+
+  /**
+     The number of elements in the chunk k.
+
+     @param size The number of elements
+     @param shift The base-2 logarithm of the number of elements per chunk
+     @param k The chunk index
+     @return The number of elements
+   */
+  static int chunkSize(long size, int shift, int k)
+  {
+    return (int)Math.min(1L << shift, size - ((long)k << shift));
+  }
+
+  /**
+     Free the memory of a direct or mapped byte buffer now, if the JVM
+     supports it. Otherwise the memory is freed when the buffer is
+     garbage collected.
+
+     @param b The byte buffer, which must not be a slice or a duplicate
+   */
+  static void release(ByteBuffer b)
+  {
+    if (INVOKE_CLEANER == null)
+    {
+      return;
+    }
+    try
+    {
+      INVOKE_CLEANER.invoke(UNSAFE, b);
+    }
+    catch (ReflectiveOperationException e)
+    {
+      // the memory is freed by the garbage collector
+    }
+  }
+
+  /**
+     Mark this array closed.
+
+     @return false if the array was already closed
+   */
+  boolean detach()
+  {
+    if (this.re == null)
+    {
+      return false;
+    }
+    this.re = null;
+    this.im = null;
+    return true;
+  }
+
+  /**
+     Check whether this array has been closed.
+
+     @return Whether close() has been called
+   */
+  public boolean isClosed()
+  {
+    return this.re == null;
+  }
+
+  private DoubleBuffer[] realChunks()
+  {
+    final DoubleBuffer[] re = this.re;
+    if (re == null)
+    {
+      throw new IllegalStateException("closed");
+    }
+    return re;
+  }
+  private DoubleBuffer[] imagChunks()
+  {
+    final DoubleBuffer[] im = this.im;
+    if (im == null)
+    {
+      throw new IllegalStateException("closed");
+    }
+    return im;
+  }
+
+  private void checkIndex(long i)
+  {
+    if (i < 0 || i >= this.size)
+    {
+      throw new IndexOutOfBoundsException(
+          "index " + i + " out of bounds for size " + this.size);
+    }
+  }
+  private static void checkRange(long size, long from, long to)
+  {
+    if (from < 0 || to > size || from > to)
+    {
+      throw new IndexOutOfBoundsException(
+          "range [" + from + "," + to + ") out of bounds for size " + size);
+    }
+  }
+  private void checkSameSize(ComplexLargeArray c)
+  {
+    if (c.size != this.size)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + this.size + ", " + c.size);
+    }
+  }
+  /*
+     The number of elements from index k to the end of its chunk
+   */
+  private long chunkRemaining(long k)
+  {
+    return (1L << this.shift) - (k & this.mask);
+  }
+  private int position(long k)
+  {
+    return (int)(k & this.mask)*this.stride;
+  }
+  private int chunk(long k)
+  {
+    return (int)(k >>> this.shift);
+  }
+  /*
+     The value of an element in a per-thread double precision buffer
+   */
+  private ComplexBuffer temp(long i)
+  {
+    return get(i, ComplexGamma.temp());
+  }
+
+  /**
+     Returns the size of the array.
+
+     @return The size
+   */
+  public long longSize()
+  {
+    return this.size;
+  }
+  /**
+     Returns the size of the array.
+
+     @return The size
+     @throws ArithmeticException if the size does not fit in an int
+   */
+  public int size()
+  {
+    if (this.size > Integer.MAX_VALUE)
+    {
+      throw new ArithmeticException("size overflows int: " + this.size);
+    }
+    return (int)this.size;
+  }
+
+  /**
+     Returns the real part of the complex number.
+
+     @param i The array index
+     @return The real part
+   */
+  public double getReal(long i)
+  {
+    checkIndex(i);
+    return realChunks()[chunk(i)].get(position(i));
+  }
+  /**
+     Returns the imaginary part of the complex number.
+
+     @param i The array index
+     @return The imaginary part
+   */
+  public double getImag(long i)
+  {
+    checkIndex(i);
+    return imagChunks()[chunk(i)].get(position(i) + this.imOff);
+  }
+  /**
+     Returns the real part of the complex number.
+
+     @param i The array index
+     @return The real part
+   */
+  public double getReal(int i)
+  {
+    return getReal((long)i);
+  }
+  /**
+     Returns the imaginary part of the complex number.
+
+     @param i The array index
+     @return The imaginary part
+   */
+  public double getImag(int i)
+  {
+    return getImag((long)i);
+  }
+  /**
+     Returns an immutable copy of the complex number.
+
+     @param i The array index
+     @return The complex number
+   */
+  public Complex get(long i)
+  {
+    return new Complex(getReal(i), getImag(i));
+  }
+  /**
+     Copy the complex number to a complex buffer.
+
+     @param i The array index
+     @param result The complex buffer
+     @return result
+   */
+  public ComplexBuffer get(long i, ComplexBuffer result)
+  {
+    return result.set(getReal(i), getImag(i));
+  }
+
+  /**
+     Modify the real part of the complex number and set the imaginary part
+     to zero.
+
+     @param i The array index
+     @param re The new real part
+     @return this
+   */
+  public ComplexLargeArray set(long i, double re)
+  {
+    return set(i, re, 0.0);
+  }
+  /**
+     Modify the complex number.
+
+     @param i The array index
+     @param re The new real part
+     @param im The new imaginary part
+     @return this
+   */
+  public ComplexLargeArray set(long i, double re, double im)
+  {
+    checkIndex(i);
+    final int c = chunk(i), p = position(i);
+    final DoubleBuffer[] re_ar = realChunks(), im_ar = imagChunks();
+    re_ar[c].put(p, re);
+    im_ar[c].put(p + this.imOff, im);
+    return this;
+  }
+  /**
+     Modify the complex number.
+
+     @param i The array index
+     @param num The new complex number
+     @return this
+   */
+  public ComplexLargeArray set(long i, ComplexNumber num)
+  {
+    return set(i, num.getReal(), num.getImag());
+  }
+  /**
+     Modify the complex number.
+
+     @param i The array index
+     @param num The array of the new complex number
+     @param j The index to the array of the new complex number
+     @return this
+   */
+  public ComplexLargeArray set(long i, ComplexNumberArray num, int j)
+  {
+    return set(i, num.getReal(j), num.getImag(j));
+  }
+
+  /**
+     Add another complex number to this array element and store the result
+     in this array element
+
+     @param i The array index
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexLargeArray addInPlace(long i, ComplexNumber c)
+  {
+    return set(i, getReal(i) + c.getReal(), getImag(i) + c.getImag());
+  }
+  /**
+     Add another complex number to this array element and store the result
+     in this array element
+
+     @param i The array index
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexLargeArray addInPlace(long i, ComplexNumberArray c, int j)
+  {
+    return set(i, getReal(i) + c.getReal(j), getImag(i) + c.getImag(j));
+  }
+  /**
+     Add a real number to this array element and store the result in this
+     array element
+
+     @param i The array index
+     @param d The real number
+
+     @return this
+   */
+  public ComplexLargeArray addInPlace(long i, double d)
+  {
+    return set(i, getReal(i) + d, getImag(i));
+  }
+  /**
+     Subtract another complex number from this array element and store the
+     result in this array element
+
+     @param i The array index
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexLargeArray subtractInPlace(long i, ComplexNumber c)
+  {
+    return set(i, getReal(i) - c.getReal(), getImag(i) - c.getImag());
+  }
+  /**
+     Subtract another complex number from this array element and store the
+     result in this array element
+
+     @param i The array index
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexLargeArray subtractInPlace(long i, ComplexNumberArray c,
+                                           int j)
+  {
+    return set(i, getReal(i) - c.getReal(j), getImag(i) - c.getImag(j));
+  }
+  /**
+     Subtract a real number from this array element and store the result in
+     this array element
+
+     @param i The array index
+     @param d The real number
+
+     @return this
+   */
+  public ComplexLargeArray subtractInPlace(long i, double d)
+  {
+    return set(i, getReal(i) - d, getImag(i));
+  }
+  /**
+     Subtract the value of this array element from another complex number
+     and store the result in this array element
+
+     @param i The array index
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexLargeArray subtractReversedInPlace(long i, ComplexNumber c)
+  {
+    return set(i, c.getReal() - getReal(i), c.getImag() - getImag(i));
+  }
+  /**
+     Subtract the value of this array element from another complex number
+     and store the result in this array element
+
+     @param i The array index
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexLargeArray subtractReversedInPlace(long i,
+                                                   ComplexNumberArray c,
+                                                   int j)
+  {
+    return set(i, c.getReal(j) - getReal(i), c.getImag(j) - getImag(i));
+  }
+  /**
+     Subtract the value of this array element from a real number and store
+     the result in this array element
+
+     @param i The array index
+     @param d The real number
+
+     @return this
+   */
+  public ComplexLargeArray subtractReversedInPlace(long i, double d)
+  {
+    return set(i, d - getReal(i), -getImag(i));
+  }
+  /**
+     Negate the value of this array element and store the result in this
+     array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray negateInPlace(long i)
+  {
+    return set(i, -getReal(i), -getImag(i));
+  }
+  /**
+     Calculate the conjugate of the value of this array element and store
+     the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray conjugateInPlace(long i)
+  {
+    return set(i, getReal(i), -getImag(i));
+  }
+  /**
+     Multiply the value of this array element by another complex number
+     and store the result in this array element
+
+     @param i The array index
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexLargeArray multiplyInPlace(long i, ComplexNumber c)
+  {
+    return setProduct(i, c.getReal(), c.getImag());
+  }
+  /**
+     Multiply the value of this array element by another complex number
+     and store the result in this array element
+
+     @param i The array index
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexLargeArray multiplyInPlace(long i, ComplexNumberArray c,
+                                           int j)
+  {
+    return setProduct(i, c.getReal(j), c.getImag(j));
+  }
+  /**
+     Multiply the value of this array element by a real number
+     and store the result in this array element
+
+     @param i The array index
+     @param d The real number
+
+     @return this
+   */
+  public ComplexLargeArray multiplyInPlace(long i, double d)
+  {
+    return set(i, getReal(i) * d, getImag(i) * d);
+  }
+  /**
+     Multiply the value of this array element by an integer
+     and store the result in this array element
+
+     @param i The array index
+     @param x The integer
+
+     @return this
+   */
+  public ComplexLargeArray multiplyInPlace(long i, int x)
+  {
+    return set(i, getReal(i) * x, getImag(i) * x);
+  }
+  /**
+     Divide the value of this array element by another complex number
+     and store the result in this array element
+
+     @param i The array index
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexLargeArray divideInPlace(long i, ComplexNumber c)
+  {
+    return setQuotient(i, getReal(i), getImag(i), c.getReal(), c.getImag());
+  }
+  /**
+     Divide the value of this array element by another complex number
+     and store the result in this array element
+
+     @param i The array index
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexLargeArray divideInPlace(long i, ComplexNumberArray c, int j)
+  {
+    return setQuotient(i, getReal(i), getImag(i),
+                       c.getReal(j), c.getImag(j));
+  }
+  /**
+     Divide the value of this array element by a real number
+     and store the result in this array element
+
+     @param i The array index
+     @param d The real number
+
+     @return this
+   */
+  public ComplexLargeArray divideInPlace(long i, double d)
+  {
+    return set(i, getReal(i) / d, getImag(i) / d);
+  }
+  /**
+     Divide another complex number by the value of this array element
+     and store the result in this array element
+
+     @param i The array index
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexLargeArray divideReversedInPlace(long i, ComplexNumber c)
+  {
+    return setQuotient(i, c.getReal(), c.getImag(), getReal(i), getImag(i));
+  }
+  /**
+     Divide another complex number by the value of this array element
+     and store the result in this array element
+
+     @param i The array index
+     @param c The other complex number array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexLargeArray divideReversedInPlace(long i,
+                                                 ComplexNumberArray c, int j)
+  {
+    return setQuotient(i, c.getReal(j), c.getImag(j),
+                       getReal(i), getImag(i));
+  }
+  /**
+     Divide a real number by the value of this array element
+     and store the result in this array element
+
+     @param i The array index
+     @param d The real number
+
+     @return this
+   */
+  public ComplexLargeArray divideReversedInPlace(long i, double d)
+  {
+    final double old_re = getReal(i), old_im = getImag(i);
+    if (Math.abs(old_re) > Math.abs(old_im))
+    {
+      final double im_div_re = old_im/old_re;
+      final double w = d / (old_re + old_im*im_div_re);
+      return set(i, w, -im_div_re * w);
+    }
+    else
+    {
+      final double re_div_im = old_re/old_im;
+      final double w = d / (old_im + old_re*re_div_im);
+      return set(i, re_div_im * w, -w);
+    }
+  }
+  /**
+     Calculate the inverse of the value of this array element and store the
+     result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray invertInPlace(long i)
+  {
+    return divideReversedInPlace(i, 1.0);
+  }
+  /**
+     Calculate the square root of the value of this array element and store
+     the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray sqrtInPlace(long i)
+  {
+    return set(i, temp(i).sqrtInPlace());
+  }
+  /**
+     Calculate the exponential of the value of this array element and store
+     the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray expInPlace(long i)
+  {
+    return set(i, temp(i).expInPlace());
+  }
+  /**
+     Calculate the logarithm of the value of this array element and store
+     the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray logInPlace(long i)
+  {
+    return set(i, temp(i).logInPlace());
+  }
+  /**
+     Calculate the logarithm of 1 added to the value of this array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray log1pInPlace(long i)
+  {
+    return set(i, temp(i).log1pInPlace());
+  }
+  /**
+     Calculate exp(this)-1 and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray expm1InPlace(long i)
+  {
+    return set(i, temp(i).expm1InPlace());
+  }
+  /**
+     Calculate the inverse hyperbolic cosine of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray acoshInPlace(long i)
+  {
+    return set(i, temp(i).acoshInPlace());
+  }
+  /**
+     Calculate the inverse hyperbolic sine of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray asinhInPlace(long i)
+  {
+    return set(i, temp(i).asinhInPlace());
+  }
+  /**
+     Calculate the inverse hyperbolic tangent of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray atanhInPlace(long i)
+  {
+    return set(i, temp(i).atanhInPlace());
+  }
+  /**
+     Calculate the inverse cosine of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray acosInPlace(long i)
+  {
+    return set(i, temp(i).acosInPlace());
+  }
+  /**
+     Calculate the inverse sine of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray asinInPlace(long i)
+  {
+    return set(i, temp(i).asinInPlace());
+  }
+  /**
+     Calculate the inverse tangent of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray atanInPlace(long i)
+  {
+    return set(i, temp(i).atanInPlace());
+  }
+  /**
+     Calculate the cosine of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray cosInPlace(long i)
+  {
+    return set(i, temp(i).cosInPlace());
+  }
+  /**
+     Calculate the sine of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray sinInPlace(long i)
+  {
+    return set(i, temp(i).sinInPlace());
+  }
+  /**
+     Calculate the tangent of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray tanInPlace(long i)
+  {
+    return set(i, temp(i).tanInPlace());
+  }
+  /**
+     Calculate the hyperbolic cosine of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray coshInPlace(long i)
+  {
+    return set(i, temp(i).coshInPlace());
+  }
+  /**
+     Calculate the hyperbolic sine of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray sinhInPlace(long i)
+  {
+    return set(i, temp(i).sinhInPlace());
+  }
+  /**
+     Calculate the hyperbolic tangent of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray tanhInPlace(long i)
+  {
+    return set(i, temp(i).tanhInPlace());
+  }
+  /**
+     Calculate the principal branch of the log-gamma function of the value
+     of the array element and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray lgammaInPlace(long i)
+  {
+    return set(i, temp(i).lgammaInPlace());
+  }
+  /**
+     Calculate the gamma function of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray gammaInPlace(long i)
+  {
+    return set(i, temp(i).gammaInPlace());
+  }
+  /**
+     Calculate the digamma function of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray digammaInPlace(long i)
+  {
+    return set(i, temp(i).digammaInPlace());
+  }
+  /**
+     Calculate the Faddeeva function of the value of the array element and
+     store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray faddeevaInPlace(long i)
+  {
+    return set(i, temp(i).faddeevaInPlace());
+  }
+  /**
+     Calculate the error function of the value of the array element
+     and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray erfInPlace(long i)
+  {
+    return set(i, temp(i).erfInPlace());
+  }
+  /**
+     Calculate the complementary error function of the value of the array
+     element and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray erfcInPlace(long i)
+  {
+    return set(i, temp(i).erfcInPlace());
+  }
+  /**
+     Calculate the scaled complementary error function of the value of the
+     array element and store the result in this array element
+
+     @param i The array index
+     @return this
+   */
+  public ComplexLargeArray erfcxInPlace(long i)
+  {
+    return set(i, temp(i).erfcxInPlace());
+  }
+  /**
+     Raise this complex number to a real power
+     and store the result in this array element
+
+     @param i The array index
+     @param b The real power
+
+     @return this
+   */
+  public ComplexLargeArray powInPlace(long i, double b)
+  {
+    return set(i, temp(i).powInPlace(b));
+  }
+  /**
+     Raise this complex number to a complex power
+     and store the result in this array element
+
+     @param i The array index
+     @param b The complex power
+
+     @return this
+   */
+  public ComplexLargeArray powInPlace(long i, ComplexNumber b)
+  {
+    return set(i, temp(i).powInPlace(b));
+  }
+  /**
+     Raise this complex number to a complex power
+     and store the result in this array element
+
+     @param i The array index
+     @param b The complex power array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexLargeArray powInPlace(long i, ComplexNumberArray b, int j)
+  {
+    return set(i, temp(i).powInPlace(b, j));
+  }
+  /**
+     Multiply this array element by a complex number and store the result
+     in this array element
+
+     @param i The array index
+     @param that_re The real part of the complex number
+     @param that_im The imaginary part of the complex number
+     @return this
+   */
+  private ComplexLargeArray setProduct(long i, double that_re,
+                                       double that_im)
+  {
+    final double this_re = getReal(i), this_im = getImag(i);
+    return set(i, this_re*that_re - this_im*that_im,
+                  this_im*that_re + this_re*that_im);
+  }
+  /**
+     Divide a complex number by another with Smith's algorithm, like
+     ComplexBufferArray, and store the result in this array element
+
+     @param i The array index
+     @param a_re The real part of the dividend
+     @param a_im The imaginary part of the dividend
+     @param b_re The real part of the divisor
+     @param b_im The imaginary part of the divisor
+     @return this
+   */
+  private ComplexLargeArray setQuotient(long i, double a_re, double a_im,
+                                        double b_re, double b_im)
+  {
+    if (Math.abs(b_re) > Math.abs(b_im))
+    {
+      final double b_im_div_re = b_im/b_re;
+      final double w = 1.0 / (b_re + b_im*b_im_div_re);
+      return set(i, (a_re + a_im*b_im_div_re) * w,
+                    (a_im - a_re*b_im_div_re) * w);
+    }
+    else
+    {
+      final double b_re_div_im = b_re/b_im;
+      final double w = 1.0 / (b_im + b_re*b_re_div_im);
+      return set(i, (a_re*b_re_div_im + a_im) * w,
+                    (a_im*b_re_div_im - a_re) * w);
+    }
+  }
+
+  /**
+     Copy a range of another large array to this array
+
+     If c is this array, the ranges must either be the same or not
+     overlap.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other large complex array
+     @param j The array index to the other array of the element copied to
+              index from
+
+     @return this
+   */
+  public ComplexLargeArray setRange(long from, long to, ComplexLargeArray c,
+                                    long j)
+  {
+    checkRange(this.size, from, to);
+    checkRange(c.size, j, j + (to - from));
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final DoubleBuffer[] c_re = c.realChunks(), c_im = c.imagChunks();
+    final int s = this.stride, cs = c.stride;
+    for (long k = from; k < to; )
+    {
+      final long kc = k + (j - from);
+      final int n = (int)Math.min(to - k,
+          Math.min(chunkRemaining(k), c.chunkRemaining(kc)));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      final DoubleBuffer cr = c_re[c.chunk(kc)], cm = c_im[c.chunk(kc)];
+      int p = position(k), q = c.position(kc);
+      for (int t = 0; t < n; t++, p += s, q += cs)
+      {
+        r.put(p, cr.get(q));
+        m.put(p + this.imOff, cm.get(q + c.imOff));
+      }
+      k += n;
+    }
+    return this;
+  }
+  /**
+     Copy a range of a complex buffer array to this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The complex buffer array
+     @param j The array index to the complex buffer array of the element
+              copied to index from
+
+     @return this
+   */
+  public ComplexLargeArray setRange(long from, long to, ComplexBufferArray c,
+                                    int j)
+  {
+    checkRange(this.size, from, to);
+    checkRange(c.size(), j, j + (to - from));
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final double[] c_re = c.getRealArray(), c_im = c.getImagArray();
+    final int s = this.stride;
+    int q = j;
+    for (long k = from; k < to; )
+    {
+      final int n = (int)Math.min(to - k, chunkRemaining(k));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      int p = position(k);
+      for (int t = 0; t < n; t++, p += s, q++)
+      {
+        r.put(p, c_re[q]);
+        m.put(p + this.imOff, c_im[q]);
+      }
+      k += n;
+    }
+    return this;
+  }
+  /**
+     Copy a range of this array to a complex buffer array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param result The complex buffer array
+     @param j The array index to the complex buffer array of the element
+              copied from index from
+
+     @return result
+   */
+  public ComplexBufferArray getRange(long from, long to,
+                                     ComplexBufferArray result, int j)
+  {
+    checkRange(this.size, from, to);
+    checkRange(result.size(), j, j + (to - from));
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final double[] c_re = result.getRealArray(), c_im = result.getImagArray();
+    final int s = this.stride;
+    int q = j;
+    for (long k = from; k < to; )
+    {
+      final int n = (int)Math.min(to - k, chunkRemaining(k));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      int p = position(k);
+      for (int t = 0; t < n; t++, p += s, q++)
+      {
+        c_re[q] = r.get(p);
+        c_im[q] = m.get(p + this.imOff);
+      }
+      k += n;
+    }
+    return result;
+  }
+  /**
+     Copy every element of another large array of the same size to this
+     array
+
+     @param c The large complex array of the same size
+
+     @return this
+   */
+  public ComplexLargeArray setAll(ComplexLargeArray c)
+  {
+    checkSameSize(c);
+    return this.setRange(0, this.size, c, 0);
+  }
+  /**
+     Set a range of this array to a complex number
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The complex number
+
+     @return this
+   */
+  public ComplexLargeArray fillRange(long from, long to, ComplexNumber c)
+  {
+    checkRange(this.size, from, to);
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final double c_re = c.getReal(), c_im = c.getImag();
+    final int s = this.stride;
+    for (long k = from; k < to; )
+    {
+      final int n = (int)Math.min(to - k, chunkRemaining(k));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      int p = position(k);
+      for (int t = 0; t < n; t++, p += s)
+      {
+        r.put(p, c_re);
+        m.put(p + this.imOff, c_im);
+      }
+      k += n;
+    }
+    return this;
+  }
+  /**
+     Set every element of this array to a complex number
+
+     @param c The complex number
+
+     @return this
+   */
+  public ComplexLargeArray fillAll(ComplexNumber c)
+  {
+    return this.fillRange(0, this.size, c);
+  }
+
+  /**
+     Add another complex number to a range of this array and store the
+     result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexLargeArray addRangeInPlace(long from, long to,
+                                           ComplexNumber c)
+  {
+    checkRange(this.size, from, to);
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final double c_re = c.getReal(), c_im = c.getImag();
+    final int s = this.stride;
+    for (long k = from; k < to; )
+    {
+      final int n = (int)Math.min(to - k, chunkRemaining(k));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      int p = position(k);
+      for (int t = 0; t < n; t++, p += s)
+      {
+        final int pi = p + this.imOff;
+        r.put(p, r.get(p) + c_re);
+        m.put(pi, m.get(pi) + c_im);
+      }
+      k += n;
+    }
+    return this;
+  }
+  /**
+     Add a real number to a range of this array and store the result in
+     this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param d The real number
+
+     @return this
+   */
+  public ComplexLargeArray addRangeInPlace(long from, long to, double d)
+  {
+    checkRange(this.size, from, to);
+    final DoubleBuffer[] re = realChunks();
+    final int s = this.stride;
+    for (long k = from; k < to; )
+    {
+      final int n = (int)Math.min(to - k, chunkRemaining(k));
+      final DoubleBuffer r = re[chunk(k)];
+      int p = position(k);
+      for (int t = 0; t < n; t++, p += s)
+      {
+        r.put(p, r.get(p) + d);
+      }
+      k += n;
+    }
+    return this;
+  }
+  /**
+     Add a range of another large array to a range of this array and store
+     the result in this array
+
+     The element at index k of this array is added with the element at
+     index j+k-from of the other array. If c is this array, the ranges
+     must either be the same or not overlap.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other large complex array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexLargeArray addRangeInPlace(long from, long to,
+                                           ComplexLargeArray c, long j)
+  {
+    checkRange(this.size, from, to);
+    checkRange(c.size, j, j + (to - from));
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final DoubleBuffer[] c_re = c.realChunks(), c_im = c.imagChunks();
+    final int s = this.stride, cs = c.stride;
+    for (long k = from; k < to; )
+    {
+      final long kc = k + (j - from);
+      final int n = (int)Math.min(to - k,
+          Math.min(chunkRemaining(k), c.chunkRemaining(kc)));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      final DoubleBuffer cr = c_re[c.chunk(kc)], cm = c_im[c.chunk(kc)];
+      int p = position(k), q = c.position(kc);
+      for (int t = 0; t < n; t++, p += s, q += cs)
+      {
+        final int pi = p + this.imOff;
+        r.put(p, r.get(p) + cr.get(q));
+        m.put(pi, m.get(pi) + cm.get(q + c.imOff));
+      }
+      k += n;
+    }
+    return this;
+  }
+  /**
+     Add another complex number to every element of this array and store
+     the result in this array
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexLargeArray addAllInPlace(ComplexNumber c)
+  {
+    return this.addRangeInPlace(0, this.size, c);
+  }
+  /**
+     Add a real number to every element of this array and store the result
+     in this array
+
+     @param d The real number
+
+     @return this
+   */
+  public ComplexLargeArray addAllInPlace(double d)
+  {
+    return this.addRangeInPlace(0, this.size, d);
+  }
+  /**
+     Add another large array to this array elementwise and store the result
+     in this array
+
+     @param c The other large complex array of the same size
+
+     @return this
+   */
+  public ComplexLargeArray addAllInPlace(ComplexLargeArray c)
+  {
+    checkSameSize(c);
+    return this.addRangeInPlace(0, this.size, c, 0);
+  }
+
+  /**
+     Subtract another complex number from a range of this array and store
+     the result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexLargeArray subtractRangeInPlace(long from, long to,
+                                                ComplexNumber c)
+  {
+    checkRange(this.size, from, to);
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final double c_re = c.getReal(), c_im = c.getImag();
+    final int s = this.stride;
+    for (long k = from; k < to; )
+    {
+      final int n = (int)Math.min(to - k, chunkRemaining(k));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      int p = position(k);
+      for (int t = 0; t < n; t++, p += s)
+      {
+        final int pi = p + this.imOff;
+        r.put(p, r.get(p) - c_re);
+        m.put(pi, m.get(pi) - c_im);
+      }
+      k += n;
+    }
+    return this;
+  }
+  /**
+     Subtract a real number from a range of this array and store the result
+     in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param d The real number
+
+     @return this
+   */
+  public ComplexLargeArray subtractRangeInPlace(long from, long to, double d)
+  {
+    return this.addRangeInPlace(from, to, -d);
+  }
+  /**
+     Subtract a range of another large array from a range of this array and
+     store the result in this array
+
+     The element at index j+k-from of the other array is subtracted from
+     the element at index k of this array. If c is this array, the ranges
+     must either be the same or not overlap.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other large complex array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexLargeArray subtractRangeInPlace(long from, long to,
+                                                ComplexLargeArray c, long j)
+  {
+    checkRange(this.size, from, to);
+    checkRange(c.size, j, j + (to - from));
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final DoubleBuffer[] c_re = c.realChunks(), c_im = c.imagChunks();
+    final int s = this.stride, cs = c.stride;
+    for (long k = from; k < to; )
+    {
+      final long kc = k + (j - from);
+      final int n = (int)Math.min(to - k,
+          Math.min(chunkRemaining(k), c.chunkRemaining(kc)));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      final DoubleBuffer cr = c_re[c.chunk(kc)], cm = c_im[c.chunk(kc)];
+      int p = position(k), q = c.position(kc);
+      for (int t = 0; t < n; t++, p += s, q += cs)
+      {
+        final int pi = p + this.imOff;
+        r.put(p, r.get(p) - cr.get(q));
+        m.put(pi, m.get(pi) - cm.get(q + c.imOff));
+      }
+      k += n;
+    }
+    return this;
+  }
+  /**
+     Subtract another complex number from every element of this array and
+     store the result in this array
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexLargeArray subtractAllInPlace(ComplexNumber c)
+  {
+    return this.subtractRangeInPlace(0, this.size, c);
+  }
+  /**
+     Subtract a real number from every element of this array and store the
+     result in this array
+
+     @param d The real number
+
+     @return this
+   */
+  public ComplexLargeArray subtractAllInPlace(double d)
+  {
+    return this.subtractRangeInPlace(0, this.size, d);
+  }
+  /**
+     Subtract another large array from this array elementwise and store the
+     result in this array
+
+     @param c The other large complex array of the same size
+
+     @return this
+   */
+  public ComplexLargeArray subtractAllInPlace(ComplexLargeArray c)
+  {
+    checkSameSize(c);
+    return this.subtractRangeInPlace(0, this.size, c, 0);
+  }
+
+  /**
+     Multiply a range of this array by another complex number and store the
+     result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexLargeArray multiplyRangeInPlace(long from, long to,
+                                                ComplexNumber c)
+  {
+    checkRange(this.size, from, to);
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final double c_re = c.getReal(), c_im = c.getImag();
+    final int s = this.stride;
+    for (long k = from; k < to; )
+    {
+      final int n = (int)Math.min(to - k, chunkRemaining(k));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      int p = position(k);
+      for (int t = 0; t < n; t++, p += s)
+      {
+        final int pi = p + this.imOff;
+        final double x_re = r.get(p), x_im = m.get(pi);
+        r.put(p, x_re*c_re - x_im*c_im);
+        m.put(pi, x_im*c_re + x_re*c_im);
+      }
+      k += n;
+    }
+    return this;
+  }
+  /**
+     Multiply a range of this array by a real number and store the result
+     in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param d The real number
+
+     @return this
+   */
+  public ComplexLargeArray multiplyRangeInPlace(long from, long to, double d)
+  {
+    checkRange(this.size, from, to);
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final int s = this.stride;
+    for (long k = from; k < to; )
+    {
+      final int n = (int)Math.min(to - k, chunkRemaining(k));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      int p = position(k);
+      for (int t = 0; t < n; t++, p += s)
+      {
+        final int pi = p + this.imOff;
+        r.put(p, r.get(p)*d);
+        m.put(pi, m.get(pi)*d);
+      }
+      k += n;
+    }
+    return this;
+  }
+  /**
+     Multiply a range of this array by a range of another large array and
+     store the result in this array
+
+     The element at index k of this array is multiplied by the element at
+     index j+k-from of the other array. If c is this array, the ranges
+     must either be the same or not overlap.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other large complex array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexLargeArray multiplyRangeInPlace(long from, long to,
+                                                ComplexLargeArray c, long j)
+  {
+    checkRange(this.size, from, to);
+    checkRange(c.size, j, j + (to - from));
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final DoubleBuffer[] c_re = c.realChunks(), c_im = c.imagChunks();
+    final int s = this.stride, cs = c.stride;
+    for (long k = from; k < to; )
+    {
+      final long kc = k + (j - from);
+      final int n = (int)Math.min(to - k,
+          Math.min(chunkRemaining(k), c.chunkRemaining(kc)));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      final DoubleBuffer cr = c_re[c.chunk(kc)], cm = c_im[c.chunk(kc)];
+      int p = position(k), q = c.position(kc);
+      for (int t = 0; t < n; t++, p += s, q += cs)
+      {
+        final int pi = p + this.imOff;
+        final double x_re = r.get(p), x_im = m.get(pi);
+        final double y_re = cr.get(q), y_im = cm.get(q + c.imOff);
+        r.put(p, x_re*y_re - x_im*y_im);
+        m.put(pi, x_im*y_re + x_re*y_im);
+      }
+      k += n;
+    }
+    return this;
+  }
+  /**
+     Multiply every element of this array by another complex number and
+     store the result in this array
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexLargeArray multiplyAllInPlace(ComplexNumber c)
+  {
+    return this.multiplyRangeInPlace(0, this.size, c);
+  }
+  /**
+     Multiply every element of this array by a real number and store the
+     result in this array
+
+     @param d The real number
+
+     @return this
+   */
+  public ComplexLargeArray multiplyAllInPlace(double d)
+  {
+    return this.multiplyRangeInPlace(0, this.size, d);
+  }
+  /**
+     Multiply this array by another large array elementwise and store the
+     result in this array
+
+     @param c The other large complex array of the same size
+
+     @return this
+   */
+  public ComplexLargeArray multiplyAllInPlace(ComplexLargeArray c)
+  {
+    checkSameSize(c);
+    return this.multiplyRangeInPlace(0, this.size, c, 0);
+  }
+
+  /**
+     Divide a range of this array by another complex number and store the
+     result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexLargeArray divideRangeInPlace(long from, long to,
+                                              ComplexNumber c)
+  {
+    checkRange(this.size, from, to);
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final double c_re = c.getReal(), c_im = c.getImag();
+    final boolean re_larger = Math.abs(c_re) > Math.abs(c_im);
+    // The divisor is the same for every element, so the branch and the
+    // division can be done only once outside the loop.
+    final double ratio = re_larger ? c_im/c_re : c_re/c_im;
+    final double w = re_larger ? 1.0 / (c_re + c_im*ratio)
+                               : 1.0 / (c_im + c_re*ratio);
+    final int s = this.stride;
+    for (long k = from; k < to; )
+    {
+      final int n = (int)Math.min(to - k, chunkRemaining(k));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      int p = position(k);
+      if (re_larger)
+      {
+        for (int t = 0; t < n; t++, p += s)
+        {
+          final int pi = p + this.imOff;
+          final double this_re = r.get(p), this_im = m.get(pi);
+          r.put(p, (this_re + this_im*ratio) * w);
+          m.put(pi, (this_im - this_re*ratio) * w);
+        }
+      }
+      else
+      {
+        for (int t = 0; t < n; t++, p += s)
+        {
+          final int pi = p + this.imOff;
+          final double this_re = r.get(p), this_im = m.get(pi);
+          r.put(p, (this_re*ratio + this_im) * w);
+          m.put(pi, (this_im*ratio - this_re) * w);
+        }
+      }
+      k += n;
+    }
+    return this;
+  }
+  /**
+     Divide a range of this array by a real number and store the result in
+     this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param d The real number
+
+     @return this
+   */
+  public ComplexLargeArray divideRangeInPlace(long from, long to, double d)
+  {
+    checkRange(this.size, from, to);
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final int s = this.stride;
+    for (long k = from; k < to; )
+    {
+      final int n = (int)Math.min(to - k, chunkRemaining(k));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      int p = position(k);
+      for (int t = 0; t < n; t++, p += s)
+      {
+        final int pi = p + this.imOff;
+        r.put(p, r.get(p)/d);
+        m.put(pi, m.get(pi)/d);
+      }
+      k += n;
+    }
+    return this;
+  }
+  /**
+     Divide a range of this array by a range of another large array and
+     store the result in this array
+
+     The element at index k of this array is divided by the element at
+     index j+k-from of the other array. If c is this array, the ranges
+     must either be the same or not overlap.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The other large complex array
+     @param j The array index to the other array
+
+     @return this
+   */
+  public ComplexLargeArray divideRangeInPlace(long from, long to,
+                                              ComplexLargeArray c, long j)
+  {
+    checkRange(this.size, from, to);
+    checkRange(c.size, j, j + (to - from));
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final DoubleBuffer[] c_re_ar = c.realChunks(), c_im_ar = c.imagChunks();
+    final int s = this.stride, cs = c.stride;
+    for (long k = from; k < to; )
+    {
+      final long kc = k + (j - from);
+      final int n = (int)Math.min(to - k,
+          Math.min(chunkRemaining(k), c.chunkRemaining(kc)));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      final DoubleBuffer cr = c_re_ar[c.chunk(kc)];
+      final DoubleBuffer cm = c_im_ar[c.chunk(kc)];
+      int p = position(k), q = c.position(kc);
+      for (int t = 0; t < n; t++, p += s, q += cs)
+      {
+        final int pi = p + this.imOff;
+        final double this_re = r.get(p), this_im = m.get(pi);
+        final double c_re = cr.get(q), c_im = cm.get(q + c.imOff);
+        if (Math.abs(c_re) > Math.abs(c_im))
+        {
+          final double c_im_div_re = c_im/c_re;
+          final double w = 1.0 / (c_re + c_im*c_im_div_re);
+          r.put(p, (this_re + this_im*c_im_div_re) * w);
+          m.put(pi, (this_im - this_re*c_im_div_re) * w);
+        }
+        else
+        {
+          final double c_re_div_im = c_re/c_im;
+          final double w = 1.0 / (c_im + c_re*c_re_div_im);
+          r.put(p, (this_re*c_re_div_im + this_im) * w);
+          m.put(pi, (this_im*c_re_div_im - this_re) * w);
+        }
+      }
+      k += n;
+    }
+    return this;
+  }
+  /**
+     Divide every element of this array by another complex number and
+     store the result in this array
+
+     @param c The other complex number
+
+     @return this
+   */
+  public ComplexLargeArray divideAllInPlace(ComplexNumber c)
+  {
+    return this.divideRangeInPlace(0, this.size, c);
+  }
+  /**
+     Divide every element of this array by a real number and store the
+     result in this array
+
+     @param d The real number
+
+     @return this
+   */
+  public ComplexLargeArray divideAllInPlace(double d)
+  {
+    return this.divideRangeInPlace(0, this.size, d);
+  }
+  /**
+     Divide this array by another large array elementwise and store the
+     result in this array
+
+     @param c The other large complex array of the same size
+
+     @return this
+   */
+  public ComplexLargeArray divideAllInPlace(ComplexLargeArray c)
+  {
+    checkSameSize(c);
+    return this.divideRangeInPlace(0, this.size, c, 0);
+  }
+
+  /**
+     Multiply a range of a large array by a complex number and add the
+     products to a range of this array
+
+     The product of c and the element at index j+k-from of the array x is
+     added to the element at index k of this array.
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param c The complex factor
+     @param x The large complex array
+     @param j The array index to the large complex array
+
+     @return this
+   */
+  public ComplexLargeArray multiplyAddRangeInPlace(long from, long to,
+                                                   ComplexNumber c,
+                                                   ComplexLargeArray x, long j)
+  {
+    checkRange(this.size, from, to);
+    checkRange(x.size, j, j + (to - from));
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final DoubleBuffer[] x_re = x.realChunks(), x_im = x.imagChunks();
+    final double c_re = c.getReal(), c_im = c.getImag();
+    final int s = this.stride, xs = x.stride;
+    for (long k = from; k < to; )
+    {
+      final long kx = k + (j - from);
+      final int n = (int)Math.min(to - k,
+          Math.min(chunkRemaining(k), x.chunkRemaining(kx)));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      final DoubleBuffer xr = x_re[x.chunk(kx)], xm = x_im[x.chunk(kx)];
+      int p = position(k), q = x.position(kx);
+      for (int t = 0; t < n; t++, p += s, q += xs)
+      {
+        final int pi = p + this.imOff;
+        final double y_re = xr.get(q), y_im = xm.get(q + x.imOff);
+        r.put(p, r.get(p) + (c_re*y_re - c_im*y_im));
+        m.put(pi, m.get(pi) + (c_im*y_re + c_re*y_im));
+      }
+      k += n;
+    }
+    return this;
+  }
+  /**
+     Multiply a large array by a complex number and add the products to
+     this array
+
+     @param c The complex factor
+     @param x The large complex array of the same size
+
+     @return this
+   */
+  public ComplexLargeArray multiplyAddAllInPlace(ComplexNumber c,
+                                                 ComplexLargeArray x)
+  {
+    checkSameSize(x);
+    return this.multiplyAddRangeInPlace(0, this.size, c, x, 0);
+  }
+  /**
+     Calculate the conjugate of a range of this array and store the result
+     in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray conjugateRangeInPlace(long from, long to)
+  {
+    checkRange(this.size, from, to);
+    final DoubleBuffer[] im = imagChunks();
+    final int s = this.stride;
+    for (long k = from; k < to; )
+    {
+      final int n = (int)Math.min(to - k, chunkRemaining(k));
+      final DoubleBuffer m = im[chunk(k)];
+      int p = position(k) + this.imOff;
+      for (int t = 0; t < n; t++, p += s)
+      {
+        m.put(p, -m.get(p));
+      }
+      k += n;
+    }
+    return this;
+  }
+  /**
+     Calculate the conjugate of every element of this array and store the
+     result in this array
+
+     @return this
+   */
+  public ComplexLargeArray conjugateAllInPlace()
+  {
+    return this.conjugateRangeInPlace(0, this.size);
+  }
+  /*
+     A function applied in place to a per-thread double precision buffer
+   */
+  private static abstract class ElementFunction
+  {
+    abstract void apply(ComplexBuffer t);
+  }
+  /*
+     Apply a function to each element of a range of this array through a
+     per-thread double precision buffer
+   */
+  private ComplexLargeArray applyRange(long from, long to, ElementFunction f)
+  {
+    checkRange(this.size, from, to);
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final ComplexBuffer t = ComplexGamma.temp();
+    final int s = this.stride;
+    for (long k = from; k < to; )
+    {
+      final int n = (int)Math.min(to - k, chunkRemaining(k));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      int p = position(k);
+      for (int u = 0; u < n; u++, p += s)
+      {
+        final int pi = p + this.imOff;
+        f.apply(t.set(r.get(p), m.get(pi)));
+        r.put(p, t.getReal());
+        m.put(pi, t.getImag());
+      }
+      k += n;
+    }
+    return this;
+  }
+  /**
+     Calculate the square root of a range of this array and store the result in
+     this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray sqrtRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.sqrtInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the square root of every element of this array and store the
+     result in this array
+
+     @return this
+   */
+  public ComplexLargeArray sqrtAllInPlace()
+  {
+    return this.sqrtRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the exponential of a range of this array and store the result in
+     this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray expRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.expInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the exponential of every element of this array and store the
+     result in this array
+
+     @return this
+   */
+  public ComplexLargeArray expAllInPlace()
+  {
+    return this.expRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the logarithm of a range of this array and store the result in
+     this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray logRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.logInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the logarithm of every element of this array and store the result
+     in this array
+
+     @return this
+   */
+  public ComplexLargeArray logAllInPlace()
+  {
+    return this.logRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the logarithm of 1 added to the elements of a range of this array
+     and store the result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray log1pRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.log1pInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the logarithm of 1 added to every element of this array and store
+     the result in this array
+
+     @return this
+   */
+  public ComplexLargeArray log1pAllInPlace()
+  {
+    return this.log1pRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate exp(x)-1 of a range of this array and store the result in this
+     array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray expm1RangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.expm1InPlace();
+      }
+    });
+  }
+  /**
+     Calculate exp(x)-1 of every element of this array and store the result in
+     this array
+
+     @return this
+   */
+  public ComplexLargeArray expm1AllInPlace()
+  {
+    return this.expm1RangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the inverse hyperbolic cosine of a range of this array and store
+     the result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray acoshRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.acoshInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the inverse hyperbolic cosine of every element of this array and
+     store the result in this array
+
+     @return this
+   */
+  public ComplexLargeArray acoshAllInPlace()
+  {
+    return this.acoshRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the inverse hyperbolic sine of a range of this array and store
+     the result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray asinhRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.asinhInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the inverse hyperbolic sine of every element of this array and
+     store the result in this array
+
+     @return this
+   */
+  public ComplexLargeArray asinhAllInPlace()
+  {
+    return this.asinhRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the inverse hyperbolic tangent of a range of this array and store
+     the result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray atanhRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.atanhInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the inverse hyperbolic tangent of every element of this array and
+     store the result in this array
+
+     @return this
+   */
+  public ComplexLargeArray atanhAllInPlace()
+  {
+    return this.atanhRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the inverse cosine of a range of this array and store the result
+     in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray acosRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.acosInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the inverse cosine of every element of this array and store the
+     result in this array
+
+     @return this
+   */
+  public ComplexLargeArray acosAllInPlace()
+  {
+    return this.acosRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the inverse sine of a range of this array and store the result in
+     this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray asinRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.asinInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the inverse sine of every element of this array and store the
+     result in this array
+
+     @return this
+   */
+  public ComplexLargeArray asinAllInPlace()
+  {
+    return this.asinRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the inverse tangent of a range of this array and store the result
+     in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray atanRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.atanInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the inverse tangent of every element of this array and store the
+     result in this array
+
+     @return this
+   */
+  public ComplexLargeArray atanAllInPlace()
+  {
+    return this.atanRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the cosine of a range of this array and store the result in this
+     array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray cosRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.cosInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the cosine of every element of this array and store the result in
+     this array
+
+     @return this
+   */
+  public ComplexLargeArray cosAllInPlace()
+  {
+    return this.cosRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the sine of a range of this array and store the result in this
+     array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray sinRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.sinInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the sine of every element of this array and store the result in
+     this array
+
+     @return this
+   */
+  public ComplexLargeArray sinAllInPlace()
+  {
+    return this.sinRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the tangent of a range of this array and store the result in this
+     array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray tanRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.tanInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the tangent of every element of this array and store the result
+     in this array
+
+     @return this
+   */
+  public ComplexLargeArray tanAllInPlace()
+  {
+    return this.tanRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the hyperbolic cosine of a range of this array and store the
+     result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray coshRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.coshInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the hyperbolic cosine of every element of this array and store
+     the result in this array
+
+     @return this
+   */
+  public ComplexLargeArray coshAllInPlace()
+  {
+    return this.coshRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the hyperbolic sine of a range of this array and store the result
+     in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray sinhRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.sinhInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the hyperbolic sine of every element of this array and store the
+     result in this array
+
+     @return this
+   */
+  public ComplexLargeArray sinhAllInPlace()
+  {
+    return this.sinhRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the hyperbolic tangent of a range of this array and store the
+     result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray tanhRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.tanhInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the hyperbolic tangent of every element of this array and store
+     the result in this array
+
+     @return this
+   */
+  public ComplexLargeArray tanhAllInPlace()
+  {
+    return this.tanhRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the principal branch of the log-gamma function of a range of this
+     array and store the result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray lgammaRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.lgammaInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the principal branch of the log-gamma function of every element
+     of this array and store the result in this array
+
+     @return this
+   */
+  public ComplexLargeArray lgammaAllInPlace()
+  {
+    return this.lgammaRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the gamma function of a range of this array and store the result
+     in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray gammaRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.gammaInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the gamma function of every element of this array and store the
+     result in this array
+
+     @return this
+   */
+  public ComplexLargeArray gammaAllInPlace()
+  {
+    return this.gammaRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the digamma function of a range of this array and store the
+     result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray digammaRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.digammaInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the digamma function of every element of this array and store the
+     result in this array
+
+     @return this
+   */
+  public ComplexLargeArray digammaAllInPlace()
+  {
+    return this.digammaRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the Faddeeva function of a range of this array and store the
+     result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray faddeevaRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.faddeevaInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the Faddeeva function of every element of this array and store
+     the result in this array
+
+     @return this
+   */
+  public ComplexLargeArray faddeevaAllInPlace()
+  {
+    return this.faddeevaRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the error function of a range of this array and store the result
+     in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray erfRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.erfInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the error function of every element of this array and store the
+     result in this array
+
+     @return this
+   */
+  public ComplexLargeArray erfAllInPlace()
+  {
+    return this.erfRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the complementary error function of a range of this array and
+     store the result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray erfcRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.erfcInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the complementary error function of every element of this array
+     and store the result in this array
+
+     @return this
+   */
+  public ComplexLargeArray erfcAllInPlace()
+  {
+    return this.erfcRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the scaled complementary error function of a range of this array
+     and store the result in this array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray erfcxRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.erfcxInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the scaled complementary error function of every element of this
+     array and store the result in this array
+
+     @return this
+   */
+  public ComplexLargeArray erfcxAllInPlace()
+  {
+    return this.erfcxRangeInPlace(0, this.size);
+  }
+  /**
+     Calculate the inverse of a range of this array and store the result in this
+     array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+
+     @return this
+   */
+  public ComplexLargeArray invertRangeInPlace(long from, long to)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.invertInPlace();
+      }
+    });
+  }
+  /**
+     Calculate the inverse of every element of this array and store the result
+     in this array
+
+     @return this
+   */
+  public ComplexLargeArray invertAllInPlace()
+  {
+    return this.invertRangeInPlace(0, this.size);
+  }
+  /**
+     Raise a range of this array to a real power and store the result in this
+     array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param b The real power
+
+     @return this
+   */
+  public ComplexLargeArray powRangeInPlace(long from, long to,
+                                           final double b)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.powInPlace(b);
+      }
+    });
+  }
+  /**
+     Raise every element of this array to a real power and store the result in
+     this array
+
+     @param b The real power
+
+     @return this
+   */
+  public ComplexLargeArray powAllInPlace(double b)
+  {
+    return this.powRangeInPlace(0, this.size, b);
+  }
+  /**
+     Raise a range of this array to a complex power and store the result in this
+     array
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param b The complex power
+
+     @return this
+   */
+  public ComplexLargeArray powRangeInPlace(long from, long to,
+                                           final ComplexNumber b)
+  {
+    return this.applyRange(from, to, new ElementFunction()
+    {
+      @Override
+      void apply(ComplexBuffer t)
+      {
+        t.powInPlace(b);
+      }
+    });
+  }
+  /**
+     Raise every element of this array to a complex power and store the result
+     in this array
+
+     @param b The complex power
+
+     @return this
+   */
+  public ComplexLargeArray powAllInPlace(ComplexNumber b)
+  {
+    return this.powRangeInPlace(0, this.size, b);
+  }
+
+  /**
+     Calculate the absolute values of a range of this array.
+
+     NaN, infinite and very large or small values are handled exactly like
+     in abs(long).
+
+     @param from The first array index, inclusive
+     @param to The last array index, exclusive
+     @param result The result array
+     @param off The index to the result array
+
+     @return result
+   */
+  public double[] absRange(long from, long to, double[] result, int off)
+  {
+    checkRange(this.size, from, to);
+    checkRange(result.length, off, off + (to - from));
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final int s = this.stride;
+    int q = off;
+    for (long k = from; k < to; )
+    {
+      final int n = (int)Math.min(to - k, chunkRemaining(k));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      int p = position(k);
+      for (int t = 0; t < n; t++, p += s, q++)
+      {
+        final double x_re = r.get(p), x_im = m.get(p + this.imOff);
+        final double a = Math.abs(x_re), b = Math.abs(x_im);
+        final double mx = Math.max(a, b);
+        // the same fast path as in ComplexBufferArray.absRange
+        result[q] = (mx > 1e-150 && mx < 1e150) ?
+                    Math.sqrt(a*a + b*b) : ComplexUtils.abs(x_re, x_im);
+      }
+      k += n;
+    }
+    return result;
+  }
+  /**
+     Calculate the inner product sum conj(this[k])*c[k] of this array and
+     another array of the same size
+
+     @param c The large complex array of the same size
+     @param result The complex buffer for the inner product
+
+     @return result
+   */
+  public ComplexBuffer innerProductAll(ComplexLargeArray c,
+                                       ComplexBuffer result)
+  {
+    checkSameSize(c);
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final DoubleBuffer[] c_re = c.realChunks(), c_im = c.imagChunks();
+    final int s = this.stride, cs = c.stride;
+    double s_re = 0.0, s_im = 0.0;
+    for (long k = 0; k < this.size; )
+    {
+      final int n = (int)Math.min(this.size - k,
+          Math.min(chunkRemaining(k), c.chunkRemaining(k)));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      final DoubleBuffer cr = c_re[c.chunk(k)], cm = c_im[c.chunk(k)];
+      int p = position(k), q = c.position(k);
+      for (int t = 0; t < n; t++, p += s, q += cs)
+      {
+        final double a_re = r.get(p), a_im = m.get(p + this.imOff);
+        final double b_re = cr.get(q), b_im = cm.get(q + c.imOff);
+        s_re += a_re*b_re + a_im*b_im;
+        s_im += a_re*b_im - a_im*b_re;
+      }
+      k += n;
+    }
+    return result.set(s_re, s_im);
+  }
+  /**
+     Calculate the unconjugated dot product sum this[k]*c[k] of this array
+     and another array of the same size
+
+     @param c The large complex array of the same size
+     @param result The complex buffer for the dot product
+
+     @return result
+   */
+  public ComplexBuffer dotAll(ComplexLargeArray c, ComplexBuffer result)
+  {
+    checkSameSize(c);
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final DoubleBuffer[] c_re = c.realChunks(), c_im = c.imagChunks();
+    final int s = this.stride, cs = c.stride;
+    double s_re = 0.0, s_im = 0.0;
+    for (long k = 0; k < this.size; )
+    {
+      final int n = (int)Math.min(this.size - k,
+          Math.min(chunkRemaining(k), c.chunkRemaining(k)));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      final DoubleBuffer cr = c_re[c.chunk(k)], cm = c_im[c.chunk(k)];
+      int p = position(k), q = c.position(k);
+      for (int t = 0; t < n; t++, p += s, q += cs)
+      {
+        final double a_re = r.get(p), a_im = m.get(p + this.imOff);
+        final double b_re = cr.get(q), b_im = cm.get(q + c.imOff);
+        s_re += a_re*b_re - a_im*b_im;
+        s_im += a_re*b_im + a_im*b_re;
+      }
+      k += n;
+    }
+    return result.set(s_re, s_im);
+  }
+  /**
+     Calculate the Euclidean norm of this array.
+
+     Like ComplexBufferArray.normAll(), the parts are scaled if the sum of
+     the squares would underflow or overflow.
+
+     @return The square root of the sum of the squared absolute values
+   */
+  public double normAll()
+  {
+    final double sum = sumOfSquares(1.0);
+    if (sum >= 1e-280 && sum <= Double.MAX_VALUE)
+    {
+      return Math.sqrt(sum);
+    }
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final int s = this.stride;
+    double max = 0.0;
+    for (long k = 0; k < this.size; )
+    {
+      final int n = (int)Math.min(this.size - k, chunkRemaining(k));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      int p = position(k);
+      for (int t = 0; t < n; t++, p += s)
+      {
+        max = Math.max(max, Math.max(Math.abs(r.get(p)),
+                                     Math.abs(m.get(p + this.imOff))));
+      }
+      k += n;
+    }
+    if (max == 0.0 || !(max <= Double.MAX_VALUE))
+    {
+      return max;
+    }
+    // multiplying by a power of two is exact
+    final int e = Math.getExponent(max);
+    return Math.scalb(Math.sqrt(sumOfSquares(Math.scalb(1.0, -e))), e);
+  }
+  private double sumOfSquares(double scale)
+  {
+    final DoubleBuffer[] re = realChunks(), im = imagChunks();
+    final int s = this.stride;
+    double sum = 0.0;
+    for (long k = 0; k < this.size; )
+    {
+      final int n = (int)Math.min(this.size - k, chunkRemaining(k));
+      final DoubleBuffer r = re[chunk(k)], m = im[chunk(k)];
+      int p = position(k);
+      for (int t = 0; t < n; t++, p += s)
+      {
+        final double x_re = r.get(p)*scale;
+        final double x_im = m.get(p + this.imOff)*scale;
+        sum += x_re*x_re + x_im*x_im;
+      }
+      k += n;
+    }
+    return sum;
+  }
+
+  /**
+     Calculate the absolute value of the complex number.
+
+     @param i The array index
+     @return x&ge;0 The absolute value
+   */
+  public double abs(long i)
+  {
+    return ComplexUtils.abs(getReal(i), getImag(i));
+  }
+  /**
+     Calculate the absolute value of the complex number.
+
+     @param i The array index
+     @return x&ge;0 The absolute value
+   */
+  public double abs(int i)
+  {
+    return ComplexUtils.abs(this, i);
+  }
+  /**
+     Calculate the argument of the complex number.
+
+     @param i The array index
+     @return -pi&le;x&le;pi The argument
+   */
+  public double arg(int i)
+  {
+    return ComplexUtils.arg(this, i);
+  }
+  /**
+     Check whether the complex number is NaN (not-a-number).
+
+     @param i The array index
+     @return Whether the complex number is NaN
+   */
+  public boolean isNaN(int i)
+  {
+    return ComplexUtils.isNaN(this, i);
+  }
+  /**
+     Check whether the complex number is infinite.
+
+     @param i The array index
+     @return Whether the complex number is infinite
+   */
+  public boolean isInfinite(int i)
+  {
+    return ComplexUtils.isInfinite(this, i);
+  }
+  /**
+     Returns a String representation of the complex number.
+
+     @param i The array index
+     @return "NaN" if NaN<br/>
+             re if purely real<br/>
+             im + "i" if purely imaginary<br/>
+             re " + " + im + "i" if imaginary part positive<br/>
+             re " - " + (-im) + "i" if imaginary part negative
+   */
+  public String toString(int i)
+  {
+    return ComplexUtils.toString(this, i);
+  }
+};
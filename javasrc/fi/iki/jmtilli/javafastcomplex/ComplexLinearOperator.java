@@ -0,0 +1,50 @@
+package fi.iki.jmtilli.javafastcomplex;
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+/**
+   A linear operator on complex vectors, such as a dense or sparse matrix
+   or a matrix-free operator.
+ */
+public interface ComplexLinearOperator {
+  /**
+     Returns the number of rows, which is the size of the result vectors.
+
+     @return The number of rows
+   */
+  int getRows();
+  /**
+     Returns the number of columns, which is the size of the operand
+     vectors.
+
+     @return The number of columns
+   */
+  int getColumns();
+  /**
+     Apply this operator to a vector
+
+     @param x The vector, the size of which is the number of columns
+     @param result The complex buffer array for the result, the size of
+                   which is the number of rows; not x
+     @return result
+   */
+  ComplexBufferArray multiply(ComplexBufferArray x, ComplexBufferArray result);
+};
@@ -0,0 +1,332 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   A large complex array in a memory-mapped file.
+
+   The file can be mapped by several processes at the same time, so that
+   they share the data without copying it through the Java heap. The file
+   starts with a header of 64 bytes in the big-endian byte order:
+
+   <pre>
+   offset size
+        0    8 magic "JFCOMPLX"
+        8    4 version, 1
+       12    4 layout, 0 for split and 1 for interleaved
+       16    4 byte order of the data, 0 for big and 1 for little endian
+       20    4 reserved, 0
+       24    8 number of elements n
+       32   32 reserved, 0
+   </pre>
+
+   The data starts at the offset 64. In the split layout it is n real
+   parts followed by n imaginary parts, and in the interleaved layout n
+   pairs of a real and an imaginary part. Every part is an IEEE 754 double
+   in the byte order of the header.
+
+   A read-only array throws java.nio.ReadOnlyBufferException for every
+   modification. Changes to a read-write array are visible to the other
+   processes mapping the same file immediately, and are written to the file
+   by force() and close().
+ */
+public final class ComplexMappedArray extends ComplexLargeArray {
+  /**
+     The size of the header in bytes
+   */
+  static final int HEADER_SIZE = 64;
+  /**
+     The magic number, "JFCOMPLX" in ASCII
+   */
+  static final long MAGIC = 0x4A46434F4D504C58L;
+  /**
+     The version of the file format
+   */
+  static final int VERSION = 1;
+  /**
+     The base-2 logarithm of the number of elements per mapping
+   */
+  static final int CHUNK_SHIFT = 26;
+
+  private final boolean interleaved;
+  private final boolean readOnly;
+  private final ByteOrder order;
+  private MappedByteBuffer[] maps;
+
+  private ComplexMappedArray(long size, int shift, boolean interleaved,
+                             ByteOrder order, boolean readOnly,
+                             MappedByteBuffer[] maps, DoubleBuffer[] re,
+                             DoubleBuffer[] im)
+  {
+    super(size, shift, interleaved ? 2 : 1, interleaved ? 1 : 0, re, im);
+    this.interleaved = interleaved;
+    this.readOnly = readOnly;
+    this.order = order;
+    this.maps = maps;
+  }
+
+  /**
+     Create a new complex array file, or replace an existing file, and map
+     it for reading and writing. The elements are initialized to zero.
+
+     @param file The file
+     @param size The number of elements
+     @param interleaved Whether the layout is interleaved instead of split
+     @param order The byte order of the data
+     @return The mapped array
+     @throws IOException If the file cannot be created or mapped
+   */
+  public static ComplexMappedArray create(File file, long size,
+                                          boolean interleaved,
+                                          ByteOrder order)
+    throws IOException
+  {
+    return create(file, size, interleaved, order, CHUNK_SHIFT);
+  }
+  static ComplexMappedArray create(File file, long size, boolean interleaved,
+                                   ByteOrder order, int shift)
+    throws IOException
+  {
+    if (size < 0 || size > (Long.MAX_VALUE - HEADER_SIZE)/16)
+    {
+      throw new IllegalArgumentException("invalid size: " + size);
+    }
+    final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putLong(MAGIC);
+    header.putInt(VERSION);
+    header.putInt(interleaved ? 1 : 0);
+    header.putInt(order == ByteOrder.BIG_ENDIAN ? 0 : 1);
+    header.putInt(0);
+    header.putLong(size);
+    header.rewind();
+    final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+    try
+    {
+      raf.setLength(0);
+      raf.setLength(HEADER_SIZE + 16*size);
+      final FileChannel channel = raf.getChannel();
+      while (header.hasRemaining())
+      {
+        channel.write(header, header.position());
+      }
+      return map(channel, size, shift, interleaved, order, false);
+    }
+    finally
+    {
+      // the mappings stay valid after the file is closed
+      raf.close();
+    }
+  }
+
+  /**
+     Map an existing complex array file.
+
+     @param file The file
+     @param readOnly Whether the file is mapped for reading only
+     @return The mapped array
+     @throws IOException If the file cannot be read or mapped, or its
+                         header is invalid
+   */
+  public static ComplexMappedArray open(File file, boolean readOnly)
+    throws IOException
+  {
+    return open(file, readOnly, CHUNK_SHIFT);
+  }
+  static ComplexMappedArray open(File file, boolean readOnly, int shift)
+    throws IOException
+  {
+    final RandomAccessFile raf = new RandomAccessFile(file,
+                                                      readOnly ? "r" : "rw");
+    try
+    {
+      final FileChannel channel = raf.getChannel();
+      final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      while (header.hasRemaining())
+      {
+        if (channel.read(header, header.position()) < 0)
+        {
+          throw new IOException("truncated header: " + file);
+        }
+      }
+      header.rewind();
+      if (header.getLong() != MAGIC)
+      {
+        throw new IOException("not a complex array file: " + file);
+      }
+      final int version = header.getInt();
+      if (version != VERSION)
+      {
+        throw new IOException("unsupported version: " + version);
+      }
+      final int layout = header.getInt(), endian = header.getInt();
+      header.getInt();
+      final long size = header.getLong();
+      if ((layout != 0 && layout != 1) || (endian != 0 && endian != 1))
+      {
+        throw new IOException("invalid layout or byte order: " + layout +
+                              ", " + endian);
+      }
+      if (size < 0 || size > (channel.size() - HEADER_SIZE)/16)
+      {
+        throw new IOException("invalid size: " + size);
+      }
+      return map(channel, size, shift, layout == 1,
+                 endian == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN,
+                 readOnly);
+    }
+    finally
+    {
+      raf.close();
+    }
+  }
+
+  private static ComplexMappedArray map(FileChannel channel, long size,
+                                        int shift, boolean interleaved,
+                                        ByteOrder order, boolean readOnly)
+    throws IOException
+  {
+    final FileChannel.MapMode mode = readOnly ?
+        FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE;
+    final int n = chunks(size, shift);
+    final MappedByteBuffer[] maps =
+        new MappedByteBuffer[interleaved ? n : 2*n];
+    try
+    {
+      for (int k = 0; k < n; k++)
+      {
+        final long first = (long)k << shift;
+        final int count = chunkSize(size, shift, k);
+        if (interleaved)
+        {
+          maps[k] = channel.map(mode, HEADER_SIZE + 16*first, 16L*count);
+        }
+        else
+        {
+          maps[k] = channel.map(mode, HEADER_SIZE + 8*first, 8L*count);
+          maps[n + k] = channel.map(mode, HEADER_SIZE + 8*(size + first),
+                                    8L*count);
+        }
+      }
+    }
+    catch (IOException | RuntimeException e)
+    {
+      for (int k = 0; k < maps.length; k++)
+      {
+        if (maps[k] != null)
+        {
+          release(maps[k]);
+        }
+      }
+      throw e;
+    }
+    final DoubleBuffer[] re = new DoubleBuffer[n];
+    final DoubleBuffer[] im = interleaved ? re : new DoubleBuffer[n];
+    for (int k = 0; k < n; k++)
+    {
+      re[k] = maps[k].order(order).asDoubleBuffer();
+      if (!interleaved)
+      {
+        im[k] = maps[n + k].order(order).asDoubleBuffer();
+      }
+    }
+    return new ComplexMappedArray(size, shift, interleaved, order, readOnly,
+                                  maps, re, im);
+  }
+
+  /**
+     Check whether the layout of the file is interleaved.
+
+     @return true for the interleaved and false for the split layout
+   */
+  public boolean isInterleaved()
+  {
+    return this.interleaved;
+  }
+  /**
+     Check whether the file is mapped for reading only.
+
+     @return Whether the array is read-only
+   */
+  public boolean isReadOnly()
+  {
+    return this.readOnly;
+  }
+  /**
+     Returns the byte order of the data in the file.
+
+     @return The byte order
+   */
+  public ByteOrder getByteOrder()
+  {
+    return this.order;
+  }
+
+  /**
+     Write the changes of this array to the file.
+   */
+  public void force()
+  {
+    final MappedByteBuffer[] maps = this.maps;
+    if (maps == null)
+    {
+      throw new IllegalStateException("closed");
+    }
+    if (this.readOnly)
+    {
+      return;
+    }
+    for (int k = 0; k < maps.length; k++)
+    {
+      maps[k].force();
+    }
+  }
+
+  /**
+     Write the changes of this array to the file and unmap it.
+
+     Closing an already closed array does nothing.
+   */
+  public void close()
+  {
+    if (this.maps == null)
+    {
+      return;
+    }
+    this.force();
+    final MappedByteBuffer[] maps = this.maps;
+    detach();
+    this.maps = null;
+    for (int k = 0; k < maps.length; k++)
+    {
+      release(maps[k]);
+    }
+  }
+};
@@ -0,0 +1,732 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.io.Serializable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   A mutable dense complex matrix.
+
+   The elements are stored in row-major order in separate arrays of real
+   and imaginary parts, like in ComplexBufferArray, so rows are contiguous
+   in memory.
+
+   The matrix product is calculated with a cache-blocked algorithm that
+   updates two rows of the result at a time with two columns of the left
+   operand, so that the innermost loop runs over contiguous rows of the
+   right operand and the result. The product can use either the usual
+   four real multiplications per complex multiplication or the 3M
+   algorithm, which calculates the product with three real matrix
+   products. The 3M algorithm is faster for large matrices but its
+   rounding errors are relative to the magnitudes of both the real and
+   imaginary parts.
+ */
+public class ComplexMatrix implements ComplexLinearOperator, Serializable {
+  private static final long serialVersionUID = 4630914250155347181L;
+  /**
+     The number of columns of the left operand used per block.
+   */
+  private static final int BLOCK_K = 128;
+  /**
+     The number of columns of the right operand used per block.
+   */
+  private static final int BLOCK_N = 256;
+  /**
+     The approximate number of multiplications done by one task.
+   */
+  private static final long TASK_SIZE = 1 << 16;
+  /**
+     The number of rows.
+     @serial
+   */
+  private final int rows;
+  /**
+     The number of columns.
+     @serial
+   */
+  private final int cols;
+  /**
+     The real parts in row-major order.
+     @serial
+   */
+  private double[] re;
+  /**
+     The imaginary parts in row-major order.
+     @serial
+   */
+  private double[] im;
+
+  /**
+     Create a complex matrix of zeros
+
+     @param rows The number of rows
+     @param cols The number of columns
+   */
+  public ComplexMatrix(int rows, int cols)
+  {
+    if (rows < 0 || cols < 0 || (long)rows*cols > Integer.MAX_VALUE)
+    {
+      throw new IllegalArgumentException(
+          "invalid matrix size: " + rows + "x" + cols);
+    }
+    this.rows = rows;
+    this.cols = cols;
+    this.re = new double[rows*cols];
+    this.im = new double[rows*cols];
+  }
+  /**
+     Create a copy of a complex matrix
+
+     @param m The matrix to copy
+   */
+  public ComplexMatrix(ComplexMatrix m)
+  {
+    this.rows = m.rows;
+    this.cols = m.cols;
+    this.re = m.re.clone();
+    this.im = m.im.clone();
+  }
+
+  /**
+     Create an identity matrix
+
+     @param n The number of rows and columns
+     @return A new identity matrix
+   */
+  public static ComplexMatrix identity(int n)
+  {
+    ComplexMatrix m = new ComplexMatrix(n, n);
+    for (int i = 0; i < n; i++)
+    {
+      m.re[i*n + i] = 1.0;
+    }
+    return m;
+  }
+
+  /**
+     Returns the number of rows.
+
+     @return The number of rows
+   */
+  public int getRows()
+  {
+    return rows;
+  }
+  /**
+     Returns the number of columns.
+
+     @return The number of columns
+   */
+  public int getColumns()
+  {
+    return cols;
+  }
+  /**
+     Returns the array of real parts backing this matrix in row-major order.
+
+     @return The array of real parts
+   */
+  double[] getRealArray()
+  {
+    return this.re;
+  }
+  /**
+     Returns the array of imaginary parts backing this matrix in row-major
+     order.
+
+     @return The array of imaginary parts
+   */
+  double[] getImagArray()
+  {
+    return this.im;
+  }
+
+  /**
+     Check that an element index is valid.
+
+     @param i The row index
+     @param j The column index
+   */
+  private void checkIndex(int i, int j)
+  {
+    if (i < 0 || i >= rows || j < 0 || j >= cols)
+    {
+      throw new IndexOutOfBoundsException(
+          "index (" + i + "," + j + ") out of bounds for size " +
+          rows + "x" + cols);
+    }
+  }
+
+  /**
+     Returns the real part of an element.
+
+     @param i The row index
+     @param j The column index
+     @return The real part
+   */
+  public double getReal(int i, int j)
+  {
+    checkIndex(i, j);
+    return this.re[i*cols + j];
+  }
+  /**
+     Returns the imaginary part of an element.
+
+     @param i The row index
+     @param j The column index
+     @return The imaginary part
+   */
+  public double getImag(int i, int j)
+  {
+    checkIndex(i, j);
+    return this.im[i*cols + j];
+  }
+  /**
+     Get the value of an element as an immutable object
+
+     @param i The row index
+     @param j The column index
+     @return A new immutable complex number that has the value of the element
+   */
+  public Complex get(int i, int j)
+  {
+    return Complex.valueOf(this.getReal(i, j), this.getImag(i, j));
+  }
+  /**
+     Modify the real and imaginary parts of an element
+
+     @param i The row index
+     @param j The column index
+     @param re The new real part
+     @param im The new imaginary part
+     @return this
+   */
+  public ComplexMatrix set(int i, int j, double re, double im)
+  {
+    checkIndex(i, j);
+    this.re[i*cols + j] = re;
+    this.im[i*cols + j] = im;
+    return this;
+  }
+  /**
+     Modify the value of an element
+
+     @param i The row index
+     @param j The column index
+     @param num The new value
+     @return this
+   */
+  public ComplexMatrix set(int i, int j, ComplexNumber num)
+  {
+    return this.set(i, j, num.getReal(), num.getImag());
+  }
+  /**
+     Modify the value of an element
+
+     @param i The row index
+     @param j The column index
+     @param num The new value array
+     @param k The array index to the other array
+     @return this
+   */
+  public ComplexMatrix set(int i, int j, ComplexNumberArray num, int k)
+  {
+    return this.set(i, j, num.getReal(k), num.getImag(k));
+  }
+  /**
+     Copy the elements of another matrix of the same size to this matrix
+
+     @param m The other matrix
+     @return this
+   */
+  public ComplexMatrix set(ComplexMatrix m)
+  {
+    checkSameSize(m);
+    System.arraycopy(m.re, 0, this.re, 0, re.length);
+    System.arraycopy(m.im, 0, this.im, 0, im.length);
+    return this;
+  }
+
+  /**
+     Check that another matrix has the same size as this matrix.
+
+     @param m The other matrix
+   */
+  private void checkSameSize(ComplexMatrix m)
+  {
+    if (m.rows != rows || m.cols != cols)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + rows + "x" + cols + ", " +
+          m.rows + "x" + m.cols);
+    }
+  }
+
+  /**
+     Add another matrix to this matrix and store the result in this matrix
+
+     @param m The other matrix
+     @return this
+   */
+  public ComplexMatrix addInPlace(ComplexMatrix m)
+  {
+    checkSameSize(m);
+    final double[] re = this.re, im = this.im, m_re = m.re, m_im = m.im;
+    for (int k = 0; k < re.length; k++)
+    {
+      re[k] += m_re[k];
+      im[k] += m_im[k];
+    }
+    return this;
+  }
+  /**
+     Subtract another matrix from this matrix and store the result in this
+     matrix
+
+     @param m The other matrix
+     @return this
+   */
+  public ComplexMatrix subtractInPlace(ComplexMatrix m)
+  {
+    checkSameSize(m);
+    final double[] re = this.re, im = this.im, m_re = m.re, m_im = m.im;
+    for (int k = 0; k < re.length; k++)
+    {
+      re[k] -= m_re[k];
+      im[k] -= m_im[k];
+    }
+    return this;
+  }
+  /**
+     Multiply this matrix by a complex number and store the result in this
+     matrix
+
+     @param c The complex number
+     @return this
+   */
+  public ComplexMatrix multiplyInPlace(ComplexNumber c)
+  {
+    final double[] re = this.re, im = this.im;
+    final double c_re = c.getReal(), c_im = c.getImag();
+    for (int k = 0; k < re.length; k++)
+    {
+      final double x_re = re[k], x_im = im[k];
+      re[k] = x_re*c_re - x_im*c_im;
+      im[k] = x_re*c_im + x_im*c_re;
+    }
+    return this;
+  }
+
+  /**
+     Returns the conjugate transpose of this matrix.
+
+     @return A new matrix containing the conjugate transpose
+   */
+  public ComplexMatrix conjugateTranspose()
+  {
+    ComplexMatrix t = new ComplexMatrix(cols, rows);
+    for (int i0 = 0; i0 < rows; i0 += 32)
+    {
+      final int i1 = Math.min(rows, i0 + 32);
+      for (int j0 = 0; j0 < cols; j0 += 32)
+      {
+        final int j1 = Math.min(cols, j0 + 32);
+        for (int i = i0; i < i1; i++)
+        {
+          for (int j = j0; j < j1; j++)
+          {
+            t.re[j*rows + i] = re[i*cols + j];
+            t.im[j*rows + i] = -im[i*cols + j];
+          }
+        }
+      }
+    }
+    return t;
+  }
+
+  /**
+     Multiply a vector by this matrix
+
+     @param x The vector, the size of which must be the number of columns
+     @param result The complex buffer array for the result, the size of
+                   which must be the number of rows; must not be x
+     @return result
+   */
+  public ComplexBufferArray multiply(ComplexBufferArray x,
+                                     ComplexBufferArray result)
+  {
+    if (x.size() != cols || result.size() != rows)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + rows + "x" + cols + ", " + x.size() + ", " +
+          result.size());
+    }
+    final double[] x_re = x.getRealArray(), x_im = x.getImagArray();
+    final double[] y_re = result.getRealArray(), y_im = result.getImagArray();
+    for (int i = 0; i < rows; i++)
+    {
+      final int off = i*cols;
+      double s_re = 0.0, s_im = 0.0;
+      for (int j = 0; j < cols; j++)
+      {
+        final double a_re = re[off + j], a_im = im[off + j];
+        s_re += a_re*x_re[j] - a_im*x_im[j];
+        s_im += a_re*x_im[j] + a_im*x_re[j];
+      }
+      y_re[i] = s_re;
+      y_im[i] = s_im;
+    }
+    return result;
+  }
+  /**
+     Multiply this matrix by another matrix
+
+     @param b The right operand
+     @return A new matrix containing the product
+   */
+  public ComplexMatrix multiply(ComplexMatrix b)
+  {
+    return new ComplexMatrix(rows, b.cols).setProduct(this, b);
+  }
+  /**
+     Set this matrix to the product of two matrices using the usual
+     algorithm in the calling thread
+
+     @param a The left operand
+     @param b The right operand
+     @return this
+   */
+  public ComplexMatrix setProduct(ComplexMatrix a, ComplexMatrix b)
+  {
+    return setProduct(a, b, false, null);
+  }
+  /**
+     Set this matrix to the product of two matrices
+
+     Either operand may be this matrix.
+
+     @param a The left operand
+     @param b The right operand
+     @param use3M Whether to use the 3M algorithm
+     @param pool The pool running the tasks, or null to calculate the
+                 product in the calling thread
+     @return this
+   */
+  public ComplexMatrix setProduct(ComplexMatrix a, ComplexMatrix b,
+                                  boolean use3M, ForkJoinPool pool)
+  {
+    if (a.cols != b.rows || rows != a.rows || cols != b.cols)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + a.rows + "x" + a.cols + " * " +
+          b.rows + "x" + b.cols + " -> " + rows + "x" + cols);
+    }
+    final int m = a.rows, k = a.cols, n = b.cols;
+    double[] c_re = this.re, c_im = this.im;
+    if (a == this || b == this)
+    {
+      c_re = new double[m*n];
+      c_im = new double[m*n];
+    }
+    if (!use3M)
+    {
+      run(new Product(a.re, a.im, b.re, b.im, c_re, c_im, m, k, n, 0, m),
+          pool);
+    }
+    else
+    {
+      // T1 = Ar*Br, T2 = Ai*Bi, T3 = (Ar + Ai)*(Br + Bi),
+      // Cr = T1 - T2 and Ci = T3 - T1 - T2
+      final double[] a_sum = new double[m*k];
+      final double[] b_sum = new double[k*n];
+      final double[] t3 = new double[m*n];
+      for (int p = 0; p < a_sum.length; p++)
+      {
+        a_sum[p] = a.re[p] + a.im[p];
+      }
+      for (int p = 0; p < b_sum.length; p++)
+      {
+        b_sum[p] = b.re[p] + b.im[p];
+      }
+      run(new Product(a.re, null, b.re, null, c_re, null, m, k, n, 0, m),
+          pool);
+      run(new Product(a.im, null, b.im, null, c_im, null, m, k, n, 0, m),
+          pool);
+      run(new Product(a_sum, null, b_sum, null, t3, null, m, k, n, 0, m),
+          pool);
+      for (int p = 0; p < t3.length; p++)
+      {
+        final double t1 = c_re[p], t2 = c_im[p];
+        c_re[p] = t1 - t2;
+        c_im[p] = t3[p] - t1 - t2;
+      }
+    }
+    this.re = c_re;
+    this.im = c_im;
+    return this;
+  }
+
+  /**
+     Run a product task in a pool or in the calling thread.
+
+     @param task The task
+     @param pool The pool, or null
+   */
+  private static void run(Product task, ForkJoinPool pool)
+  {
+    if (pool == null)
+    {
+      task.compute();
+    }
+    else
+    {
+      pool.invoke(task);
+    }
+  }
+
+  /**
+     A task calculating a range of rows of a complex or real matrix product.
+     The imaginary part arrays are null for real products.
+   */
+  private static final class Product extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final double[] a_re, a_im, b_re, b_im, c_re, c_im;
+    private final int m, k, n, i0, i1;
+
+    Product(double[] a_re, double[] a_im, double[] b_re, double[] b_im,
+            double[] c_re, double[] c_im, int m, int k, int n, int i0, int i1)
+    {
+      this.a_re = a_re;
+      this.a_im = a_im;
+      this.b_re = b_re;
+      this.b_im = b_im;
+      this.c_re = c_re;
+      this.c_im = c_im;
+      this.m = m;
+      this.k = k;
+      this.n = n;
+      this.i0 = i0;
+      this.i1 = i1;
+    }
+
+    @Override
+    protected void compute()
+    {
+      if (i1 - i0 >= 4 && (long)(i1 - i0)*k*n > TASK_SIZE)
+      {
+        // keep the row pairs of the kernel together
+        final int mid = i0 + (((i1 - i0) >>> 1) & ~1);
+        invokeAll(new Product(a_re, a_im, b_re, b_im, c_re, c_im,
+                              m, k, n, i0, mid),
+                  new Product(a_re, a_im, b_re, b_im, c_re, c_im,
+                              m, k, n, mid, i1));
+        return;
+      }
+      if (a_im == null)
+      {
+        realProduct(a_re, b_re, c_re, k, n, i0, i1);
+      }
+      else
+      {
+        complexProduct(a_re, a_im, b_re, b_im, c_re, c_im, k, n, i0, i1);
+      }
+    }
+  }
+
+  /**
+     Calculate rows [i0,i1) of the complex matrix product C = A*B.
+
+     @param a_re The real parts of A
+     @param a_im The imaginary parts of A
+     @param b_re The real parts of B
+     @param b_im The imaginary parts of B
+     @param c_re The real parts of C
+     @param c_im The imaginary parts of C
+     @param k The number of columns of A
+     @param n The number of columns of B
+     @param i0 The first row, inclusive
+     @param i1 The last row, exclusive
+   */
+  private static void complexProduct(double[] a_re, double[] a_im,
+                                     double[] b_re, double[] b_im,
+                                     double[] c_re, double[] c_im,
+                                     int k, int n, int i0, int i1)
+  {
+    for (int p = i0*n; p < i1*n; p++)
+    {
+      c_re[p] = 0.0;
+      c_im[p] = 0.0;
+    }
+    for (int kk = 0; kk < k; kk += BLOCK_K)
+    {
+      final int k1 = Math.min(k, kk + BLOCK_K);
+      for (int jj = 0; jj < n; jj += BLOCK_N)
+      {
+        final int j1 = Math.min(n, jj + BLOCK_N);
+        int i = i0;
+        for (; i + 1 < i1; i += 2)
+        {
+          final int c0 = i*n, c1 = c0 + n;
+          final int a0 = i*k, a1 = a0 + k;
+          int p = kk;
+          for (; p + 1 < k1; p += 2)
+          {
+            final double x00_re = a_re[a0 + p], x00_im = a_im[a0 + p];
+            final double x01_re = a_re[a0 + p + 1];
+            final double x01_im = a_im[a0 + p + 1];
+            final double x10_re = a_re[a1 + p], x10_im = a_im[a1 + p];
+            final double x11_re = a_re[a1 + p + 1];
+            final double x11_im = a_im[a1 + p + 1];
+            final int b0 = p*n, b1 = b0 + n;
+            for (int j = jj; j < j1; j++)
+            {
+              final double y0_re = b_re[b0 + j], y0_im = b_im[b0 + j];
+              final double y1_re = b_re[b1 + j], y1_im = b_im[b1 + j];
+              c_re[c0 + j] += x00_re*y0_re - x00_im*y0_im +
+                              x01_re*y1_re - x01_im*y1_im;
+              c_im[c0 + j] += x00_re*y0_im + x00_im*y0_re +
+                              x01_re*y1_im + x01_im*y1_re;
+              c_re[c1 + j] += x10_re*y0_re - x10_im*y0_im +
+                              x11_re*y1_re - x11_im*y1_im;
+              c_im[c1 + j] += x10_re*y0_im + x10_im*y0_re +
+                              x11_re*y1_im + x11_im*y1_re;
+            }
+          }
+          if (p < k1)
+          {
+            final double x0_re = a_re[a0 + p], x0_im = a_im[a0 + p];
+            final double x1_re = a_re[a1 + p], x1_im = a_im[a1 + p];
+            final int b0 = p*n;
+            for (int j = jj; j < j1; j++)
+            {
+              final double y_re = b_re[b0 + j], y_im = b_im[b0 + j];
+              c_re[c0 + j] += x0_re*y_re - x0_im*y_im;
+              c_im[c0 + j] += x0_re*y_im + x0_im*y_re;
+              c_re[c1 + j] += x1_re*y_re - x1_im*y_im;
+              c_im[c1 + j] += x1_re*y_im + x1_im*y_re;
+            }
+          }
+        }
+        if (i < i1)
+        {
+          final int c0 = i*n, a0 = i*k;
+          for (int p = kk; p < k1; p++)
+          {
+            final double x_re = a_re[a0 + p], x_im = a_im[a0 + p];
+            final int b0 = p*n;
+            for (int j = jj; j < j1; j++)
+            {
+              final double y_re = b_re[b0 + j], y_im = b_im[b0 + j];
+              c_re[c0 + j] += x_re*y_re - x_im*y_im;
+              c_im[c0 + j] += x_re*y_im + x_im*y_re;
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+     Calculate rows [i0,i1) of the real matrix product C = A*B.
+
+     @param a The elements of A
+     @param b The elements of B
+     @param c The elements of C
+     @param k The number of columns of A
+     @param n The number of columns of B
+     @param i0 The first row, inclusive
+     @param i1 The last row, exclusive
+   */
+  private static void realProduct(double[] a, double[] b, double[] c,
+                                  int k, int n, int i0, int i1)
+  {
+    for (int p = i0*n; p < i1*n; p++)
+    {
+      c[p] = 0.0;
+    }
+    for (int kk = 0; kk < k; kk += BLOCK_K)
+    {
+      final int k1 = Math.min(k, kk + BLOCK_K);
+      for (int jj = 0; jj < n; jj += BLOCK_N)
+      {
+        final int j1 = Math.min(n, jj + BLOCK_N);
+        int i = i0;
+        for (; i + 1 < i1; i += 2)
+        {
+          final int c0 = i*n, c1 = c0 + n;
+          final int a0 = i*k, a1 = a0 + k;
+          int p = kk;
+          for (; p + 1 < k1; p += 2)
+          {
+            final double x00 = a[a0 + p], x01 = a[a0 + p + 1];
+            final double x10 = a[a1 + p], x11 = a[a1 + p + 1];
+            final int b0 = p*n, b1 = b0 + n;
+            for (int j = jj; j < j1; j++)
+            {
+              final double y0 = b[b0 + j], y1 = b[b1 + j];
+              c[c0 + j] += x00*y0 + x01*y1;
+              c[c1 + j] += x10*y0 + x11*y1;
+            }
+          }
+          if (p < k1)
+          {
+            final double x0 = a[a0 + p], x1 = a[a1 + p];
+            final int b0 = p*n;
+            for (int j = jj; j < j1; j++)
+            {
+              final double y = b[b0 + j];
+              c[c0 + j] += x0*y;
+              c[c1 + j] += x1*y;
+            }
+          }
+        }
+        if (i < i1)
+        {
+          final int c0 = i*n, a0 = i*k;
+          for (int p = kk; p < k1; p++)
+          {
+            final double x = a[a0 + p];
+            final int b0 = p*n;
+            for (int j = jj; j < j1; j++)
+            {
+              c[c0 + j] += x*b[b0 + j];
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+     Returns a string representation of an element.
+
+     @param i The row index
+     @param j The column index
+     @return A string representation of the element
+   */
+  public String toString(int i, int j)
+  {
+    return ComplexUtils.toString(this.get(i, j));
+  }
+};
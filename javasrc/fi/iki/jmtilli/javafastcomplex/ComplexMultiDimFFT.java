@@ -0,0 +1,324 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   A multi-dimensional fast Fourier transform plan for complex grids.
+
+   The grid is stored in a complex buffer array in row-major order, so
+   that the last dimension varies fastest. The transform is calculated as
+   one-dimensional transforms along each axis. Transforms along the last
+   axis work directly on the contiguous rows. For the other axes, blocks of
+   adjacent columns are gathered into per-thread scratch space, reading
+   contiguous runs of the grid, transformed and scattered back, so that
+   the column passes use whole cache lines.
+
+   If a ForkJoinPool is given, the rows and column blocks of each axis are
+   split into tasks run in the pool.
+
+   The inverse transform is scaled by 1/size. A plan can be used by
+   multiple threads at the same time.
+ */
+public class ComplexMultiDimFFT {
+  /**
+     The number of adjacent columns gathered at a time.
+   */
+  private static final int BLOCK = 16;
+  /**
+     The approximate number of elements processed by one task.
+   */
+  private static final int TASK_SIZE = 1 << 14;
+
+  /**
+     The dimensions.
+   */
+  private final int[] dims;
+  /**
+     The number of elements in the grid.
+   */
+  private final int size;
+  /**
+     The one-dimensional transforms of each axis.
+   */
+  private final ComplexFFT[] ffts;
+  /**
+     The pool running the tasks, or null.
+   */
+  private final ForkJoinPool pool;
+  /**
+     Per-thread scratch space for the column blocks.
+   */
+  private final ThreadLocal<double[][]> scratch;
+
+  /**
+     Create a sequential multi-dimensional fast Fourier transform plan
+
+     @param dims The dimensions, each at least 1
+   */
+  public ComplexMultiDimFFT(int... dims)
+  {
+    this(null, dims);
+  }
+  /**
+     Create a multi-dimensional fast Fourier transform plan
+
+     @param pool The pool running the tasks, or null to calculate the
+                 transforms in the calling thread
+     @param dims The dimensions, each at least 1
+   */
+  public ComplexMultiDimFFT(ForkJoinPool pool, int... dims)
+  {
+    if (dims.length == 0)
+    {
+      throw new IllegalArgumentException("no dimensions");
+    }
+    long size = 1;
+    int max = 1;
+    for (int dim: dims)
+    {
+      if (dim < 1)
+      {
+        throw new IllegalArgumentException("invalid dimension: " + dim);
+      }
+      size *= dim;
+      if (size > Integer.MAX_VALUE)
+      {
+        throw new IllegalArgumentException("grid too large");
+      }
+      max = Math.max(max, dim);
+    }
+    this.dims = dims.clone();
+    this.size = (int)size;
+    this.pool = pool;
+    this.ffts = new ComplexFFT[dims.length];
+    for (int d = 0; d < dims.length; d++)
+    {
+      for (int e = 0; e < d; e++)
+      {
+        if (dims[e] == dims[d])
+        {
+          this.ffts[d] = this.ffts[e];
+          break;
+        }
+      }
+      if (this.ffts[d] == null)
+      {
+        this.ffts[d] = new ComplexFFT(dims[d]);
+      }
+    }
+    final int scratchSize = BLOCK*max;
+    this.scratch = new ThreadLocal<double[][]>() {
+      @Override
+      protected double[][] initialValue()
+      {
+        return new double[][]{
+          new double[scratchSize], new double[scratchSize]};
+      }
+    };
+  }
+
+  /**
+     Returns the dimensions.
+
+     @return A copy of the dimensions
+   */
+  public int[] getDimensions()
+  {
+    return dims.clone();
+  }
+  /**
+     Returns the number of elements in the grid.
+
+     @return The number of elements in the grid
+   */
+  public int size()
+  {
+    return size;
+  }
+
+  /**
+     Calculate the forward transform of a grid in place.
+
+     @param a The complex buffer array containing the grid in row-major
+              order, the size of which must be the grid size
+   */
+  public void fftInPlace(ComplexBufferArray a)
+  {
+    transform(a, false);
+  }
+  /**
+     Calculate the inverse transform of a grid in place.
+
+     @param a The complex buffer array containing the grid in row-major
+              order, the size of which must be the grid size
+   */
+  public void ifftInPlace(ComplexBufferArray a)
+  {
+    transform(a, true);
+    a.multiplyAllInPlace(1.0/size);
+  }
+
+  /**
+     Calculate an unscaled transform in place.
+
+     @param a The complex buffer array
+     @param inverse Whether to use the positive sign in the exponent
+   */
+  private void transform(ComplexBufferArray a, boolean inverse)
+  {
+    if (a.size() != size)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + size + ", " + a.size());
+    }
+    final double[] re = a.getRealArray(), im = a.getImagArray();
+    int inner = 1;
+    for (int d = dims.length - 1; d >= 0; d--)
+    {
+      final int n = dims[d];
+      final int outer = size / (n*inner);
+      if (n > 1)
+      {
+        final int units = outer*blocks(inner);
+        final int grain = Math.max(1, TASK_SIZE / (n*Math.min(inner, BLOCK)));
+        if (pool == null || units <= grain)
+        {
+          transformAxis(re, im, d, inner, 0, units, inverse);
+        }
+        else
+        {
+          pool.invoke(new Task(re, im, d, inner, 0, units, grain, inverse));
+        }
+      }
+      inner *= n;
+    }
+  }
+
+  /**
+     Returns the number of column blocks.
+
+     @param inner The number of columns
+     @return The number of column blocks
+   */
+  private static int blocks(int inner)
+  {
+    return inner == 1 ? 1 : (inner + BLOCK - 1) / BLOCK;
+  }
+
+  /**
+     Calculate the transforms along an axis for a range of units, which are
+     rows if the axis is the last one and column blocks otherwise.
+
+     @param re The real parts of the grid
+     @param im The imaginary parts of the grid
+     @param d The axis
+     @param inner The product of the dimensions after the axis
+     @param lo The first unit, inclusive
+     @param hi The last unit, exclusive
+     @param inverse Whether to use the positive sign in the exponent
+   */
+  private void transformAxis(double[] re, double[] im, int d, int inner,
+                             int lo, int hi, boolean inverse)
+  {
+    final int n = dims[d];
+    final ComplexFFT fft = ffts[d];
+    if (inner == 1)
+    {
+      for (int u = lo; u < hi; u++)
+      {
+        fft.transform(re, im, u*n, inverse);
+      }
+      return;
+    }
+    final double[][] s = scratch.get();
+    final double[] s_re = s[0], s_im = s[1];
+    final int colBlocks = blocks(inner);
+    for (int u = lo; u < hi; u++)
+    {
+      final int base = (u / colBlocks)*n*inner;
+      final int c0 = (u % colBlocks)*BLOCK;
+      final int width = Math.min(BLOCK, inner - c0);
+      // gather the columns as contiguous rows of the scratch space
+      for (int t = 0; t < n; t++)
+      {
+        final int off = base + t*inner + c0;
+        for (int b = 0; b < width; b++)
+        {
+          s_re[b*n + t] = re[off + b];
+          s_im[b*n + t] = im[off + b];
+        }
+      }
+      for (int b = 0; b < width; b++)
+      {
+        fft.transform(s_re, s_im, b*n, inverse);
+      }
+      for (int t = 0; t < n; t++)
+      {
+        final int off = base + t*inner + c0;
+        for (int b = 0; b < width; b++)
+        {
+          re[off + b] = s_re[b*n + t];
+          im[off + b] = s_im[b*n + t];
+        }
+      }
+    }
+  }
+
+  /**
+     A task calculating the transforms along an axis for a range of units.
+   */
+  private final class Task extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final double[] re, im;
+    private final int d, inner, lo, hi, grain;
+    private final boolean inverse;
+
+    Task(double[] re, double[] im, int d, int inner, int lo, int hi,
+         int grain, boolean inverse)
+    {
+      this.re = re;
+      this.im = im;
+      this.d = d;
+      this.inner = inner;
+      this.lo = lo;
+      this.hi = hi;
+      this.grain = grain;
+      this.inverse = inverse;
+    }
+
+    @Override
+    protected void compute()
+    {
+      if (hi - lo > grain)
+      {
+        final int mid = (lo + hi) >>> 1;
+        invokeAll(new Task(re, im, d, inner, lo, mid, grain, inverse),
+                  new Task(re, im, d, inner, mid, hi, grain, inverse));
+        return;
+      }
+      transformAxis(re, im, d, inner, lo, hi, inverse);
+    }
+  }
+};
@@ -0,0 +1,444 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   A multi-threaded fast Fourier transform plan for large transforms.
+
+   Uses the six-step algorithm: the data of size n = n1*n2 is viewed as an
+   n1 by n2 matrix, which is transposed, transformed row by row with
+   transforms of size n1, multiplied by twiddle factors, transposed,
+   transformed row by row with transforms of size n2 and transposed again.
+   The row transforms and the cache-blocked transposes are split into
+   tasks run in a ForkJoinPool. Transforms smaller than the threshold, and
+   sizes that cannot be split, are calculated sequentially with ComplexFFT.
+
+   The transforms are the same as those of ComplexFFT. The plan holds
+   scratch space of the transform size, so it must not be used by multiple
+   threads at the same time.
+ */
+public class ComplexParallelFFT {
+  /**
+     The default size below which transforms are calculated sequentially.
+   */
+  public static final int DEFAULT_THRESHOLD = 1 << 16;
+  /**
+     The approximate number of elements processed by one task.
+   */
+  private static final int TASK_SIZE = 1 << 14;
+  /**
+     The tile size of the blocked transposes.
+   */
+  private static final int TILE = 32;
+
+  private static final int PHASE_TRANSPOSE = 0;
+  private static final int PHASE_ROWS_TWIDDLE = 1;
+  private static final int PHASE_ROWS = 2;
+  private static final int PHASE_COPY_SCALE = 3;
+
+  /**
+     The transform size.
+   */
+  private final int n;
+  /**
+     The number of rows, n1 in the class description.
+   */
+  private final int n1;
+  /**
+     The number of columns, n2 in the class description.
+   */
+  private final int n2;
+  /**
+     The pool running the tasks.
+   */
+  private final ForkJoinPool pool;
+  /**
+     The sequential transform of size n if the transform is not split,
+     otherwise null.
+   */
+  private final ComplexFFT sequential;
+  /**
+     The row transform of size n1.
+   */
+  private final ComplexFFT fft1;
+  /**
+     The row transform of size n2.
+   */
+  private final ComplexFFT fft2;
+  /**
+     The real parts of exp(-2*pi*i*t/n) for t in [0,n1).
+   */
+  private final double[] fine_re;
+  /**
+     The imaginary parts of exp(-2*pi*i*t/n) for t in [0,n1).
+   */
+  private final double[] fine_im;
+  /**
+     The real parts of exp(-2*pi*i*t*n1/n) for t in [0,n2).
+   */
+  private final double[] coarse_re;
+  /**
+     The imaginary parts of exp(-2*pi*i*t*n1/n) for t in [0,n2).
+   */
+  private final double[] coarse_im;
+  /**
+     The real parts of the scratch space.
+   */
+  private final double[] scratch_re;
+  /**
+     The imaginary parts of the scratch space.
+   */
+  private final double[] scratch_im;
+
+  /**
+     Create a multi-threaded fast Fourier transform plan with the default
+     threshold
+
+     @param n The transform size, at least 1
+     @param pool The pool running the tasks
+   */
+  public ComplexParallelFFT(int n, ForkJoinPool pool)
+  {
+    this(n, pool, DEFAULT_THRESHOLD);
+  }
+  /**
+     Create a multi-threaded fast Fourier transform plan
+
+     @param n The transform size, at least 1
+     @param pool The pool running the tasks
+     @param threshold The size below which transforms are calculated
+                      sequentially
+   */
+  public ComplexParallelFFT(int n, ForkJoinPool pool, int threshold)
+  {
+    if (n < 1)
+    {
+      throw new IllegalArgumentException("invalid transform size: " + n);
+    }
+    int n1 = (int)Math.sqrt(n);
+    while (n % n1 != 0)
+    {
+      n1--;
+    }
+    this.n = n;
+    this.pool = pool;
+    if (n < threshold || n1 == 1)
+    {
+      this.n1 = 1;
+      this.n2 = n;
+      this.sequential = new ComplexFFT(n);
+      this.fft1 = null;
+      this.fft2 = null;
+      this.fine_re = null;
+      this.fine_im = null;
+      this.coarse_re = null;
+      this.coarse_im = null;
+      this.scratch_re = null;
+      this.scratch_im = null;
+      return;
+    }
+    this.n1 = n1;
+    this.n2 = n / n1;
+    this.sequential = null;
+    this.fft1 = new ComplexFFT(this.n1);
+    this.fft2 = this.n2 == this.n1 ? this.fft1 : new ComplexFFT(this.n2);
+    this.fine_re = new double[this.n1];
+    this.fine_im = new double[this.n1];
+    this.coarse_re = new double[this.n2];
+    this.coarse_im = new double[this.n2];
+    for (int t = 0; t < this.n1; t++)
+    {
+      final double angle = 2*Math.PI*t/n;
+      this.fine_re[t] = Math.cos(angle);
+      this.fine_im[t] = -Math.sin(angle);
+    }
+    for (int t = 0; t < this.n2; t++)
+    {
+      final double angle = 2*Math.PI*((long)t*this.n1)/n;
+      this.coarse_re[t] = Math.cos(angle);
+      this.coarse_im[t] = -Math.sin(angle);
+    }
+    this.scratch_re = new double[n];
+    this.scratch_im = new double[n];
+  }
+
+  /**
+     Returns the transform size.
+
+     @return The transform size
+   */
+  public int size()
+  {
+    return n;
+  }
+
+  /**
+     Calculate the forward transform of a complex buffer array in place.
+
+     @param a The complex buffer array, the size of which must be the
+              transform size
+   */
+  public void fftInPlace(ComplexBufferArray a)
+  {
+    transform(a, false);
+  }
+  /**
+     Calculate the inverse transform of a complex buffer array in place.
+
+     @param a The complex buffer array, the size of which must be the
+              transform size
+   */
+  public void ifftInPlace(ComplexBufferArray a)
+  {
+    transform(a, true);
+  }
+
+  /**
+     Calculate a transform in place.
+
+     @param a The complex buffer array
+     @param inverse Whether to calculate the inverse transform
+   */
+  private void transform(ComplexBufferArray a, boolean inverse)
+  {
+    if (a.size() != n)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + n + ", " + a.size());
+    }
+    if (sequential != null)
+    {
+      if (inverse)
+      {
+        sequential.ifftInPlace(a);
+      }
+      else
+      {
+        sequential.fftInPlace(a);
+      }
+      return;
+    }
+    final double[] re = a.getRealArray(), im = a.getImagArray();
+    final double[] s_re = scratch_re, s_im = scratch_im;
+    // x (n1 by n2) -> s (n2 by n1)
+    run(PHASE_TRANSPOSE, re, im, s_re, s_im, n1, n2, inverse);
+    // transforms of size n1 on the rows of s, then twiddle factors
+    run(PHASE_ROWS_TWIDDLE, s_re, s_im, null, null, n2, n1, inverse);
+    // s (n2 by n1) -> x (n1 by n2)
+    run(PHASE_TRANSPOSE, s_re, s_im, re, im, n2, n1, inverse);
+    // transforms of size n2 on the rows of x
+    run(PHASE_ROWS, re, im, null, null, n1, n2, inverse);
+    // x (n1 by n2) -> s (n2 by n1), which is the result
+    run(PHASE_TRANSPOSE, re, im, s_re, s_im, n1, n2, inverse);
+    run(PHASE_COPY_SCALE, s_re, s_im, re, im, n1, n2, inverse);
+  }
+
+  /**
+     Run one phase of the algorithm in the pool.
+
+     @param phase The phase
+     @param src_re The real parts of the source matrix
+     @param src_im The imaginary parts of the source matrix
+     @param dst_re The real parts of the destination matrix, if any
+     @param dst_im The imaginary parts of the destination matrix, if any
+     @param rows The number of rows in the source matrix
+     @param cols The number of columns in the source matrix
+     @param inverse Whether to calculate the inverse transform
+   */
+  private void run(int phase, double[] src_re, double[] src_im,
+                   double[] dst_re, double[] dst_im, int rows, int cols,
+                   boolean inverse)
+  {
+    final int units, grain;
+    if (phase == PHASE_TRANSPOSE)
+    {
+      units = (rows + TILE - 1) / TILE;
+      grain = Math.max(1, TASK_SIZE / (TILE*cols));
+    }
+    else
+    {
+      units = rows;
+      grain = Math.max(1, TASK_SIZE / cols);
+    }
+    pool.invoke(new Task(phase, src_re, src_im, dst_re, dst_im, rows, cols,
+                         inverse, 0, units, grain));
+  }
+
+  /**
+     A task running one phase of the algorithm on a range of units, which
+     are rows or tile rows.
+   */
+  private final class Task extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final int phase;
+    private final double[] src_re, src_im, dst_re, dst_im;
+    private final int rows, cols;
+    private final boolean inverse;
+    private final int lo, hi, grain;
+
+    Task(int phase, double[] src_re, double[] src_im,
+         double[] dst_re, double[] dst_im, int rows, int cols,
+         boolean inverse, int lo, int hi, int grain)
+    {
+      this.phase = phase;
+      this.src_re = src_re;
+      this.src_im = src_im;
+      this.dst_re = dst_re;
+      this.dst_im = dst_im;
+      this.rows = rows;
+      this.cols = cols;
+      this.inverse = inverse;
+      this.lo = lo;
+      this.hi = hi;
+      this.grain = grain;
+    }
+
+    @Override
+    protected void compute()
+    {
+      if (hi - lo > grain)
+      {
+        final int mid = (lo + hi) >>> 1;
+        invokeAll(new Task(phase, src_re, src_im, dst_re, dst_im, rows, cols,
+                           inverse, lo, mid, grain),
+                  new Task(phase, src_re, src_im, dst_re, dst_im, rows, cols,
+                           inverse, mid, hi, grain));
+        return;
+      }
+      switch (phase)
+      {
+        case PHASE_TRANSPOSE:
+          transpose(src_re, src_im, dst_re, dst_im, rows, cols,
+                    lo*TILE, Math.min(rows, hi*TILE));
+          break;
+        case PHASE_ROWS_TWIDDLE:
+          for (int r = lo; r < hi; r++)
+          {
+            fft1.transform(src_re, src_im, r*cols, inverse);
+            twiddle(src_re, src_im, r, inverse);
+          }
+          break;
+        case PHASE_ROWS:
+          for (int r = lo; r < hi; r++)
+          {
+            fft2.transform(src_re, src_im, r*cols, inverse);
+          }
+          break;
+        default:
+          copyScale(src_re, src_im, dst_re, dst_im,
+                    lo*cols, hi*cols, inverse ? 1.0/n : 1.0);
+          break;
+      }
+    }
+  }
+
+  /**
+     Transpose a range of rows of a matrix in tiles.
+
+     @param src_re The real parts of the source matrix
+     @param src_im The imaginary parts of the source matrix
+     @param dst_re The real parts of the destination matrix
+     @param dst_im The imaginary parts of the destination matrix
+     @param rows The number of rows in the source matrix
+     @param cols The number of columns in the source matrix
+     @param r0 The first row, inclusive
+     @param r1 The last row, exclusive
+   */
+  private static void transpose(double[] src_re, double[] src_im,
+                                double[] dst_re, double[] dst_im,
+                                int rows, int cols, int r0, int r1)
+  {
+    for (int c0 = 0; c0 < cols; c0 += TILE)
+    {
+      final int c1 = Math.min(cols, c0 + TILE);
+      for (int r = r0; r < r1; r++)
+      {
+        final int src_off = r*cols;
+        for (int c = c0; c < c1; c++)
+        {
+          dst_re[c*rows + r] = src_re[src_off + c];
+          dst_im[c*rows + r] = src_im[src_off + c];
+        }
+      }
+    }
+  }
+
+  /**
+     Multiply a row of the transposed matrix by the twiddle factors
+     exp(-2*pi*i*j2*k1/n).
+
+     @param re The real parts of the transposed matrix
+     @param im The imaginary parts of the transposed matrix
+     @param j2 The row index
+     @param inverse Whether to conjugate the twiddle factors
+   */
+  private void twiddle(double[] re, double[] im, int j2, boolean inverse)
+  {
+    final double sgn = inverse ? -1.0 : 1.0;
+    final int off = j2*n1;
+    final int step_hi = j2 / n1, step_lo = j2 % n1;
+    int hi = 0, lo = 0;
+    // j2*k1 = hi*n1 + lo
+    for (int k1 = 0; k1 < n1; k1++)
+    {
+      final double c_re = coarse_re[hi], c_im = sgn*coarse_im[hi];
+      final double f_re = fine_re[lo], f_im = sgn*fine_im[lo];
+      final double w_re = c_re*f_re - c_im*f_im;
+      final double w_im = c_im*f_re + c_re*f_im;
+      final double x_re = re[off + k1], x_im = im[off + k1];
+      re[off + k1] = x_re*w_re - x_im*w_im;
+      im[off + k1] = x_im*w_re + x_re*w_im;
+      hi += step_hi;
+      lo += step_lo;
+      if (lo >= n1)
+      {
+        lo -= n1;
+        hi++;
+      }
+    }
+  }
+
+  /**
+     Copy and scale a range of elements.
+
+     @param src_re The real parts of the source
+     @param src_im The imaginary parts of the source
+     @param dst_re The real parts of the destination
+     @param dst_im The imaginary parts of the destination
+     @param from The first index, inclusive
+     @param to The last index, exclusive
+     @param scale The scale factor
+   */
+  private static void copyScale(double[] src_re, double[] src_im,
+                                double[] dst_re, double[] dst_im,
+                                int from, int to, double scale)
+  {
+    for (int i = from; i < to; i++)
+    {
+      dst_re[i] = src_re[i]*scale;
+      dst_im[i] = src_im[i]*scale;
+    }
+  }
+};
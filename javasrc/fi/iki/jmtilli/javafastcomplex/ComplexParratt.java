@@ -0,0 +1,793 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   A calculator of specular X-ray reflectivity of layered structures by
+   Parratt's recursion, for a fixed grid of glancing angles.
+
+   The structure consists of layers from the ambient medium (index 0) to
+   the substrate (the last index), each having the refractive index
+   n = 1 - delta - i*beta. The wave vector component normal to the
+   surface in layer l is
+
+     kz_l = k0*sqrt(n_0^2*sin^2(theta) + n_l^2 - n_0^2)
+
+   taking the principal root, and the root having a negative imaginary
+   part for negative real arguments, where k0 = 2*pi/wavelength. The
+   reflection coefficient of the interface below layer l is reduced by the
+   Nevot-Croce factor exp(-2*kz_l*kz_{l+1}*s^2) where s is the rms
+   roughness of the interface, and the recursion
+
+     R_l = (b + r_l)/(b*r_l + 1), b = R_{l+1}*exp(-2*i*kz_{l+1}*d_{l+1})
+
+   proceeds from the substrate up to the ambient medium.
+
+   The angles are processed in chunks, in which the recursion runs over
+   the layers with an inner loop over the angles of the chunk, keeping the
+   wave vectors and the partial reflection coefficients of a chunk in
+   per-thread structure-of-arrays scratch space. If a ForkJoinPool is
+   given, the chunks are calculated in parallel.
+
+   The derivatives of the reflectivity with respect to the layer
+   parameters are calculated by the adjoint recursion: the intermediate
+   results of the recursion are kept for a smaller chunk of angles, and a
+   backward pass from the ambient medium to the substrate propagates the
+   derivatives of the reflection coefficient. This costs a few times one
+   reflectivity calculation, independently of the number of parameters.
+
+   A calculator can be used by multiple threads at the same time.
+ */
+public class ComplexParratt {
+  /**
+     The number of angles in a chunk.
+   */
+  private static final int CHUNK = 256;
+  /**
+     The number of angles in a chunk when calculating derivatives.
+   */
+  private static final int GRADIENT_CHUNK = 64;
+  /**
+     The number of per-layer arrays in the derivative scratch space.
+   */
+  private static final int GRADIENT_ARRAYS = 14;
+
+  /**
+     The wave number 2*pi/wavelength.
+   */
+  private final double k0;
+  /**
+     The squared sines of the glancing angles.
+   */
+  private final double[] sin2;
+  /**
+     The pool running the tasks, or null.
+   */
+  private final ForkJoinPool pool;
+  /**
+     Per-thread scratch space for the wave vectors of two layers and the
+     reflection coefficients of a chunk.
+   */
+  private final ThreadLocal<double[][]> scratch =
+      new ThreadLocal<double[][]>() {
+    @Override
+    protected double[][] initialValue()
+    {
+      return new double[6][CHUNK];
+    }
+  };
+  /**
+     Per-thread scratch space for the intermediate results and adjoints of
+     all layers of a chunk, grown to the number of layers when needed.
+   */
+  private final ThreadLocal<double[][]> gradientScratch =
+      new ThreadLocal<double[][]>() {
+    @Override
+    protected double[][] initialValue()
+    {
+      return new double[GRADIENT_ARRAYS][0];
+    }
+  };
+
+  /**
+     Create a sequential reflectivity calculator
+
+     @param wavelength The wavelength, in the same unit as the thicknesses
+                       and roughnesses
+     @param theta The glancing angles in radians
+   */
+  public ComplexParratt(double wavelength, double[] theta)
+  {
+    this(wavelength, theta, null);
+  }
+  /**
+     Create a reflectivity calculator
+
+     @param wavelength The wavelength, in the same unit as the thicknesses
+                       and roughnesses
+     @param theta The glancing angles in radians
+     @param pool The pool running the tasks, or null to calculate the
+                 angles sequentially
+   */
+  public ComplexParratt(double wavelength, double[] theta, ForkJoinPool pool)
+  {
+    if (!(wavelength > 0.0))
+    {
+      throw new IllegalArgumentException("invalid wavelength: " + wavelength);
+    }
+    this.k0 = 2.0*Math.PI/wavelength;
+    this.sin2 = new double[theta.length];
+    for (int j = 0; j < theta.length; j++)
+    {
+      final double s = Math.sin(theta[j]);
+      sin2[j] = s*s;
+    }
+    this.pool = pool;
+  }
+
+  /**
+     Returns the number of angles.
+
+     @return The number of angles
+   */
+  public int size()
+  {
+    return sin2.length;
+  }
+
+  /**
+     Calculate the complex reflection coefficients
+
+     @param delta The decrements of the real parts of the refractive
+                  indices of the layers
+     @param beta The imaginary parts of the refractive indices
+     @param thickness The thicknesses; those of the ambient medium and the
+                      substrate are not used
+     @param roughness The rms roughnesses of the interfaces below each
+                      layer; that of the substrate is not used
+     @param result The complex buffer array for the reflection
+                   coefficients, the size of which must be the number of
+                   angles
+     @return result
+   */
+  public ComplexBufferArray reflectance(double[] delta, double[] beta,
+                                        double[] thickness,
+                                        double[] roughness,
+                                        ComplexBufferArray result)
+  {
+    checkSizes(delta, beta, thickness, roughness, result.size());
+    run(new Job(delta, beta, thickness, roughness,
+                result.getRealArray(), result.getImagArray(), null,
+                null, null, null, null));
+    return result;
+  }
+  /**
+     Calculate the reflectivities, the squared magnitudes of the
+     reflection coefficients
+
+     @param delta The decrements of the real parts of the refractive
+                  indices of the layers
+     @param beta The imaginary parts of the refractive indices
+     @param thickness The thicknesses; those of the ambient medium and the
+                      substrate are not used
+     @param roughness The rms roughnesses of the interfaces below each
+                      layer; that of the substrate is not used
+     @param result The array for the reflectivities, the length of which
+                   must be the number of angles
+     @return result
+   */
+  public double[] reflectivity(double[] delta, double[] beta,
+                               double[] thickness, double[] roughness,
+                               double[] result)
+  {
+    checkSizes(delta, beta, thickness, roughness, result.length);
+    run(new Job(delta, beta, thickness, roughness, null, null, result,
+                null, null, null, null));
+    return result;
+  }
+  /**
+     Calculate the reflectivities and their derivatives with respect to
+     the layer parameters. Element [l][j] of a derivative array is the
+     derivative of the reflectivity at angle j with respect to the
+     parameter of layer l. The derivatives with respect to the unused
+     thicknesses and roughness are zero.
+
+     @param delta The decrements of the real parts of the refractive
+                  indices of the layers
+     @param beta The imaginary parts of the refractive indices
+     @param thickness The thicknesses; those of the ambient medium and the
+                      substrate are not used
+     @param roughness The rms roughnesses of the interfaces below each
+                      layer; that of the substrate is not used
+     @param result The array for the reflectivities, the length of which
+                   must be the number of angles
+     @param d_delta The derivatives with respect to delta, or null
+     @param d_beta The derivatives with respect to beta, or null
+     @param d_thickness The derivatives with respect to the thicknesses,
+                        or null
+     @param d_roughness The derivatives with respect to the roughnesses,
+                        or null
+     @return result
+   */
+  public double[] reflectivity(double[] delta, double[] beta,
+                               double[] thickness, double[] roughness,
+                               double[] result,
+                               double[][] d_delta, double[][] d_beta,
+                               double[][] d_thickness,
+                               double[][] d_roughness)
+  {
+    checkSizes(delta, beta, thickness, roughness, result.length);
+    checkDerivatives(delta.length, d_delta);
+    checkDerivatives(delta.length, d_beta);
+    checkDerivatives(delta.length, d_thickness);
+    checkDerivatives(delta.length, d_roughness);
+    run(new Job(delta, beta, thickness, roughness, null, null, result,
+                d_delta, d_beta, d_thickness, d_roughness));
+    return result;
+  }
+
+  private void checkSizes(double[] delta, double[] beta, double[] thickness,
+                          double[] roughness, int resultSize)
+  {
+    final int layers = delta.length;
+    if (layers == 0 || beta.length != layers ||
+        thickness.length != layers || roughness.length != layers)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + delta.length + ", " + beta.length + ", " +
+          thickness.length + ", " + roughness.length);
+    }
+    if (resultSize != sin2.length)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + sin2.length + ", " + resultSize);
+    }
+  }
+
+  private void checkDerivatives(int layers, double[][] d)
+  {
+    if (d == null)
+    {
+      return;
+    }
+    if (d.length != layers)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + layers + ", " + d.length);
+    }
+    for (int l = 0; l < layers; l++)
+    {
+      if (d[l].length != sin2.length)
+      {
+        throw new IllegalArgumentException(
+            "size mismatch: " + sin2.length + ", " + d[l].length);
+      }
+    }
+  }
+
+  private void run(Job job)
+  {
+    final int n = sin2.length;
+    if (pool == null || n <= CHUNK)
+    {
+      for (int lo = 0; lo < n; lo += CHUNK)
+      {
+        job.calculate(lo, Math.min(n, lo + CHUNK));
+      }
+    }
+    else
+    {
+      pool.invoke(new Task(job, 0, n));
+    }
+  }
+
+  /**
+     Calculate the normal wave vector components of a layer for a chunk.
+
+     @param delta The decrements of the real parts of the refractive
+                  indices
+     @param beta The imaginary parts of the refractive indices
+     @param l The layer
+     @param lo The first angle, inclusive
+     @param len The number of angles
+     @param kz_re The array for the real parts
+     @param kz_im The array for the imaginary parts
+     @param off The offset of the first angle in the arrays
+   */
+  private void waveVectors(double[] delta, double[] beta, int l,
+                           int lo, int len, double[] kz_re, double[] kz_im,
+                           int off)
+  {
+    final double n0_re = 1.0 - delta[0], n0_im = -beta[0];
+    final double nl_re = 1.0 - delta[l], nl_im = -beta[l];
+    // n_l^2 - n_0^2 = (n_l - n_0)*(n_l + n_0) without cancellation
+    final double a_re = delta[0] - delta[l], a_im = beta[0] - beta[l];
+    final double b_re = nl_re + n0_re, b_im = nl_im + n0_im;
+    final double kk = k0*k0;
+    final double c_re = kk*(a_re*b_re - a_im*b_im);
+    final double c_im = kk*(a_re*b_im + a_im*b_re);
+    final double s_re = kk*(n0_re*n0_re - n0_im*n0_im);
+    final double s_im = kk*2.0*n0_re*n0_im;
+    for (int j = 0; j < len; j++)
+    {
+      final double s2 = sin2[lo + j];
+      final double z_re = s_re*s2 + c_re, z_im = s_im*s2 + c_im;
+      final double r = Math.sqrt(z_re*z_re + z_im*z_im);
+      // the smaller component from the larger one without cancellation
+      if (z_re >= 0.0)
+      {
+        final double t = Math.sqrt(0.5*(r + z_re));
+        kz_re[off + j] = t;
+        kz_im[off + j] = t == 0.0 ? 0.0 : 0.5*z_im/t;
+      }
+      else
+      {
+        final double t = Math.sqrt(0.5*(r - z_re));
+        kz_re[off + j] = 0.5*Math.abs(z_im)/t;
+        kz_im[off + j] = z_im > 0.0 ? t : -t;
+      }
+    }
+  }
+
+  private void chunk(Job job, int lo, int hi)
+  {
+    final double[] delta = job.delta, beta = job.beta;
+    final double[] thickness = job.thickness, roughness = job.roughness;
+    final int len = hi - lo;
+    final int layers = delta.length;
+    final double[][] s = scratch.get();
+    double[] ku_re = s[0], ku_im = s[1], kl_re = s[2], kl_im = s[3];
+    final double[] r_re = s[4], r_im = s[5];
+    for (int j = 0; j < len; j++)
+    {
+      r_re[j] = 0.0;
+      r_im[j] = 0.0;
+    }
+    if (layers > 1)
+    {
+      waveVectors(delta, beta, layers - 1, lo, len, kl_re, kl_im, 0);
+    }
+    for (int l = layers - 2; l >= 0; l--)
+    {
+      waveVectors(delta, beta, l, lo, len, ku_re, ku_im, 0);
+      final double sigma2 = -2.0*roughness[l]*roughness[l];
+      final boolean substrate = l == layers - 2;
+      final double d2 = -2.0*thickness[l + 1];
+      for (int j = 0; j < len; j++)
+      {
+        final double u_re = ku_re[j], u_im = ku_im[j];
+        final double w_re = kl_re[j], w_im = kl_im[j];
+        // r = (ku - kl)/(ku + kl)
+        final double p_re = u_re + w_re, p_im = u_im + w_im;
+        final double pp = p_re*p_re + p_im*p_im;
+        double ri_re = 0.0, ri_im = 0.0;
+        if (pp != 0.0)
+        {
+          final double m_re = u_re - w_re, m_im = u_im - w_im;
+          ri_re = (m_re*p_re + m_im*p_im)/pp;
+          ri_im = (m_im*p_re - m_re*p_im)/pp;
+        }
+        if (sigma2 != 0.0)
+        {
+          // r *= exp(-2*s^2*ku*kl)
+          final double e_re = sigma2*(u_re*w_re - u_im*w_im);
+          final double e_im = sigma2*(u_re*w_im + u_im*w_re);
+          final double mag = Math.exp(e_re);
+          final double f_re = mag*Math.cos(e_im), f_im = mag*Math.sin(e_im);
+          final double t = ri_re*f_re - ri_im*f_im;
+          ri_im = ri_re*f_im + ri_im*f_re;
+          ri_re = t;
+        }
+        if (substrate)
+        {
+          r_re[j] = ri_re;
+          r_im[j] = ri_im;
+          continue;
+        }
+        // b = R*exp(-2*i*kl*d)
+        final double mag = Math.exp(-d2*w_im);
+        final double f_re = mag*Math.cos(d2*w_re);
+        final double f_im = mag*Math.sin(d2*w_re);
+        final double b_re = r_re[j]*f_re - r_im[j]*f_im;
+        final double b_im = r_re[j]*f_im + r_im[j]*f_re;
+        // R = (b + r)/(b*r + 1)
+        final double n_re = b_re + ri_re, n_im = b_im + ri_im;
+        final double q_re = b_re*ri_re - b_im*ri_im + 1.0;
+        final double q_im = b_re*ri_im + b_im*ri_re;
+        final double qq = q_re*q_re + q_im*q_im;
+        r_re[j] = (n_re*q_re + n_im*q_im)/qq;
+        r_im[j] = (n_im*q_re - n_re*q_im)/qq;
+      }
+      double[] t = ku_re;
+      ku_re = kl_re;
+      kl_re = t;
+      t = ku_im;
+      ku_im = kl_im;
+      kl_im = t;
+    }
+    if (job.out_abs2 != null)
+    {
+      for (int j = 0; j < len; j++)
+      {
+        job.out_abs2[lo + j] = r_re[j]*r_re[j] + r_im[j]*r_im[j];
+      }
+    }
+    else
+    {
+      System.arraycopy(r_re, 0, job.out_re, lo, len);
+      System.arraycopy(r_im, 0, job.out_im, lo, len);
+    }
+  }
+
+  private static void clear(double[][] d, int lo, int hi)
+  {
+    if (d == null)
+    {
+      return;
+    }
+    for (int l = 0; l < d.length; l++)
+    {
+      for (int j = lo; j < hi; j++)
+      {
+        d[l][j] = 0.0;
+      }
+    }
+  }
+
+  /**
+     Calculate the reflectivities and their derivatives for a chunk of at
+     most GRADIENT_CHUNK angles.
+
+     The forward recursion keeps kz_l, R_l, f_l = (kz_l - kz_{l+1})/(kz_l +
+     kz_{l+1}), the roughness factor g_l and E_l = exp(-2*i*kz_{l+1}*d_{l+1})
+     of every layer. The backward pass, seeded with conj(R_0), propagates
+     the adjoint of R_l down the layers and accumulates the adjoints of the
+     wave vectors, so that each derivative of |R_0|^2 is twice the real part
+     of the adjoint of the parameter.
+
+     @param job The calculation
+     @param lo The first angle, inclusive
+     @param hi The last angle, exclusive
+   */
+  private void gradientChunk(Job job, int lo, int hi)
+  {
+    final double[] delta = job.delta, beta = job.beta;
+    final double[] thickness = job.thickness, roughness = job.roughness;
+    final int len = hi - lo;
+    final int layers = delta.length;
+    final int g = GRADIENT_CHUNK;
+    double[][] s = gradientScratch.get();
+    if (s[0].length < layers*g)
+    {
+      s = new double[GRADIENT_ARRAYS][layers*g];
+      gradientScratch.set(s);
+    }
+    final double[] kz_re = s[0], kz_im = s[1], r_re = s[2], r_im = s[3];
+    final double[] e_re = s[4], e_im = s[5], f_re = s[6], f_im = s[7];
+    final double[] g_re = s[8], g_im = s[9], kb_re = s[10], kb_im = s[11];
+    final double[] a_re = s[12], a_im = s[13];
+    clear(job.d_delta, lo, hi);
+    clear(job.d_beta, lo, hi);
+    clear(job.d_thickness, lo, hi);
+    clear(job.d_roughness, lo, hi);
+    for (int l = 0; l < layers; l++)
+    {
+      waveVectors(delta, beta, l, lo, len, kz_re, kz_im, l*g);
+      for (int j = 0; j < len; j++)
+      {
+        kb_re[l*g + j] = 0.0;
+        kb_im[l*g + j] = 0.0;
+      }
+    }
+    for (int j = 0; j < len; j++)
+    {
+      r_re[(layers - 1)*g + j] = 0.0;
+      r_im[(layers - 1)*g + j] = 0.0;
+    }
+    // forward recursion keeping the intermediate results
+    for (int l = layers - 2; l >= 0; l--)
+    {
+      final int o = l*g, p = o + g;
+      final double sigma2 = -2.0*roughness[l]*roughness[l];
+      final boolean substrate = l == layers - 2;
+      final double d2 = -2.0*thickness[l + 1];
+      for (int j = 0; j < len; j++)
+      {
+        final double u_re = kz_re[o + j], u_im = kz_im[o + j];
+        final double w_re = kz_re[p + j], w_im = kz_im[p + j];
+        final double p_re = u_re + w_re, p_im = u_im + w_im;
+        final double pp = p_re*p_re + p_im*p_im;
+        double ff_re = 0.0, ff_im = 0.0;
+        if (pp != 0.0)
+        {
+          final double m_re = u_re - w_re, m_im = u_im - w_im;
+          ff_re = (m_re*p_re + m_im*p_im)/pp;
+          ff_im = (m_im*p_re - m_re*p_im)/pp;
+        }
+        double gg_re = 1.0, gg_im = 0.0;
+        if (sigma2 != 0.0)
+        {
+          final double x_re = sigma2*(u_re*w_re - u_im*w_im);
+          final double x_im = sigma2*(u_re*w_im + u_im*w_re);
+          final double mag = Math.exp(x_re);
+          gg_re = mag*Math.cos(x_im);
+          gg_im = mag*Math.sin(x_im);
+        }
+        f_re[o + j] = ff_re;
+        f_im[o + j] = ff_im;
+        g_re[o + j] = gg_re;
+        g_im[o + j] = gg_im;
+        final double ri_re = ff_re*gg_re - ff_im*gg_im;
+        final double ri_im = ff_re*gg_im + ff_im*gg_re;
+        if (substrate)
+        {
+          r_re[o + j] = ri_re;
+          r_im[o + j] = ri_im;
+          continue;
+        }
+        final double mag = Math.exp(-d2*w_im);
+        final double ee_re = mag*Math.cos(d2*w_re);
+        final double ee_im = mag*Math.sin(d2*w_re);
+        e_re[o + j] = ee_re;
+        e_im[o + j] = ee_im;
+        final double b_re = r_re[p + j]*ee_re - r_im[p + j]*ee_im;
+        final double b_im = r_re[p + j]*ee_im + r_im[p + j]*ee_re;
+        final double n_re = b_re + ri_re, n_im = b_im + ri_im;
+        final double q_re = b_re*ri_re - b_im*ri_im + 1.0;
+        final double q_im = b_re*ri_im + b_im*ri_re;
+        final double qq = q_re*q_re + q_im*q_im;
+        r_re[o + j] = (n_re*q_re + n_im*q_im)/qq;
+        r_im[o + j] = (n_im*q_re - n_re*q_im)/qq;
+      }
+    }
+    for (int j = 0; j < len; j++)
+    {
+      job.out_abs2[lo + j] = r_re[j]*r_re[j] + r_im[j]*r_im[j];
+      a_re[j] = r_re[j];
+      a_im[j] = -r_im[j];
+    }
+    // backward pass from the ambient medium to the substrate
+    for (int l = 0; l < layers - 1; l++)
+    {
+      final int o = l*g, p = o + g;
+      final double sigma = roughness[l];
+      final double sigma2 = -2.0*sigma*sigma;
+      final boolean substrate = l == layers - 2;
+      final double d = thickness[l + 1];
+      for (int j = 0; j < len; j++)
+      {
+        final double u_re = kz_re[o + j], u_im = kz_im[o + j];
+        final double w_re = kz_re[p + j], w_im = kz_im[p + j];
+        final double ff_re = f_re[o + j], ff_im = f_im[o + j];
+        final double gg_re = g_re[o + j], gg_im = g_im[o + j];
+        double ar_re = a_re[j], ar_im = a_im[j];
+        if (!substrate)
+        {
+          final double ri_re = ff_re*gg_re - ff_im*gg_im;
+          final double ri_im = ff_re*gg_im + ff_im*gg_re;
+          final double rn_re = r_re[p + j], rn_im = r_im[p + j];
+          final double ee_re = e_re[o + j], ee_im = e_im[o + j];
+          final double b_re = rn_re*ee_re - rn_im*ee_im;
+          final double b_im = rn_re*ee_im + rn_im*ee_re;
+          final double q_re = b_re*ri_re - b_im*ri_im + 1.0;
+          final double q_im = b_re*ri_im + b_im*ri_re;
+          // t = A/q^2
+          final double q2_re = q_re*q_re - q_im*q_im, q2_im = 2.0*q_re*q_im;
+          final double qq = q2_re*q2_re + q2_im*q2_im;
+          final double t_re = (a_re[j]*q2_re + a_im[j]*q2_im)/qq;
+          final double t_im = (a_im[j]*q2_re - a_re[j]*q2_im)/qq;
+          // dR/db = (1 - r^2)/q^2, dR/dr = (1 - b^2)/q^2
+          final double x_re = 1.0 - (ri_re*ri_re - ri_im*ri_im);
+          final double x_im = -2.0*ri_re*ri_im;
+          final double ab_re = t_re*x_re - t_im*x_im;
+          final double ab_im = t_re*x_im + t_im*x_re;
+          final double y_re = 1.0 - (b_re*b_re - b_im*b_im);
+          final double y_im = -2.0*b_re*b_im;
+          ar_re = t_re*y_re - t_im*y_im;
+          ar_im = t_re*y_im + t_im*y_re;
+          // the adjoint of R_{l+1} through b = R_{l+1}*E
+          a_re[j] = ab_re*ee_re - ab_im*ee_im;
+          a_im[j] = ab_re*ee_im + ab_im*ee_re;
+          // the adjoint of E is ab*R_{l+1}, and dE = -2*i*E*(d dw + w dd)
+          final double ae_re = ab_re*rn_re - ab_im*rn_im;
+          final double ae_im = ab_re*rn_im + ab_im*rn_re;
+          final double m_re = ae_re*ee_re - ae_im*ee_im;
+          final double m_im = ae_re*ee_im + ae_im*ee_re;
+          // -2*i*m
+          final double c_re = 2.0*m_im, c_im = -2.0*m_re;
+          kb_re[p + j] += c_re*d;
+          kb_im[p + j] += c_im*d;
+          if (job.d_thickness != null)
+          {
+            job.d_thickness[l + 1][lo + j] = 2.0*(c_re*w_re - c_im*w_im);
+          }
+        }
+        // r = f*g
+        final double fb_re = ar_re*gg_re - ar_im*gg_im;
+        final double fb_im = ar_re*gg_im + ar_im*gg_re;
+        final double sum_re = u_re + w_re, sum_im = u_im + w_im;
+        final double ss = sum_re*sum_re + sum_im*sum_im;
+        if (ss != 0.0)
+        {
+          // df/du = 2*w/(u + w)^2, df/dw = -2*u/(u + w)^2
+          final double s2_re = sum_re*sum_re - sum_im*sum_im;
+          final double s2_im = 2.0*sum_re*sum_im;
+          final double s4 = s2_re*s2_re + s2_im*s2_im;
+          final double c_re = 2.0*(fb_re*s2_re + fb_im*s2_im)/s4;
+          final double c_im = 2.0*(fb_im*s2_re - fb_re*s2_im)/s4;
+          kb_re[o + j] += c_re*w_re - c_im*w_im;
+          kb_im[o + j] += c_re*w_im + c_im*w_re;
+          kb_re[p + j] -= c_re*u_re - c_im*u_im;
+          kb_im[p + j] -= c_re*u_im + c_im*u_re;
+        }
+        if (sigma2 != 0.0)
+        {
+          // g = exp(-2*s^2*u*w)
+          final double gb_re = ar_re*ff_re - ar_im*ff_im;
+          final double gb_im = ar_re*ff_im + ar_im*ff_re;
+          final double c_re = gb_re*gg_re - gb_im*gg_im;
+          final double c_im = gb_re*gg_im + gb_im*gg_re;
+          kb_re[o + j] += sigma2*(c_re*w_re - c_im*w_im);
+          kb_im[o + j] += sigma2*(c_re*w_im + c_im*w_re);
+          kb_re[p + j] += sigma2*(c_re*u_re - c_im*u_im);
+          kb_im[p + j] += sigma2*(c_re*u_im + c_im*u_re);
+          if (job.d_roughness != null)
+          {
+            final double uw_re = u_re*w_re - u_im*w_im;
+            final double uw_im = u_re*w_im + u_im*w_re;
+            job.d_roughness[l][lo + j] =
+                -8.0*sigma*(c_re*uw_re - c_im*uw_im);
+          }
+        }
+      }
+    }
+    if (job.d_delta == null && job.d_beta == null)
+    {
+      return;
+    }
+    // kz_l^2 = k0^2*(n_l^2 - n_0^2*cos^2(theta)), n = 1 - delta - i*beta
+    final double kk = k0*k0;
+    final double n0_re = 1.0 - delta[0], n0_im = -beta[0];
+    for (int j = 0; j < len; j++)
+    {
+      a_re[j] = 0.0;
+      a_im[j] = 0.0;
+    }
+    for (int l = 0; l < layers; l++)
+    {
+      final int o = l*g;
+      final double nl_re = 1.0 - delta[l], nl_im = -beta[l];
+      for (int j = 0; j < len; j++)
+      {
+        final double k_re = kz_re[o + j], k_im = kz_im[o + j];
+        final double kk2 = k_re*k_re + k_im*k_im;
+        if (kk2 == 0.0)
+        {
+          continue;
+        }
+        // c = k0^2*adjoint/kz
+        final double c_re = kk*(kb_re[o + j]*k_re + kb_im[o + j]*k_im)/kk2;
+        final double c_im = kk*(kb_im[o + j]*k_re - kb_re[o + j]*k_im)/kk2;
+        final double s2 = sin2[lo + j];
+        if (l == 0)
+        {
+          a_re[j] += s2*(c_re*n0_re - c_im*n0_im);
+          a_im[j] += s2*(c_re*n0_im + c_im*n0_re);
+          continue;
+        }
+        a_re[j] -= (1.0 - s2)*(c_re*n0_re - c_im*n0_im);
+        a_im[j] -= (1.0 - s2)*(c_re*n0_im + c_im*n0_re);
+        final double x_re = c_re*nl_re - c_im*nl_im;
+        final double x_im = c_re*nl_im + c_im*nl_re;
+        if (job.d_delta != null)
+        {
+          job.d_delta[l][lo + j] = -2.0*x_re;
+        }
+        if (job.d_beta != null)
+        {
+          job.d_beta[l][lo + j] = 2.0*x_im;
+        }
+      }
+    }
+    for (int j = 0; j < len; j++)
+    {
+      if (job.d_delta != null)
+      {
+        job.d_delta[0][lo + j] = -2.0*a_re[j];
+      }
+      if (job.d_beta != null)
+      {
+        job.d_beta[0][lo + j] = 2.0*a_im[j];
+      }
+    }
+  }
+
+  /**
+     The parameters and the results of one calculation.
+   */
+  private final class Job {
+    private final double[] delta, beta, thickness, roughness;
+    private final double[] out_re, out_im, out_abs2;
+    private final double[][] d_delta, d_beta, d_thickness, d_roughness;
+
+    Job(double[] delta, double[] beta, double[] thickness,
+        double[] roughness, double[] out_re, double[] out_im,
+        double[] out_abs2, double[][] d_delta, double[][] d_beta,
+        double[][] d_thickness, double[][] d_roughness)
+    {
+      this.delta = delta;
+      this.beta = beta;
+      this.thickness = thickness;
+      this.roughness = roughness;
+      this.out_re = out_re;
+      this.out_im = out_im;
+      this.out_abs2 = out_abs2;
+      this.d_delta = d_delta;
+      this.d_beta = d_beta;
+      this.d_thickness = d_thickness;
+      this.d_roughness = d_roughness;
+    }
+
+    void calculate(int lo, int hi)
+    {
+      if (d_delta == null && d_beta == null && d_thickness == null &&
+          d_roughness == null)
+      {
+        chunk(this, lo, hi);
+        return;
+      }
+      for (int j = lo; j < hi; j += GRADIENT_CHUNK)
+      {
+        gradientChunk(this, j, Math.min(hi, j + GRADIENT_CHUNK));
+      }
+    }
+  }
+
+  private final class Task extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final Job job;
+    private final int lo, hi;
+
+    Task(Job job, int lo, int hi)
+    {
+      this.job = job;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute()
+    {
+      if (hi - lo > CHUNK)
+      {
+        // split at a chunk boundary
+        final int mid = lo + ((hi - lo + 2*CHUNK - 1)/(2*CHUNK))*CHUNK;
+        invokeAll(new Task(job, lo, mid), new Task(job, mid, hi));
+        return;
+      }
+      job.calculate(lo, hi);
+    }
+  }
+};
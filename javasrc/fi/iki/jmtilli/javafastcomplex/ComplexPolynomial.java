@@ -0,0 +1,400 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.io.Serializable;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   An immutable complex polynomial.
+
+   The coefficients are stored in order of ascending powers in separate
+   arrays of real and imaginary parts. Evaluation uses Horner's scheme
+   without allocating objects. When evaluating at many points, four
+   independent Horner recurrences are interleaved, so that the latency of
+   each multiply-add of one recurrence is hidden by the others and the
+   evaluation is limited by throughput instead of latency.
+
+   Evaluation at the n-th roots of unity uses a fast Fourier transform of
+   the coefficients folded to length n, taking O(n*log(n)) operations
+   instead of O(n*degree).
+ */
+public class ComplexPolynomial implements Serializable {
+  private static final long serialVersionUID = 2719484015613325431L;
+  /**
+     The real parts of the coefficients in order of ascending powers.
+     @serial
+   */
+  private final double[] re;
+  /**
+     The imaginary parts of the coefficients in order of ascending powers.
+     @serial
+   */
+  private final double[] im;
+
+  /**
+     Create a polynomial
+
+     @param coefficients The coefficients in order of ascending powers, at
+                         least one, which are copied
+   */
+  public ComplexPolynomial(ComplexBufferArray coefficients)
+  {
+    this(coefficients.getRealArray().clone(),
+         coefficients.getImagArray().clone());
+  }
+  /**
+     Create a polynomial from arrays that are not copied.
+
+     @param re The real parts of the coefficients
+     @param im The imaginary parts of the coefficients
+   */
+  private ComplexPolynomial(double[] re, double[] im)
+  {
+    if (re.length == 0)
+    {
+      throw new IllegalArgumentException("no coefficients");
+    }
+    this.re = re;
+    this.im = im;
+  }
+
+  /**
+     Returns the degree, which is the number of coefficients minus one even
+     if the leading coefficients are zero.
+
+     @return The degree
+   */
+  public int degree()
+  {
+    return re.length - 1;
+  }
+  /**
+     Returns a coefficient.
+
+     @param k The power
+     @return The coefficient of z^k
+   */
+  public Complex getCoefficient(int k)
+  {
+    return new Complex(re[k], im[k]);
+  }
+  /**
+     Returns the real part of a coefficient.
+
+     @param k The power
+     @return The real part of the coefficient of z^k
+   */
+  public double getCoefficientReal(int k)
+  {
+    return re[k];
+  }
+  /**
+     Returns the imaginary part of a coefficient.
+
+     @param k The power
+     @return The imaginary part of the coefficient of z^k
+   */
+  public double getCoefficientImag(int k)
+  {
+    return im[k];
+  }
+  /**
+     Returns the derivative.
+
+     @return The derivative, a constant zero for constant polynomials
+   */
+  public ComplexPolynomial derivative()
+  {
+    final int n = re.length;
+    if (n == 1)
+    {
+      return new ComplexPolynomial(new double[1], new double[1]);
+    }
+    final double[] d_re = new double[n - 1], d_im = new double[n - 1];
+    for (int k = 1; k < n; k++)
+    {
+      d_re[k - 1] = k*re[k];
+      d_im[k - 1] = k*im[k];
+    }
+    return new ComplexPolynomial(d_re, d_im);
+  }
+
+  /**
+     Evaluate the polynomial
+
+     @param z_re The real part of the point
+     @param z_im The imaginary part of the point
+     @param result The complex buffer for the value
+     @return result
+   */
+  public ComplexBuffer evaluate(double z_re, double z_im,
+                                ComplexBuffer result)
+  {
+    final int n = re.length;
+    double p_re = re[n - 1], p_im = im[n - 1];
+    for (int k = n - 2; k >= 0; k--)
+    {
+      final double t = p_re*z_re - p_im*z_im + re[k];
+      p_im = p_re*z_im + p_im*z_re + im[k];
+      p_re = t;
+    }
+    return result.set(p_re, p_im);
+  }
+  /**
+     Evaluate the polynomial
+
+     @param z The point
+     @param result The complex buffer for the value
+     @return result
+   */
+  public ComplexBuffer evaluate(ComplexNumber z, ComplexBuffer result)
+  {
+    return evaluate(z.getReal(), z.getImag(), result);
+  }
+  /**
+     Evaluate the polynomial at many points
+
+     @param z The points
+     @param result The complex buffer array for the values, the size of
+                   which must be the number of points; may be z
+     @return result
+   */
+  public ComplexBufferArray evaluate(ComplexBufferArray z,
+                                     ComplexBufferArray result)
+  {
+    if (z.size() != result.size())
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + z.size() + ", " + result.size());
+    }
+    final double[] z_re = z.getRealArray(), z_im = z.getImagArray();
+    final double[] out_re = result.getRealArray();
+    final double[] out_im = result.getImagArray();
+    final int n = re.length, size = z.size();
+    final double c_re = re[n - 1], c_im = im[n - 1];
+    int i = 0;
+    for (; i + 4 <= size; i += 4)
+    {
+      final double x0 = z_re[i], y0 = z_im[i];
+      final double x1 = z_re[i + 1], y1 = z_im[i + 1];
+      final double x2 = z_re[i + 2], y2 = z_im[i + 2];
+      final double x3 = z_re[i + 3], y3 = z_im[i + 3];
+      double p0 = c_re, q0 = c_im, p1 = c_re, q1 = c_im;
+      double p2 = c_re, q2 = c_im, p3 = c_re, q3 = c_im;
+      for (int k = n - 2; k >= 0; k--)
+      {
+        final double a = re[k], b = im[k];
+        final double t0 = p0*x0 - q0*y0 + a;
+        q0 = p0*y0 + q0*x0 + b;
+        p0 = t0;
+        final double t1 = p1*x1 - q1*y1 + a;
+        q1 = p1*y1 + q1*x1 + b;
+        p1 = t1;
+        final double t2 = p2*x2 - q2*y2 + a;
+        q2 = p2*y2 + q2*x2 + b;
+        p2 = t2;
+        final double t3 = p3*x3 - q3*y3 + a;
+        q3 = p3*y3 + q3*x3 + b;
+        p3 = t3;
+      }
+      out_re[i] = p0;
+      out_im[i] = q0;
+      out_re[i + 1] = p1;
+      out_im[i + 1] = q1;
+      out_re[i + 2] = p2;
+      out_im[i + 2] = q2;
+      out_re[i + 3] = p3;
+      out_im[i + 3] = q3;
+    }
+    for (; i < size; i++)
+    {
+      final double x = z_re[i], y = z_im[i];
+      double p = c_re, q = c_im;
+      for (int k = n - 2; k >= 0; k--)
+      {
+        final double t = p*x - q*y + re[k];
+        q = p*y + q*x + im[k];
+        p = t;
+      }
+      out_re[i] = p;
+      out_im[i] = q;
+    }
+    return result;
+  }
+
+  /**
+     Evaluate the polynomial and its derivative
+
+     @param z_re The real part of the point
+     @param z_im The imaginary part of the point
+     @param value The complex buffer for the value
+     @param derivative The complex buffer for the derivative
+   */
+  public void evaluateWithDerivative(double z_re, double z_im,
+                                     ComplexBuffer value,
+                                     ComplexBuffer derivative)
+  {
+    final int n = re.length;
+    double p_re = re[n - 1], p_im = im[n - 1];
+    double d_re = 0.0, d_im = 0.0;
+    for (int k = n - 2; k >= 0; k--)
+    {
+      final double s = d_re*z_re - d_im*z_im + p_re;
+      d_im = d_re*z_im + d_im*z_re + p_im;
+      d_re = s;
+      final double t = p_re*z_re - p_im*z_im + re[k];
+      p_im = p_re*z_im + p_im*z_re + im[k];
+      p_re = t;
+    }
+    value.set(p_re, p_im);
+    derivative.set(d_re, d_im);
+  }
+  /**
+     Evaluate the polynomial and its derivative
+
+     @param z The point
+     @param value The complex buffer for the value
+     @param derivative The complex buffer for the derivative
+   */
+  public void evaluateWithDerivative(ComplexNumber z, ComplexBuffer value,
+                                     ComplexBuffer derivative)
+  {
+    evaluateWithDerivative(z.getReal(), z.getImag(), value, derivative);
+  }
+  /**
+     Evaluate the polynomial and its derivative at many points
+
+     @param z The points
+     @param values The complex buffer array for the values, the size of
+                   which must be the number of points
+     @param derivatives The complex buffer array for the derivatives, the
+                        size of which must be the number of points
+   */
+  public void evaluateWithDerivative(ComplexBufferArray z,
+                                     ComplexBufferArray values,
+                                     ComplexBufferArray derivatives)
+  {
+    if (z.size() != values.size() || z.size() != derivatives.size())
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + z.size() + ", " + values.size() + ", " +
+          derivatives.size());
+    }
+    final double[] z_re = z.getRealArray(), z_im = z.getImagArray();
+    final double[] v_re = values.getRealArray();
+    final double[] v_im = values.getImagArray();
+    final double[] dv_re = derivatives.getRealArray();
+    final double[] dv_im = derivatives.getImagArray();
+    final int n = re.length, size = z.size();
+    final double c_re = re[n - 1], c_im = im[n - 1];
+    int i = 0;
+    for (; i + 2 <= size; i += 2)
+    {
+      final double x0 = z_re[i], y0 = z_im[i];
+      final double x1 = z_re[i + 1], y1 = z_im[i + 1];
+      double p0 = c_re, q0 = c_im, p1 = c_re, q1 = c_im;
+      double d0 = 0.0, e0 = 0.0, d1 = 0.0, e1 = 0.0;
+      for (int k = n - 2; k >= 0; k--)
+      {
+        final double a = re[k], b = im[k];
+        final double s0 = d0*x0 - e0*y0 + p0;
+        e0 = d0*y0 + e0*x0 + q0;
+        d0 = s0;
+        final double s1 = d1*x1 - e1*y1 + p1;
+        e1 = d1*y1 + e1*x1 + q1;
+        d1 = s1;
+        final double t0 = p0*x0 - q0*y0 + a;
+        q0 = p0*y0 + q0*x0 + b;
+        p0 = t0;
+        final double t1 = p1*x1 - q1*y1 + a;
+        q1 = p1*y1 + q1*x1 + b;
+        p1 = t1;
+      }
+      v_re[i] = p0;
+      v_im[i] = q0;
+      v_re[i + 1] = p1;
+      v_im[i + 1] = q1;
+      dv_re[i] = d0;
+      dv_im[i] = e0;
+      dv_re[i + 1] = d1;
+      dv_im[i + 1] = e1;
+    }
+    for (; i < size; i++)
+    {
+      final double x = z_re[i], y = z_im[i];
+      double p = c_re, q = c_im, d = 0.0, e = 0.0;
+      for (int k = n - 2; k >= 0; k--)
+      {
+        final double s = d*x - e*y + p;
+        e = d*y + e*x + q;
+        d = s;
+        final double t = p*x - q*y + re[k];
+        q = p*y + q*x + im[k];
+        p = t;
+      }
+      v_re[i] = p;
+      v_im[i] = q;
+      dv_re[i] = d;
+      dv_im[i] = e;
+    }
+  }
+
+  /**
+     Evaluate the polynomial at the roots of unity exp(2*pi*i*k/n) for k in
+     [0,n), where n is the transform size.
+
+     @param fft The transform plan
+     @param result The complex buffer array for the values, the size of
+                   which must be the transform size
+     @return result
+   */
+  public ComplexBufferArray evaluateRootsOfUnity(ComplexFFT fft,
+                                                 ComplexBufferArray result)
+  {
+    final int size = fft.size();
+    if (result.size() != size)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + size + ", " + result.size());
+    }
+    final double[] out_re = result.getRealArray();
+    final double[] out_im = result.getImagArray();
+    // z^k = z^(k mod n) at the roots of unity
+    for (int k = 0; k < size && k < re.length; k++)
+    {
+      out_re[k] = re[k];
+      out_im[k] = im[k];
+    }
+    for (int k = re.length; k < size; k++)
+    {
+      out_re[k] = 0.0;
+      out_im[k] = 0.0;
+    }
+    for (int k = size; k < re.length; k++)
+    {
+      out_re[k % size] += re[k];
+      out_im[k % size] += im[k];
+    }
+    fft.transform(out_re, out_im, 0, true);
+    return result;
+  }
+};
@@ -0,0 +1,711 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.util.Arrays;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   A QR decomposition of a complex matrix having at least as many rows as
+   columns, for solving least squares problems without forming the normal
+   equations.
+
+   The decomposition A*P = Q*R consists of Householder reflections
+   H = I - tau*v*v^H with the same conventions as LAPACK, so that the
+   diagonal of R is real. Without pivoting, P = I and the matrix is
+   factored in panels of columns: the reflections of a panel are
+   accumulated into the compact WY form I - V*T*V^H and applied to the
+   remaining columns with two passes over the rows, so that a tall matrix
+   is read only a few times per panel instead of twice per column. The
+   rows of the matrix are contiguous, which suits tall and skinny
+   matrices having millions of rows.
+
+   With column pivoting, the column of the largest remaining norm is
+   factored next, so that the magnitudes of the diagonal of R decrease and
+   reveal the numerical rank. Least squares solutions of rank deficient
+   problems are then the basic solutions having zeros in the positions of
+   the dependent columns.
+
+   A decomposition holds workspace for solving, so it must not be used by
+   multiple threads at the same time.
+ */
+public class ComplexQR {
+  /**
+     The number of columns in a panel.
+   */
+  private static final int BLOCK = 32;
+  /**
+     The number of rows.
+   */
+  private final int m;
+  /**
+     The number of columns.
+   */
+  private final int n;
+  /**
+     R in the upper triangle and the Householder vectors without their unit
+     first elements below the diagonal.
+   */
+  private final ComplexMatrix qr;
+  /**
+     The real parts of the Householder scale factors.
+   */
+  private final double[] tau_re;
+  /**
+     The imaginary parts of the Householder scale factors.
+   */
+  private final double[] tau_im;
+  /**
+     The real parts of the upper triangular T of each panel, BLOCK*BLOCK
+     elements per panel.
+   */
+  private final double[] t_re;
+  /**
+     The imaginary parts of the upper triangular T of each panel.
+   */
+  private final double[] t_im;
+  /**
+     The column permutation: column k of A*P is column perm[k] of A, or
+     null if not pivoting.
+   */
+  private final int[] perm;
+  /**
+     The numerical rank.
+   */
+  private final int rank;
+  /**
+     Workspace of the size of a column.
+   */
+  private final ComplexBufferArray work;
+  /**
+     Workspace for the real parts of V^H*X of a panel, BLOCK*n elements.
+   */
+  private final double[] panel_re;
+  /**
+     Workspace for the imaginary parts of V^H*X of a panel.
+   */
+  private final double[] panel_im;
+  /**
+     Workspace for the real parts of a column of T*W, BLOCK elements.
+   */
+  private final double[] col_re;
+  /**
+     Workspace for the imaginary parts of a column of T*W.
+   */
+  private final double[] col_im;
+
+  /**
+     Calculate the QR decomposition of a matrix without pivoting
+
+     @param a The matrix, which is not modified
+   */
+  public ComplexQR(ComplexMatrix a)
+  {
+    this(a, false);
+  }
+  /**
+     Calculate the QR decomposition of a matrix
+
+     @param a The matrix, which is not modified
+     @param pivoting Whether to use column pivoting
+   */
+  public ComplexQR(ComplexMatrix a, boolean pivoting)
+  {
+    if (a.getRows() < a.getColumns())
+    {
+      throw new IllegalArgumentException(
+          "fewer rows than columns: " + a.getRows() + "x" + a.getColumns());
+    }
+    this.m = a.getRows();
+    this.n = a.getColumns();
+    this.qr = new ComplexMatrix(a);
+    this.tau_re = new double[n];
+    this.tau_im = new double[n];
+    final int panels = (n + BLOCK - 1)/BLOCK;
+    this.t_re = new double[panels*BLOCK*BLOCK];
+    this.t_im = new double[panels*BLOCK*BLOCK];
+    this.work = new ComplexBufferArray(m);
+    this.panel_re = new double[BLOCK*n];
+    this.panel_im = new double[BLOCK*n];
+    this.col_re = new double[BLOCK];
+    this.col_im = new double[BLOCK];
+    final double[] re = qr.getRealArray(), im = qr.getImagArray();
+    if (pivoting)
+    {
+      this.perm = new int[n];
+      factorPivoted(re, im);
+      for (int kb = 0; kb < n; kb += BLOCK)
+      {
+        buildT(re, im, kb, Math.min(n, kb + BLOCK));
+      }
+    }
+    else
+    {
+      this.perm = null;
+      for (int kb = 0; kb < n; kb += BLOCK)
+      {
+        final int ke = Math.min(n, kb + BLOCK);
+        for (int k = kb; k < ke; k++)
+        {
+          generate(re, im, k);
+          applyReflector(re, im, k, k + 1, ke);
+        }
+        buildT(re, im, kb, ke);
+        if (ke < n)
+        {
+          applyBlock(re, im, kb, ke, re, im, n, ke, n, true);
+        }
+      }
+    }
+    int r = 0;
+    if (n > 0)
+    {
+      final double r00 = Math.abs(re[0]);
+      final double tol = pivoting ? Math.max(m, n)*r00*Math.ulp(1.0) : 0.0;
+      while (r < n && Math.abs(re[r*n + r]) > tol)
+      {
+        r++;
+      }
+    }
+    this.rank = r;
+  }
+
+  /**
+     Generate the reflection that zeroes the elements of column k below
+     the diagonal, like LAPACK zlarfg. The diagonal element becomes the
+     real beta and the elements below it the Householder vector.
+
+     @param re The real parts of the matrix
+     @param im The imaginary parts of the matrix
+     @param k The column
+   */
+  private void generate(double[] re, double[] im, int k)
+  {
+    final double xnorm = columnNorm(re, im, k, k + 1);
+    final double a_re = re[k*n + k], a_im = im[k*n + k];
+    if (xnorm == 0.0 && a_im == 0.0)
+    {
+      tau_re[k] = 0.0;
+      tau_im[k] = 0.0;
+      return;
+    }
+    final double norm =
+        ComplexUtils.abs(ComplexUtils.abs(a_re, a_im), xnorm);
+    final double beta = a_re >= 0.0 ? -norm : norm;
+    tau_re[k] = (beta - a_re)/beta;
+    tau_im[k] = -a_im/beta;
+    // v = x/(alpha - beta) with Smith's division, |alpha - beta| >= norm
+    final double d_re = a_re - beta, d_im = a_im;
+    final boolean byRe = Math.abs(d_re) >= Math.abs(d_im);
+    final double q = byRe ? d_im/d_re : d_re/d_im;
+    final double den = byRe ? d_re + d_im*q : d_im + d_re*q;
+    for (int r = k + 1; r < m; r++)
+    {
+      final int p = r*n + k;
+      final double x_re = re[p], x_im = im[p];
+      if (byRe)
+      {
+        re[p] = (x_re + x_im*q)/den;
+        im[p] = (x_im - x_re*q)/den;
+      }
+      else
+      {
+        re[p] = (x_re*q + x_im)/den;
+        im[p] = (x_im*q - x_re)/den;
+      }
+    }
+    re[k*n + k] = beta;
+    im[k*n + k] = 0.0;
+  }
+
+  /**
+     Calculate the Euclidean norm of rows [r0,m) of column j, scaling the
+     elements to avoid underflow and overflow of the squares.
+
+     @param re The real parts of the matrix
+     @param im The imaginary parts of the matrix
+     @param j The column
+     @param r0 The first row, inclusive
+     @return The norm
+   */
+  private double columnNorm(double[] re, double[] im, int j, int r0)
+  {
+    double sum = 0.0;
+    for (int r = r0; r < m; r++)
+    {
+      final double x_re = re[r*n + j], x_im = im[r*n + j];
+      sum += x_re*x_re + x_im*x_im;
+    }
+    // see ComplexBufferArray.normAll; this check also fails for NaN
+    if (sum >= 1e-280 && sum <= Double.MAX_VALUE)
+    {
+      return Math.sqrt(sum);
+    }
+    double max = 0.0;
+    for (int r = r0; r < m; r++)
+    {
+      max = Math.max(max, Math.max(Math.abs(re[r*n + j]),
+                                   Math.abs(im[r*n + j])));
+    }
+    if (max == 0.0 || !(max <= Double.MAX_VALUE))
+    {
+      return max;
+    }
+    // multiplying by a power of two is exact
+    final int e = Math.getExponent(max);
+    final double scale = Math.scalb(1.0, -e);
+    sum = 0.0;
+    for (int r = r0; r < m; r++)
+    {
+      final double x_re = re[r*n + j]*scale, x_im = im[r*n + j]*scale;
+      sum += x_re*x_re + x_im*x_im;
+    }
+    return Math.scalb(Math.sqrt(sum), e);
+  }
+
+  /**
+     Apply the conjugate transpose of reflection k to columns [c0,c1).
+
+     @param re The real parts of the matrix
+     @param im The imaginary parts of the matrix
+     @param k The reflection
+     @param c0 The first column, inclusive
+     @param c1 The last column, exclusive
+   */
+  private void applyReflector(double[] re, double[] im, int k, int c0, int c1)
+  {
+    if (c0 >= c1 || (tau_re[k] == 0.0 && tau_im[k] == 0.0))
+    {
+      return;
+    }
+    final int len = c1 - c0;
+    final double[] w_re = panel_re, w_im = panel_im;
+    Arrays.fill(w_re, 0, len, 0.0);
+    Arrays.fill(w_im, 0, len, 0.0);
+    // w = v^H*A
+    for (int r = k; r < m; r++)
+    {
+      final int row = r*n;
+      final double v_re = r == k ? 1.0 : re[row + k];
+      final double v_im = r == k ? 0.0 : -im[row + k];
+      for (int j = 0; j < len; j++)
+      {
+        final double x_re = re[row + c0 + j], x_im = im[row + c0 + j];
+        w_re[j] += v_re*x_re - v_im*x_im;
+        w_im[j] += v_re*x_im + v_im*x_re;
+      }
+    }
+    // A = A - conj(tau)*v*w
+    final double t_re = tau_re[k], t_im = -tau_im[k];
+    for (int j = 0; j < len; j++)
+    {
+      final double x_re = w_re[j], x_im = w_im[j];
+      w_re[j] = t_re*x_re - t_im*x_im;
+      w_im[j] = t_re*x_im + t_im*x_re;
+    }
+    for (int r = k; r < m; r++)
+    {
+      final int row = r*n;
+      final double v_re = r == k ? 1.0 : re[row + k];
+      final double v_im = r == k ? 0.0 : im[row + k];
+      for (int j = 0; j < len; j++)
+      {
+        re[row + c0 + j] -= v_re*w_re[j] - v_im*w_im[j];
+        im[row + c0 + j] -= v_re*w_im[j] + v_im*w_re[j];
+      }
+    }
+  }
+
+  /**
+     Calculate the upper triangular T of the compact WY form
+     H_kb*...*H_{ke-1} = I - V*T*V^H, like LAPACK zlarft.
+
+     @param re The real parts of the matrix
+     @param im The imaginary parts of the matrix
+     @param kb The first column of the panel, inclusive
+     @param ke The last column of the panel, exclusive
+   */
+  private void buildT(double[] re, double[] im, int kb, int ke)
+  {
+    final int nb = ke - kb;
+    final int toff = (kb/BLOCK)*BLOCK*BLOCK;
+    // G = V^H*V in one pass over the rows
+    final double[] g_re = new double[nb*nb], g_im = new double[nb*nb];
+    for (int r = kb; r < m; r++)
+    {
+      final int row = r*n;
+      final int last = Math.min(nb, r - kb + 1);
+      for (int i = 0; i < last; i++)
+      {
+        final int ci = kb + i;
+        final double vi_re = r == ci ? 1.0 : re[row + ci];
+        final double vi_im = r == ci ? 0.0 : im[row + ci];
+        for (int j = 0; j < i; j++)
+        {
+          final int cj = kb + j;
+          final double vj_re = r == cj ? 1.0 : re[row + cj];
+          final double vj_im = r == cj ? 0.0 : im[row + cj];
+          // conj(v_j)*v_i
+          g_re[j*nb + i] += vj_re*vi_re + vj_im*vi_im;
+          g_im[j*nb + i] += vj_re*vi_im - vj_im*vi_re;
+        }
+      }
+    }
+    for (int i = 0; i < nb; i++)
+    {
+      final double ti_re = tau_re[kb + i], ti_im = tau_im[kb + i];
+      // T[0..i,i] = -tau_i*T[0..i,0..i]*G[0..i,i]
+      for (int j = 0; j < i; j++)
+      {
+        double s_re = 0.0, s_im = 0.0;
+        for (int l = j; l < i; l++)
+        {
+          final double a_re = t_re[toff + j*BLOCK + l];
+          final double a_im = t_im[toff + j*BLOCK + l];
+          final double b_re = g_re[l*nb + i], b_im = g_im[l*nb + i];
+          s_re += a_re*b_re - a_im*b_im;
+          s_im += a_re*b_im + a_im*b_re;
+        }
+        t_re[toff + j*BLOCK + i] = -(ti_re*s_re - ti_im*s_im);
+        t_im[toff + j*BLOCK + i] = -(ti_re*s_im + ti_im*s_re);
+      }
+      t_re[toff + i*BLOCK + i] = ti_re;
+      t_im[toff + i*BLOCK + i] = ti_im;
+    }
+  }
+
+  /**
+     Apply the block reflection I - V*T*V^H of a panel, or its conjugate
+     transpose, to columns [c0,c1) of a row-major matrix having m rows.
+
+     @param re The real parts of the factored matrix
+     @param im The imaginary parts of the factored matrix
+     @param kb The first column of the panel, inclusive
+     @param ke The last column of the panel, exclusive
+     @param x_re The real parts of the matrix to update
+     @param x_im The imaginary parts of the matrix to update
+     @param ldx The number of columns of the matrix to update
+     @param c0 The first column to update, inclusive
+     @param c1 The last column to update, exclusive
+     @param adjoint Whether to apply the conjugate transpose
+   */
+  private void applyBlock(double[] re, double[] im, int kb, int ke,
+                          double[] x_re, double[] x_im, int ldx,
+                          int c0, int c1, boolean adjoint)
+  {
+    final int nb = ke - kb, len = c1 - c0;
+    final int toff = (kb/BLOCK)*BLOCK*BLOCK;
+    final double[] w_re = panel_re, w_im = panel_im;
+    Arrays.fill(w_re, 0, nb*len, 0.0);
+    Arrays.fill(w_im, 0, nb*len, 0.0);
+    // W = V^H*X
+    for (int r = kb; r < m; r++)
+    {
+      final int row = r*n, xrow = r*ldx + c0;
+      final int last = Math.min(nb, r - kb + 1);
+      for (int i = 0; i < last; i++)
+      {
+        final int ci = kb + i;
+        final double v_re = r == ci ? 1.0 : re[row + ci];
+        final double v_im = r == ci ? 0.0 : -im[row + ci];
+        final int woff = i*len;
+        for (int j = 0; j < len; j++)
+        {
+          final double a_re = x_re[xrow + j], a_im = x_im[xrow + j];
+          w_re[woff + j] += v_re*a_re - v_im*a_im;
+          w_im[woff + j] += v_re*a_im + v_im*a_re;
+        }
+      }
+    }
+    // W = T^H*W or W = T*W in place, T upper triangular
+    final double[] s_re = col_re, s_im = col_im;
+    for (int j = 0; j < len; j++)
+    {
+      for (int i = 0; i < nb; i++)
+      {
+        double a_re = 0.0, a_im = 0.0;
+        final int l0 = adjoint ? 0 : i, l1 = adjoint ? i + 1 : nb;
+        for (int l = l0; l < l1; l++)
+        {
+          double b_re, b_im;
+          if (adjoint)
+          {
+            b_re = t_re[toff + l*BLOCK + i];
+            b_im = -t_im[toff + l*BLOCK + i];
+          }
+          else
+          {
+            b_re = t_re[toff + i*BLOCK + l];
+            b_im = t_im[toff + i*BLOCK + l];
+          }
+          final double y_re = w_re[l*len + j], y_im = w_im[l*len + j];
+          a_re += b_re*y_re - b_im*y_im;
+          a_im += b_re*y_im + b_im*y_re;
+        }
+        s_re[i] = a_re;
+        s_im[i] = a_im;
+      }
+      for (int i = 0; i < nb; i++)
+      {
+        w_re[i*len + j] = s_re[i];
+        w_im[i*len + j] = s_im[i];
+      }
+    }
+    // X = X - V*W
+    for (int r = kb; r < m; r++)
+    {
+      final int row = r*n, xrow = r*ldx + c0;
+      final int last = Math.min(nb, r - kb + 1);
+      for (int i = 0; i < last; i++)
+      {
+        final int ci = kb + i;
+        final double v_re = r == ci ? 1.0 : re[row + ci];
+        final double v_im = r == ci ? 0.0 : im[row + ci];
+        final int woff = i*len;
+        for (int j = 0; j < len; j++)
+        {
+          x_re[xrow + j] -= v_re*w_re[woff + j] - v_im*w_im[woff + j];
+          x_im[xrow + j] -= v_re*w_im[woff + j] + v_im*w_re[woff + j];
+        }
+      }
+    }
+  }
+
+  /**
+     Factor the matrix with column pivoting, like LAPACK zgeqpf.
+
+     @param re The real parts of the matrix
+     @param im The imaginary parts of the matrix
+   */
+  private void factorPivoted(double[] re, double[] im)
+  {
+    final double[] vn1 = new double[n], vn2 = new double[n];
+    for (int j = 0; j < n; j++)
+    {
+      perm[j] = j;
+      vn1[j] = columnNorm(re, im, j, 0);
+      vn2[j] = vn1[j];
+    }
+    final double tol3z = Math.sqrt(Math.ulp(1.0));
+    for (int k = 0; k < n; k++)
+    {
+      int p = k;
+      for (int j = k + 1; j < n; j++)
+      {
+        if (vn1[j] > vn1[p])
+        {
+          p = j;
+        }
+      }
+      if (p != k)
+      {
+        for (int r = 0; r < m; r++)
+        {
+          final int a = r*n + k, b = r*n + p;
+          final double t_re = re[a], t_im = im[a];
+          re[a] = re[b];
+          im[a] = im[b];
+          re[b] = t_re;
+          im[b] = t_im;
+        }
+        final int t = perm[k];
+        perm[k] = perm[p];
+        perm[p] = t;
+        vn1[p] = vn1[k];
+        vn2[p] = vn2[k];
+      }
+      generate(re, im, k);
+      applyReflector(re, im, k, k + 1, n);
+      // downdate the column norms, recalculating them on cancellation
+      for (int j = k + 1; j < n; j++)
+      {
+        if (vn1[j] == 0.0)
+        {
+          continue;
+        }
+        final double a = ComplexUtils.abs(re[k*n + j], im[k*n + j])/vn1[j];
+        final double temp = Math.max(0.0, 1.0 - a*a);
+        final double ratio = vn1[j]/vn2[j];
+        if (temp*ratio*ratio <= tol3z)
+        {
+          vn1[j] = columnNorm(re, im, j, k + 1);
+          vn2[j] = vn1[j];
+        }
+        else
+        {
+          vn1[j] *= Math.sqrt(temp);
+        }
+      }
+    }
+  }
+
+  /**
+     Returns the number of rows.
+
+     @return The number of rows
+   */
+  public int getRows()
+  {
+    return m;
+  }
+  /**
+     Returns the number of columns.
+
+     @return The number of columns
+   */
+  public int getColumns()
+  {
+    return n;
+  }
+  /**
+     Returns the numerical rank. Without pivoting, this is the number of
+     leading nonzero diagonal elements of R.
+
+     @return The numerical rank
+   */
+  public int rank()
+  {
+    return rank;
+  }
+  /**
+     Returns whether the matrix has full column rank.
+
+     @return Whether the rank is the number of columns
+   */
+  public boolean isFullRank()
+  {
+    return rank == n;
+  }
+  /**
+     Returns the column permutation.
+
+     @return A copy of the permutation, in which column k of A*P is column
+             perm[k] of A; the identity if not pivoting
+   */
+  public int[] getPermutation()
+  {
+    if (perm == null)
+    {
+      final int[] identity = new int[n];
+      for (int k = 0; k < n; k++)
+      {
+        identity[k] = k;
+      }
+      return identity;
+    }
+    return perm.clone();
+  }
+  /**
+     Returns the upper triangular factor.
+
+     @return A new n by n matrix R
+   */
+  public ComplexMatrix getR()
+  {
+    final ComplexMatrix r = new ComplexMatrix(n, n);
+    final double[] re = qr.getRealArray(), im = qr.getImagArray();
+    for (int i = 0; i < n; i++)
+    {
+      for (int j = i; j < n; j++)
+      {
+        r.set(i, j, re[i*n + j], im[i*n + j]);
+      }
+    }
+    return r;
+  }
+  /**
+     Returns the unitary factor of the thin decomposition.
+
+     @return A new m by n matrix Q having orthonormal columns
+   */
+  public ComplexMatrix getQ()
+  {
+    final ComplexMatrix q = new ComplexMatrix(m, n);
+    final double[] re = qr.getRealArray(), im = qr.getImagArray();
+    for (int k = 0; k < n; k++)
+    {
+      q.set(k, k, 1.0, 0.0);
+    }
+    final double[] q_re = q.getRealArray(), q_im = q.getImagArray();
+    for (int kb = ((n - 1)/BLOCK)*BLOCK; kb >= 0; kb -= BLOCK)
+    {
+      applyBlock(re, im, kb, Math.min(n, kb + BLOCK), q_re, q_im, n,
+                 kb, n, false);
+    }
+    return q;
+  }
+
+  /**
+     Solve the least squares problem of minimizing the norm of A*x - b
+
+     @param b The right-hand side, the size of which must be the number of
+              rows, which is not modified
+     @param x The complex buffer array for the solution, the size of which
+              must be the number of columns
+     @return x
+     @throws ArithmeticException if the matrix is rank deficient and the
+                                 decomposition is not pivoted
+   */
+  public ComplexBufferArray solve(ComplexBufferArray b, ComplexBufferArray x)
+  {
+    if (b.size() != m || x.size() != n)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + m + "x" + n + ", " + b.size() + ", " +
+          x.size());
+    }
+    if (perm == null && rank < n)
+    {
+      throw new ArithmeticException("matrix is rank deficient");
+    }
+    final double[] re = qr.getRealArray(), im = qr.getImagArray();
+    work.setAll(b);
+    final double[] c_re = work.getRealArray(), c_im = work.getImagArray();
+    // c = Q^H*b
+    for (int kb = 0; kb < n; kb += BLOCK)
+    {
+      applyBlock(re, im, kb, Math.min(n, kb + BLOCK), c_re, c_im, 1, 0, 1,
+                 true);
+    }
+    // R[0..rank,0..rank]*y = c[0..rank]
+    for (int i = rank - 1; i >= 0; i--)
+    {
+      double s_re = c_re[i], s_im = c_im[i];
+      for (int j = i + 1; j < rank; j++)
+      {
+        final double r_re = re[i*n + j], r_im = im[i*n + j];
+        s_re -= r_re*c_re[j] - r_im*c_im[j];
+        s_im -= r_re*c_im[j] + r_im*c_re[j];
+      }
+      // the diagonal of R is real
+      c_re[i] = s_re/re[i*n + i];
+      c_im[i] = s_im/re[i*n + i];
+    }
+    final double[] x_re = x.getRealArray(), x_im = x.getImagArray();
+    for (int k = 0; k < n; k++)
+    {
+      final int dst = perm == null ? k : perm[k];
+      x_re[dst] = k < rank ? c_re[k] : 0.0;
+      x_im[dst] = k < rank ? c_im[k] : 0.0;
+    }
+    return x;
+  }
+};
@@ -0,0 +1,317 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.util.Arrays;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   A fast Fourier transform plan for real input of a fixed transform size.
+
+   The forward transform calculates X[k] = sum x[j]*exp(-2*pi*i*j*k/n) of
+   real x[j] for k in [0,n/2], which is the nonredundant half of the
+   Hermitian spectrum, into a complex buffer array. The inverse transform
+   calculates the real x[j] from the half-spectrum and is scaled by 1/n.
+
+   For even sizes, the even and odd samples are packed into the real and
+   imaginary parts of a complex transform of size n/2, the spectra of which
+   are separated after the transform. The forward transform needs no
+   scratch space because the packed data is transformed in the output
+   array. Odd sizes use a complex transform of size n.
+
+   A plan can be used by multiple threads at the same time.
+ */
+public class ComplexRealFFT {
+  /**
+     The transform size.
+   */
+  private final int n;
+  /**
+     The complex transform, of size n/2 if n is even, otherwise of size n.
+   */
+  private final ComplexFFT fft;
+  /**
+     cos(2*pi*k/n) for k in [0,n/4] if n is even, otherwise null.
+   */
+  private final double[] cos;
+  /**
+     sin(2*pi*k/n) for k in [0,n/4] if n is even, otherwise null.
+   */
+  private final double[] sin;
+  /**
+     Per-thread scratch space for the inverse transform and for the forward
+     transform of odd sizes.
+   */
+  private final ThreadLocal<double[][]> scratch;
+
+  /**
+     Create a fast Fourier transform plan for real input
+
+     @param n The transform size, at least 1
+   */
+  public ComplexRealFFT(int n)
+  {
+    if (n < 1)
+    {
+      throw new IllegalArgumentException("invalid transform size: " + n);
+    }
+    this.n = n;
+    if (n % 2 == 0)
+    {
+      final int h = n/2;
+      this.fft = new ComplexFFT(h);
+      this.cos = new double[h/2 + 1];
+      this.sin = new double[h/2 + 1];
+      for (int k = 0; k <= h/2; k++)
+      {
+        final double angle = 2*Math.PI*k/n;
+        this.cos[k] = Math.cos(angle);
+        this.sin[k] = Math.sin(angle);
+      }
+    }
+    else
+    {
+      this.fft = new ComplexFFT(n);
+      this.cos = null;
+      this.sin = null;
+    }
+    this.scratch = new ThreadLocal<double[][]>() {
+      @Override
+      protected double[][] initialValue()
+      {
+        final int size = ComplexRealFFT.this.fft.size();
+        return new double[][]{new double[size], new double[size]};
+      }
+    };
+  }
+
+  /**
+     Returns the transform size.
+
+     @return The transform size
+   */
+  public int size()
+  {
+    return n;
+  }
+  /**
+     Returns the size of the half-spectrum, n/2+1.
+
+     @return The size of the half-spectrum
+   */
+  public int spectrumSize()
+  {
+    return n/2 + 1;
+  }
+
+  /**
+     Check that a real array can hold a transform at an index.
+
+     @param x The real array
+     @param off The array index of the first element of the transform
+   */
+  private void checkReal(double[] x, int off)
+  {
+    if (off < 0 || off > x.length - n)
+    {
+      throw new IndexOutOfBoundsException(
+          "transform of size " + n + " at " + off +
+          " out of bounds for size " + x.length);
+    }
+  }
+  /**
+     Check that a complex buffer array can hold a half-spectrum at an index.
+
+     @param a The complex buffer array
+     @param off The array index of the first element of the half-spectrum
+   */
+  private void checkSpectrum(ComplexBufferArray a, int off)
+  {
+    if (off < 0 || off > a.size() - spectrumSize())
+    {
+      throw new IndexOutOfBoundsException(
+          "spectrum of size " + spectrumSize() + " at " + off +
+          " out of bounds for size " + a.size());
+    }
+  }
+
+  /**
+     Calculate the forward transform of a real array.
+
+     @param x The real array, the length of which must be the transform size
+     @param result The complex buffer array for the half-spectrum, the size
+                   of which must be n/2+1
+   */
+  public void fft(double[] x, ComplexBufferArray result)
+  {
+    if (x.length != n || result.size() != spectrumSize())
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + n + ", " + x.length + ", " + result.size());
+    }
+    fft(x, 0, result, 0);
+  }
+  /**
+     Calculate the forward transform of a range of a real array.
+
+     @param x The real array
+     @param x_off The array index of the first element of the input
+     @param result The complex buffer array for the half-spectrum
+     @param result_off The array index of the first element of the
+                       half-spectrum
+   */
+  public void fft(double[] x, int x_off, ComplexBufferArray result,
+                  int result_off)
+  {
+    checkReal(x, x_off);
+    checkSpectrum(result, result_off);
+    final double[] re = result.getRealArray(), im = result.getImagArray();
+    if (cos == null)
+    {
+      final double[][] s = scratch.get();
+      System.arraycopy(x, x_off, s[0], 0, n);
+      Arrays.fill(s[1], 0.0);
+      fft.transform(s[0], s[1], 0, false);
+      System.arraycopy(s[0], 0, re, result_off, n/2 + 1);
+      System.arraycopy(s[1], 0, im, result_off, n/2 + 1);
+      return;
+    }
+    final int h = n/2;
+    for (int j = 0; j < h; j++)
+    {
+      re[result_off + j] = x[x_off + 2*j];
+      im[result_off + j] = x[x_off + 2*j + 1];
+    }
+    fft.transform(re, im, result_off, false);
+    final double z0_re = re[result_off], z0_im = im[result_off];
+    re[result_off] = z0_re + z0_im;
+    im[result_off] = 0.0;
+    re[result_off + h] = z0_re - z0_im;
+    im[result_off + h] = 0.0;
+    for (int k = 1; 2*k <= h; k++)
+    {
+      final int i = result_off + k, j = result_off + h - k;
+      final double a_re = re[i], a_im = im[i], b_re = re[j], b_im = im[j];
+      // E = (A + conj(B))/2 and O = (A - conj(B))/(2*i) are the
+      // transforms of the even and odd samples
+      final double e_re = 0.5*(a_re + b_re), e_im = 0.5*(a_im - b_im);
+      final double o_re = 0.5*(a_im + b_im), o_im = -0.5*(a_re - b_re);
+      // W^k*O with W = exp(-2*pi*i/n)
+      final double w_re = cos[k], w_im = -sin[k];
+      final double t_re = w_re*o_re - w_im*o_im;
+      final double t_im = w_re*o_im + w_im*o_re;
+      // X[k] = E + W^k*O and X[h-k] = conj(E - W^k*O)
+      re[i] = e_re + t_re;
+      im[i] = e_im + t_im;
+      re[j] = e_re - t_re;
+      im[j] = t_im - e_im;
+    }
+  }
+
+  /**
+     Calculate the inverse transform of a half-spectrum.
+
+     The imaginary parts of the first element and, for even sizes, of the
+     last element of the half-spectrum are ignored.
+
+     @param a The complex buffer array containing the half-spectrum, the
+              size of which must be n/2+1
+     @param result The real array, the length of which must be the transform
+                   size
+   */
+  public void ifft(ComplexBufferArray a, double[] result)
+  {
+    if (a.size() != spectrumSize() || result.length != n)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + n + ", " + a.size() + ", " + result.length);
+    }
+    ifft(a, 0, result, 0);
+  }
+  /**
+     Calculate the inverse transform of a half-spectrum in a range of a
+     complex buffer array.
+
+     The imaginary parts of the first element and, for even sizes, of the
+     last element of the half-spectrum are ignored.
+
+     @param a The complex buffer array containing the half-spectrum
+     @param a_off The array index of the first element of the half-spectrum
+     @param result The real array
+     @param result_off The array index of the first element of the output
+   */
+  public void ifft(ComplexBufferArray a, int a_off, double[] result,
+                   int result_off)
+  {
+    checkSpectrum(a, a_off);
+    checkReal(result, result_off);
+    final double[] re = a.getRealArray(), im = a.getImagArray();
+    final double[][] s = scratch.get();
+    final double[] s_re = s[0], s_im = s[1];
+    final double scale = 1.0/n;
+    if (cos == null)
+    {
+      s_re[0] = re[a_off];
+      s_im[0] = 0.0;
+      for (int k = 1; k <= n/2; k++)
+      {
+        s_re[k] = re[a_off + k];
+        s_im[k] = im[a_off + k];
+        s_re[n - k] = re[a_off + k];
+        s_im[n - k] = -im[a_off + k];
+      }
+      fft.transform(s_re, s_im, 0, true);
+      for (int j = 0; j < n; j++)
+      {
+        result[result_off + j] = s_re[j]*scale;
+      }
+      return;
+    }
+    final int h = n/2;
+    final double x0 = re[a_off], xh = re[a_off + h];
+    // Z[0] = E + i*O with E = X[0] + X[h] and O = X[0] - X[h]
+    s_re[0] = x0 + xh;
+    s_im[0] = x0 - xh;
+    for (int k = 1; 2*k <= h; k++)
+    {
+      final int i = a_off + k, j = a_off + h - k;
+      final double a_re = re[i], a_im = im[i], b_re = re[j], b_im = im[j];
+      // E = X[k] + conj(X[h-k]) and O = (X[k] - conj(X[h-k]))*W^-k are
+      // twice the transforms of the even and odd samples
+      final double e_re = a_re + b_re, e_im = a_im - b_im;
+      final double d_re = a_re - b_re, d_im = a_im + b_im;
+      final double w_re = cos[k], w_im = sin[k];
+      final double o_re = d_re*w_re - d_im*w_im;
+      final double o_im = d_re*w_im + d_im*w_re;
+      // Z[k] = E + i*O and Z[h-k] = conj(E) + i*conj(O)
+      s_re[k] = e_re - o_im;
+      s_im[k] = e_im + o_re;
+      s_re[h - k] = e_re + o_im;
+      s_im[h - k] = o_re - e_im;
+    }
+    fft.transform(s_re, s_im, 0, true);
+    for (int j = 0; j < h; j++)
+    {
+      result[result_off + 2*j] = s_re[j]*scale;
+      result[result_off + 2*j + 1] = s_im[j]*scale;
+    }
+  }
+};
@@ -0,0 +1,338 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   The singular value decomposition of a complex matrix.
+
+   The decomposition A = U*diag(s)*V^H of an m by n matrix A is calculated
+   with the one-sided Jacobi method: pairs of columns are orthogonalized
+   with complex plane rotations until all columns are orthogonal, after
+   which the singular values are the column norms. The method calculates
+   small singular values to high relative accuracy; the column norms are
+   not squared and a matrix having very small or large elements is first
+   scaled by a power of two, so this holds at any exponent. The columns
+   are stored as contiguous rows internally, so the rotations run over
+   contiguous memory. A matrix having more columns than rows is handled by
+   decomposing its conjugate transpose.
+
+   The decomposition is thin: with p = min(m,n), U is m by p, V is n by p
+   and there are p singular values, sorted in descending order. The
+   columns corresponding to zero singular values are zero in U if m &ge; n
+   and in V if m &lt; n; the other factor has orthonormal columns.
+ */
+public class ComplexSVD {
+  /**
+     The maximum number of sweeps over all column pairs.
+   */
+  private static final int MAX_SWEEPS = 100;
+  /**
+     The number of rows.
+   */
+  private final int m;
+  /**
+     The number of columns.
+   */
+  private final int n;
+  /**
+     The singular values in descending order.
+   */
+  private final double[] s;
+  /**
+     The left singular vectors as columns, or null if not calculated.
+   */
+  private final ComplexMatrix u;
+  /**
+     The right singular vectors as columns, or null if not calculated.
+   */
+  private final ComplexMatrix v;
+
+  /**
+     Calculate the singular value decomposition of a matrix
+
+     @param a The matrix, which is not modified
+   */
+  public ComplexSVD(ComplexMatrix a)
+  {
+    this(a, true);
+  }
+  /**
+     Calculate the singular values and optionally the singular vectors of
+     a matrix
+
+     @param a The matrix, which is not modified
+     @param computeVectors Whether to calculate the singular vectors
+   */
+  public ComplexSVD(ComplexMatrix a, boolean computeVectors)
+  {
+    final int m = a.getRows(), n = a.getColumns();
+    final double[] a_re = a.getRealArray(), a_im = a.getImagArray();
+    this.m = m;
+    this.n = n;
+    // G = A if m >= n, otherwise G = A^H; the columns of G as rows of b
+    final boolean transposed = m < n;
+    final int rows = transposed ? n : m;
+    final int p = transposed ? m : n;
+    final double[] b_re = new double[p*rows], b_im = new double[p*rows];
+    // a power of two scaling is exact and keeps the inner products in range
+    final int exp = ComplexBufferArray.scaleExponent(a_re, a_im);
+    if (transposed)
+    {
+      for (int k = 0; k < p*rows; k++)
+      {
+        b_re[k] = Math.scalb(a_re[k], -exp);
+        b_im[k] = -Math.scalb(a_im[k], -exp);
+      }
+    }
+    else
+    {
+      for (int r = 0; r < m; r++)
+      {
+        for (int k = 0; k < n; k++)
+        {
+          b_re[k*m + r] = Math.scalb(a_re[r*n + k], -exp);
+          b_im[k*m + r] = Math.scalb(a_im[r*n + k], -exp);
+        }
+      }
+    }
+    // the columns of V as rows
+    final boolean vectors = computeVectors;
+    final double[] vt_re = vectors ? new double[p*p] : null;
+    final double[] vt_im = vectors ? new double[p*p] : null;
+    if (vectors)
+    {
+      for (int k = 0; k < p; k++)
+      {
+        vt_re[k*p + k] = 1.0;
+      }
+    }
+    final double eps = Math.ulp(1.0);
+    // the column norms, not squared so that tiny columns keep their size
+    final double[] norm = new double[p];
+    for (int k = 0; k < p; k++)
+    {
+      norm[k] = ComplexBufferArray.norm(b_re, b_im, k*rows, (k + 1)*rows);
+    }
+    for (int sweep = 0; ; sweep++)
+    {
+      if (sweep >= MAX_SWEEPS)
+      {
+        throw new ArithmeticException("singular values did not converge");
+      }
+      boolean rotated = false;
+      for (int i = 0; i < p - 1; i++)
+      {
+        for (int j = i + 1; j < p; j++)
+        {
+          final int oi = i*rows, oj = j*rows;
+          // g = b_i^H*b_j
+          double g_re = 0.0, g_im = 0.0;
+          for (int r = 0; r < rows; r++)
+          {
+            g_re += b_re[oi + r]*b_re[oj + r] + b_im[oi + r]*b_im[oj + r];
+            g_im += b_re[oi + r]*b_im[oj + r] - b_im[oi + r]*b_re[oj + r];
+          }
+          final double g = ComplexUtils.abs(g_re, g_im);
+          final double alpha = norm[i], beta = norm[j];
+          if (g == 0.0 || g <= eps*alpha*beta)
+          {
+            continue;
+          }
+          rotated = true;
+          // a real rotation of b_i and conj(phase)*b_j, where
+          // phase = g/|g|, makes them orthogonal
+          final double zeta = (beta - alpha)*((beta + alpha)/(2.0*g));
+          final double t = (zeta >= 0.0 ? 1.0 : -1.0)/
+                           (Math.abs(zeta) + ComplexUtils.abs(1.0, zeta));
+          final double c = 1.0/Math.sqrt(1.0 + t*t), sn = c*t;
+          final double ph_re = g_re/g, ph_im = -g_im/g;
+          rotate(b_re, b_im, oi, oj, rows, c, sn, ph_re, ph_im);
+          norm[i] = ComplexBufferArray.norm(b_re, b_im, oi, oi + rows);
+          norm[j] = ComplexBufferArray.norm(b_re, b_im, oj, oj + rows);
+          if (vectors)
+          {
+            rotate(vt_re, vt_im, i*p, j*p, p, c, sn, ph_re, ph_im);
+          }
+        }
+      }
+      if (!rotated)
+      {
+        break;
+      }
+    }
+    // sort by descending norm
+    final Integer[] order = new Integer[p];
+    for (int k = 0; k < p; k++)
+    {
+      order[k] = k;
+    }
+    Arrays.sort(order, new Comparator<Integer>() {
+      @Override
+      public int compare(Integer x, Integer y)
+      {
+        return Double.compare(norm[y], norm[x]);
+      }
+    });
+    this.s = new double[p];
+    final double[] sorted = new double[p];
+    for (int k = 0; k < p; k++)
+    {
+      final int off = order[k]*rows;
+      sorted[k] = ComplexBufferArray.norm(b_re, b_im, off, off + rows);
+      s[k] = Math.scalb(sorted[k], exp);
+    }
+    if (!vectors)
+    {
+      this.u = null;
+      this.v = null;
+      return;
+    }
+    // the normalized columns of G and the columns of V
+    final ComplexMatrix gu = new ComplexMatrix(rows, p);
+    final ComplexMatrix gv = new ComplexMatrix(p, p);
+    final double[] gu_re = gu.getRealArray(), gu_im = gu.getImagArray();
+    final double[] gv_re = gv.getRealArray(), gv_im = gv.getImagArray();
+    for (int k = 0; k < p; k++)
+    {
+      final int src = order[k];
+      final double sk = sorted[k];
+      if (sk != 0.0)
+      {
+        for (int r = 0; r < rows; r++)
+        {
+          gu_re[r*p + k] = b_re[src*rows + r]/sk;
+          gu_im[r*p + k] = b_im[src*rows + r]/sk;
+        }
+      }
+      for (int r = 0; r < p; r++)
+      {
+        gv_re[r*p + k] = vt_re[src*p + r];
+        gv_im[r*p + k] = vt_im[src*p + r];
+      }
+    }
+    // A^H = G = U'*S*V'^H gives A = V'*S*U'^H
+    this.u = transposed ? gv : gu;
+    this.v = transposed ? gu : gv;
+  }
+
+  /**
+     Replace two vectors x and y by c*x - s*w*y and s*x + c*w*y.
+
+     @param re The real parts
+     @param im The imaginary parts
+     @param ox The array index of the first element of x
+     @param oy The array index of the first element of y
+     @param len The number of elements
+     @param c The cosine of the rotation
+     @param s The sine of the rotation
+     @param w_re The real part of the unit phase factor w
+     @param w_im The imaginary part of the unit phase factor w
+   */
+  private static void rotate(double[] re, double[] im, int ox, int oy,
+                             int len, double c, double s,
+                             double w_re, double w_im)
+  {
+    for (int r = 0; r < len; r++)
+    {
+      final double x_re = re[ox + r], x_im = im[ox + r];
+      final double y_re = w_re*re[oy + r] - w_im*im[oy + r];
+      final double y_im = w_re*im[oy + r] + w_im*re[oy + r];
+      re[ox + r] = c*x_re - s*y_re;
+      im[ox + r] = c*x_im - s*y_im;
+      re[oy + r] = s*x_re + c*y_re;
+      im[oy + r] = s*x_im + c*y_im;
+    }
+  }
+
+  /**
+     Returns the singular values.
+
+     @return A copy of the min(m,n) singular values in descending order
+   */
+  public double[] getSingularValues()
+  {
+    return s.clone();
+  }
+  /**
+     Returns the left singular vectors.
+
+     @return A copy of the m by min(m,n) matrix U
+     @throws IllegalStateException if the vectors were not calculated
+   */
+  public ComplexMatrix getU()
+  {
+    if (u == null)
+    {
+      throw new IllegalStateException("singular vectors not calculated");
+    }
+    return new ComplexMatrix(u);
+  }
+  /**
+     Returns the right singular vectors.
+
+     @return A copy of the n by min(m,n) matrix V
+     @throws IllegalStateException if the vectors were not calculated
+   */
+  public ComplexMatrix getV()
+  {
+    if (v == null)
+    {
+      throw new IllegalStateException("singular vectors not calculated");
+    }
+    return new ComplexMatrix(v);
+  }
+  /**
+     Returns the 2-norm of the matrix, which is the largest singular value.
+
+     @return The 2-norm
+   */
+  public double norm2()
+  {
+    return s.length == 0 ? 0.0 : s[0];
+  }
+  /**
+     Returns the numerical rank of the matrix, which is the number of
+     singular values larger than max(m,n)*s[0]*eps.
+
+     @return The numerical rank
+   */
+  public int rank()
+  {
+    if (s.length == 0)
+    {
+      return 0;
+    }
+    final double tol = Math.max(m, n)*s[0]*Math.ulp(1.0);
+    int r = 0;
+    for (double x: s)
+    {
+      if (x > tol)
+      {
+        r++;
+      }
+    }
+    return r;
+  }
+};
@@ -0,0 +1,845 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.util.Arrays;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   An LU decomposition of a square sparse complex matrix.
+
+   The decomposition P*A*Q = L*U is calculated in two phases. The column
+   ordering Q is a minimum degree ordering of the pattern of A + A^T, which
+   reduces the fill-in of the factors for matrices having a nearly
+   symmetric pattern, such as nodal admittance matrices and finite element
+   matrices. The factors are then calculated column by column with the
+   left-looking algorithm of Gilbert and Peierls, in which the pattern of
+   each column is found by a depth-first search in the graph of L and the
+   numerical values by a sparse triangular solve. The row ordering P uses
+   threshold partial pivoting that prefers the diagonal element, so that
+   the ordering is disturbed as little as possible.
+
+   The ordering, the pivot sequence and the patterns of the factors are
+   kept, so that matrices having the same sparsity pattern but different
+   values, for example at different frequencies of a sweep, can be
+   refactored with refactor() using only numerical operations. If a
+   reused pivot is too small for the new values, the matrix is factored
+   again from scratch with the same column ordering. If refactor() finds
+   the matrix singular, the decomposition cannot be used for solving
+   until a later refactor() succeeds.
+
+   A decomposition holds workspace, so it must not be used by multiple
+   threads at the same time.
+ */
+public class ComplexSparseLU {
+  /**
+     The default pivot tolerance.
+   */
+  public static final double DEFAULT_PIVOT_TOLERANCE = 0.1;
+  /**
+     The size of the matrix.
+   */
+  private final int n;
+  /**
+     The pivot tolerance: the diagonal element is used as the pivot if it
+     is nonzero and its magnitude is at least this times the largest
+     magnitude of the candidates.
+   */
+  private final double tol;
+  /**
+     The matrix whose pattern the decomposition has.
+   */
+  private final ComplexSparseMatrix pattern;
+  /**
+     The column pointers of A in compressed sparse column format.
+   */
+  private final int[] a_colPtr;
+  /**
+     The row indices of A in compressed sparse column format.
+   */
+  private final int[] a_rowIdx;
+  /**
+     The array indices in the row format of the elements of the column
+     format.
+   */
+  private final int[] a_map;
+  /**
+     The real parts of A in compressed sparse column format.
+   */
+  private final double[] a_re;
+  /**
+     The imaginary parts of A in compressed sparse column format.
+   */
+  private final double[] a_im;
+  /**
+     The column ordering: column k of A*Q is column q[k] of A.
+   */
+  private final int[] q;
+  /**
+     The inverse row permutation: row i of A is row pinv[i] of P*A.
+   */
+  private final int[] pinv;
+  /**
+     The row permutation: row k of P*A is row perm[k] of A.
+   */
+  private final int[] perm;
+  /**
+     The column pointers of L.
+   */
+  private final int[] l_colPtr;
+  /**
+     The row indices of L, the unit diagonal element first in each column.
+   */
+  private int[] l_rowIdx;
+  /**
+     The real parts of L.
+   */
+  private double[] l_re;
+  /**
+     The imaginary parts of L.
+   */
+  private double[] l_im;
+  /**
+     The column pointers of U.
+   */
+  private final int[] u_colPtr;
+  /**
+     The row indices of U in elimination order, the diagonal element last
+     in each column.
+   */
+  private int[] u_rowIdx;
+  /**
+     The real parts of U.
+   */
+  private double[] u_re;
+  /**
+     The imaginary parts of U.
+   */
+  private double[] u_im;
+  /**
+     The real parts of the reciprocals of the diagonal of U.
+   */
+  private final double[] inv_re;
+  /**
+     The imaginary parts of the reciprocals of the diagonal of U.
+   */
+  private final double[] inv_im;
+  /**
+     The real parts of the dense work vector.
+   */
+  private final double[] x_re;
+  /**
+     The imaginary parts of the dense work vector.
+   */
+  private final double[] x_im;
+  /**
+     The output of the depth-first search.
+   */
+  private final int[] xi;
+  /**
+     The node stack of the depth-first search.
+   */
+  private final int[] stack;
+  /**
+     The position stack of the depth-first search.
+   */
+  private final int[] pstack;
+  /**
+     The visit stamps of the depth-first search.
+   */
+  private final int[] visited;
+  /**
+     The current visit stamp.
+   */
+  private int stamp;
+  /**
+     Whether the factors are valid, which is false after a failed
+     factorization.
+   */
+  private boolean factored;
+
+  /**
+     Calculate the LU decomposition of a sparse matrix with the default
+     pivot tolerance
+
+     @param a The square sparse matrix
+     @throws ArithmeticException if the matrix is singular
+   */
+  public ComplexSparseLU(ComplexSparseMatrix a)
+  {
+    this(a, DEFAULT_PIVOT_TOLERANCE);
+  }
+  /**
+     Calculate the LU decomposition of a sparse matrix
+
+     @param a The square sparse matrix
+     @param pivotTolerance The pivot tolerance in [0,1]: 1 is partial
+                           pivoting, smaller values prefer the diagonal
+                           and 0 uses any nonzero diagonal
+     @throws ArithmeticException if the matrix is singular
+   */
+  public ComplexSparseLU(ComplexSparseMatrix a, double pivotTolerance)
+  {
+    if (a.getRows() != a.getColumns())
+    {
+      throw new IllegalArgumentException(
+          "matrix not square: " + a.getRows() + "x" + a.getColumns());
+    }
+    if (!(pivotTolerance >= 0.0 && pivotTolerance <= 1.0))
+    {
+      throw new IllegalArgumentException(
+          "invalid pivot tolerance: " + pivotTolerance);
+    }
+    final int n = a.getRows();
+    final int nnz = a.nonZeros();
+    final int[] rowPtr = a.getRowPointers(), colIdx = a.getColumnIndices();
+    this.n = n;
+    this.tol = pivotTolerance;
+    this.pattern = a;
+    this.a_colPtr = new int[n + 1];
+    this.a_rowIdx = new int[nnz];
+    this.a_map = new int[nnz];
+    this.a_re = new double[nnz];
+    this.a_im = new double[nnz];
+    for (int k = 0; k < nnz; k++)
+    {
+      a_colPtr[colIdx[k] + 1]++;
+    }
+    for (int j = 0; j < n; j++)
+    {
+      a_colPtr[j + 1] += a_colPtr[j];
+    }
+    final int[] next = Arrays.copyOf(a_colPtr, n);
+    for (int i = 0; i < n; i++)
+    {
+      for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++)
+      {
+        final int p = next[colIdx[k]]++;
+        a_rowIdx[p] = i;
+        a_map[p] = k;
+      }
+    }
+    this.q = minimumDegree(n, a_colPtr, a_rowIdx);
+    this.pinv = new int[n];
+    this.perm = new int[n];
+    this.l_colPtr = new int[n + 1];
+    this.u_colPtr = new int[n + 1];
+    final int capacity = 2*nnz + n;
+    this.l_rowIdx = new int[capacity];
+    this.l_re = new double[capacity];
+    this.l_im = new double[capacity];
+    this.u_rowIdx = new int[capacity];
+    this.u_re = new double[capacity];
+    this.u_im = new double[capacity];
+    this.inv_re = new double[n];
+    this.inv_im = new double[n];
+    this.x_re = new double[n];
+    this.x_im = new double[n];
+    this.xi = new int[n];
+    this.stack = new int[n];
+    this.pstack = new int[n];
+    this.visited = new int[n];
+    gather(a);
+    factor();
+  }
+
+  /**
+     Returns the size of the matrix.
+
+     @return The number of rows and columns of the matrix
+   */
+  public int size()
+  {
+    return n;
+  }
+  /**
+     Returns the number of stored elements in the factors, including the
+     unit diagonal of L.
+
+     @return The number of stored elements in L and U
+   */
+  public int factorNonZeros()
+  {
+    return l_colPtr[n] + u_colPtr[n];
+  }
+
+  /**
+     Calculate the LU decomposition of a matrix having the same sparsity
+     pattern as the original matrix, reusing the ordering, the pivot
+     sequence and the patterns of the factors when possible.
+
+     @param a The square sparse matrix
+     @return this
+     @throws ArithmeticException if the matrix is singular
+   */
+  public ComplexSparseLU refactor(ComplexSparseMatrix a)
+  {
+    if (!pattern.hasSamePattern(a))
+    {
+      throw new IllegalArgumentException("sparsity pattern mismatch");
+    }
+    gather(a);
+    if (!factored || !refactorNumeric())
+    {
+      factor();
+    }
+    return this;
+  }
+
+  /**
+     Copy the values of a matrix to the column format.
+
+     @param a The matrix
+   */
+  private void gather(ComplexSparseMatrix a)
+  {
+    final double[] re = a.getRealArray(), im = a.getImagArray();
+    for (int p = 0; p < a_map.length; p++)
+    {
+      a_re[p] = re[a_map[p]];
+      a_im[p] = im[a_map[p]];
+    }
+  }
+
+  /**
+     Calculate the minimum degree ordering of the pattern of A + A^T by
+     explicitly eliminating the nodes of its graph.
+
+     @param n The size of the matrix
+     @param colPtr The column pointers of A
+     @param rowIdx The row indices of A
+     @return The ordering
+   */
+  private static int[] minimumDegree(int n, int[] colPtr, int[] rowIdx)
+  {
+    final int[] len = new int[n];
+    for (int j = 0; j < n; j++)
+    {
+      for (int p = colPtr[j]; p < colPtr[j + 1]; p++)
+      {
+        if (rowIdx[p] != j)
+        {
+          len[rowIdx[p]]++;
+          len[j]++;
+        }
+      }
+    }
+    final int[][] adj = new int[n][];
+    for (int i = 0; i < n; i++)
+    {
+      adj[i] = new int[len[i]];
+      len[i] = 0;
+    }
+    for (int j = 0; j < n; j++)
+    {
+      for (int p = colPtr[j]; p < colPtr[j + 1]; p++)
+      {
+        final int i = rowIdx[p];
+        if (i != j)
+        {
+          adj[i][len[i]++] = j;
+          adj[j][len[j]++] = i;
+        }
+      }
+    }
+    final int[] mark = new int[n];
+    int stamp = 0;
+    // remove the duplicates
+    for (int i = 0; i < n; i++)
+    {
+      stamp++;
+      int m = 0;
+      for (int t = 0; t < len[i]; t++)
+      {
+        final int w = adj[i][t];
+        if (mark[w] != stamp)
+        {
+          mark[w] = stamp;
+          adj[i][m++] = w;
+        }
+      }
+      len[i] = m;
+    }
+    // doubly linked degree lists
+    final int[] head = new int[Math.max(n, 1)];
+    final int[] next = new int[n], prev = new int[n];
+    Arrays.fill(head, -1);
+    for (int i = 0; i < n; i++)
+    {
+      insertDegree(head, next, prev, i, len[i]);
+    }
+    final int[] order = new int[n];
+    int minDegree = 0;
+    for (int k = 0; k < n; k++)
+    {
+      while (head[minDegree] == -1)
+      {
+        minDegree++;
+      }
+      final int v = head[minDegree];
+      removeDegree(head, next, prev, v, minDegree);
+      order[k] = v;
+      final int[] nv = adj[v];
+      final int lv = len[v];
+      // the neighbours of v become a clique
+      for (int t = 0; t < lv; t++)
+      {
+        final int u = nv[t];
+        removeDegree(head, next, prev, u, len[u]);
+        stamp++;
+        mark[u] = stamp;
+        int[] au = adj[u];
+        int m = 0;
+        for (int s = 0; s < len[u]; s++)
+        {
+          final int w = au[s];
+          if (w != v)
+          {
+            mark[w] = stamp;
+            au[m++] = w;
+          }
+        }
+        for (int s = 0; s < lv; s++)
+        {
+          final int w = nv[s];
+          if (mark[w] != stamp)
+          {
+            if (m == au.length)
+            {
+              au = Arrays.copyOf(au, Math.max(4, 2*m));
+              adj[u] = au;
+            }
+            au[m++] = w;
+          }
+        }
+        len[u] = m;
+        insertDegree(head, next, prev, u, m);
+        minDegree = Math.min(minDegree, m);
+      }
+      adj[v] = null;
+    }
+    return order;
+  }
+  /**
+     Insert a node into a degree list.
+
+     @param head The first node of each degree list
+     @param next The next node of each node
+     @param prev The previous node of each node
+     @param v The node
+     @param degree The degree of the node
+   */
+  private static void insertDegree(int[] head, int[] next, int[] prev,
+                                   int v, int degree)
+  {
+    next[v] = head[degree];
+    prev[v] = -1;
+    if (head[degree] != -1)
+    {
+      prev[head[degree]] = v;
+    }
+    head[degree] = v;
+  }
+  /**
+     Remove a node from a degree list.
+
+     @param head The first node of each degree list
+     @param next The next node of each node
+     @param prev The previous node of each node
+     @param v The node
+     @param degree The degree of the node
+   */
+  private static void removeDegree(int[] head, int[] next, int[] prev,
+                                   int v, int degree)
+  {
+    if (prev[v] != -1)
+    {
+      next[prev[v]] = next[v];
+    }
+    else
+    {
+      head[degree] = next[v];
+    }
+    if (next[v] != -1)
+    {
+      prev[next[v]] = prev[v];
+    }
+  }
+
+  /**
+     Find the rows reachable in the graph of L from the nonzeros of a column
+     of A.
+
+     @param col The column of A
+     @return The position in xi of the first reachable row; xi[top..n)
+             contains the rows in topological order
+   */
+  private int reach(int col)
+  {
+    stamp++;
+    int top = n;
+    for (int p = a_colPtr[col]; p < a_colPtr[col + 1]; p++)
+    {
+      if (visited[a_rowIdx[p]] != stamp)
+      {
+        top = dfs(a_rowIdx[p], top);
+      }
+    }
+    return top;
+  }
+  /**
+     Depth-first search in the graph of L without recursion.
+
+     @param j The starting row
+     @param top The current position in xi
+     @return The new position in xi
+   */
+  private int dfs(int j, int top)
+  {
+    int head = 0;
+    stack[0] = j;
+    while (head >= 0)
+    {
+      j = stack[head];
+      final int jnew = pinv[j];
+      if (visited[j] != stamp)
+      {
+        visited[j] = stamp;
+        // skip the unit diagonal, which is j itself
+        pstack[head] = jnew < 0 ? 0 : l_colPtr[jnew] + 1;
+      }
+      boolean done = true;
+      final int end = jnew < 0 ? 0 : l_colPtr[jnew + 1];
+      for (int p = pstack[head]; p < end; p++)
+      {
+        final int i = l_rowIdx[p];
+        if (visited[i] != stamp)
+        {
+          pstack[head] = p;
+          stack[++head] = i;
+          done = false;
+          break;
+        }
+      }
+      if (done)
+      {
+        head--;
+        xi[--top] = j;
+      }
+    }
+    return top;
+  }
+
+  /**
+     Make sure that the factors can hold another n elements.
+
+     @param lnz The number of elements in L
+     @param unz The number of elements in U
+   */
+  private void ensureCapacity(int lnz, int unz)
+  {
+    if (lnz + n > l_rowIdx.length)
+    {
+      final int size = 2*l_rowIdx.length + n;
+      l_rowIdx = Arrays.copyOf(l_rowIdx, size);
+      l_re = Arrays.copyOf(l_re, size);
+      l_im = Arrays.copyOf(l_im, size);
+    }
+    if (unz + n > u_rowIdx.length)
+    {
+      final int size = 2*u_rowIdx.length + n;
+      u_rowIdx = Arrays.copyOf(u_rowIdx, size);
+      u_re = Arrays.copyOf(u_re, size);
+      u_im = Arrays.copyOf(u_im, size);
+    }
+  }
+
+  /**
+     Calculate the decomposition including the pivot sequence and the
+     patterns of the factors.
+   */
+  private void factor()
+  {
+    factored = false;
+    Arrays.fill(pinv, -1);
+    int lnz = 0, unz = 0;
+    for (int k = 0; k < n; k++)
+    {
+      ensureCapacity(lnz, unz);
+      l_colPtr[k] = lnz;
+      u_colPtr[k] = unz;
+      final int col = q[k];
+      final int top = reach(col);
+      // x = L\A(:,col)
+      for (int p = top; p < n; p++)
+      {
+        x_re[xi[p]] = 0.0;
+        x_im[xi[p]] = 0.0;
+      }
+      for (int p = a_colPtr[col]; p < a_colPtr[col + 1]; p++)
+      {
+        x_re[a_rowIdx[p]] = a_re[p];
+        x_im[a_rowIdx[p]] = a_im[p];
+      }
+      for (int px = top; px < n; px++)
+      {
+        final int j = xi[px];
+        final int jnew = pinv[j];
+        if (jnew < 0)
+        {
+          continue;
+        }
+        eliminate(jnew, x_re[j], x_im[j]);
+      }
+      // choose the pivot among the rows not yet pivoted
+      int ipiv = -1;
+      double max = -1.0;
+      for (int p = top; p < n; p++)
+      {
+        final int i = xi[p];
+        if (pinv[i] < 0)
+        {
+          final double mag = Math.abs(x_re[i]) + Math.abs(x_im[i]);
+          if (mag > max)
+          {
+            max = mag;
+            ipiv = i;
+          }
+        }
+        else
+        {
+          u_rowIdx[unz] = pinv[i];
+          u_re[unz] = x_re[i];
+          u_im[unz] = x_im[i];
+          unz++;
+        }
+      }
+      if (ipiv == -1 || max <= 0.0)
+      {
+        // leave the work vector zeroed for the next factorization
+        Arrays.fill(x_re, 0.0);
+        Arrays.fill(x_im, 0.0);
+        throw new ArithmeticException("matrix is singular");
+      }
+      if (pinv[col] < 0)
+      {
+        final double mag = Math.abs(x_re[col]) + Math.abs(x_im[col]);
+        if (mag > 0.0 && mag >= max*tol)
+        {
+          ipiv = col;
+        }
+      }
+      u_rowIdx[unz] = k;
+      u_re[unz] = x_re[ipiv];
+      u_im[unz] = x_im[ipiv];
+      unz++;
+      setReciprocal(k, x_re[ipiv], x_im[ipiv]);
+      pinv[ipiv] = k;
+      perm[k] = ipiv;
+      l_rowIdx[lnz] = ipiv;
+      l_re[lnz] = 1.0;
+      l_im[lnz] = 0.0;
+      lnz++;
+      final double d_re = inv_re[k], d_im = inv_im[k];
+      for (int p = top; p < n; p++)
+      {
+        final int i = xi[p];
+        if (pinv[i] < 0)
+        {
+          l_rowIdx[lnz] = i;
+          l_re[lnz] = x_re[i]*d_re - x_im[i]*d_im;
+          l_im[lnz] = x_re[i]*d_im + x_im[i]*d_re;
+          lnz++;
+        }
+        x_re[i] = 0.0;
+        x_im[i] = 0.0;
+      }
+    }
+    l_colPtr[n] = lnz;
+    u_colPtr[n] = unz;
+    for (int p = 0; p < lnz; p++)
+    {
+      l_rowIdx[p] = pinv[l_rowIdx[p]];
+    }
+    factored = true;
+  }
+
+  /**
+     Subtract a multiple of a column of L, excluding the unit diagonal, from
+     the work vector.
+
+     @param j The column of L
+     @param v_re The real part of the multiplier
+     @param v_im The imaginary part of the multiplier
+   */
+  private void eliminate(int j, double v_re, double v_im)
+  {
+    for (int p = l_colPtr[j] + 1; p < l_colPtr[j + 1]; p++)
+    {
+      final int i = l_rowIdx[p];
+      final double l_re = this.l_re[p], l_im = this.l_im[p];
+      x_re[i] -= l_re*v_re - l_im*v_im;
+      x_im[i] -= l_re*v_im + l_im*v_re;
+    }
+  }
+
+  /**
+     Store the reciprocal of a diagonal element of U.
+
+     @param k The index of the diagonal element
+     @param u_re The real part of the diagonal element
+     @param u_im The imaginary part of the diagonal element
+   */
+  private void setReciprocal(int k, double u_re, double u_im)
+  {
+    if (Math.abs(u_re) >= Math.abs(u_im))
+    {
+      final double r = u_im/u_re, d = u_re + u_im*r;
+      inv_re[k] = 1.0/d;
+      inv_im[k] = -r/d;
+    }
+    else
+    {
+      final double r = u_re/u_im, d = u_re*r + u_im;
+      inv_re[k] = r/d;
+      inv_im[k] = -1.0/d;
+    }
+  }
+
+  /**
+     Calculate the numerical values of the factors with the existing pivot
+     sequence and patterns.
+
+     @return Whether all pivots satisfied the pivot tolerance
+   */
+  private boolean refactorNumeric()
+  {
+    for (int k = 0; k < n; k++)
+    {
+      final int col = q[k];
+      // the work vector is indexed by the rows of P*A
+      for (int p = a_colPtr[col]; p < a_colPtr[col + 1]; p++)
+      {
+        x_re[pinv[a_rowIdx[p]]] = a_re[p];
+        x_im[pinv[a_rowIdx[p]]] = a_im[p];
+      }
+      final int u_end = u_colPtr[k + 1] - 1;
+      for (int p = u_colPtr[k]; p < u_end; p++)
+      {
+        final int j = u_rowIdx[p];
+        final double v_re = x_re[j], v_im = x_im[j];
+        x_re[j] = 0.0;
+        x_im[j] = 0.0;
+        u_re[p] = v_re;
+        u_im[p] = v_im;
+        eliminate(j, v_re, v_im);
+      }
+      final double p_re = x_re[k], p_im = x_im[k];
+      x_re[k] = 0.0;
+      x_im[k] = 0.0;
+      double max = 0.0;
+      for (int p = l_colPtr[k] + 1; p < l_colPtr[k + 1]; p++)
+      {
+        final int i = l_rowIdx[p];
+        max = Math.max(max, Math.abs(x_re[i]) + Math.abs(x_im[i]));
+      }
+      final double mag = Math.abs(p_re) + Math.abs(p_im);
+      if (mag == 0.0 || mag < max*tol)
+      {
+        for (int p = l_colPtr[k] + 1; p < l_colPtr[k + 1]; p++)
+        {
+          x_re[l_rowIdx[p]] = 0.0;
+          x_im[l_rowIdx[p]] = 0.0;
+        }
+        return false;
+      }
+      u_re[u_end] = p_re;
+      u_im[u_end] = p_im;
+      setReciprocal(k, p_re, p_im);
+      final double d_re = inv_re[k], d_im = inv_im[k];
+      for (int p = l_colPtr[k] + 1; p < l_colPtr[k + 1]; p++)
+      {
+        final int i = l_rowIdx[p];
+        l_re[p] = x_re[i]*d_re - x_im[i]*d_im;
+        l_im[p] = x_re[i]*d_im + x_im[i]*d_re;
+        x_re[i] = 0.0;
+        x_im[i] = 0.0;
+      }
+    }
+    return true;
+  }
+
+  /**
+     Solve the system A*x = b in place
+
+     @param b The right-hand side, the size of which must be the size of the
+              matrix, which is replaced by the solution x
+     @return b
+     @throws IllegalStateException if the last refactor() failed
+   */
+  public ComplexBufferArray solveInPlace(ComplexBufferArray b)
+  {
+    if (!factored)
+    {
+      throw new IllegalStateException("matrix is not factored");
+    }
+    if (b.size() != n)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + n + ", " + b.size());
+    }
+    final double[] b_re = b.getRealArray(), b_im = b.getImagArray();
+    for (int k = 0; k < n; k++)
+    {
+      x_re[k] = b_re[perm[k]];
+      x_im[k] = b_im[perm[k]];
+    }
+    // L*y = P*b
+    for (int j = 0; j < n; j++)
+    {
+      eliminate(j, x_re[j], x_im[j]);
+    }
+    // U*z = y
+    for (int j = n - 1; j >= 0; j--)
+    {
+      final double s_re = x_re[j], s_im = x_im[j];
+      final double v_re = s_re*inv_re[j] - s_im*inv_im[j];
+      final double v_im = s_re*inv_im[j] + s_im*inv_re[j];
+      for (int p = u_colPtr[j]; p < u_colPtr[j + 1] - 1; p++)
+      {
+        final int i = u_rowIdx[p];
+        x_re[i] -= u_re[p]*v_re - u_im[p]*v_im;
+        x_im[i] -= u_re[p]*v_im + u_im[p]*v_re;
+      }
+      x_re[j] = v_re;
+      x_im[j] = v_im;
+    }
+    // x = Q*z, leaving the work vector zeroed for the next factorization
+    for (int k = 0; k < n; k++)
+    {
+      b_re[q[k]] = x_re[k];
+      b_im[q[k]] = x_im[k];
+      x_re[k] = 0.0;
+      x_im[k] = 0.0;
+    }
+    return b;
+  }
+};
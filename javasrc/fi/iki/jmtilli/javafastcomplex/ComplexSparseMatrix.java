@@ -0,0 +1,415 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+
+/**
+   A sparse complex matrix in compressed sparse row format.
+
+   The nonzero elements of each row are stored contiguously with
+   increasing column indices, and their real and imaginary parts are
+   stored in separate arrays like in ComplexBufferArray. The sparsity
+   pattern is fixed when the matrix is created, but the values of the
+   stored elements can be changed, so that a matrix can be reused for a
+   sweep over a parameter such as frequency.
+ */
+public class ComplexSparseMatrix
+    implements ComplexLinearOperator, Serializable {
+  private static final long serialVersionUID = -2279108744063960853L;
+  /**
+     The number of rows.
+     @serial
+   */
+  private final int rows;
+  /**
+     The number of columns.
+     @serial
+   */
+  private final int cols;
+  /**
+     The array index of the first element of each row, and the number of
+     stored elements at the end.
+     @serial
+   */
+  private final int[] rowPtr;
+  /**
+     The column indices of the stored elements.
+     @serial
+   */
+  private final int[] colIdx;
+  /**
+     The real parts of the stored elements.
+     @serial
+   */
+  private final double[] re;
+  /**
+     The imaginary parts of the stored elements.
+     @serial
+   */
+  private final double[] im;
+
+  /**
+     Create a sparse complex matrix from its arrays.
+
+     @param rows The number of rows
+     @param cols The number of columns
+     @param rowPtr The array index of the first element of each row
+     @param colIdx The column indices
+     @param re The real parts
+     @param im The imaginary parts
+   */
+  private ComplexSparseMatrix(int rows, int cols, int[] rowPtr, int[] colIdx,
+                              double[] re, double[] im)
+  {
+    this.rows = rows;
+    this.cols = cols;
+    this.rowPtr = rowPtr;
+    this.colIdx = colIdx;
+    this.re = re;
+    this.im = im;
+  }
+
+  /**
+     Create a sparse complex matrix from elements given as triplets.
+
+     The triplets may be in any order. The values of triplets having the
+     same row and column indices are summed, like when stamping the
+     elements of a circuit into a nodal admittance matrix.
+
+     @param rows The number of rows
+     @param cols The number of columns
+     @param rowIndices The row indices of the triplets
+     @param colIndices The column indices of the triplets
+     @param re The real parts of the triplets
+     @param im The imaginary parts of the triplets
+     @param count The number of triplets
+     @return A new sparse complex matrix
+   */
+  public static ComplexSparseMatrix fromTriplets(int rows, int cols,
+                                                 int[] rowIndices,
+                                                 int[] colIndices,
+                                                 double[] re, double[] im,
+                                                 int count)
+  {
+    if (rows < 0 || cols < 0)
+    {
+      throw new IllegalArgumentException(
+          "invalid matrix size: " + rows + "x" + cols);
+    }
+    for (int t = 0; t < count; t++)
+    {
+      if (rowIndices[t] < 0 || rowIndices[t] >= rows ||
+          colIndices[t] < 0 || colIndices[t] >= cols)
+      {
+        throw new IndexOutOfBoundsException(
+            "index (" + rowIndices[t] + "," + colIndices[t] +
+            ") out of bounds for size " + rows + "x" + cols);
+      }
+    }
+    // counting sort by column, then stable counting sort by row
+    final int[] colStart = new int[cols + 1];
+    for (int t = 0; t < count; t++)
+    {
+      colStart[colIndices[t] + 1]++;
+    }
+    for (int j = 0; j < cols; j++)
+    {
+      colStart[j + 1] += colStart[j];
+    }
+    final int[] byCol = new int[count];
+    for (int t = 0; t < count; t++)
+    {
+      byCol[colStart[colIndices[t]]++] = t;
+    }
+    final int[] rowStart = new int[rows + 1];
+    for (int t = 0; t < count; t++)
+    {
+      rowStart[rowIndices[t] + 1]++;
+    }
+    for (int i = 0; i < rows; i++)
+    {
+      rowStart[i + 1] += rowStart[i];
+    }
+    final int[] sorted = new int[count];
+    for (int s = 0; s < count; s++)
+    {
+      final int t = byCol[s];
+      sorted[rowStart[rowIndices[t]]++] = t;
+    }
+    // sum the duplicates
+    final int[] rowPtr = new int[rows + 1];
+    final int[] colIdx = new int[count];
+    final double[] v_re = new double[count], v_im = new double[count];
+    int nnz = 0, s = 0;
+    for (int i = 0; i < rows; i++)
+    {
+      rowPtr[i] = nnz;
+      for (; s < count && rowIndices[sorted[s]] == i; s++)
+      {
+        final int t = sorted[s];
+        if (nnz > rowPtr[i] && colIdx[nnz - 1] == colIndices[t])
+        {
+          v_re[nnz - 1] += re[t];
+          v_im[nnz - 1] += im[t];
+        }
+        else
+        {
+          colIdx[nnz] = colIndices[t];
+          v_re[nnz] = re[t];
+          v_im[nnz] = im[t];
+          nnz++;
+        }
+      }
+    }
+    rowPtr[rows] = nnz;
+    return new ComplexSparseMatrix(rows, cols, rowPtr,
+                                   Arrays.copyOf(colIdx, nnz),
+                                   Arrays.copyOf(v_re, nnz),
+                                   Arrays.copyOf(v_im, nnz));
+  }
+
+  /**
+     Returns the number of rows.
+
+     @return The number of rows
+   */
+  public int getRows()
+  {
+    return rows;
+  }
+  /**
+     Returns the number of columns.
+
+     @return The number of columns
+   */
+  public int getColumns()
+  {
+    return cols;
+  }
+  /**
+     Returns the number of stored elements.
+
+     @return The number of stored elements
+   */
+  public int nonZeros()
+  {
+    return rowPtr[rows];
+  }
+  /**
+     Returns the row pointer array backing this matrix.
+
+     @return The array index of the first element of each row
+   */
+  int[] getRowPointers()
+  {
+    return rowPtr;
+  }
+  /**
+     Returns the column index array backing this matrix.
+
+     @return The column indices
+   */
+  int[] getColumnIndices()
+  {
+    return colIdx;
+  }
+  /**
+     Returns the array of real parts backing this matrix.
+
+     @return The real parts
+   */
+  double[] getRealArray()
+  {
+    return re;
+  }
+  /**
+     Returns the array of imaginary parts backing this matrix.
+
+     @return The imaginary parts
+   */
+  double[] getImagArray()
+  {
+    return im;
+  }
+
+  /**
+     Returns whether another matrix has the same size and sparsity pattern.
+
+     @param m The other matrix
+     @return Whether the sparsity patterns are the same
+   */
+  public boolean hasSamePattern(ComplexSparseMatrix m)
+  {
+    return m.rows == rows && m.cols == cols &&
+           (m.rowPtr == rowPtr || Arrays.equals(m.rowPtr, rowPtr))
+           && (m.colIdx == colIdx ||
+               Arrays.equals(m.colIdx, colIdx));
+  }
+
+  /**
+     Returns the array index of a stored element.
+
+     @param i The row index
+     @param j The column index
+     @return The array index of the element, or -1 if it is not stored
+   */
+  public int indexOf(int i, int j)
+  {
+    if (i < 0 || i >= rows || j < 0 || j >= cols)
+    {
+      throw new IndexOutOfBoundsException(
+          "index (" + i + "," + j + ") out of bounds for size " +
+          rows + "x" + cols);
+    }
+    final int k = Arrays.binarySearch(colIdx, rowPtr[i], rowPtr[i + 1], j);
+    return k < 0 ? -1 : k;
+  }
+  /**
+     Returns the real part of an element.
+
+     @param i The row index
+     @param j The column index
+     @return The real part, which is zero for elements that are not stored
+   */
+  public double getReal(int i, int j)
+  {
+    final int k = indexOf(i, j);
+    return k < 0 ? 0.0 : re[k];
+  }
+  /**
+     Returns the imaginary part of an element.
+
+     @param i The row index
+     @param j The column index
+     @return The imaginary part, which is zero for elements that are not
+             stored
+   */
+  public double getImag(int i, int j)
+  {
+    final int k = indexOf(i, j);
+    return k < 0 ? 0.0 : im[k];
+  }
+  /**
+     Get the value of an element as an immutable object
+
+     @param i The row index
+     @param j The column index
+     @return A new immutable complex number that has the value of the element
+   */
+  public Complex get(int i, int j)
+  {
+    final int k = indexOf(i, j);
+    return k < 0 ? Complex.valueOf(0.0) : Complex.valueOf(re[k], im[k]);
+  }
+  /**
+     Modify the real and imaginary parts of a stored element
+
+     @param i The row index
+     @param j The column index
+     @param re The new real part
+     @param im The new imaginary part
+     @return this
+     @throws IllegalArgumentException if the element is not stored
+   */
+  public ComplexSparseMatrix set(int i, int j, double re, double im)
+  {
+    final int k = indexOf(i, j);
+    if (k < 0)
+    {
+      throw new IllegalArgumentException(
+          "element (" + i + "," + j + ") not in the sparsity pattern");
+    }
+    this.re[k] = re;
+    this.im[k] = im;
+    return this;
+  }
+  /**
+     Modify the real and imaginary parts of a stored element by its array
+     index, as returned by indexOf()
+
+     @param k The array index of the element
+     @param re The new real part
+     @param im The new imaginary part
+     @return this
+   */
+  public ComplexSparseMatrix setValue(int k, double re, double im)
+  {
+    this.re[k] = re;
+    this.im[k] = im;
+    return this;
+  }
+
+  /**
+     Multiply a vector by this matrix
+
+     @param x The vector, the size of which must be the number of columns
+     @param result The complex buffer array for the result, the size of
+                   which must be the number of rows; must not be x
+     @return result
+   */
+  public ComplexBufferArray multiply(ComplexBufferArray x,
+                                     ComplexBufferArray result)
+  {
+    if (x.size() != cols || result.size() != rows)
+    {
+      throw new IllegalArgumentException(
+          "size mismatch: " + rows + "x" + cols + ", " + x.size() + ", " +
+          result.size());
+    }
+    final double[] x_re = x.getRealArray(), x_im = x.getImagArray();
+    final double[] y_re = result.getRealArray(), y_im = result.getImagArray();
+    for (int i = 0; i < rows; i++)
+    {
+      double s_re = 0.0, s_im = 0.0;
+      for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++)
+      {
+        final int j = colIdx[k];
+        final double a_re = re[k], a_im = im[k];
+        s_re += a_re*x_re[j] - a_im*x_im[j];
+        s_im += a_re*x_im[j] + a_im*x_re[j];
+      }
+      y_re[i] = s_re;
+      y_im[i] = s_im;
+    }
+    return result;
+  }
+
+  /**
+     Convert this matrix to a dense matrix.
+
+     @return A new dense matrix having the same elements
+   */
+  public ComplexMatrix toDense()
+  {
+    ComplexMatrix m = new ComplexMatrix(rows, cols);
+    for (int i = 0; i < rows; i++)
+    {
+      for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++)
+      {
+        m.set(i, colIdx[k], re[k], im[k]);
+      }
+    }
+    return m;
+  }
+};
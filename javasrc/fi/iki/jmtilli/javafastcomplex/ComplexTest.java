@@ -29,5 +29,15 @@ public class ComplexTest {
     ComplexTestBasicIf.main(args);
     ComplexTestArith.main(args);
     ComplexTestEquality.main(args);
+    ComplexTestArrayBulk.main(args);
+    ComplexTestAllocation.main(args);
+    ComplexTestFFT.main(args);
+    ComplexTestMatrix.main(args);
+    ComplexTestParratt.main(args);
+    ComplexTestPolynomial.main(args);
+    ComplexTestSpecial.main(args);
+    ComplexTestLargeArray.main(args);
+    ComplexTestInterleavedArray.main(args);
+    ComplexTestFloat.main(args);
   }
 };
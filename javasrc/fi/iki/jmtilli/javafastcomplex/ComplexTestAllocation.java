@@ -0,0 +1,190 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.lang.management.ManagementFactory;
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+/**
+   Unit test for checking that in-place operations do not create garbage.
+
+   Uses the allocated bytes counters of com.sun.management.ThreadMXBean. If
+   the JVM does not support them, the test does nothing.
+ */
+public class ComplexTestAllocation {
+  private static com.sun.management.ThreadMXBean getBean()
+  {
+    java.lang.management.ThreadMXBean bean =
+        ManagementFactory.getThreadMXBean();
+    if (!(bean instanceof com.sun.management.ThreadMXBean))
+    {
+      return null;
+    }
+    com.sun.management.ThreadMXBean sunBean =
+        (com.sun.management.ThreadMXBean)bean;
+    if (!sunBean.isThreadAllocatedMemorySupported() ||
+        !sunBean.isThreadAllocatedMemoryEnabled())
+    {
+      return null;
+    }
+    return sunBean;
+  }
+  private static double inverseFuncBuf(ComplexBuffer buf, int iterations)
+  {
+    double sum = 0;
+    for (int i = 0; i < iterations; i++)
+    {
+      double re = (i % 13) - 6.5, im = (i % 7) - 3.25;
+      sum += buf.set(re, im).acosInPlace().getReal();
+      sum += buf.set(re, im).asinInPlace().getReal();
+      sum += buf.set(re, im).atanInPlace().getReal();
+      sum += buf.set(re, im).acoshInPlace().getReal();
+      sum += buf.set(re, im).asinhInPlace().getReal();
+      sum += buf.set(re, im).atanhInPlace().getReal();
+    }
+    return sum;
+  }
+  private static double inverseFuncArray(ComplexBufferArray ar, int iterations)
+  {
+    double sum = 0;
+    for (int i = 0; i < iterations; i++)
+    {
+      int j = i % ar.size();
+      double re = (i % 13) - 6.5, im = (i % 7) - 3.25;
+      sum += ar.set(j, re, im).acosInPlace(j).getReal(j);
+      sum += ar.set(j, re, im).asinInPlace(j).getReal(j);
+      sum += ar.set(j, re, im).atanInPlace(j).getReal(j);
+      sum += ar.set(j, re, im).acoshInPlace(j).getReal(j);
+      sum += ar.set(j, re, im).asinhInPlace(j).getReal(j);
+      sum += ar.set(j, re, im).atanhInPlace(j).getReal(j);
+    }
+    return sum;
+  }
+  private static double specialFuncBuf(ComplexBuffer buf, int iterations)
+  {
+    double sum = 0;
+    for (int i = 0; i < iterations; i++)
+    {
+      double re = (i % 13) - 6.25, im = (i % 7) - 3.25;
+      sum += buf.set(re, im).lgammaInPlace().getReal();
+      sum += buf.set(re, im).gammaInPlace().getReal();
+      sum += buf.set(re, im).digammaInPlace().getReal();
+      sum += buf.set(re, im).faddeevaInPlace().getReal();
+      sum += buf.set(re, im).erfInPlace().getReal();
+      sum += buf.set(re, im).erfcInPlace().getReal();
+      sum += buf.set(re, im).erfcxInPlace().getReal();
+    }
+    return sum;
+  }
+  private static double specialFuncArray(ComplexBufferArray ar, int iterations)
+  {
+    double sum = 0;
+    for (int i = 0; i < iterations; i++)
+    {
+      int j = i % ar.size();
+      double re = (i % 13) - 6.25, im = (i % 7) - 3.25;
+      sum += ar.set(j, re, im).lgammaInPlace(j).getReal(j);
+      sum += ar.set(j, re, im).gammaInPlace(j).getReal(j);
+      sum += ar.set(j, re, im).digammaInPlace(j).getReal(j);
+      sum += ar.set(j, re, im).faddeevaInPlace(j).getReal(j);
+      sum += ar.set(j, re, im).erfInPlace(j).getReal(j);
+      sum += ar.set(j, re, im).erfcInPlace(j).getReal(j);
+      sum += ar.set(j, re, im).erfcxInPlace(j).getReal(j);
+    }
+    sum += ar.lgammaAllInPlace().getReal(0);
+    sum += ar.erfAllInPlace().getReal(0);
+    return sum;
+  }
+  private static void funcTest(com.sun.management.ThreadMXBean bean)
+  {
+    final long id = Thread.currentThread().getId();
+    final ComplexBuffer buf = new ComplexBuffer();
+    final ComplexBufferArray ar = new ComplexBufferArray(16);
+    long before, after, overhead;
+    double sum = 0;
+    // Run a few times so that class loading does not count. The code must
+    // not be run so often that it gets compiled by an optimizing compiler,
+    // since escape analysis could then hide the garbage.
+    sum += inverseFuncBuf(buf, 100);
+    sum += inverseFuncArray(ar, 100);
+    sum += specialFuncBuf(buf, 100);
+    sum += specialFuncArray(ar, 100);
+    before = bean.getThreadAllocatedBytes(id);
+    after = bean.getThreadAllocatedBytes(id);
+    overhead = after - before;
+    before = bean.getThreadAllocatedBytes(id);
+    sum += inverseFuncBuf(buf, 1000);
+    sum += inverseFuncArray(ar, 1000);
+    sum += specialFuncBuf(buf, 1000);
+    sum += specialFuncArray(ar, 1000);
+    after = bean.getThreadAllocatedBytes(id);
+    // The JVM itself may occasionally allocate a few bytes in this thread,
+    // e.g. when compiling code, but garbage generated by the tested
+    // functions would be hundreds of kilobytes.
+    if (after - before - overhead > 1024)
+    {
+      throw new RuntimeException("allocated " + (after - before - overhead) +
+                                 " bytes, sum " + sum);
+    }
+  }
+  private static void qrSolveTest(com.sun.management.ThreadMXBean bean)
+  {
+    final long id = Thread.currentThread().getId();
+    final ComplexMatrix a = new ComplexMatrix(200, 40);
+    for (int i = 0; i < 200; i++)
+    {
+      for (int j = 0; j < 40; j++)
+      {
+        a.set(i, j, Math.sin(i + 3*j), Math.cos(2*i - j));
+      }
+    }
+    final ComplexQR qr = new ComplexQR(a);
+    final ComplexBufferArray b = new ComplexBufferArray(200).set(7, 1.0);
+    final ComplexBufferArray x = new ComplexBufferArray(40);
+    long before, after, overhead;
+    for (int i = 0; i < 10; i++)
+    {
+      qr.solve(b, x);
+    }
+    before = bean.getThreadAllocatedBytes(id);
+    after = bean.getThreadAllocatedBytes(id);
+    overhead = after - before;
+    before = bean.getThreadAllocatedBytes(id);
+    for (int i = 0; i < 100; i++)
+    {
+      qr.solve(b, x);
+    }
+    after = bean.getThreadAllocatedBytes(id);
+    if (after - before - overhead > 1024)
+    {
+      throw new RuntimeException("QR solve allocated " +
+                                 (after - before - overhead) + " bytes");
+    }
+  }
+  public static void main(String[] args)
+  {
+    com.sun.management.ThreadMXBean bean = getBean();
+    if (bean == null)
+    {
+      return;
+    }
+    funcTest(bean);
+    qrSolveTest(bean);
+  }
+};
@@ -894,6 +894,54 @@ public class ComplexTestArith {
     assertEqualTolerance(1e-10, buf, new Complex(0.173286795139986,
                                                  1.178097245096172));
   }
+  private static void inverseFuncArrayTest()
+  {
+    double[] vals = {-3, -1.0, -0.5, -0.0, 0.0, 0.25, 1.0, 2.5};
+    ComplexBufferArray ar = new ComplexBufferArray(6);
+    ComplexBuffer buf = new ComplexBuffer();
+    for (double re: vals)
+    {
+      for (double im: vals)
+      {
+        for (int i = 0; i < 6; i++)
+        {
+          ar.set(i, re, im);
+        }
+        assertSameObject(ar, ar.acosInPlace(0));
+        assertSameObject(ar, ar.asinInPlace(1));
+        assertSameObject(ar, ar.atanInPlace(2));
+        assertSameObject(ar, ar.acoshInPlace(3));
+        assertSameObject(ar, ar.asinhInPlace(4));
+        assertSameObject(ar, ar.atanhInPlace(5));
+        buf.set(re, im).acosInPlace();
+        assertEqual(buf.getReal(), ar.getReal(0));
+        assertEqual(buf.getImag(), ar.getImag(0));
+        buf.set(re, im).asinInPlace();
+        assertEqual(buf.getReal(), ar.getReal(1));
+        assertEqual(buf.getImag(), ar.getImag(1));
+        buf.set(re, im).atanInPlace();
+        assertEqual(buf.getReal(), ar.getReal(2));
+        assertEqual(buf.getImag(), ar.getImag(2));
+        buf.set(re, im).acoshInPlace();
+        assertEqual(buf.getReal(), ar.getReal(3));
+        assertEqual(buf.getImag(), ar.getImag(3));
+        buf.set(re, im).asinhInPlace();
+        assertEqual(buf.getReal(), ar.getReal(4));
+        assertEqual(buf.getImag(), ar.getImag(4));
+        buf.set(re, im).atanhInPlace();
+        assertEqual(buf.getReal(), ar.getReal(5));
+        assertEqual(buf.getImag(), ar.getImag(5));
+      }
+    }
+    ar.set(0, 1, 2);
+    ar.acosInPlace(0);
+    assertEqualTolerance(1e-10, ar.get(0), new Complex(1.14371774040242,
+                                                       -1.52857091948100));
+    ar.set(0, 1, 2);
+    ar.atanhInPlace(0);
+    assertEqualTolerance(1e-10, ar.get(0), new Complex(0.173286795139986,
+                                                       1.178097245096172));
+  }
 
   public static void main(String[] args)
   {
@@ -951,6 +999,7 @@ public class ComplexTestArith {
     arcusFuncBufTest();
     areaFuncTest();
     areaFuncBufTest();
+    inverseFuncArrayTest();
     complexBufThisTest();
   }
 };
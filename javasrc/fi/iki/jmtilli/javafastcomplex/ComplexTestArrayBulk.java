@@ -0,0 +1,352 @@
+package fi.iki.jmtilli.javafastcomplex;
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+/**
+   Unit test for the bulk operations of complex number arrays
+ */
+public class ComplexTestArrayBulk {
+  private static void assertSameObject(Object a, Object b)
+  {
+    if (a != b)
+    {
+      throw new RuntimeException("different objects: " + a + ", " + b);
+    }
+  }
+  static void assertEqual(double a, double b)
+  {
+    if (Double.doubleToLongBits(a) != Double.doubleToLongBits(b))
+    {
+      throw new RuntimeException("inequal: " + a + ", " + b);
+    }
+  }
+  private static void assertEqual(ComplexBufferArray a, ComplexBufferArray b)
+  {
+    if (a.size() != b.size())
+    {
+      throw new RuntimeException("inequal sizes: " + a.size() + ", " +
+                                 b.size());
+    }
+    for (int i = 0; i < a.size(); i++)
+    {
+      assertEqual(a.getReal(i), b.getReal(i));
+      assertEqual(a.getImag(i), b.getImag(i));
+    }
+  }
+  static ComplexBufferArray newArray(int size, int seed)
+  {
+    ComplexBufferArray ar = new ComplexBufferArray(size);
+    for (int i = 0; i < size; i++)
+    {
+      ar.set(i, Math.sin(seed + 1.5*i) * (i + 1), Math.cos(seed + 0.7*i) * 3);
+    }
+    return ar;
+  }
+  private static void addTest()
+  {
+    ComplexBufferArray a = newArray(37, 1);
+    ComplexBufferArray b = newArray(37, 2);
+    ComplexBufferArray ref = newArray(37, 1);
+    assertSameObject(a, a.addAllInPlace(b));
+    for (int i = 0; i < ref.size(); i++)
+    {
+      ref.addInPlace(i, b, i);
+    }
+    assertEqual(a, ref);
+    assertSameObject(a, a.addRangeInPlace(3, 20, b, 10));
+    for (int i = 3; i < 20; i++)
+    {
+      ref.addInPlace(i, b, i + 7);
+    }
+    assertEqual(a, ref);
+    assertSameObject(a, a.addAllInPlace(new Complex(1, -2)));
+    assertSameObject(a, a.addRangeInPlace(5, 9, 3.5));
+    for (int i = 0; i < ref.size(); i++)
+    {
+      ref.addInPlace(i, new Complex(1, -2));
+    }
+    for (int i = 5; i < 9; i++)
+    {
+      ref.addInPlace(i, 3.5);
+    }
+    assertEqual(a, ref);
+  }
+  private static void subtractTest()
+  {
+    ComplexBufferArray a = newArray(37, 3);
+    ComplexBufferArray b = newArray(37, 4);
+    ComplexBufferArray ref = newArray(37, 3);
+    assertSameObject(a, a.subtractAllInPlace(b));
+    assertSameObject(a, a.subtractRangeInPlace(0, 10, b, 27));
+    assertSameObject(a, a.subtractRangeInPlace(2, 30, new ComplexBuffer(3, 4)));
+    assertSameObject(a, a.subtractAllInPlace(-1.25));
+    for (int i = 0; i < ref.size(); i++)
+    {
+      ref.subtractInPlace(i, b, i);
+    }
+    for (int i = 0; i < 10; i++)
+    {
+      ref.subtractInPlace(i, b, i + 27);
+    }
+    for (int i = 2; i < 30; i++)
+    {
+      ref.subtractInPlace(i, new Complex(3, 4));
+    }
+    for (int i = 0; i < ref.size(); i++)
+    {
+      ref.subtractInPlace(i, -1.25);
+    }
+    assertEqual(a, ref);
+  }
+  private static void multiplyTest()
+  {
+    ComplexBufferArray a = newArray(41, 5);
+    ComplexBufferArray b = newArray(41, 6);
+    ComplexBufferArray ref = newArray(41, 5);
+    assertSameObject(a, a.multiplyAllInPlace(b));
+    assertSameObject(a, a.multiplyRangeInPlace(1, 40, b, 0));
+    assertSameObject(a, a.multiplyAllInPlace(new Complex(0.5, -1.5)));
+    assertSameObject(a, a.multiplyRangeInPlace(7, 8, 3.0));
+    for (int i = 0; i < ref.size(); i++)
+    {
+      ref.multiplyInPlace(i, b, i);
+    }
+    for (int i = 1; i < 40; i++)
+    {
+      ref.multiplyInPlace(i, b, i - 1);
+    }
+    for (int i = 0; i < ref.size(); i++)
+    {
+      ref.multiplyInPlace(i, new Complex(0.5, -1.5));
+    }
+    ref.multiplyInPlace(7, 3.0);
+    assertEqual(a, ref);
+    // squaring in place with the array itself as the argument
+    assertSameObject(a, a.multiplyAllInPlace(a));
+    for (int i = 0; i < ref.size(); i++)
+    {
+      ref.multiplyInPlace(i, ref, i);
+    }
+    assertEqual(a, ref);
+  }
+  private static void divideTest()
+  {
+    ComplexBufferArray a = newArray(41, 7);
+    ComplexBufferArray b = newArray(41, 8);
+    ComplexBufferArray ref = newArray(41, 7);
+    assertSameObject(a, a.divideAllInPlace(b));
+    assertSameObject(a, a.divideRangeInPlace(10, 20, b, 21));
+    assertSameObject(a, a.divideAllInPlace(new Complex(0.5, -1.5)));
+    assertSameObject(a, a.divideAllInPlace(new Complex(2.5, -1.5)));
+    assertSameObject(a, a.divideRangeInPlace(0, 41, -3.0));
+    for (int i = 0; i < ref.size(); i++)
+    {
+      ref.divideInPlace(i, b, i);
+    }
+    for (int i = 10; i < 20; i++)
+    {
+      ref.divideInPlace(i, b, i + 11);
+    }
+    for (int i = 0; i < ref.size(); i++)
+    {
+      ref.divideInPlace(i, new Complex(0.5, -1.5));
+      ref.divideInPlace(i, new Complex(2.5, -1.5));
+      ref.divideInPlace(i, -3.0);
+    }
+    assertEqual(a, ref);
+  }
+  private static void multiplyAddTest()
+  {
+    ComplexBufferArray acc = newArray(33, 11);
+    ComplexBufferArray a = newArray(40, 12);
+    ComplexBufferArray b = newArray(40, 13);
+    ComplexBufferArray ref = newArray(33, 11);
+    Complex c = new Complex(-0.75, 2.0);
+    assertSameObject(acc, acc.multiplyAddRangeInPlace(0, 33, a, 7, b, 2));
+    assertSameObject(acc, acc.multiplyAddRangeInPlace(4, 30, c, a, 0));
+    for (int i = 0; i < 33; i++)
+    {
+      ComplexBuffer prod =
+        new ComplexBuffer(a, i + 7).multiplyInPlace(b, i + 2);
+      ref.set(i, ref.getReal(i) + prod.getReal(),
+              ref.getImag(i) + prod.getImag());
+    }
+    for (int i = 4; i < 30; i++)
+    {
+      ComplexBuffer prod = new ComplexBuffer(c).multiplyInPlace(a, i - 4);
+      ref.set(i, ref.getReal(i) + prod.getReal(),
+              ref.getImag(i) + prod.getImag());
+    }
+    assertEqual(acc, ref);
+  }
+  private static void conjugateTest()
+  {
+    ComplexBufferArray a = newArray(20, 14);
+    ComplexBufferArray ref = newArray(20, 14);
+    assertSameObject(a, a.conjugateAllInPlace());
+    assertSameObject(a, a.conjugateRangeInPlace(3, 6));
+    for (int i = 0; i < 20; i++)
+    {
+      ref.conjugateInPlace(i);
+    }
+    for (int i = 3; i < 6; i++)
+    {
+      ref.conjugateInPlace(i);
+    }
+    assertEqual(a, ref);
+  }
+  private static void absTest()
+  {
+    ComplexBufferArray a = newArray(20, 15);
+    double[] result = new double[22];
+    a.set(0, Double.NaN, 1.0);
+    a.set(1, Double.POSITIVE_INFINITY, Double.NaN);
+    a.set(2, 3e200, 4e200);
+    a.set(3, -3e-200, 4e-200);
+    a.set(4, -0.0, 0.0);
+    a.set(5, Double.NEGATIVE_INFINITY, 1.0);
+    a.set(6, 3, 4);
+    a.absRange(0, 20, result, 2);
+    for (int i = 0; i < 20; i++)
+    {
+      double abs = a.abs(i);
+      if (Double.isNaN(abs) || Double.isInfinite(abs) || abs == 0.0)
+      {
+        assertEqual(result[i + 2], abs);
+      }
+      else if (Math.abs(result[i + 2] - abs) > Math.ulp(abs))
+      {
+        throw new RuntimeException("inequal: " + result[i + 2] + ", " + abs);
+      }
+    }
+    assertEqual(result[8], 5.0);
+    assertSameObject(result, a.absAll(result));
+  }
+  private static void dotTest()
+  {
+    ComplexBufferArray a = newArray(25, 16);
+    ComplexBufferArray b = newArray(25, 17);
+    ComplexBuffer inner = new ComplexBuffer();
+    ComplexBuffer dot = new ComplexBuffer();
+    ComplexBuffer refInner = new ComplexBuffer();
+    ComplexBuffer refDot = new ComplexBuffer();
+    double refNorm = 0.0;
+    for (int i = 0; i < 25; i++)
+    {
+      refInner.addInPlace(new ComplexBuffer(a, i).conjugateInPlace()
+                          .multiplyInPlace(b, i));
+      refDot.addInPlace(new ComplexBuffer(a, i).multiplyInPlace(b, i));
+      refNorm += a.abs(i)*a.abs(i);
+    }
+    assertSameObject(inner, a.innerProductAll(b, inner));
+    assertSameObject(dot, a.dotAll(b, dot));
+    if (ComplexUtils.subtract(inner, refInner).abs() > 1e-12*refInner.abs() ||
+        ComplexUtils.subtract(dot, refDot).abs() > 1e-12*refDot.abs() ||
+        Math.abs(a.normAll() - Math.sqrt(refNorm)) > 1e-12*a.normAll())
+    {
+      throw new RuntimeException("inequal: " + inner + ", " + refInner +
+                                 ", " + dot + ", " + refDot);
+    }
+    ComplexBufferArray c = newArray(25, 18);
+    assertSameObject(c, c.setRange(2, 10, a, 5));
+    assertSameObject(b, b.setAll(a));
+    assertEqual(b, a);
+    for (int i = 2; i < 10; i++)
+    {
+      assertEqual(c.getReal(i), a.getReal(i + 3));
+      assertEqual(c.getImag(i), a.getImag(i + 3));
+    }
+  }
+  private static void normTest()
+  {
+    // the squares underflow or overflow unless the norm is scaled
+    double[] scales = {1.0, 1e-170, 1e-300, 1e170, 1e300};
+    ComplexBufferArray a = newArray(25, 19);
+    ComplexBufferArray b = new ComplexBufferArray(25);
+    double norm = a.normAll();
+    for (double scale: scales)
+    {
+      b.setAll(a).multiplyAllInPlace(scale);
+      if (Math.abs(b.normAll() - scale*norm) > 1e-14*scale*norm)
+      {
+        throw new RuntimeException("norm: " + b.normAll() + " != " +
+                                   scale*norm);
+      }
+    }
+    b.setAll(a).multiplyAllInPlace(1e-170).set(3, 3e-320, -4e-320);
+    b.multiplyRangeInPlace(0, 3, 0.0).multiplyRangeInPlace(4, 25, 0.0);
+    if (Math.abs(b.normAll() - 5e-320) > 1e-323 ||
+        new ComplexBufferArray(5).normAll() != 0.0 ||
+        b.set(7, Double.POSITIVE_INFINITY, 0.0).normAll() !=
+          Double.POSITIVE_INFINITY ||
+        !Double.isNaN(b.set(8, Double.NaN).normAll()))
+    {
+      throw new RuntimeException("norm: " + b.normAll());
+    }
+  }
+  private static void rangeCheckTest()
+  {
+    ComplexBufferArray a = newArray(10, 9);
+    ComplexBufferArray b = newArray(5, 10);
+    boolean thrown = false;
+    try
+    {
+      a.addRangeInPlace(0, 10, b, 0);
+    }
+    catch (IndexOutOfBoundsException e)
+    {
+      thrown = true;
+    }
+    if (!thrown)
+    {
+      throw new RuntimeException("range not checked");
+    }
+    thrown = false;
+    try
+    {
+      a.multiplyAllInPlace(b);
+    }
+    catch (IllegalArgumentException e)
+    {
+      thrown = true;
+    }
+    if (!thrown)
+    {
+      throw new RuntimeException("size not checked");
+    }
+    // empty ranges are allowed
+    a.multiplyRangeInPlace(10, 10, b, 5);
+  }
+
+  public static void main(String[] args)
+  {
+    addTest();
+    subtractTest();
+    multiplyTest();
+    divideTest();
+    multiplyAddTest();
+    conjugateTest();
+    absTest();
+    dotTest();
+    normTest();
+    rangeCheckTest();
+  }
+};
@@ -0,0 +1,291 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.util.concurrent.ForkJoinPool;
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+/**
+   Unit test for fast Fourier transforms
+ */
+public class ComplexTestFFT {
+  private static void assertEqualTolerance(double tol,
+                                           ComplexNumberArray a, int i,
+                                           ComplexNumberArray b, int j)
+  {
+    if (ComplexUtils.subtract(a, i, b, j).abs() > tol)
+    {
+      throw new RuntimeException("inequal: " + a.toString(i) + ", " +
+                                 b.toString(j));
+    }
+  }
+  private static ComplexBufferArray newArray(int size, int seed)
+  {
+    ComplexBufferArray ar = new ComplexBufferArray(size);
+    for (int i = 0; i < size; i++)
+    {
+      ar.set(i, Math.sin(seed + 1.5*i), Math.cos(seed + 0.7*i*i));
+    }
+    return ar;
+  }
+  private static ComplexBufferArray naiveDft(ComplexBufferArray x, int off,
+                                             int n, double sign)
+  {
+    ComplexBufferArray result = new ComplexBufferArray(n);
+    ComplexBuffer tmp = new ComplexBuffer();
+    for (int k = 0; k < n; k++)
+    {
+      for (int j = 0; j < n; j++)
+      {
+        double angle = sign*2*Math.PI*(((long)j*k) % n)/n;
+        tmp.set(Math.cos(angle), Math.sin(angle)).multiplyInPlace(x, off + j);
+        result.addInPlace(k, tmp);
+      }
+    }
+    return result;
+  }
+  private static void fftTest(int n)
+  {
+    ComplexFFT plan = new ComplexFFT(n);
+    ComplexBufferArray x = newArray(n, n);
+    ComplexBufferArray ref = naiveDft(x, 0, n, -1);
+    ComplexBufferArray orig = newArray(n, n);
+    double tol = 1e-12*n;
+    plan.fftInPlace(x);
+    for (int k = 0; k < n; k++)
+    {
+      assertEqualTolerance(tol, x, k, ref, k);
+    }
+    ref = naiveDft(orig, 0, n, 1);
+    plan.ifftInPlace(x);
+    for (int k = 0; k < n; k++)
+    {
+      assertEqualTolerance(tol, x, k, orig, k);
+    }
+    plan.ifftInPlace(x);
+    for (int k = 0; k < n; k++)
+    {
+      assertEqualTolerance(tol, x, k, ref.divideInPlace(k, n), k);
+    }
+  }
+  private static void fftOffsetTest()
+  {
+    ComplexFFT plan = new ComplexFFT(12);
+    ComplexBufferArray x = newArray(20, 3);
+    ComplexBufferArray orig = newArray(20, 3);
+    ComplexBufferArray ref = naiveDft(x, 5, 12, -1);
+    plan.fftInPlace(x, 5);
+    for (int k = 0; k < 20; k++)
+    {
+      if (k < 5 || k >= 17)
+      {
+        assertEqualTolerance(0.0, x, k, orig, k);
+      }
+      else
+      {
+        assertEqualTolerance(1e-10, x, k, ref, k - 5);
+      }
+    }
+    boolean thrown = false;
+    try
+    {
+      plan.fftInPlace(x, 9);
+    }
+    catch (IndexOutOfBoundsException e)
+    {
+      thrown = true;
+    }
+    if (!thrown)
+    {
+      throw new RuntimeException("range not checked");
+    }
+  }
+  private static void chirpZTest(int n, int m, double start, double step)
+  {
+    ComplexChirpZ plan = new ComplexChirpZ(n, m, start, step);
+    ComplexBufferArray x = newArray(n, n + m);
+    ComplexBufferArray result = new ComplexBufferArray(m);
+    ComplexBuffer tmp = new ComplexBuffer();
+    plan.transform(x, result);
+    for (int k = 0; k < m; k++)
+    {
+      ComplexBuffer ref = new ComplexBuffer();
+      for (int j = 0; j < n; j++)
+      {
+        tmp.set(0, -j*(start + k*step)).expInPlace().multiplyInPlace(x, j);
+        ref.addInPlace(tmp);
+      }
+      if (ComplexUtils.subtract(ref, result, k).abs() > 1e-11*n)
+      {
+        throw new RuntimeException("inequal: " + ref + ", " +
+                                   result.toString(k));
+      }
+    }
+  }
+  private static void chirpZDftTest()
+  {
+    ComplexChirpZ plan = new ComplexChirpZ(31);
+    ComplexBufferArray x = newArray(40, 5);
+    ComplexBufferArray ref = naiveDft(x, 3, 31, -1);
+    plan.transform(x, 3, x, 0);
+    for (int k = 0; k < 31; k++)
+    {
+      assertEqualTolerance(1e-10, x, k, ref, k);
+    }
+  }
+  private static void parallelFftTest(ForkJoinPool pool, int n)
+  {
+    ComplexParallelFFT plan = new ComplexParallelFFT(n, pool, 1);
+    ComplexFFT seq = new ComplexFFT(n);
+    ComplexBufferArray x = newArray(n, n);
+    ComplexBufferArray ref = newArray(n, n);
+    ComplexBufferArray orig = newArray(n, n);
+    double tol = 1e-12*n;
+    plan.fftInPlace(x);
+    seq.fftInPlace(ref);
+    for (int k = 0; k < n; k++)
+    {
+      assertEqualTolerance(tol, x, k, ref, k);
+    }
+    plan.ifftInPlace(x);
+    for (int k = 0; k < n; k++)
+    {
+      assertEqualTolerance(tol, x, k, orig, k);
+    }
+  }
+  private static void realFftTest(int n)
+  {
+    ComplexRealFFT plan = new ComplexRealFFT(n);
+    ComplexFFT ref_plan = new ComplexFFT(n);
+    double[] x = new double[n + 3];
+    ComplexBufferArray ref = new ComplexBufferArray(n);
+    for (int j = 0; j < n; j++)
+    {
+      x[j + 3] = Math.sin(n + 1.5*j) + 0.25*j;
+      ref.set(j, x[j + 3], 0.0);
+    }
+    ref_plan.fftInPlace(ref);
+    ComplexBufferArray result = new ComplexBufferArray(n/2 + 3);
+    double tol = 1e-12*n*n;
+    plan.fft(x, 3, result, 1);
+    for (int k = 0; k <= n/2; k++)
+    {
+      assertEqualTolerance(tol, result, k + 1, ref, k);
+    }
+    double[] back = new double[n + 1];
+    plan.ifft(result, 1, back, 1);
+    for (int j = 0; j < n; j++)
+    {
+      if (Math.abs(back[j + 1] - x[j + 3]) > tol)
+      {
+        throw new RuntimeException("inequal: " + back[j + 1] + ", " +
+                                   x[j + 3]);
+      }
+    }
+  }
+  private static void multiDimFftTest(ForkJoinPool pool, int... dims)
+  {
+    ComplexMultiDimFFT plan = new ComplexMultiDimFFT(pool, dims);
+    int n = plan.size();
+    ComplexBufferArray x = newArray(n, n);
+    ComplexBufferArray orig = newArray(n, n);
+    ComplexBufferArray ref = new ComplexBufferArray(n);
+    ComplexBuffer tmp = new ComplexBuffer();
+    for (int k = 0; k < n; k++)
+    {
+      for (int j = 0; j < n; j++)
+      {
+        double angle = 0.0;
+        int kr = k, jr = j;
+        for (int d = dims.length - 1; d >= 0; d--)
+        {
+          angle -= 2*Math.PI*((jr % dims[d])*(kr % dims[d]))/dims[d];
+          kr /= dims[d];
+          jr /= dims[d];
+        }
+        tmp.set(Math.cos(angle), Math.sin(angle)).multiplyInPlace(x, j);
+        ref.addInPlace(k, tmp);
+      }
+    }
+    double tol = 1e-12*n;
+    plan.fftInPlace(x);
+    for (int k = 0; k < n; k++)
+    {
+      assertEqualTolerance(tol, x, k, ref, k);
+    }
+    plan.ifftInPlace(x);
+    for (int k = 0; k < n; k++)
+    {
+      assertEqualTolerance(tol, x, k, orig, k);
+    }
+  }
+  private static void multiDimParallelTest(ForkJoinPool pool, int... dims)
+  {
+    ComplexMultiDimFFT plan = new ComplexMultiDimFFT(pool, dims);
+    ComplexMultiDimFFT seq = new ComplexMultiDimFFT(dims);
+    int n = plan.size();
+    ComplexBufferArray x = newArray(n, 1);
+    ComplexBufferArray ref = newArray(n, 1);
+    plan.fftInPlace(x);
+    seq.fftInPlace(ref);
+    for (int k = 0; k < n; k++)
+    {
+      assertEqualTolerance(0.0, x, k, ref, k);
+    }
+  }
+  public static void main(String[] args)
+  {
+    int[] sizes = {1, 2, 3, 4, 5, 6, 7, 8, 9, 12, 15, 16, 18, 30, 32, 49,
+                   64, 97, 100, 128, 210, 256, 360, 512, 1024, 1000,
+                   67, 131, 262, 402, 1009};
+    for (int n: sizes)
+    {
+      fftTest(n);
+    }
+    fftOffsetTest();
+    chirpZTest(1, 1, 0.0, 1.0);
+    chirpZTest(17, 40, 0.1, 0.01);
+    chirpZTest(64, 5, -1.0, 0.5);
+    chirpZTest(100, 100, 0.0, 2*Math.PI/100);
+    chirpZDftTest();
+    ForkJoinPool pool = new ForkJoinPool(4);
+    int[] parallelSizes = {1, 7, 12, 64, 100, 1024, 786, 4096, 1 << 15,
+                           3*5*7*11*13};
+    for (int n: parallelSizes)
+    {
+      parallelFftTest(pool, n);
+    }
+    multiDimFftTest(null, 7);
+    multiDimFftTest(null, 3, 4);
+    multiDimFftTest(null, 20, 18);
+    multiDimFftTest(null, 5, 6, 4);
+    multiDimFftTest(pool, 2, 17, 3);
+    multiDimFftTest(pool, 32, 33);
+    multiDimFftTest(pool, 4, 1, 8, 9);
+    multiDimParallelTest(pool, 128, 256);
+    multiDimParallelTest(pool, 24, 64, 40);
+    pool.shutdown();
+    int[] realSizes = {1, 2, 3, 4, 5, 6, 8, 10, 12, 15, 16, 30, 64, 100,
+                       128, 202, 262, 1000, 1024};
+    for (int n: realSizes)
+    {
+      realFftTest(n);
+    }
+  }
+};
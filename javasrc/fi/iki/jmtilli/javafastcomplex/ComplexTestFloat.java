@@ -0,0 +1,439 @@
+package fi.iki.jmtilli.javafastcomplex;
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+/**
+   Unit test for the single-precision complex buffer and buffer array
+
+   The element operations of the array are compared bitwise with the
+   single-precision buffer and the bulk operations with the element
+   operations. The results are compared with double precision within the
+   accuracy of single precision.
+ */
+public class ComplexTestFloat {
+  private static void assertEqual(ComplexFloatBufferArray a, int i,
+                                  ComplexNumber b)
+  {
+    ComplexTestArrayBulk.assertEqual(a.getReal(i), b.getReal());
+    ComplexTestArrayBulk.assertEqual(a.getImag(i), b.getImag());
+  }
+  private static void assertEqual(ComplexFloatBufferArray a,
+                                  ComplexFloatBufferArray b)
+  {
+    if (a.size() != b.size())
+    {
+      throw new RuntimeException("inequal sizes: " + a.size() + ", " +
+                                 b.size());
+    }
+    for (int i = 0; i < a.size(); i++)
+    {
+      ComplexTestArrayBulk.assertEqual(a.getReal(i), b.getReal(i));
+      ComplexTestArrayBulk.assertEqual(a.getImag(i), b.getImag(i));
+    }
+  }
+  /*
+     Check that a single precision value is the double precision value
+     rounded to single precision.
+   */
+  private static void assertRounded(ComplexNumber d, ComplexNumber f)
+  {
+    ComplexTestArrayBulk.assertEqual(f.getReal(), (float)d.getReal());
+    ComplexTestArrayBulk.assertEqual(f.getImag(), (float)d.getImag());
+  }
+  private static void assertClose(ComplexNumber a, ComplexNumber b)
+  {
+    double eps = 1e-6 * Math.max(1.0, ComplexUtils.abs(b.getReal(),
+                                                       b.getImag()));
+    if (!(Math.abs(a.getReal() - b.getReal()) <= eps &&
+          Math.abs(a.getImag() - b.getImag()) <= eps))
+    {
+      throw new RuntimeException("not close: " + a + ", " + b);
+    }
+  }
+  private static void assertAbs(float x, double abs)
+  {
+    float f = (float)abs;
+    if (Float.isNaN(f) ? !Float.isNaN(x) :
+        x != f && !(Math.abs(x - f) <= Math.ulp(f)))
+    {
+      throw new RuntimeException("invalid absolute value: " + x + ", " + f);
+    }
+  }
+  private static ComplexFloatBufferArray newArray(int size, int seed)
+  {
+    return new ComplexFloatBufferArray(size)
+        .setAll(ComplexTestArrayBulk.newArray(size, seed));
+  }
+  private static ComplexFloatBufferArray copy(ComplexFloatBufferArray ar)
+  {
+    return new ComplexFloatBufferArray(ar.size()).setAll(ar);
+  }
+  private static void elementTest()
+  {
+    ComplexFloatBufferArray a = newArray(13, 1), b = newArray(13, 2);
+    ComplexFloatBuffer buf = new ComplexFloatBuffer();
+    ComplexBuffer dbl = new ComplexBuffer();
+    Complex z = new Complex(0.25, -0.5);
+    for (int i = 0; i < 13; i++)
+    {
+      int j = (i*5) % 13;
+      buf.set(a, i).addInPlace(z).subtractInPlace(b, j).multiplyInPlace(b, j);
+      dbl.set(a, i).addInPlace(z).subtractInPlace(b, j).multiplyInPlace(b, j);
+      a.addInPlace(i, z).subtractInPlace(i, b, j).multiplyInPlace(i, b, j);
+      assertEqual(a, i, buf);
+      assertClose(buf, dbl);
+      buf.divideInPlace(1.5).divideReversedInPlace(z).negateInPlace();
+      dbl.divideInPlace(1.5).divideReversedInPlace(z).negateInPlace();
+      a.divideInPlace(i, 1.5).divideReversedInPlace(i, z).negateInPlace(i);
+      assertEqual(a, i, buf);
+      assertClose(buf, dbl);
+      buf.subtractReversedInPlace(2.0).divideInPlace(b, j).addInPlace(0.5);
+      dbl.subtractReversedInPlace(2.0).divideInPlace(b, j).addInPlace(0.5);
+      a.subtractReversedInPlace(i, 2.0).divideInPlace(i, b, j);
+      a.addInPlace(i, 0.5);
+      assertEqual(a, i, buf);
+      assertClose(buf, dbl);
+      buf.multiplyInPlace(3).conjugateInPlace().divideReversedInPlace(b, j);
+      dbl.multiplyInPlace(3).conjugateInPlace().divideReversedInPlace(b, j);
+      a.multiplyInPlace(i, 3).conjugateInPlace(i);
+      a.divideReversedInPlace(i, b, j);
+      assertEqual(a, i, buf);
+      assertClose(buf, dbl);
+      buf.subtractInPlace(z).subtractInPlace(0.75).multiplyInPlace(z);
+      dbl.subtractInPlace(z).subtractInPlace(0.75).multiplyInPlace(z);
+      a.subtractInPlace(i, z).subtractInPlace(i, 0.75).multiplyInPlace(i, z);
+      assertEqual(a, i, buf);
+      assertClose(buf, dbl);
+      buf.subtractReversedInPlace(z).subtractReversedInPlace(b, j);
+      dbl.subtractReversedInPlace(z).subtractReversedInPlace(b, j);
+      a.subtractReversedInPlace(i, z).subtractReversedInPlace(i, b, j);
+      buf.addInPlace(b, j).multiplyInPlace(0.5).divideInPlace(z);
+      dbl.addInPlace(b, j).multiplyInPlace(0.5).divideInPlace(z);
+      a.addInPlace(i, b, j).multiplyInPlace(i, 0.5).divideInPlace(i, z);
+      buf.divideReversedInPlace(4.0);
+      dbl.divideReversedInPlace(4.0);
+      a.divideReversedInPlace(i, 4.0);
+      assertEqual(a, i, buf);
+      assertClose(buf, dbl);
+    }
+    // the functions are evaluated in double precision and rounded
+    a = newArray(13, 3);
+    for (int i = 0; i < 13; i++)
+    {
+      int j = (i*5) % 13;
+      buf.set(a, i);
+      assertRounded(dbl.set(a, i).invertInPlace(), buf.invertInPlace());
+      assertRounded(dbl.set(buf).sqrtInPlace(), buf.sqrtInPlace());
+      assertRounded(dbl.set(buf).expInPlace(), buf.expInPlace());
+      assertRounded(dbl.set(buf).logInPlace(), buf.logInPlace());
+      assertRounded(dbl.set(buf).log1pInPlace(), buf.log1pInPlace());
+      assertRounded(dbl.set(buf).expm1InPlace(), buf.expm1InPlace());
+      assertRounded(dbl.set(buf).sinInPlace(), buf.sinInPlace());
+      assertRounded(dbl.set(buf).cosInPlace(), buf.cosInPlace());
+      assertRounded(dbl.set(buf).tanInPlace(), buf.tanInPlace());
+      assertRounded(dbl.set(buf).sinhInPlace(), buf.sinhInPlace());
+      assertRounded(dbl.set(buf).coshInPlace(), buf.coshInPlace());
+      assertRounded(dbl.set(buf).tanhInPlace(), buf.tanhInPlace());
+      assertRounded(dbl.set(buf).asinInPlace(), buf.asinInPlace());
+      assertRounded(dbl.set(buf).acosInPlace(), buf.acosInPlace());
+      assertRounded(dbl.set(buf).atanInPlace(), buf.atanInPlace());
+      assertRounded(dbl.set(buf).asinhInPlace(), buf.asinhInPlace());
+      assertRounded(dbl.set(buf).acoshInPlace(), buf.acoshInPlace());
+      assertRounded(dbl.set(buf).atanhInPlace(), buf.atanhInPlace());
+      assertRounded(dbl.set(buf).powInPlace(1.5), buf.powInPlace(1.5));
+      assertRounded(dbl.set(buf).powInPlace(z), buf.powInPlace(z));
+      assertRounded(dbl.set(buf).powInPlace(b, j), buf.powInPlace(b, j));
+      assertRounded(dbl.set(buf).lgammaInPlace(), buf.lgammaInPlace());
+      assertRounded(dbl.set(buf).gammaInPlace(), buf.gammaInPlace());
+      assertRounded(dbl.set(buf).digammaInPlace(), buf.digammaInPlace());
+      assertRounded(dbl.set(buf).faddeevaInPlace(), buf.faddeevaInPlace());
+      assertRounded(dbl.set(buf).erfInPlace(), buf.erfInPlace());
+      assertRounded(dbl.set(buf).erfcInPlace(), buf.erfcInPlace());
+      assertRounded(dbl.set(buf).erfcxInPlace(), buf.erfcxInPlace());
+      a.invertInPlace(i).sqrtInPlace(i).expInPlace(i).logInPlace(i);
+      a.log1pInPlace(i).expm1InPlace(i).sinInPlace(i).cosInPlace(i);
+      a.tanInPlace(i).sinhInPlace(i).coshInPlace(i).tanhInPlace(i);
+      a.asinInPlace(i).acosInPlace(i).atanInPlace(i).asinhInPlace(i);
+      a.acoshInPlace(i).atanhInPlace(i).powInPlace(i, 1.5);
+      a.powInPlace(i, z).powInPlace(i, b, j).lgammaInPlace(i);
+      a.gammaInPlace(i).digammaInPlace(i).faddeevaInPlace(i);
+      a.erfInPlace(i).erfcInPlace(i).erfcxInPlace(i);
+      assertEqual(a, i, buf);
+    }
+    a = newArray(13, 4);
+    ComplexTestArrayBulk.assertEqual(a.abs(3), dbl.set(a, 3).abs());
+    ComplexTestArrayBulk.assertEqual(a.arg(4), dbl.set(a, 4).arg());
+    ComplexTestArrayBulk.assertEqual(buf.set(a, 3).abs(), a.abs(3));
+    if (!a.get(5).equals(Complex.valueOf(a.getReal(5), a.getImag(5))) ||
+        !buf.get().equals(Complex.valueOf(a.getReal(3), a.getImag(3))) ||
+        !a.toString(5).equals(dbl.set(a, 5).toString()) ||
+        !buf.set(a, 5).toString().equals(a.toString(5)) ||
+        a.isNaN(5) || a.isInfinite(5) ||
+        !a.set(6, Double.NaN).isNaN(6) ||
+        !a.set(7, Double.POSITIVE_INFINITY, 0).isInfinite(7) ||
+        !a.set(8, 1e39, 0).isInfinite(8) ||
+        a.set(9, 1e-46, 0).getReal(9) != 0.0 ||
+        new ComplexFloatBuffer(0.1).getReal() != 0.1f)
+    {
+      throw new RuntimeException("invalid element " + a.toString(5));
+    }
+  }
+  private static void bulkTest()
+  {
+    ComplexFloatBufferArray a = newArray(37, 3), b = newArray(37, 4);
+    ComplexFloatBufferArray ref = copy(a);
+    Complex z = new Complex(0.75, -1.25);
+    a.addAllInPlace(b).addRangeInPlace(3, 20, b, 10);
+    a.addAllInPlace(z).addRangeInPlace(5, 9, 0.1).addAllInPlace(-1.0);
+    for (int i = 0; i < 37; i++)
+    {
+      ref.addInPlace(i, b, i);
+      if (i >= 3 && i < 20)
+      {
+        ref.addInPlace(i, b, i + 7);
+      }
+      ref.addInPlace(i, z);
+      if (i >= 5 && i < 9)
+      {
+        ref.addInPlace(i, 0.1);
+      }
+      ref.addInPlace(i, -1.0);
+    }
+    assertEqual(a, ref);
+    a = copy(ref);
+    a.subtractAllInPlace(b).subtractRangeInPlace(2, 31, b, 4);
+    a.subtractRangeInPlace(7, 8, z).subtractAllInPlace(0.3);
+    for (int i = 0; i < 37; i++)
+    {
+      ref.subtractInPlace(i, b, i);
+      if (i >= 2 && i < 31)
+      {
+        ref.subtractInPlace(i, b, i + 2);
+      }
+      if (i == 7)
+      {
+        ref.subtractInPlace(i, z);
+      }
+      ref.subtractInPlace(i, 0.3);
+    }
+    assertEqual(a, ref);
+    a = copy(ref);
+    a.multiplyAllInPlace(b).multiplyRangeInPlace(11, 30, b, 0);
+    a.multiplyAllInPlace(z).multiplyRangeInPlace(1, 36, -0.3);
+    for (int i = 0; i < 37; i++)
+    {
+      ref.multiplyInPlace(i, b, i);
+      if (i >= 11 && i < 30)
+      {
+        ref.multiplyInPlace(i, b, i - 11);
+      }
+      ref.multiplyInPlace(i, z);
+      if (i >= 1 && i < 36)
+      {
+        ref.multiplyInPlace(i, -0.3);
+      }
+    }
+    assertEqual(a, ref);
+    a = copy(ref);
+    a.divideAllInPlace(b).divideRangeInPlace(0, 17, b, 19);
+    a.divideAllInPlace(z).divideRangeInPlace(4, 36, new Complex(3, 0.5));
+    a.divideRangeInPlace(9, 21, 0.7);
+    for (int i = 0; i < 37; i++)
+    {
+      ref.divideInPlace(i, b, i);
+      if (i < 17)
+      {
+        ref.divideInPlace(i, b, i + 19);
+      }
+      ref.divideInPlace(i, z);
+      if (i >= 4 && i < 36)
+      {
+        ref.divideInPlace(i, new Complex(3, 0.5));
+      }
+      if (i >= 9 && i < 21)
+      {
+        ref.divideInPlace(i, 0.7);
+      }
+    }
+    assertEqual(a, ref);
+    a.conjugateRangeInPlace(3, 33).conjugateAllInPlace();
+    for (int i = 0; i < 37; i++)
+    {
+      if (i < 3 || i >= 33)
+      {
+        ref.conjugateInPlace(i);
+      }
+    }
+    assertEqual(a, ref);
+    // the special functions are evaluated in double precision and rounded
+    ComplexFloatBufferArray c = newArray(37, 5);
+    ComplexFloatBufferArray[] g = {
+      copy(c).lgammaRangeInPlace(4, 30), copy(c).gammaRangeInPlace(4, 30),
+      copy(c).digammaRangeInPlace(4, 30), copy(c).faddeevaRangeInPlace(4, 30),
+      copy(c).erfRangeInPlace(4, 30), copy(c).erfcRangeInPlace(4, 30),
+      copy(c).erfcxRangeInPlace(4, 30),
+    };
+    ComplexFloatBufferArray[] w = {
+      copy(c).lgammaAllInPlace(), copy(c).gammaAllInPlace(),
+      copy(c).digammaAllInPlace(), copy(c).faddeevaAllInPlace(),
+      copy(c).erfAllInPlace(), copy(c).erfcAllInPlace(),
+      copy(c).erfcxAllInPlace(),
+    };
+    for (int i = 0; i < 37; i++)
+    {
+      Complex v = c.get(i);
+      ComplexNumber[] e = {
+        new ComplexBuffer(v).lgammaInPlace(),
+        new ComplexBuffer(v).gammaInPlace(),
+        new ComplexBuffer(v).digammaInPlace(),
+        new ComplexBuffer(v).faddeevaInPlace(),
+        new ComplexBuffer(v).erfInPlace(), new ComplexBuffer(v).erfcInPlace(),
+        new ComplexBuffer(v).erfcxInPlace(),
+      };
+      for (int f = 0; f < e.length; f++)
+      {
+        assertRounded(e[f], w[f].get(i));
+        if (i >= 4 && i < 30)
+        {
+          assertRounded(e[f], g[f].get(i));
+        }
+        else
+        {
+          assertEqual(g[f], i, v);
+        }
+      }
+    }
+    // multiply-add is compared with double precision
+    ComplexBufferArray x = a.getAll(new ComplexBufferArray(37));
+    ComplexBufferArray y = b.getAll(new ComplexBufferArray(37));
+    a.multiplyAddAllInPlace(z, b).multiplyAddRangeInPlace(6, 18, z, b, 13);
+    a.multiplyAddAllInPlace(b, b).multiplyAddRangeInPlace(1, 9, b, 2, b, 20);
+    x.multiplyAddAllInPlace(z, y).multiplyAddRangeInPlace(6, 18, z, y, 13);
+    x.multiplyAddAllInPlace(y, y).multiplyAddRangeInPlace(1, 9, y, 2, y, 20);
+    for (int i = 0; i < 37; i++)
+    {
+      assertClose(a.get(i), x.get(i));
+    }
+    ComplexBuffer s = new ComplexBuffer(), t = new ComplexBuffer();
+    x = a.getAll(x);
+    a.innerProductAll(b, s);
+    x.innerProductAll(y, t);
+    ComplexTestArrayBulk.assertEqual(s.getReal(), t.getReal());
+    ComplexTestArrayBulk.assertEqual(s.getImag(), t.getImag());
+    a.dotAll(b, s);
+    x.dotAll(y, t);
+    ComplexTestArrayBulk.assertEqual(s.getReal(), t.getReal());
+    ComplexTestArrayBulk.assertEqual(s.getImag(), t.getImag());
+    ComplexTestArrayBulk.assertEqual(a.normAll(), x.normAll());
+    a.set(3, 3e38, -3e38).set(4, Double.NaN, 1).set(5, 1e-45, 0);
+    a.set(6, Double.POSITIVE_INFINITY, Double.NaN).set(7, 3e-39, 4e-39);
+    float[] r = new float[40];
+    a.absRange(2, 30, r, 5);
+    for (int i = 0; i < 40; i++)
+    {
+      if (i < 5 || i >= 33)
+      {
+        ComplexTestArrayBulk.assertEqual(r[i], 0.0f);
+      }
+      else
+      {
+        assertAbs(r[i], a.abs(i - 3));
+      }
+    }
+    a.absAll(r);
+    for (int i = 0; i < 37; i++)
+    {
+      assertAbs(r[i], a.abs(i));
+    }
+  }
+  private static void conversionTest()
+  {
+    ComplexBufferArray ref = new ComplexBufferArray(21);
+    for (int i = 0; i < 21; i++)
+    {
+      ref.set(i, Math.sin(1.5*i) * (i + 1), Math.cos(0.7*i) * 3);
+    }
+    ComplexFloatBufferArray a = new ComplexFloatBufferArray(21);
+    a.setRange(4, 15, ref, 6);
+    for (int i = 0; i < 21; i++)
+    {
+      int j = (i >= 4 && i < 15) ? i + 2 : -1;
+      ComplexTestArrayBulk.assertEqual(a.getReal(i),
+                                       j < 0 ? 0.0f : (float)ref.getReal(j));
+      ComplexTestArrayBulk.assertEqual(a.getImag(i),
+                                       j < 0 ? 0.0f : (float)ref.getImag(j));
+    }
+    a.setAll(ref);
+    ComplexBufferArray split = a.getAll(new ComplexBufferArray(21));
+    ComplexFloatBufferArray c = new ComplexFloatBufferArray(21);
+    c.setAll(split);
+    assertEqual(c, a);
+    for (int i = 0; i < 21; i++)
+    {
+      ComplexTestArrayBulk.assertEqual(split.getReal(i), (float)ref.getReal(i));
+      ComplexTestArrayBulk.assertEqual(split.getImag(i), (float)ref.getImag(i));
+      ComplexTestArrayBulk.assertEqual(new ComplexFloatBuffer(ref, i).getReal(),
+                                       a.getReal(i));
+    }
+    a.getRange(2, 10, split, 11);
+    for (int i = 2; i < 10; i++)
+    {
+      ComplexTestArrayBulk.assertEqual(split.getReal(i + 9), a.getReal(i));
+      ComplexTestArrayBulk.assertEqual(split.getImag(i + 9), a.getImag(i));
+    }
+    c.setRange(1, 5, a, 16);
+    for (int i = 1; i < 5; i++)
+    {
+      ComplexTestArrayBulk.assertEqual(c.getReal(i), a.getReal(i + 15));
+      ComplexTestArrayBulk.assertEqual(c.getImag(i), a.getImag(i + 15));
+    }
+    try
+    {
+      a.setRange(15, 22, ref, 0);
+      throw new RuntimeException("range out of bounds not detected");
+    }
+    catch (IndexOutOfBoundsException e)
+    {
+    }
+    try
+    {
+      a.getAll(new ComplexBufferArray(20));
+      throw new RuntimeException("size mismatch not detected");
+    }
+    catch (IllegalArgumentException e)
+    {
+    }
+    try
+    {
+      a.addAllInPlace(new ComplexFloatBufferArray(20));
+      throw new RuntimeException("size mismatch not detected");
+    }
+    catch (IllegalArgumentException e)
+    {
+    }
+  }
+  public static void main(String[] args)
+  {
+    elementTest();
+    bulkTest();
+    conversionTest();
+  }
+};
@@ -0,0 +1,268 @@
+package fi.iki.jmtilli.javafastcomplex;
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+/**
+   Unit test for the interleaved complex number array
+
+   Every operation is compared with the same operation of
+   ComplexBufferArray, which must give bitwise the same result.
+ */
+public class ComplexTestInterleavedArray {
+  private static void assertEqual(ComplexInterleavedArray a,
+                                  ComplexBufferArray b)
+  {
+    if (a.size() != b.size())
+    {
+      throw new RuntimeException("inequal sizes: " + a.size() + ", " +
+                                 b.size());
+    }
+    for (int i = 0; i < a.size(); i++)
+    {
+      ComplexTestArrayBulk.assertEqual(a.getReal(i), b.getReal(i));
+      ComplexTestArrayBulk.assertEqual(a.getImag(i), b.getImag(i));
+    }
+  }
+  private static ComplexInterleavedArray interleave(ComplexBufferArray ar)
+  {
+    return new ComplexInterleavedArray(ar.size()).setAll(ar);
+  }
+  private static void elementTest()
+  {
+    ComplexBufferArray ref = ComplexTestArrayBulk.newArray(13, 1);
+    ComplexBufferArray b = ComplexTestArrayBulk.newArray(13, 2);
+    ComplexInterleavedArray a = interleave(ref), c = interleave(b);
+    Complex z = new Complex(0.25, -0.5);
+    for (int i = 0; i < 13; i++)
+    {
+      int j = (i*5) % 13;
+      a.addInPlace(i, z).subtractInPlace(i, c, j).multiplyInPlace(i, b, j);
+      ref.addInPlace(i, z).subtractInPlace(i, b, j).multiplyInPlace(i, b, j);
+      a.divideInPlace(i, 1.5).divideReversedInPlace(i, z).negateInPlace(i);
+      ref.divideInPlace(i, 1.5).divideReversedInPlace(i, z).negateInPlace(i);
+      a.subtractReversedInPlace(i, 2.0).divideInPlace(i, c, j);
+      ref.subtractReversedInPlace(i, 2.0).divideInPlace(i, b, j);
+      a.multiplyInPlace(i, 3).conjugateInPlace(i).invertInPlace(i);
+      ref.multiplyInPlace(i, 3).conjugateInPlace(i).invertInPlace(i);
+      assertEqual(a, ref);
+    }
+    a.setAll(ref);
+    for (int i = 0; i < 13; i++)
+    {
+      a.sqrtInPlace(i).expInPlace(i).logInPlace(i).log1pInPlace(i);
+      ref.sqrtInPlace(i).expInPlace(i).logInPlace(i).log1pInPlace(i);
+      a.expm1InPlace(i).sinInPlace(i).cosInPlace(i).tanInPlace(i);
+      ref.expm1InPlace(i).sinInPlace(i).cosInPlace(i).tanInPlace(i);
+      a.sinhInPlace(i).coshInPlace(i).tanhInPlace(i).asinInPlace(i);
+      ref.sinhInPlace(i).coshInPlace(i).tanhInPlace(i).asinInPlace(i);
+      a.acosInPlace(i).atanInPlace(i).asinhInPlace(i).acoshInPlace(i);
+      ref.acosInPlace(i).atanInPlace(i).asinhInPlace(i).acoshInPlace(i);
+      a.atanhInPlace(i).powInPlace(i, 1.5).powInPlace(i, z);
+      ref.atanhInPlace(i).powInPlace(i, 1.5).powInPlace(i, z);
+      a.powInPlace(i, a, i).lgammaInPlace(i).gammaInPlace(i);
+      ref.powInPlace(i, ref, i).lgammaInPlace(i).gammaInPlace(i);
+      a.digammaInPlace(i);
+      ref.digammaInPlace(i);
+      assertEqual(a, ref);
+    }
+    // the error functions are compared with the scalar version
+    ComplexBuffer buf = new ComplexBuffer();
+    a.setAll(b);
+    for (int i = 0; i < 13; i++)
+    {
+      buf.set(a, i).faddeevaInPlace().erfInPlace().erfcInPlace().erfcxInPlace();
+      a.faddeevaInPlace(i).erfInPlace(i).erfcInPlace(i).erfcxInPlace(i);
+      ComplexTestArrayBulk.assertEqual(a.getReal(i), buf.getReal());
+      ComplexTestArrayBulk.assertEqual(a.getImag(i), buf.getImag());
+    }
+    ComplexTestArrayBulk.assertEqual(a.abs(3), buf.set(a, 3).abs());
+    ComplexTestArrayBulk.assertEqual(a.arg(4), buf.set(a, 4).arg());
+    if (!a.get(5).equals(Complex.valueOf(a.getReal(5), a.getImag(5))) ||
+        !a.toString(5).equals(buf.set(a, 5).toString()) ||
+        a.isNaN(5) || a.isInfinite(5) ||
+        !a.set(6, Double.NaN).isNaN(6) ||
+        !a.set(7, Double.POSITIVE_INFINITY, 0).isInfinite(7))
+    {
+      throw new RuntimeException("invalid element " + a.toString(5));
+    }
+  }
+  private static void bulkTest()
+  {
+    ComplexBufferArray ref = ComplexTestArrayBulk.newArray(37, 3);
+    ComplexBufferArray b = ComplexTestArrayBulk.newArray(37, 4);
+    ComplexInterleavedArray a = interleave(ref), c = interleave(b);
+    Complex z = new Complex(0.75, -1.25);
+    a.addAllInPlace(c).addRangeInPlace(3, 20, c, 10);
+    ref.addAllInPlace(b).addRangeInPlace(3, 20, b, 10);
+    a.addAllInPlace(z).addRangeInPlace(5, 9, 3.5).addAllInPlace(-1.0);
+    ref.addAllInPlace(z).addRangeInPlace(5, 9, 3.5).addAllInPlace(-1.0);
+    assertEqual(a, ref);
+    a.subtractAllInPlace(c).subtractRangeInPlace(2, 31, c, 4);
+    ref.subtractAllInPlace(b).subtractRangeInPlace(2, 31, b, 4);
+    a.subtractRangeInPlace(7, 8, z).subtractAllInPlace(1.5);
+    ref.subtractRangeInPlace(7, 8, z).subtractAllInPlace(1.5);
+    a.subtractAllInPlace(z).subtractRangeInPlace(0, 3, 0.5);
+    ref.subtractAllInPlace(z).subtractRangeInPlace(0, 3, 0.5);
+    assertEqual(a, ref);
+    a.multiplyAllInPlace(c).multiplyRangeInPlace(11, 30, c, 0);
+    ref.multiplyAllInPlace(b).multiplyRangeInPlace(11, 30, b, 0);
+    a.multiplyAllInPlace(z).multiplyRangeInPlace(1, 36, -0.25);
+    ref.multiplyAllInPlace(z).multiplyRangeInPlace(1, 36, -0.25);
+    a.multiplyRangeInPlace(2, 5, z).multiplyAllInPlace(2.0);
+    ref.multiplyRangeInPlace(2, 5, z).multiplyAllInPlace(2.0);
+    assertEqual(a, ref);
+    a.divideAllInPlace(c).divideRangeInPlace(0, 17, c, 19);
+    ref.divideAllInPlace(b).divideRangeInPlace(0, 17, b, 19);
+    a.divideAllInPlace(z).divideRangeInPlace(4, 36, new Complex(3, 0.5));
+    ref.divideAllInPlace(z).divideRangeInPlace(4, 36, new Complex(3, 0.5));
+    a.divideRangeInPlace(9, 21, 7.0).divideAllInPlace(0.5);
+    ref.divideRangeInPlace(9, 21, 7.0).divideAllInPlace(0.5);
+    assertEqual(a, ref);
+    a.multiplyAddAllInPlace(z, c).multiplyAddRangeInPlace(6, 18, z, c, 13);
+    ref.multiplyAddAllInPlace(z, b).multiplyAddRangeInPlace(6, 18, z, b, 13);
+    a.multiplyAddAllInPlace(c, c).multiplyAddRangeInPlace(1, 9, c, 2, a, 20);
+    ref.multiplyAddAllInPlace(b, b).multiplyAddRangeInPlace(1, 9, b, 2,
+                                                            ref, 20);
+    a.conjugateRangeInPlace(3, 33).conjugateAllInPlace();
+    ref.conjugateRangeInPlace(3, 33).conjugateAllInPlace();
+    assertEqual(a, ref);
+    ComplexBufferArray g = ComplexTestArrayBulk.newArray(37, 5);
+    ComplexInterleavedArray h = interleave(g);
+    h.lgammaRangeInPlace(2, 35).gammaRangeInPlace(4, 30);
+    g.lgammaRangeInPlace(2, 35).gammaRangeInPlace(4, 30);
+    h.digammaRangeInPlace(1, 20).faddeevaRangeInPlace(5, 37);
+    g.digammaRangeInPlace(1, 20).faddeevaRangeInPlace(5, 37);
+    h.erfRangeInPlace(0, 11).erfcRangeInPlace(9, 25).erfcxRangeInPlace(3, 7);
+    g.erfRangeInPlace(0, 11).erfcRangeInPlace(9, 25).erfcxRangeInPlace(3, 7);
+    assertEqual(h, g);
+    h.lgammaAllInPlace().gammaAllInPlace().digammaAllInPlace();
+    g.lgammaAllInPlace().gammaAllInPlace().digammaAllInPlace();
+    h.faddeevaAllInPlace().erfAllInPlace().erfcAllInPlace().erfcxAllInPlace();
+    g.faddeevaAllInPlace().erfAllInPlace().erfcAllInPlace().erfcxAllInPlace();
+    assertEqual(h, g);
+    ComplexBuffer s = new ComplexBuffer(), t = new ComplexBuffer();
+    a.innerProductAll(c, s);
+    ref.innerProductAll(b, t);
+    ComplexTestArrayBulk.assertEqual(s.getReal(), t.getReal());
+    ComplexTestArrayBulk.assertEqual(s.getImag(), t.getImag());
+    a.dotAll(c, s);
+    ref.dotAll(b, t);
+    ComplexTestArrayBulk.assertEqual(s.getReal(), t.getReal());
+    ComplexTestArrayBulk.assertEqual(s.getImag(), t.getImag());
+    ComplexTestArrayBulk.assertEqual(a.normAll(), ref.normAll());
+    // the squares underflow and overflow unless the norm is scaled
+    a.multiplyAllInPlace(1e-170);
+    ref.multiplyAllInPlace(1e-170);
+    ComplexTestArrayBulk.assertEqual(a.normAll(), ref.normAll());
+    a.multiplyAllInPlace(1e170).multiplyAllInPlace(1e170);
+    ref.multiplyAllInPlace(1e170).multiplyAllInPlace(1e170);
+    ComplexTestArrayBulk.assertEqual(a.normAll(), ref.normAll());
+    a.set(3, 1e200, -1e200).set(4, Double.NaN, 1).set(5, 1e-200, 0);
+    ref.set(3, 1e200, -1e200).set(4, Double.NaN, 1).set(5, 1e-200, 0);
+    double[] x = new double[40], y = new double[40];
+    a.absRange(2, 30, x, 5);
+    ref.absRange(2, 30, y, 5);
+    for (int i = 0; i < 40; i++)
+    {
+      ComplexTestArrayBulk.assertEqual(x[i], y[i]);
+    }
+    a.absAll(x);
+    ref.absAll(y);
+    for (int i = 0; i < 37; i++)
+    {
+      ComplexTestArrayBulk.assertEqual(x[i], y[i]);
+    }
+  }
+  private static void conversionTest()
+  {
+    ComplexBufferArray ref = ComplexTestArrayBulk.newArray(21, 5);
+    double[] data = new double[42];
+    ComplexInterleavedArray a = new ComplexInterleavedArray(data);
+    a.setRange(4, 15, ref, 6);
+    for (int i = 4; i < 15; i++)
+    {
+      ComplexTestArrayBulk.assertEqual(data[2*i], ref.getReal(i + 2));
+      ComplexTestArrayBulk.assertEqual(data[2*i + 1], ref.getImag(i + 2));
+    }
+    if (a.getInterleavedArray() != data)
+    {
+      throw new RuntimeException("backing array copied");
+    }
+    a.setAll(ref);
+    ComplexBufferArray split = a.getAll(new ComplexBufferArray(21));
+    for (int i = 0; i < 21; i++)
+    {
+      ComplexTestArrayBulk.assertEqual(split.getReal(i), ref.getReal(i));
+      ComplexTestArrayBulk.assertEqual(split.getImag(i), ref.getImag(i));
+    }
+    a.getRange(2, 10, split, 11);
+    for (int i = 2; i < 10; i++)
+    {
+      ComplexTestArrayBulk.assertEqual(split.getReal(i + 9), ref.getReal(i));
+      ComplexTestArrayBulk.assertEqual(split.getImag(i + 9), ref.getImag(i));
+    }
+    ComplexInterleavedArray c = new ComplexInterleavedArray(21);
+    c.setRange(0, 21, a, 0).setRange(1, 5, a, 16);
+    for (int i = 1; i < 5; i++)
+    {
+      ComplexTestArrayBulk.assertEqual(c.getReal(i), ref.getReal(i + 15));
+      ComplexTestArrayBulk.assertEqual(c.getImag(i), ref.getImag(i + 15));
+    }
+    try
+    {
+      new ComplexInterleavedArray(new double[5]);
+      throw new RuntimeException("odd length not detected");
+    }
+    catch (IllegalArgumentException e)
+    {
+    }
+    try
+    {
+      a.setRange(15, 22, ref, 0);
+      throw new RuntimeException("range out of bounds not detected");
+    }
+    catch (IndexOutOfBoundsException e)
+    {
+    }
+    try
+    {
+      a.addAllInPlace(new ComplexInterleavedArray(20));
+      throw new RuntimeException("size mismatch not detected");
+    }
+    catch (IllegalArgumentException e)
+    {
+    }
+    try
+    {
+      a.getImag(21);
+      throw new RuntimeException("index out of bounds not detected");
+    }
+    catch (IndexOutOfBoundsException e)
+    {
+    }
+  }
+  public static void main(String[] args)
+  {
+    elementTest();
+    bulkTest();
+    conversionTest();
+  }
+};
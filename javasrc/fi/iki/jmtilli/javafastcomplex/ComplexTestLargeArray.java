@@ -0,0 +1,500 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+/**
+   Unit test for the large complex arrays outside the Java heap
+
+   The arrays are created with small chunks, so that the operations cross
+   many chunk boundaries, and compared with the same operations of
+   ComplexBufferArray.
+ */
+public class ComplexTestLargeArray {
+  private static final int[] SHIFTS = {0, 3, 5};
+  private static void assertEqual(ComplexLargeArray a, ComplexBufferArray b)
+  {
+    if (a.longSize() != b.size())
+    {
+      throw new RuntimeException("inequal sizes: " + a.longSize() + ", " +
+                                 b.size());
+    }
+    for (int i = 0; i < b.size(); i++)
+    {
+      ComplexTestArrayBulk.assertEqual(a.getReal(i), b.getReal(i));
+      ComplexTestArrayBulk.assertEqual(a.getImag((long)i), b.getImag(i));
+    }
+  }
+  private static ComplexDirectBufferArray newDirect(ComplexBufferArray ar,
+                                                    int shift)
+  {
+    ComplexDirectBufferArray result =
+        new ComplexDirectBufferArray(ar.size(), shift);
+    result.setRange(0, ar.size(), ar, 0);
+    return result;
+  }
+  private static void arithmeticTest(int shift)
+  {
+    ComplexBufferArray ref = ComplexTestArrayBulk.newArray(37, 1);
+    ComplexBufferArray b = ComplexTestArrayBulk.newArray(37, 2);
+    ComplexLargeArray a = newDirect(ref, shift);
+    ComplexLargeArray c = newDirect(b, shift);
+    Complex z = new Complex(0.75, -1.25);
+    Complex w = new Complex(-0.5, 2);
+    a.addAllInPlace(c).addRangeInPlace(3, 20, c, 10);
+    ref.addAllInPlace(b).addRangeInPlace(3, 20, b, 10);
+    a.addAllInPlace(z).addRangeInPlace(5, 9, 3.5);
+    ref.addAllInPlace(z).addRangeInPlace(5, 9, 3.5);
+    assertEqual(a, ref);
+    a.subtractAllInPlace(c).subtractRangeInPlace(2, 31, c, 4);
+    ref.subtractAllInPlace(b).subtractRangeInPlace(2, 31, b, 4);
+    a.subtractRangeInPlace(7, 8, w).subtractAllInPlace(1.5);
+    ref.subtractRangeInPlace(7, 8, w).subtractAllInPlace(1.5);
+    assertEqual(a, ref);
+    a.multiplyAllInPlace(c).multiplyRangeInPlace(11, 30, c, 0);
+    ref.multiplyAllInPlace(b).multiplyRangeInPlace(11, 30, b, 0);
+    a.multiplyAllInPlace(w).multiplyRangeInPlace(1, 36, -0.25);
+    ref.multiplyAllInPlace(w).multiplyRangeInPlace(1, 36, -0.25);
+    assertEqual(a, ref);
+    a.divideAllInPlace(c).divideRangeInPlace(0, 17, c, 19);
+    ref.divideAllInPlace(b).divideRangeInPlace(0, 17, b, 19);
+    a.divideAllInPlace(z).divideRangeInPlace(4, 36, new Complex(3, 0.5));
+    ref.divideAllInPlace(z).divideRangeInPlace(4, 36, new Complex(3, 0.5));
+    a.divideRangeInPlace(9, 21, 7.0);
+    ref.divideRangeInPlace(9, 21, 7.0);
+    assertEqual(a, ref);
+    a.multiplyAddAllInPlace(w, c).multiplyAddRangeInPlace(6, 18, z, c, 13);
+    ref.multiplyAddAllInPlace(w, b).multiplyAddRangeInPlace(6, 18, z, b, 13);
+    a.conjugateRangeInPlace(3, 33).conjugateAllInPlace();
+    ref.conjugateRangeInPlace(3, 33).conjugateAllInPlace();
+    assertEqual(a, ref);
+    // the same array, the same range
+    a.multiplyRangeInPlace(2, 30, a, 2);
+    ref.multiplyRangeInPlace(2, 30, ref, 2);
+    assertEqual(a, ref);
+    // arrays of different chunk sizes
+    ComplexLargeArray d = new ComplexDirectBufferArray(37, 2).setAll(c);
+    a.addAllInPlace(d);
+    ref.addAllInPlace(b);
+    assertEqual(a, ref);
+  }
+  private static void elementTest(int shift)
+  {
+    ComplexBufferArray ref = ComplexTestArrayBulk.newArray(23, 5);
+    ComplexBufferArray b = ComplexTestArrayBulk.newArray(23, 6);
+    ComplexLargeArray a = newDirect(ref, shift);
+    ComplexLargeArray c = newDirect(b, shift);
+    Complex z = new Complex(0.75, -1.25);
+    for (int i = 0; i < 23; i++)
+    {
+      final int j = 22 - i;
+      final long k = i;
+      a.addInPlace(k, z).addInPlace(k, c, j).addInPlace(k, 0.5);
+      ref.addInPlace(i, z).addInPlace(i, b, j).addInPlace(i, 0.5);
+      a.subtractInPlace(k, c, i).subtractInPlace(k, z).subtractInPlace(k, 2);
+      ref.subtractInPlace(i, b, i).subtractInPlace(i, z).subtractInPlace(i, 2);
+      a.subtractReversedInPlace(k, z).subtractReversedInPlace(k, c, j);
+      ref.subtractReversedInPlace(i, z).subtractReversedInPlace(i, b, j);
+      a.subtractReversedInPlace(k, 1.5).negateInPlace(k).conjugateInPlace(k);
+      ref.subtractReversedInPlace(i, 1.5).negateInPlace(i).conjugateInPlace(i);
+      a.multiplyInPlace(k, z).multiplyInPlace(k, c, j);
+      ref.multiplyInPlace(i, z).multiplyInPlace(i, b, j);
+      a.multiplyInPlace(k, -0.25).multiplyInPlace(k, 3);
+      ref.multiplyInPlace(i, -0.25).multiplyInPlace(i, 3);
+      a.divideInPlace(k, z).divideInPlace(k, c, j).divideInPlace(k, 7.0);
+      ref.divideInPlace(i, z).divideInPlace(i, b, j).divideInPlace(i, 7.0);
+      a.divideReversedInPlace(k, z).divideReversedInPlace(k, c, i);
+      ref.divideReversedInPlace(i, z).divideReversedInPlace(i, b, i);
+      a.divideReversedInPlace(k, -3.0).invertInPlace(k);
+      ref.divideReversedInPlace(i, -3.0).invertInPlace(i);
+      // the same array, the same element
+      a.multiplyInPlace(k, a, i).divideReversedInPlace(k, a, i);
+      ref.multiplyInPlace(i, ref, i).divideReversedInPlace(i, ref, i);
+    }
+    assertEqual(a, ref);
+    boolean thrown = false;
+    try
+    {
+      a.addInPlace(23L, z);
+    }
+    catch (IndexOutOfBoundsException e)
+    {
+      thrown = true;
+    }
+    if (!thrown)
+    {
+      throw new RuntimeException("index out of bounds not detected");
+    }
+  }
+  private static void functionTest(int shift)
+  {
+    ComplexBufferArray ref = ComplexTestArrayBulk.newArray(23, 7);
+    ComplexBufferArray b = ComplexTestArrayBulk.newArray(23, 8);
+    ComplexLargeArray a = newDirect(ref, shift);
+    Complex z = new Complex(0.5, -0.25);
+    for (int i = 0; i < 23; i++)
+    {
+      final long k = i;
+      a.sqrtInPlace(k).expInPlace(k).logInPlace(k).log1pInPlace(k);
+      ref.sqrtInPlace(i).expInPlace(i).logInPlace(i).log1pInPlace(i);
+      a.expm1InPlace(k).acoshInPlace(k).asinhInPlace(k).atanhInPlace(k);
+      ref.expm1InPlace(i).acoshInPlace(i).asinhInPlace(i).atanhInPlace(i);
+      a.acosInPlace(k).asinInPlace(k).atanInPlace(k).cosInPlace(k);
+      ref.acosInPlace(i).asinInPlace(i).atanInPlace(i).cosInPlace(i);
+      a.sinInPlace(k).tanInPlace(k).coshInPlace(k).sinhInPlace(k);
+      ref.sinInPlace(i).tanInPlace(i).coshInPlace(i).sinhInPlace(i);
+      a.tanhInPlace(k).lgammaInPlace(k).gammaInPlace(k).digammaInPlace(k);
+      ref.tanhInPlace(i).lgammaInPlace(i).gammaInPlace(i).digammaInPlace(i);
+      a.faddeevaInPlace(k).erfInPlace(k).erfcInPlace(k).erfcxInPlace(k);
+      ref.faddeevaInPlace(i).erfInPlace(i).erfcInPlace(i).erfcxInPlace(i);
+      a.powInPlace(k, 1.5).powInPlace(k, z).powInPlace(k, b, 22 - i);
+      ref.powInPlace(i, 1.5).powInPlace(i, z).powInPlace(i, b, 22 - i);
+    }
+    assertEqual(a, ref);
+    ref = ComplexTestArrayBulk.newArray(23, 9);
+    a = newDirect(ref, shift);
+    a.sqrtRangeInPlace(2, 21).expRangeInPlace(2, 21).logRangeInPlace(2, 21);
+    a.log1pRangeInPlace(2, 21).expm1RangeInPlace(2, 21);
+    a.acoshRangeInPlace(2, 21).asinhRangeInPlace(2, 21);
+    a.atanhRangeInPlace(2, 21).acosRangeInPlace(2, 21);
+    a.asinRangeInPlace(2, 21).atanRangeInPlace(2, 21).cosRangeInPlace(2, 21);
+    a.sinRangeInPlace(2, 21).tanRangeInPlace(2, 21).coshRangeInPlace(2, 21);
+    a.sinhRangeInPlace(2, 21).tanhRangeInPlace(2, 21);
+    a.lgammaRangeInPlace(2, 21).gammaRangeInPlace(2, 21);
+    a.digammaRangeInPlace(2, 21).faddeevaRangeInPlace(2, 21);
+    a.erfRangeInPlace(2, 21).erfcRangeInPlace(2, 21);
+    a.erfcxRangeInPlace(2, 21).invertRangeInPlace(2, 21);
+    a.powRangeInPlace(2, 21, 1.5).powRangeInPlace(2, 21, z);
+    for (int i = 2; i < 21; i++)
+    {
+      ref.sqrtInPlace(i).expInPlace(i).logInPlace(i).log1pInPlace(i);
+      ref.expm1InPlace(i).acoshInPlace(i).asinhInPlace(i).atanhInPlace(i);
+      ref.acosInPlace(i).asinInPlace(i).atanInPlace(i).cosInPlace(i);
+      ref.sinInPlace(i).tanInPlace(i).coshInPlace(i).sinhInPlace(i);
+      ref.tanhInPlace(i).lgammaInPlace(i).gammaInPlace(i).digammaInPlace(i);
+      ref.faddeevaInPlace(i).erfInPlace(i).erfcInPlace(i).erfcxInPlace(i);
+      ref.invertInPlace(i).powInPlace(i, 1.5).powInPlace(i, z);
+    }
+    assertEqual(a, ref);
+    a.sqrtAllInPlace().expAllInPlace().logAllInPlace().log1pAllInPlace();
+    a.expm1AllInPlace().acoshAllInPlace().asinhAllInPlace();
+    a.atanhAllInPlace().acosAllInPlace().asinAllInPlace().atanAllInPlace();
+    a.cosAllInPlace().sinAllInPlace().tanAllInPlace().coshAllInPlace();
+    a.sinhAllInPlace().tanhAllInPlace().lgammaAllInPlace();
+    a.gammaAllInPlace().digammaAllInPlace().faddeevaAllInPlace();
+    a.erfAllInPlace().erfcAllInPlace().erfcxAllInPlace().invertAllInPlace();
+    a.powAllInPlace(1.5).powAllInPlace(z);
+    for (int i = 0; i < 23; i++)
+    {
+      ref.sqrtInPlace(i).expInPlace(i).logInPlace(i).log1pInPlace(i);
+      ref.expm1InPlace(i).acoshInPlace(i).asinhInPlace(i).atanhInPlace(i);
+      ref.acosInPlace(i).asinInPlace(i).atanInPlace(i).cosInPlace(i);
+      ref.sinInPlace(i).tanInPlace(i).coshInPlace(i).sinhInPlace(i);
+      ref.tanhInPlace(i).lgammaInPlace(i).gammaInPlace(i).digammaInPlace(i);
+      ref.faddeevaInPlace(i).erfInPlace(i).erfcInPlace(i).erfcxInPlace(i);
+      ref.invertInPlace(i).powInPlace(i, 1.5).powInPlace(i, z);
+    }
+    assertEqual(a, ref);
+  }
+  private static void copyTest(int shift)
+  {
+    ComplexBufferArray ref = ComplexTestArrayBulk.newArray(29, 3);
+    ComplexBufferArray b = ComplexTestArrayBulk.newArray(29, 4);
+    ComplexLargeArray a = newDirect(ref, shift);
+    ComplexLargeArray c = newDirect(b, shift);
+    a.setRange(4, 21, c, 8);
+    ref.setRange(4, 21, b, 8);
+    assertEqual(a, ref);
+    a.fillRange(10, 13, new Complex(1, 2));
+    for (int i = 10; i < 13; i++)
+    {
+      ref.set(i, 1, 2);
+    }
+    assertEqual(a, ref);
+    ComplexBufferArray out = new ComplexBufferArray(40);
+    a.getRange(3, 27, out, 9);
+    for (int i = 3; i < 27; i++)
+    {
+      ComplexTestArrayBulk.assertEqual(out.getReal(i + 6), ref.getReal(i));
+      ComplexTestArrayBulk.assertEqual(out.getImag(i + 6), ref.getImag(i));
+    }
+    a.set(5L, 7).set(6L, new Complex(8, 9)).set(7L, b, 2);
+    ref.set(5, 7).set(6, new Complex(8, 9)).set(7, b, 2);
+    assertEqual(a, ref);
+    ComplexBuffer buf = new ComplexBuffer();
+    ComplexTestArrayBulk.assertEqual(a.get(6L, buf).getImag(), 9);
+    ComplexTestArrayBulk.assertEqual(a.get(7L).getReal(), b.getReal(2));
+    a.fillAll(new Complex(0));
+    for (long i = 0; i < a.longSize(); i++)
+    {
+      ComplexTestArrayBulk.assertEqual(a.abs(i), 0);
+    }
+  }
+  private static void reductionTest(int shift)
+  {
+    ComplexBufferArray ref = ComplexTestArrayBulk.newArray(45, 5);
+    ComplexBufferArray b = ComplexTestArrayBulk.newArray(45, 6);
+    ref.set(3, 1e200, -1e200).set(4, Double.NaN, 1).set(5, 1e-200, 0);
+    ComplexLargeArray a = newDirect(ref, shift);
+    ComplexLargeArray c = newDirect(b, shift);
+    double[] x = new double[50], y = new double[50];
+    a.absRange(2, 40, x, 7);
+    ref.absRange(2, 40, y, 7);
+    for (int i = 0; i < 50; i++)
+    {
+      ComplexTestArrayBulk.assertEqual(x[i], y[i]);
+    }
+    ref.set(3, 1, 1).set(4, 2, 2);
+    a.set(3L, 1, 1).set(4L, 2, 2);
+    ComplexBuffer s = new ComplexBuffer(), t = new ComplexBuffer();
+    a.innerProductAll(c, s);
+    ref.innerProductAll(b, t);
+    ComplexTestArrayBulk.assertEqual(s.getReal(), t.getReal());
+    ComplexTestArrayBulk.assertEqual(s.getImag(), t.getImag());
+    a.dotAll(c, s);
+    ref.dotAll(b, t);
+    ComplexTestArrayBulk.assertEqual(s.getReal(), t.getReal());
+    ComplexTestArrayBulk.assertEqual(s.getImag(), t.getImag());
+    ComplexTestArrayBulk.assertEqual(a.normAll(), ref.normAll());
+    // the squares underflow and overflow unless the norm is scaled
+    a.multiplyAllInPlace(1e-170);
+    ref.multiplyAllInPlace(1e-170);
+    ComplexTestArrayBulk.assertEqual(a.normAll(), ref.normAll());
+    a.multiplyAllInPlace(1e170).multiplyAllInPlace(1e170);
+    ref.multiplyAllInPlace(1e170).multiplyAllInPlace(1e170);
+    ComplexTestArrayBulk.assertEqual(a.normAll(), ref.normAll());
+    ComplexTestArrayBulk.assertEqual(a.abs(7), ref.abs(7));
+    ComplexTestArrayBulk.assertEqual(a.arg(8), ref.arg(8));
+    if (!a.toString(9).equals(ref.toString(9)))
+    {
+      throw new RuntimeException("inequal: " + a.toString(9));
+    }
+  }
+  private static void lifetimeTest()
+  {
+    ComplexDirectBufferArray a = new ComplexDirectBufferArray(10, 2);
+    if (a.size() != 10 || a.isClosed())
+    {
+      throw new RuntimeException("invalid new array");
+    }
+    try
+    {
+      a.getReal(10L);
+      throw new RuntimeException("index out of bounds not detected");
+    }
+    catch (IndexOutOfBoundsException e)
+    {
+    }
+    try
+    {
+      a.addRangeInPlace(5, 11, 1.0);
+      throw new RuntimeException("range out of bounds not detected");
+    }
+    catch (IndexOutOfBoundsException e)
+    {
+    }
+    try
+    {
+      a.addAllInPlace(new ComplexDirectBufferArray(9));
+      throw new RuntimeException("size mismatch not detected");
+    }
+    catch (IllegalArgumentException e)
+    {
+    }
+    a.close();
+    a.close();
+    if (!a.isClosed())
+    {
+      throw new RuntimeException("closed array not closed");
+    }
+    try
+    {
+      a.getImag(0L);
+      throw new RuntimeException("access to closed array not detected");
+    }
+    catch (IllegalStateException e)
+    {
+    }
+    try
+    {
+      a.multiplyAllInPlace(2.0);
+      throw new RuntimeException("access to closed array not detected");
+    }
+    catch (IllegalStateException e)
+    {
+    }
+    ComplexDirectBufferArray empty = new ComplexDirectBufferArray(0);
+    empty.conjugateAllInPlace();
+    empty.close();
+  }
+  private static void mappedTest(boolean interleaved, ByteOrder order)
+    throws IOException
+  {
+    File file = File.createTempFile("complex", ".dat");
+    try
+    {
+      ComplexBufferArray ref = ComplexTestArrayBulk.newArray(29, 7);
+      ComplexBufferArray b = ComplexTestArrayBulk.newArray(29, 8);
+      ComplexMappedArray a =
+          ComplexMappedArray.create(file, 29, interleaved, order, 3);
+      if (a.isReadOnly() || a.isInterleaved() != interleaved ||
+          a.getByteOrder() != order || a.getReal(28) != 0)
+      {
+        throw new RuntimeException("invalid new mapped array");
+      }
+      a.setRange(0, 29, ref, 0);
+      ComplexLargeArray c = newDirect(b, 2);
+      a.multiplyAddRangeInPlace(3, 25, new Complex(1, 2), c, 4);
+      ref.multiplyAddRangeInPlace(3, 25, new Complex(1, 2), b, 4);
+      a.divideAllInPlace(c).conjugateRangeInPlace(1, 13);
+      ref.divideAllInPlace(b).conjugateRangeInPlace(1, 13);
+      assertEqual(a, ref);
+      a.close();
+      a.close();
+      // the file format does not depend on the chunk size
+      a = ComplexMappedArray.open(file, true);
+      assertEqual(a, ref);
+      if (!a.isReadOnly() || a.isInterleaved() != interleaved ||
+          a.getByteOrder() != order)
+      {
+        throw new RuntimeException("invalid header");
+      }
+      try
+      {
+        a.set(3L, 1.0);
+        throw new RuntimeException("write to read-only array not detected");
+      }
+      catch (ReadOnlyBufferException e)
+      {
+      }
+      a.close();
+      a = ComplexMappedArray.open(file, false, 1);
+      a.addRangeInPlace(20, 29, new Complex(0.5, -0.5));
+      ref.addRangeInPlace(20, 29, new Complex(0.5, -0.5));
+      a.force();
+      a.close();
+      a = ComplexMappedArray.open(file, true, 4);
+      assertEqual(a, ref);
+      a.close();
+      // the layout documented in ComplexMappedArray
+      DataInputStream in = new DataInputStream(new FileInputStream(file));
+      try
+      {
+        if (in.readLong() != 0x4A46434F4D504C58L || in.readInt() != 1 ||
+            in.readInt() != (interleaved ? 1 : 0) ||
+            in.readInt() != (order == ByteOrder.BIG_ENDIAN ? 0 : 1) ||
+            in.readInt() != 0 || in.readLong() != 29)
+        {
+          throw new RuntimeException("invalid header");
+        }
+        in.skipBytes(32);
+        long re = in.readLong(), im = in.readLong();
+        if (order != ByteOrder.BIG_ENDIAN)
+        {
+          re = Long.reverseBytes(re);
+          im = Long.reverseBytes(im);
+        }
+        ComplexTestArrayBulk.assertEqual(Double.longBitsToDouble(re),
+                                         ref.getReal(0));
+        double expected = interleaved ? ref.getImag(0) : ref.getReal(1);
+        ComplexTestArrayBulk.assertEqual(Double.longBitsToDouble(im), expected);
+      }
+      finally
+      {
+        in.close();
+      }
+      RandomAccessFile raf = new RandomAccessFile(file, "rw");
+      try
+      {
+        raf.setLength(64 + 16*28);
+      }
+      finally
+      {
+        raf.close();
+      }
+      try
+      {
+        ComplexMappedArray.open(file, true);
+        throw new RuntimeException("truncated file not detected");
+      }
+      catch (IOException e)
+      {
+      }
+      raf = new RandomAccessFile(file, "rw");
+      try
+      {
+        raf.writeLong(0);
+      }
+      finally
+      {
+        raf.close();
+      }
+      try
+      {
+        ComplexMappedArray.open(file, true);
+        throw new RuntimeException("invalid magic not detected");
+      }
+      catch (IOException e)
+      {
+      }
+      ComplexMappedArray.create(file, 0, interleaved, order).close();
+      a = ComplexMappedArray.open(file, false);
+      if (a.longSize() != 0 || file.length() != 64)
+      {
+        throw new RuntimeException("invalid empty file");
+      }
+      a.close();
+    }
+    finally
+    {
+      file.delete();
+    }
+  }
+  public static void main(String[] args)
+  {
+    for (int shift: SHIFTS)
+    {
+      arithmeticTest(shift);
+      elementTest(shift);
+      functionTest(shift);
+      copyTest(shift);
+      reductionTest(shift);
+    }
+    lifetimeTest();
+    try
+    {
+      mappedTest(false, ByteOrder.LITTLE_ENDIAN);
+      mappedTest(false, ByteOrder.BIG_ENDIAN);
+      mappedTest(true, ByteOrder.LITTLE_ENDIAN);
+      mappedTest(true, ByteOrder.BIG_ENDIAN);
+    }
+    catch (IOException e)
+    {
+      throw new RuntimeException(e);
+    }
+  }
+};
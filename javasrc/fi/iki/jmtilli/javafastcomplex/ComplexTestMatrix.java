@@ -0,0 +1,878 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+public class ComplexTestMatrix {
+  private static void assertEqualTolerance(double tol, ComplexMatrix a,
+                                           ComplexMatrix b)
+  {
+    if (a.getRows() != b.getRows() || a.getColumns() != b.getColumns())
+    {
+      throw new RuntimeException("size mismatch");
+    }
+    for (int i = 0; i < a.getRows(); i++)
+    {
+      for (int j = 0; j < a.getColumns(); j++)
+      {
+        if (ComplexUtils.subtract(a.get(i, j), b.get(i, j)).abs() > tol)
+        {
+          throw new RuntimeException("inequal at (" + i + "," + j + "): " +
+                                     a.toString(i, j) + ", " +
+                                     b.toString(i, j));
+        }
+      }
+    }
+  }
+  static ComplexMatrix newMatrix(int rows, int cols, int seed)
+  {
+    ComplexMatrix m = new ComplexMatrix(rows, cols);
+    Random rnd = new Random(seed);
+    for (int i = 0; i < rows; i++)
+    {
+      for (int j = 0; j < cols; j++)
+      {
+        m.set(i, j, rnd.nextDouble() - 0.5, rnd.nextDouble() - 0.5);
+      }
+    }
+    return m;
+  }
+  private static ComplexMatrix naiveProduct(ComplexMatrix a, ComplexMatrix b)
+  {
+    ComplexMatrix c = new ComplexMatrix(a.getRows(), b.getColumns());
+    ComplexBuffer sum = new ComplexBuffer();
+    for (int i = 0; i < a.getRows(); i++)
+    {
+      for (int j = 0; j < b.getColumns(); j++)
+      {
+        sum.set(0.0);
+        for (int p = 0; p < a.getColumns(); p++)
+        {
+          sum.addInPlace(ComplexUtils.multiply(a.get(i, p), b.get(p, j)));
+        }
+        c.set(i, j, sum);
+      }
+    }
+    return c;
+  }
+  private static void productTest(ForkJoinPool pool, int m, int k, int n)
+  {
+    ComplexMatrix a = newMatrix(m, k, m);
+    ComplexMatrix b = newMatrix(k, n, n);
+    ComplexMatrix ref = naiveProduct(a, b);
+    double tol = 1e-13*k;
+    assertEqualTolerance(tol, a.multiply(b), ref);
+    ComplexMatrix c = new ComplexMatrix(m, n);
+    assertEqualTolerance(tol, c.setProduct(a, b, false, pool), ref);
+    assertEqualTolerance(tol, c.setProduct(a, b, true, null), ref);
+    assertEqualTolerance(tol, c.setProduct(a, b, true, pool), ref);
+    ComplexBufferArray x = new ComplexBufferArray(k);
+    ComplexBufferArray y = new ComplexBufferArray(m);
+    for (int p = 0; p < k; p++)
+    {
+      x.set(p, b.get(p, 0));
+    }
+    a.multiply(x, y);
+    for (int i = 0; i < m; i++)
+    {
+      if (ComplexUtils.subtract(ref.get(i, 0), y, i).abs() > tol)
+      {
+        throw new RuntimeException("inequal: " + ref.toString(i, 0) + ", " +
+                                   y.toString(i));
+      }
+    }
+  }
+  private static void aliasTest()
+  {
+    ComplexMatrix a = newMatrix(9, 9, 1);
+    ComplexMatrix ref = naiveProduct(a, a);
+    a.setProduct(a, a);
+    assertEqualTolerance(1e-12, a, ref);
+  }
+  private static void conjugateTransposeTest()
+  {
+    ComplexMatrix a = newMatrix(40, 37, 2);
+    ComplexMatrix t = a.conjugateTranspose();
+    for (int i = 0; i < 40; i++)
+    {
+      for (int j = 0; j < 37; j++)
+      {
+        if (!t.get(j, i).equals(a.get(i, j).conjugate()))
+        {
+          throw new RuntimeException("inequal: " + a.toString(i, j) + ", " +
+                                     t.toString(j, i));
+        }
+      }
+    }
+  }
+  private static void luTest(int n)
+  {
+    ComplexMatrix a = newMatrix(n, n, n);
+    ComplexLU lu = new ComplexLU(a);
+    ComplexBufferArray x = new ComplexBufferArray(n);
+    ComplexBufferArray b = new ComplexBufferArray(n);
+    ComplexMatrix xm = newMatrix(n, 3, 7);
+    ComplexMatrix bm = a.multiply(xm);
+    for (int i = 0; i < n; i++)
+    {
+      x.set(i, xm.get(i, 0));
+    }
+    a.multiply(x, b);
+    double tol = 1e-9*n;
+    lu.solveInPlace(b);
+    for (int i = 0; i < n; i++)
+    {
+      if (ComplexUtils.subtract(b, i, x, i).abs() > tol)
+      {
+        throw new RuntimeException("inequal: " + b.toString(i) + ", " +
+                                   x.toString(i));
+      }
+    }
+    assertEqualTolerance(tol, lu.solveInPlace(bm), xm);
+    ComplexMatrix a2 = newMatrix(n, n, n + 1);
+    lu.factor(a2);
+    bm = a2.multiply(xm);
+    assertEqualTolerance(tol, lu.solveInPlace(bm), xm);
+    new ComplexLU(a2, true).solveInPlace(a2.multiply(xm));
+  }
+  private static void determinantTest()
+  {
+    ComplexMatrix a = newMatrix(3, 3, 4);
+    Complex ref = Complex.valueOf(0.0);
+    for (int p = 0; p < 3; p++)
+    {
+      Complex t = a.get(0, p).multiply(
+          a.get(1, (p + 1) % 3).multiply(a.get(2, (p + 2) % 3)).subtract(
+          a.get(1, (p + 2) % 3).multiply(a.get(2, (p + 1) % 3))));
+      ref = ref.add(t);
+    }
+    if (ComplexUtils.subtract(new ComplexLU(a).determinant(), ref).abs()
+        > 1e-12)
+    {
+      throw new RuntimeException("inequal: " + ref);
+    }
+  }
+  private static void singularTest()
+  {
+    ComplexMatrix a = newMatrix(5, 5, 3);
+    for (int j = 0; j < 5; j++)
+    {
+      a.set(3, j, a.get(1, j).multiply(Complex.valueOf(0.0, 2.0)));
+    }
+    ComplexLU lu = new ComplexLU(a);
+    if (!lu.isSingular() && lu.determinant().abs() > 1e-12)
+    {
+      throw new RuntimeException("not singular");
+    }
+    ComplexLU zero = new ComplexLU(new ComplexMatrix(4, 4));
+    if (!zero.isSingular())
+    {
+      throw new RuntimeException("not singular");
+    }
+    boolean thrown = false;
+    try
+    {
+      zero.solveInPlace(new ComplexBufferArray(4));
+    }
+    catch (ArithmeticException e)
+    {
+      thrown = true;
+    }
+    if (!thrown)
+    {
+      throw new RuntimeException("singularity not checked");
+    }
+  }
+  private static ComplexSparseMatrix newGridMatrix(int w, double omega,
+                                                  boolean zeroDiagonal)
+  {
+    int n = w*w;
+    int[] ri = new int[6*n], ci = new int[6*n];
+    double[] re = new double[6*n], im = new double[6*n];
+    int count = 0;
+    Random rnd = new Random(w);
+    for (int i = 0; i < n; i++)
+    {
+      int[] nbrs = {i - 1, i + 1, i - w, i + w};
+      for (int nb: nbrs)
+      {
+        if (nb >= 0 && nb < n && (nb/w == i/w || nb%w == i%w))
+        {
+          ri[count] = i;
+          ci[count] = nb;
+          re[count] = -1.0 + 0.1*rnd.nextDouble();
+          im[count] = -omega*rnd.nextDouble();
+          count++;
+        }
+      }
+      // stamped twice to check that duplicates are summed
+      for (int t = 0; t < 2; t++)
+      {
+        ri[count] = i;
+        ci[count] = i;
+        re[count] = zeroDiagonal && i%3 == 0 ? 0.0 : 2.5;
+        im[count] = zeroDiagonal && i%3 == 0 ? 0.0 : omega;
+        count++;
+      }
+    }
+    return ComplexSparseMatrix.fromTriplets(n, n, ri, ci, re, im, count);
+  }
+  private static void checkSparseSolve(ComplexSparseMatrix a,
+                                       ComplexSparseLU lu)
+  {
+    int n = a.getRows();
+    ComplexBufferArray x = new ComplexBufferArray(n);
+    ComplexBufferArray b = new ComplexBufferArray(n);
+    for (int i = 0; i < n; i++)
+    {
+      x.set(i, Math.sin(i), Math.cos(3*i));
+    }
+    a.multiply(x, b);
+    lu.solveInPlace(b);
+    for (int i = 0; i < n; i++)
+    {
+      if (ComplexUtils.subtract(b, i, x, i).abs() > 1e-9)
+      {
+        throw new RuntimeException("inequal: " + b.toString(i) + ", " +
+                                   x.toString(i));
+      }
+    }
+  }
+  private static void sparseTest()
+  {
+    ComplexSparseMatrix a = newGridMatrix(12, 0.5, false);
+    ComplexMatrix dense = a.toDense();
+    if (a.nonZeros() != 5*144 - 4*12 || dense.getReal(5, 5) != 5.0)
+    {
+      throw new RuntimeException("duplicates not summed");
+    }
+    ComplexBufferArray x = new ComplexBufferArray(144);
+    ComplexBufferArray y1 = new ComplexBufferArray(144);
+    ComplexBufferArray y2 = new ComplexBufferArray(144);
+    for (int i = 0; i < 144; i++)
+    {
+      x.set(i, Math.sin(i), Math.cos(3*i));
+    }
+    a.multiply(x, y1);
+    dense.multiply(x, y2);
+    for (int i = 0; i < 144; i++)
+    {
+      if (ComplexUtils.subtract(y1, i, y2, i).abs() > 1e-12)
+      {
+        throw new RuntimeException("inequal: " + y1.toString(i) + ", " +
+                                   y2.toString(i));
+      }
+    }
+    ComplexSparseLU lu = new ComplexSparseLU(a);
+    checkSparseSolve(a, lu);
+    ComplexSparseMatrix a2 = newGridMatrix(12, 3.0, false);
+    checkSparseSolve(a2, lu.refactor(a2));
+    // needs pivoting, also when refactoring with the old pivots
+    ComplexSparseMatrix a3 = newGridMatrix(12, 0.5, true);
+    checkSparseSolve(a3, lu.refactor(a3));
+    checkSparseSolve(a3, new ComplexSparseLU(a3, 1.0));
+    ComplexSparseMatrix big = newGridMatrix(60, 0.1, false);
+    ComplexSparseLU biglu = new ComplexSparseLU(big);
+    checkSparseSolve(big, biglu);
+    if (biglu.factorNonZeros() > 40*big.nonZeros())
+    {
+      throw new RuntimeException("too much fill: " + biglu.factorNonZeros());
+    }
+    int[] idx = {0, 1};
+    double[] zeros = {0.0, 0.0};
+    ComplexSparseMatrix singular =
+        ComplexSparseMatrix.fromTriplets(2, 2, idx, idx, zeros, zeros, 2);
+    boolean thrown = false;
+    try
+    {
+      new ComplexSparseLU(singular);
+    }
+    catch (ArithmeticException e)
+    {
+      thrown = true;
+    }
+    if (!thrown)
+    {
+      throw new RuntimeException("singularity not checked");
+    }
+    // a zero diagonal must not be chosen even with a zero pivot tolerance
+    int[] cols = {1, 0};
+    double[] ones = {1.0, 1.0};
+    ComplexSparseMatrix swap =
+        ComplexSparseMatrix.fromTriplets(2, 2, idx, cols, ones, zeros, 2);
+    checkSparseSolve(swap, new ComplexSparseLU(swap, 0.0));
+    checkSparseSolve(a3, new ComplexSparseLU(a3, 0.0));
+    // a failed refactorization must not leave stale factors behind
+    ComplexSparseMatrix a4 = newGridMatrix(12, 0.5, false);
+    for (int i = 0; i < 144; i++)
+    {
+      if (a4.indexOf(i, 70) >= 0)
+      {
+        a4.set(i, 70, 0.0, 0.0);
+      }
+    }
+    thrown = false;
+    try
+    {
+      lu.refactor(a4);
+    }
+    catch (ArithmeticException e)
+    {
+      thrown = true;
+    }
+    if (!thrown)
+    {
+      throw new RuntimeException("singularity not checked");
+    }
+    thrown = false;
+    try
+    {
+      lu.solveInPlace(new ComplexBufferArray(144));
+    }
+    catch (IllegalStateException e)
+    {
+      thrown = true;
+    }
+    if (!thrown)
+    {
+      throw new RuntimeException("failed factorization not checked");
+    }
+    checkSparseSolve(a2, lu.refactor(a2));
+    checkSparseSolve(a, lu.refactor(a));
+  }
+  private static ComplexPreconditioner jacobi(final ComplexSparseMatrix a)
+  {
+    return new ComplexPreconditioner() {
+      @Override
+      public ComplexBufferArray apply(ComplexBufferArray r,
+                                      ComplexBufferArray result)
+      {
+        for (int i = 0; i < r.size(); i++)
+        {
+          result.set(i, r, i).divideInPlace(i, a.get(i, i));
+        }
+        return result;
+      }
+    };
+  }
+  private static void checkKrylov(ComplexKrylovSolver solver,
+                                  ComplexLinearOperator a,
+                                  ComplexPreconditioner m, double tol)
+  {
+    checkKrylov(solver, a, m, tol, 1.0);
+  }
+  private static void checkKrylov(ComplexKrylovSolver solver,
+                                  ComplexLinearOperator a,
+                                  ComplexPreconditioner m, double tol,
+                                  double scale)
+  {
+    int n = a.getRows();
+    ComplexBufferArray x = new ComplexBufferArray(n);
+    ComplexBufferArray b = new ComplexBufferArray(n);
+    ComplexBufferArray r = new ComplexBufferArray(n);
+    for (int i = 0; i < n; i++)
+    {
+      b.set(i, scale*Math.sin(i), scale*Math.cos(3*i));
+    }
+    if (!solver.solve(a, m, b, x))
+    {
+      throw new RuntimeException("not converged: " +
+                                 solver.getRelativeResidual());
+    }
+    a.multiply(x, r);
+    r.subtractAllInPlace(b);
+    if (r.normAll() > 1.01*tol*b.normAll() ||
+        solver.getRelativeResidual() > tol)
+    {
+      throw new RuntimeException("residual too large: " +
+                                 r.normAll()/b.normAll());
+    }
+  }
+  private static void krylovTest()
+  {
+    ComplexSparseMatrix a = newGridMatrix(20, 0.5, false);
+    int n = a.getRows();
+    checkKrylov(new ComplexGMRES(n, 10, 1e-10, 1000), a, null, 1e-10);
+    checkKrylov(new ComplexGMRES(n, 30, 1e-10, 1000), a, jacobi(a), 1e-10);
+    checkKrylov(new ComplexBiCGSTAB(n, 1e-10, 1000), a, null, 1e-10);
+    checkKrylov(new ComplexBiCGSTAB(n, 1e-10, 1000), a, jacobi(a), 1e-10);
+    checkKrylov(new ComplexGMRES(50, 50, 1e-12, 100), newMatrix(50, 50, 5),
+                null, 1e-12);
+    // a very small or large right-hand side must neither underflow nor
+    // overflow
+    double[] scales = {1e-170, 1e170};
+    for (double scale: scales)
+    {
+      checkKrylov(new ComplexGMRES(n, 10, 1e-10, 1000), a, null, 1e-10,
+                  scale);
+      checkKrylov(new ComplexBiCGSTAB(n, 1e-10, 1000), a, jacobi(a), 1e-10,
+                  scale);
+    }
+    // a complex symmetric Helmholtz matrix with absorption
+    int w = 25;
+    int[] ri = new int[5*w*w], ci = new int[5*w*w];
+    double[] re = new double[5*w*w], im = new double[5*w*w];
+    int count = 0;
+    for (int i = 0; i < w*w; i++)
+    {
+      int[] nbrs = {i - 1, i + 1, i - w, i + w};
+      for (int nb: nbrs)
+      {
+        if (nb >= 0 && nb < w*w && (nb/w == i/w || nb%w == i%w))
+        {
+          ri[count] = i;
+          ci[count] = nb;
+          re[count] = -1.0;
+          count++;
+        }
+      }
+      ri[count] = i;
+      ci[count] = i;
+      re[count] = 4.0 - 0.3;
+      im[count] = 0.05 + 0.01*(i%7);
+      count++;
+    }
+    ComplexSparseMatrix h =
+        ComplexSparseMatrix.fromTriplets(w*w, w*w, ri, ci, re, im, count);
+    checkKrylov(new ComplexCOCG(w*w, 1e-10, 2000), h, null, 1e-10);
+    checkKrylov(new ComplexCOCG(w*w, 1e-10, 2000), h, jacobi(h), 1e-10);
+    checkKrylov(new ComplexCOCG(w*w, 1e-10, 2000), h, null, 1e-10, 1e-170);
+    checkKrylov(new ComplexCOCG(w*w, 1e-10, 2000), h, null, 1e-10, 1e170);
+    ComplexCOCG limited = new ComplexCOCG(w*w, 1e-10, 3);
+    if (limited.solve(h, null, new ComplexBufferArray(w*w).set(0, 1.0),
+                      new ComplexBufferArray(w*w)) ||
+        limited.getIterations() != 3)
+    {
+      throw new RuntimeException("iteration limit not respected");
+    }
+  }
+  private static void assertUnitaryColumns(double tol, ComplexMatrix q)
+  {
+    assertEqualTolerance(tol, q.conjugateTranspose().multiply(q),
+                         ComplexMatrix.identity(q.getColumns()));
+  }
+  private static ComplexMatrix scaleColumns(ComplexMatrix a, double[] d)
+  {
+    ComplexMatrix b = new ComplexMatrix(a);
+    for (int i = 0; i < a.getRows(); i++)
+    {
+      for (int j = 0; j < a.getColumns(); j++)
+      {
+        b.set(i, j, a.get(i, j).multiply(d[j]));
+      }
+    }
+    return b;
+  }
+  private static void hermitianEigenTest(int n)
+  {
+    ComplexMatrix a = newMatrix(n, n, 3*n);
+    a.addInPlace(a.conjugateTranspose());
+    ComplexHermitianEigen eig = new ComplexHermitianEigen(a);
+    double[] d = eig.getEigenvalues();
+    ComplexMatrix v = eig.getEigenvectors();
+    double tol = 1e-12*n;
+    assertUnitaryColumns(tol, v);
+    assertEqualTolerance(tol, a.multiply(v), scaleColumns(v, d));
+    double[] d2 = new ComplexHermitianEigen(a, false).getEigenvalues();
+    for (int i = 0; i < n; i++)
+    {
+      if ((i > 0 && d[i] < d[i - 1]) || Math.abs(d[i] - d2[i]) > tol)
+      {
+        throw new RuntimeException("eigenvalue order: " + d[i] + ", " +
+                                   d2[i]);
+      }
+    }
+  }
+  private static void hermitianEigenKnownTest()
+  {
+    ComplexMatrix a = new ComplexMatrix(3, 3);
+    a.set(0, 0, 2.0, 0.0).set(1, 0, 0.0, -1.0).set(1, 1, 2.0, 0.0);
+    a.set(2, 2, -1.0, 0.0);
+    double[] d = new ComplexHermitianEigen(a, false).getEigenvalues();
+    if (Math.abs(d[0] + 1.0) > 1e-15 || Math.abs(d[1] - 1.0) > 1e-15 ||
+        Math.abs(d[2] - 3.0) > 1e-15)
+    {
+      throw new RuntimeException("eigenvalues: " + d[0] + ", " + d[1] +
+                                 ", " + d[2]);
+    }
+    ComplexHermitianEigen eig = new ComplexHermitianEigen(a, false);
+    boolean thrown = false;
+    try
+    {
+      eig.getEigenvectors();
+    }
+    catch (IllegalStateException e)
+    {
+      thrown = true;
+    }
+    if (!thrown || eig.hasEigenvectors())
+    {
+      throw new RuntimeException("eigenvectors not checked");
+    }
+  }
+  private static void svdTest(int m, int n, int rank)
+  {
+    ComplexMatrix a = newMatrix(m, rank, m + n);
+    if (rank < n)
+    {
+      a = a.multiply(newMatrix(rank, n, m - n));
+    }
+    else
+    {
+      a = newMatrix(m, n, m + n);
+    }
+    ComplexSVD svd = new ComplexSVD(a);
+    double[] s = svd.getSingularValues();
+    ComplexMatrix u = svd.getU(), v = svd.getV();
+    int p = Math.min(m, n);
+    double tol = 1e-12*(m + n);
+    if (s.length != p || u.getRows() != m || u.getColumns() != p ||
+        v.getRows() != n || v.getColumns() != p || svd.rank() != rank)
+    {
+      throw new RuntimeException("invalid SVD shape or rank: " + svd.rank());
+    }
+    assertUnitaryColumns(tol, v);
+    assertEqualTolerance(tol, a.multiply(v), scaleColumns(u, s));
+    assertEqualTolerance(tol, scaleColumns(u, s).multiply(
+        v.conjugateTranspose()), a);
+    if (rank == p)
+    {
+      assertUnitaryColumns(tol, u);
+    }
+    double[] s2 = new ComplexSVD(a, false).getSingularValues();
+    for (int k = 0; k < p; k++)
+    {
+      if ((k > 0 && s[k] > s[k - 1]) || Math.abs(s[k] - s2[k]) > tol)
+      {
+        throw new RuntimeException("singular value order: " + s[k]);
+      }
+    }
+  }
+  private static void svdEigenTest()
+  {
+    ComplexMatrix b = newMatrix(20, 20, 8);
+    ComplexMatrix a = b.conjugateTranspose().multiply(b);
+    double[] d = new ComplexHermitianEigen(a, false).getEigenvalues();
+    double[] s = new ComplexSVD(a, false).getSingularValues();
+    for (int k = 0; k < 20; k++)
+    {
+      if (Math.abs(d[19 - k] - s[k]) > 1e-12*s[0])
+      {
+        throw new RuntimeException("inequal: " + d[19 - k] + ", " + s[k]);
+      }
+    }
+  }
+  private static void hermitianEigenScaleTest(double scale)
+  {
+    ComplexMatrix a = newMatrix(6, 6, 19);
+    a.addInPlace(a.conjugateTranspose());
+    double[] d = new ComplexHermitianEigen(a, false).getEigenvalues();
+    a.multiplyInPlace(new Complex(scale));
+    ComplexHermitianEigen eig = new ComplexHermitianEigen(a);
+    double[] ds = eig.getEigenvalues();
+    ComplexMatrix v = eig.getEigenvectors();
+    for (int i = 0; i < 6; i++)
+    {
+      if (!(Math.abs(ds[i] - d[i]*scale) <= 1e-13*Math.abs(d[5])*scale))
+      {
+        throw new RuntimeException("eigenvalue at " + scale + ": " +
+                                   ds[i] + ", " + d[i]*scale);
+      }
+    }
+    assertUnitaryColumns(1e-12, v);
+    ComplexMatrix av = a.multiply(v).subtractInPlace(scaleColumns(v, ds));
+    av.multiplyInPlace(new Complex(1.0/scale));
+    assertEqualTolerance(1e-12, av, new ComplexMatrix(6, 6));
+  }
+  private static void svdScaleTest(double scale)
+  {
+    for (int t = 0; t < 2; t++)
+    {
+      ComplexMatrix a = t == 0 ? newMatrix(7, 4, 23) : newMatrix(4, 7, 29);
+      double[] s = new ComplexSVD(a, false).getSingularValues();
+      a.multiplyInPlace(new Complex(scale));
+      ComplexSVD svd = new ComplexSVD(a);
+      double[] ss = svd.getSingularValues();
+      for (int k = 0; k < 4; k++)
+      {
+        if (!(Math.abs(ss[k] - s[k]*scale) <= 1e-13*s[k]*scale))
+        {
+          throw new RuntimeException("singular value at " + scale + ": " +
+                                     ss[k] + ", " + s[k]*scale);
+        }
+      }
+      assertUnitaryColumns(1e-12, svd.getU());
+      assertUnitaryColumns(1e-12, svd.getV());
+    }
+    ComplexMatrix one = new ComplexMatrix(1, 1).set(0, 0, -scale, 0.0);
+    if (new ComplexSVD(one).getSingularValues()[0] != scale)
+    {
+      throw new RuntimeException("singular value of " + scale);
+    }
+  }
+  private static void svdGradedTest()
+  {
+    // a column much smaller than the others keeps its relative accuracy
+    ComplexMatrix a = newMatrix(6, 3, 31);
+    for (int i = 0; i < 6; i++)
+    {
+      a.set(i, 2, a.get(i, 2).multiply(1e-170));
+    }
+    ComplexSVD svd = new ComplexSVD(a);
+    double[] s = svd.getSingularValues();
+    if (!(s[2] > 1e-172 && s[2] < 1e-169))
+    {
+      throw new RuntimeException("graded singular value: " + s[2]);
+    }
+    ComplexMatrix b = scaleColumns(svd.getU(), s).multiply(
+        svd.getV().conjugateTranspose());
+    for (int i = 0; i < 6; i++)
+    {
+      for (int j = 0; j < 3; j++)
+      {
+        double tol = 1e-12*(j == 2 ? 1e-170 : 1.0);
+        if (ComplexUtils.subtract(b.get(i, j), a.get(i, j)).abs() > tol)
+        {
+          throw new RuntimeException("inequal at (" + i + "," + j + "): " +
+                                     b.toString(i, j) + ", " +
+                                     a.toString(i, j));
+        }
+      }
+    }
+  }
+  private static ComplexMatrix permuteColumns(ComplexMatrix a, int[] perm)
+  {
+    ComplexMatrix b = new ComplexMatrix(a.getRows(), a.getColumns());
+    for (int i = 0; i < a.getRows(); i++)
+    {
+      for (int j = 0; j < a.getColumns(); j++)
+      {
+        b.set(i, j, a.get(i, perm[j]));
+      }
+    }
+    return b;
+  }
+  private static void checkLeastSquares(double tol, ComplexMatrix a,
+                                        ComplexBufferArray b,
+                                        ComplexBufferArray x)
+  {
+    ComplexBufferArray r = new ComplexBufferArray(a.getRows());
+    a.multiply(x, r).subtractAllInPlace(b);
+    ComplexBufferArray g = new ComplexBufferArray(a.getColumns());
+    a.conjugateTranspose().multiply(r, g);
+    if (g.normAll() > tol*b.normAll())
+    {
+      throw new RuntimeException("residual not orthogonal: " + g.normAll());
+    }
+  }
+  private static void qrTest(int m, int n, int rank, boolean pivoting)
+  {
+    ComplexMatrix a = newMatrix(m, n, 5*m + n);
+    if (rank < n)
+    {
+      a = newMatrix(m, rank, m).multiply(newMatrix(rank, n, n));
+    }
+    ComplexQR qr = new ComplexQR(a, pivoting);
+    ComplexMatrix q = qr.getQ(), r = qr.getR();
+    double tol = 1e-12*(m + n);
+    assertUnitaryColumns(tol, q);
+    assertEqualTolerance(tol, q.multiply(r),
+                         permuteColumns(a, qr.getPermutation()));
+    for (int i = 0; i < n; i++)
+    {
+      if (r.getImag(i, i) != 0.0)
+      {
+        throw new RuntimeException("diagonal not real: " + r.get(i, i));
+      }
+      if (pivoting && i > 0 &&
+          Math.abs(r.getReal(i, i)) > Math.abs(r.getReal(i - 1, i - 1)))
+      {
+        throw new RuntimeException("diagonal not decreasing");
+      }
+    }
+    if (qr.rank() != rank)
+    {
+      throw new RuntimeException("rank " + qr.rank() + " != " + rank);
+    }
+    ComplexBufferArray b = new ComplexBufferArray(m);
+    for (int i = 0; i < m; i++)
+    {
+      b.set(i, Math.sin(i), Math.cos(3*i));
+    }
+    ComplexBufferArray x = qr.solve(b, new ComplexBufferArray(n));
+    checkLeastSquares(tol, a, b, x);
+    if (rank == n)
+    {
+      // the normal equations are well conditioned for these sizes
+      ComplexMatrix ah = a.conjugateTranspose();
+      ComplexBufferArray y = new ComplexBufferArray(n);
+      ah.multiply(b, y);
+      new ComplexLU(ah.multiply(a)).solveInPlace(y);
+      if (y.subtractAllInPlace(x).normAll() > 1e-10*x.normAll())
+      {
+        throw new RuntimeException("least squares solutions differ");
+      }
+    }
+  }
+  private static void qrRankDeficientTest()
+  {
+    ComplexMatrix a = newMatrix(6, 3, 11);
+    for (int i = 0; i < 6; i++)
+    {
+      a.set(i, 1, 0.0, 0.0);
+    }
+    ComplexQR qr = new ComplexQR(a);
+    boolean thrown = false;
+    try
+    {
+      qr.solve(new ComplexBufferArray(6), new ComplexBufferArray(3));
+    }
+    catch (ArithmeticException e)
+    {
+      thrown = true;
+    }
+    if (!thrown || qr.isFullRank())
+    {
+      throw new RuntimeException("rank deficiency not detected");
+    }
+    ComplexBufferArray b = new ComplexBufferArray(6);
+    b.set(0, 1.0, 2.0);
+    ComplexBufferArray x =
+        new ComplexQR(a, true).solve(b, new ComplexBufferArray(3));
+    if (x.getReal(1) != 0.0 || x.getImag(1) != 0.0)
+    {
+      throw new RuntimeException("not a basic solution");
+    }
+    checkLeastSquares(1e-12, a, b, x);
+  }
+  private static void qrScaleTest(double scale, double column0,
+                                  boolean pivoting)
+  {
+    ComplexMatrix a = newMatrix(40, 5, 17);
+    a.multiplyInPlace(new Complex(scale));
+    for (int i = 0; i < 40; i++)
+    {
+      a.set(i, 0, a.getReal(i, 0)*column0, a.getImag(i, 0)*column0);
+    }
+    ComplexQR qr = new ComplexQR(a, pivoting);
+    if (!qr.isFullRank())
+    {
+      throw new RuntimeException("rank " + qr.rank() + " at " + scale);
+    }
+    ComplexMatrix q = qr.getQ();
+    assertUnitaryColumns(1e-12, q);
+    int[] perm = qr.getPermutation();
+    ComplexMatrix ap = permuteColumns(a, perm);
+    ComplexMatrix qr0 = q.multiply(qr.getR());
+    for (int j = 0; j < 5; j++)
+    {
+      double s = perm[j] == 0 ? column0 : 1.0;
+      for (int i = 0; i < 40; i++)
+      {
+        if (ComplexUtils.subtract(qr0.get(i, j), ap.get(i, j)).abs() >
+            1e-12*scale*s)
+        {
+          throw new RuntimeException("inequal at (" + i + "," + j + "): " +
+                                     qr0.toString(i, j) + ", " +
+                                     ap.toString(i, j));
+        }
+      }
+    }
+    ComplexBufferArray x = new ComplexBufferArray(5);
+    ComplexBufferArray b = new ComplexBufferArray(40);
+    for (int j = 0; j < 5; j++)
+    {
+      // balanced so that every column contributes to b
+      double s = j == 0 ? 1.0/column0 : 1.0;
+      x.set(j, (Math.sin(j) + 1.5)*s, Math.cos(3*j)*s);
+    }
+    a.multiply(x, b);
+    ComplexBufferArray y = qr.solve(b, new ComplexBufferArray(5));
+    for (int j = 0; j < 5; j++)
+    {
+      if (ComplexUtils.subtract(y, j, x, j).abs() > 1e-10*x.abs(j))
+      {
+        throw new RuntimeException("inaccurate solution at " + scale +
+                                   ": " + y.toString(j) + ", " +
+                                   x.toString(j));
+      }
+    }
+  }
+  public static void main(String[] args)
+  {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    productTest(pool, 1, 1, 1);
+    productTest(pool, 3, 5, 2);
+    productTest(pool, 4, 4, 4);
+    productTest(pool, 67, 130, 259);
+    productTest(pool, 130, 300, 70);
+    pool.shutdown();
+    aliasTest();
+    conjugateTransposeTest();
+    int[] luSizes = {1, 2, 5, 63, 64, 65, 150};
+    for (int n: luSizes)
+    {
+      luTest(n);
+    }
+    determinantTest();
+    singularTest();
+    sparseTest();
+    krylovTest();
+    int[] eigenSizes = {1, 2, 3, 5, 40, 101};
+    for (int n: eigenSizes)
+    {
+      hermitianEigenTest(n);
+    }
+    hermitianEigenKnownTest();
+    svdTest(1, 1, 1);
+    svdTest(7, 4, 4);
+    svdTest(4, 7, 4);
+    svdTest(30, 30, 30);
+    svdTest(25, 18, 6);
+    svdTest(12, 40, 3);
+    svdEigenTest();
+    for (double scale: new double[]{1e-300, 1e-170, 1e-155, 1e155, 1e300})
+    {
+      hermitianEigenScaleTest(scale);
+      svdScaleTest(scale);
+    }
+    svdGradedTest();
+    qrTest(1, 1, 1, false);
+    qrTest(5, 3, 3, false);
+    qrTest(40, 40, 40, false);
+    qrTest(300, 70, 70, false);
+    qrTest(300, 70, 70, true);
+    qrTest(90, 33, 33, true);
+    qrTest(90, 33, 10, true);
+    qrRankDeficientTest();
+    for (boolean pivoting: new boolean[]{false, true})
+    {
+      for (double scale: new double[]{1e-300, 1e-170, 1e-160, 1e160, 1e300})
+      {
+        qrScaleTest(scale, 1.0, pivoting);
+      }
+    }
+    // pivoting would treat the tiny column as numerically dependent
+    qrScaleTest(1.0, 1e-170, false);
+    qrScaleTest(1e150, 1e-300, false);
+  }
+};
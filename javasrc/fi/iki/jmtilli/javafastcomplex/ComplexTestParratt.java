@@ -0,0 +1,278 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.util.concurrent.ForkJoinPool;
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+public class ComplexTestParratt {
+  private static final double WAVELENGTH = 0.154;
+  private static double[] angles(int n)
+  {
+    double[] theta = new double[n];
+    for (int j = 0; j < n; j++)
+    {
+      theta[j] = (j + 1)*0.05/n;
+    }
+    return theta;
+  }
+  private static Complex kz(double delta0, double beta0, double delta,
+                            double beta, double theta)
+  {
+    double k0 = 2*Math.PI/WAVELENGTH;
+    Complex n0 = new Complex(1 - delta0, -beta0);
+    Complex n = new Complex(1 - delta, -beta);
+    Complex c = new Complex(Math.cos(theta));
+    Complex z = n.multiply(n).subtract(n0.multiply(n0).multiply(c)
+                                         .multiply(c));
+    Complex k = z.sqrt().multiply(k0);
+    return k.getImag() > 0 ? k.negate() : k;
+  }
+  /*
+   * The recursion of the README written with immutable complex numbers.
+   */
+  private static Complex reference(double[] delta, double[] beta,
+                                   double[] d, double[] sigma, double theta)
+  {
+    Complex R = new Complex(0);
+    Complex MINUS_TWO_I = new Complex(0, -2);
+    for (int i = delta.length - 2; i >= 0; i--)
+    {
+      Complex kz0 = kz(delta[0], beta[0], delta[i], beta[i], theta);
+      Complex kz1 = kz(delta[0], beta[0], delta[i + 1], beta[i + 1], theta);
+      Complex ri = kz0.subtract(kz1).divide(kz0.add(kz1));
+      Complex roughri = kz0.multiply(kz1).multiply(-2*sigma[i]*sigma[i])
+                           .exp().multiply(ri);
+      Complex b = kz1.multiply(MINUS_TWO_I.multiply(d[i + 1])).exp()
+                     .multiply(R);
+      R = b.add(roughri).divide(b.multiply(roughri).add(1));
+    }
+    return R;
+  }
+  private static void referenceTest(int n)
+  {
+    double[] delta = {0, 7.6e-6, 2.1e-6, 7.6e-6, 2.1e-6, 7.6e-6};
+    double[] beta = {0, 1.7e-7, 1.5e-8, 1.7e-7, 1.5e-8, 4.0e-8};
+    double[] d = {0, 3.1, 7.5, 3.2, 0.4, 0};
+    double[] sigma = {0.3, 0.45, 0.0, 0.2, 0.35, 0};
+    double[] theta = angles(n);
+    ComplexParratt parratt = new ComplexParratt(WAVELENGTH, theta);
+    ComplexBufferArray r = parratt.reflectance(delta, beta, d, sigma,
+                                               new ComplexBufferArray(n));
+    double[] abs2 = parratt.reflectivity(delta, beta, d, sigma,
+                                         new double[n]);
+    for (int j = 0; j < n; j++)
+    {
+      Complex expected = reference(delta, beta, d, sigma, theta[j]);
+      Complex actual = r.get(j);
+      if (actual.subtract(expected).abs() > 1e-9 ||
+          Math.abs(abs2[j] - actual.abs()*actual.abs()) > 1e-15)
+      {
+        throw new RuntimeException("reflectance: " + actual + " != " +
+                                   expected);
+      }
+    }
+    ForkJoinPool pool = new ForkJoinPool(4);
+    ComplexBufferArray r2 = new ComplexParratt(WAVELENGTH, theta, pool)
+        .reflectance(delta, beta, d, sigma, new ComplexBufferArray(n));
+    pool.shutdown();
+    for (int j = 0; j < n; j++)
+    {
+      if (!r2.get(j).equals(r.get(j)))
+      {
+        throw new RuntimeException("parallel calculation differs");
+      }
+    }
+  }
+  private static void totalReflectionTest()
+  {
+    double[] delta = {0, 7.6e-6};
+    double[] beta = {0, 0};
+    double[] zero = {0, 0};
+    double thetaC = Math.sqrt(2*7.6e-6);
+    double[] theta = {0.25*thetaC, 0.5*thetaC, 0.99*thetaC, 1.5*thetaC};
+    double[] abs2 = new ComplexParratt(WAVELENGTH, theta)
+        .reflectivity(delta, beta, zero, zero, new double[4]);
+    for (int j = 0; j < 3; j++)
+    {
+      if (Math.abs(abs2[j] - 1) > 1e-12)
+      {
+        throw new RuntimeException("no total reflection: " + abs2[j]);
+      }
+    }
+    if (!(abs2[3] < 0.1))
+    {
+      throw new RuntimeException("total reflection: " + abs2[3]);
+    }
+  }
+  /*
+   * Below the critical angle, the absorbed fraction 1 - |R|^2 depends on
+   * the small real part of kz, which must not be lost to cancellation.
+   */
+  private static void absorptionTest()
+  {
+    double[] delta = {0, 7.6e-6};
+    double[] beta = {0, 1e-12};
+    double[] zero = {0, 0};
+    double thetaC = Math.sqrt(2*7.6e-6);
+    double[] theta = {0.1*thetaC, 0.5*thetaC, 0.9*thetaC};
+    double[] abs2 = new ComplexParratt(WAVELENGTH, theta)
+        .reflectivity(delta, beta, zero, zero, new double[3]);
+    for (int j = 0; j < 3; j++)
+    {
+      double expected = 1 - reference(delta, beta, zero, zero, theta[j])
+                                .abs()*reference(delta, beta, zero, zero,
+                                                 theta[j]).abs();
+      if (Math.abs((1 - abs2[j]) - expected) > 1e-6*expected)
+      {
+        throw new RuntimeException("absorption: " + (1 - abs2[j]) + " != " +
+                                   expected);
+      }
+    }
+  }
+  private static void singleLayerTest()
+  {
+    double[] theta = angles(50);
+    ComplexParratt parratt = new ComplexParratt(WAVELENGTH, theta);
+    double[] a = parratt.reflectivity(new double[]{0, 4e-6},
+                                      new double[]{0, 1e-7},
+                                      new double[]{0, 0},
+                                      new double[]{0.5, 0}, new double[50]);
+    // a zero thickness layer of the substrate material changes nothing
+    double[] b = parratt.reflectivity(new double[]{0, 4e-6, 4e-6},
+                                      new double[]{0, 1e-7, 1e-7},
+                                      new double[]{0, 0, 0},
+                                      new double[]{0.5, 0, 0},
+                                      new double[50]);
+    double[] c = new ComplexParratt(WAVELENGTH, new double[0])
+        .reflectivity(new double[]{0}, new double[]{0}, new double[]{0},
+                      new double[]{0}, new double[0]);
+    for (int j = 0; j < 50; j++)
+    {
+      if (Math.abs(a[j] - b[j]) > 1e-15*a[j] || c.length != 0)
+      {
+        throw new RuntimeException("single layer: " + a[j] + " != " + b[j]);
+      }
+    }
+  }
+  /*
+   * Compare to the better of two central differences, since the best step
+   * depends on the curvature, which is large near the critical angle.
+   */
+  private static void checkDerivative(String name, int l, double[] analytic,
+                                      double[][] plus, double[][] minus,
+                                      double[] h)
+  {
+    double scale = 0;
+    for (double d: analytic)
+    {
+      scale = Math.max(scale, Math.abs(d));
+    }
+    for (int j = 0; j < analytic.length; j++)
+    {
+      double error = Double.POSITIVE_INFINITY;
+      double numeric = 0;
+      for (int i = 0; i < h.length; i++)
+      {
+        double fd = (plus[i][j] - minus[i][j])/(2*h[i]);
+        if (Math.abs(fd - analytic[j]) < error)
+        {
+          error = Math.abs(fd - analytic[j]);
+          numeric = fd;
+        }
+      }
+      if (error > 1e-6*scale)
+      {
+        throw new RuntimeException("derivative of " + name + "[" + l +
+                                   "]: " + analytic[j] + " != " + numeric);
+      }
+    }
+  }
+  private static void gradientTest(ForkJoinPool pool, int n)
+  {
+    double[][] p = {
+      {1e-7, 7.6e-6, 2.1e-6, 7.6e-6, 2.1e-6, 7.6e-6},
+      {1e-9, 1.7e-7, 1.5e-8, 1.7e-7, 1.5e-8, 4.0e-8},
+      {0, 3.1, 7.5, 3.2, 0.4, 0},
+      {0.3, 0.45, 0.0, 0.2, 0.35, 0}};
+    String[] names = {"delta", "beta", "thickness", "roughness"};
+    int layers = p[0].length;
+    ComplexParratt parratt = new ComplexParratt(WAVELENGTH, angles(n), pool);
+    double[][][] d = new double[4][layers][n];
+    double[] r = parratt.reflectivity(p[0], p[1], p[2], p[3], new double[n],
+                                      d[0], d[1], d[2], d[3]);
+    double[] r2 = parratt.reflectivity(p[0], p[1], p[2], p[3],
+                                       new double[n]);
+    for (int j = 0; j < n; j++)
+    {
+      if (Math.abs(r[j] - r2[j]) > 1e-15*r2[j])
+      {
+        throw new RuntimeException("reflectivity: " + r[j] + " != " + r2[j]);
+      }
+    }
+    for (int k = 0; k < 4; k++)
+    {
+      for (int l = 0; l < layers; l++)
+      {
+        double x = p[k][l];
+        double[] h = k < 2 ? new double[]{1e-8, 1e-10} :
+                             new double[]{1e-4, 1e-6};
+        double[][] plus = new double[2][], minus = new double[2][];
+        for (int i = 0; i < 2; i++)
+        {
+          p[k][l] = x + h[i];
+          plus[i] = parratt.reflectivity(p[0], p[1], p[2], p[3],
+                                         new double[n]);
+          p[k][l] = x - h[i];
+          minus[i] = parratt.reflectivity(p[0], p[1], p[2], p[3],
+                                          new double[n]);
+        }
+        p[k][l] = x;
+        checkDerivative(names[k], l, d[k][l], plus, minus, h);
+      }
+    }
+    double[][] dThickness = new double[layers][n];
+    parratt.reflectivity(p[0], p[1], p[2], p[3], new double[n],
+                         null, null, dThickness, null);
+    for (int l = 0; l < layers; l++)
+    {
+      for (int j = 0; j < n; j++)
+      {
+        if (dThickness[l][j] != d[2][l][j])
+        {
+          throw new RuntimeException("derivatives depend on selection");
+        }
+      }
+    }
+  }
+  public static void main(String[] args)
+  {
+    referenceTest(1);
+    referenceTest(300);
+    referenceTest(1000);
+    totalReflectionTest();
+    absorptionTest();
+    singleLayerTest();
+    gradientTest(null, 1);
+    gradientTest(null, 200);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    gradientTest(pool, 700);
+    pool.shutdown();
+  }
+};
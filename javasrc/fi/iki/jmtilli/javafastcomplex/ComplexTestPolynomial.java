@@ -0,0 +1,342 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+public class ComplexTestPolynomial {
+  private static void assertClose(double tol, ComplexNumber a,
+                                  ComplexNumber b)
+  {
+    double dr = a.getReal() - b.getReal(), di = a.getImag() - b.getImag();
+    if (!(Math.sqrt(dr*dr + di*di) <= tol))
+    {
+      throw new RuntimeException("inequal: " + a + ", " + b);
+    }
+  }
+  static ComplexPolynomial newPolynomial(int degree, int seed)
+  {
+    Random rnd = new Random(seed);
+    ComplexBufferArray c = new ComplexBufferArray(degree + 1);
+    for (int k = 0; k <= degree; k++)
+    {
+      c.set(k, rnd.nextDouble() - 0.5, rnd.nextDouble() - 0.5);
+    }
+    return new ComplexPolynomial(c);
+  }
+  private static Complex naive(ComplexPolynomial p, Complex z)
+  {
+    Complex sum = new Complex(0);
+    Complex power = new Complex(1);
+    for (int k = 0; k <= p.degree(); k++)
+    {
+      sum = sum.add(power.multiply(p.getCoefficient(k)));
+      power = power.multiply(z);
+    }
+    return sum;
+  }
+  private static void knownTest()
+  {
+    ComplexBufferArray c = new ComplexBufferArray(3);
+    c.set(0, 2).set(1, -3).set(2, 1);
+    ComplexPolynomial p = new ComplexPolynomial(c);
+    c.set(0, 100);
+    ComplexBuffer v = new ComplexBuffer(), d = new ComplexBuffer();
+    assertClose(0, p.evaluate(0, 1, v), new Complex(1, -3));
+    p.evaluateWithDerivative(new Complex(0, 1), v, d);
+    assertClose(0, v, new Complex(1, -3));
+    assertClose(0, d, new Complex(-3, 2));
+    assertClose(0, p.derivative().derivative().evaluate(5, 5, v),
+                new Complex(2));
+    if (p.degree() != 2 || p.derivative().degree() != 1 ||
+        p.derivative().derivative().derivative().degree() != 0)
+    {
+      throw new RuntimeException("invalid degree");
+    }
+  }
+  private static void batchTest(int degree, int points)
+  {
+    ComplexPolynomial p = newPolynomial(degree, degree);
+    ComplexPolynomial dp = p.derivative();
+    Random rnd = new Random(points);
+    ComplexBufferArray z = new ComplexBufferArray(points);
+    for (int i = 0; i < points; i++)
+    {
+      z.set(i, 1.4*rnd.nextDouble() - 0.7, 1.4*rnd.nextDouble() - 0.7);
+    }
+    ComplexBufferArray values = p.evaluate(z, new ComplexBufferArray(points));
+    ComplexBufferArray v2 = new ComplexBufferArray(points);
+    ComplexBufferArray d2 = new ComplexBufferArray(points);
+    p.evaluateWithDerivative(z, v2, d2);
+    ComplexBuffer v = new ComplexBuffer(), d = new ComplexBuffer();
+    double tol = 1e-13*(degree + 1)*(degree + 1);
+    for (int i = 0; i < points; i++)
+    {
+      Complex zi = z.get(i);
+      p.evaluateWithDerivative(zi, v, d);
+      // the batched chains use the same operations as the scalar ones
+      assertClose(0, values.get(i), p.evaluate(zi, new ComplexBuffer()));
+      assertClose(0, v2.get(i), v);
+      assertClose(0, d2.get(i), d);
+      assertClose(tol, v, naive(p, zi));
+      assertClose(tol, d, naive(dp, zi));
+    }
+    p.evaluate(z, z);
+    for (int i = 0; i < points; i++)
+    {
+      assertClose(0, z.get(i), values.get(i));
+    }
+  }
+  private static void rootsOfUnityTest(int degree, int n)
+  {
+    ComplexPolynomial p = newPolynomial(degree, n);
+    ComplexBufferArray z = new ComplexBufferArray(n);
+    for (int k = 0; k < n; k++)
+    {
+      z.set(k, Math.cos(2*Math.PI*k/n), Math.sin(2*Math.PI*k/n));
+    }
+    ComplexBufferArray expected = p.evaluate(z, new ComplexBufferArray(n));
+    ComplexBufferArray actual =
+        p.evaluateRootsOfUnity(new ComplexFFT(n), new ComplexBufferArray(n));
+    for (int k = 0; k < n; k++)
+    {
+      assertClose(1e-12*(degree + 1), actual.get(k), expected.get(k));
+    }
+  }
+  private static ComplexPolynomial fromRoots(ComplexBufferArray roots)
+  {
+    int n = roots.size();
+    ComplexBufferArray c = new ComplexBufferArray(n + 1);
+    c.set(0, 1);
+    for (int i = 0; i < n; i++)
+    {
+      // multiply by (z - r)
+      Complex r = roots.get(i);
+      for (int k = i + 1; k >= 0; k--)
+      {
+        Complex ck = k <= i ? c.get(k) : new Complex(0);
+        Complex below = k > 0 ? c.get(k - 1) : new Complex(0);
+        c.set(k, below.subtract(ck.multiply(r)));
+      }
+    }
+    return new ComplexPolynomial(c);
+  }
+  private static void assertRoots(double relTol, ComplexBufferArray expected,
+                                  ComplexBufferArray actual)
+  {
+    int n = expected.size();
+    boolean[] used = new boolean[n];
+    for (int i = 0; i < n; i++)
+    {
+      Complex e = expected.get(i);
+      int best = -1;
+      double dist = Double.POSITIVE_INFINITY;
+      for (int j = 0; j < n; j++)
+      {
+        double d = actual.get(j).subtract(e).abs();
+        if (!used[j] && d < dist)
+        {
+          dist = d;
+          best = j;
+        }
+      }
+      if (!(dist <= relTol*Math.max(1, e.abs())))
+      {
+        throw new RuntimeException("root " + e + " not found: " + dist);
+      }
+      used[best] = true;
+    }
+  }
+  private static void knownRootsTest()
+  {
+    double[][] r = {{1e-5, 0}, {1e5, 0}, {1, 0}, {0, 0}, {0, 0},
+                    {-2, 3}, {-2, -3}, {0.5, 0.25}};
+    ComplexBufferArray expected = new ComplexBufferArray(r.length);
+    for (int i = 0; i < r.length; i++)
+    {
+      expected.set(i, r[i][0], r[i][1]);
+    }
+    ComplexPolynomial p = fromRoots(expected);
+    ComplexBufferArray roots = new ComplexBufferArray(r.length);
+    if (new ComplexAberth(100).solve(p, roots) < 0)
+    {
+      throw new RuntimeException("not converged");
+    }
+    assertRoots(1e-12, expected, roots);
+  }
+  private static void randomRootsTest(int n)
+  {
+    Random rnd = new Random(n);
+    ComplexBufferArray expected = new ComplexBufferArray(n);
+    for (int i = 0; i < n; i++)
+    {
+      double mod = Math.exp(rnd.nextDouble() - 0.5);
+      double arg = 2*Math.PI*rnd.nextDouble();
+      expected.set(i, mod*Math.cos(arg), mod*Math.sin(arg));
+    }
+    ComplexBufferArray roots = new ComplexBufferArray(n);
+    if (new ComplexAberth(100).solve(fromRoots(expected), roots) < 0)
+    {
+      throw new RuntimeException("not converged");
+    }
+    assertRoots(1e-8, expected, roots);
+  }
+  private static void largeDegreeTest(int n, ForkJoinPool pool)
+  {
+    ComplexPolynomial p = newPolynomial(n, 7*n);
+    ComplexBufferArray roots = new ComplexBufferArray(n);
+    int iterations = new ComplexAberth(200).solve(p, roots);
+    if (iterations < 0)
+    {
+      throw new RuntimeException("not converged");
+    }
+    ComplexBufferArray roots2 = new ComplexBufferArray(n);
+    if (new ComplexAberth(200, pool).solve(p, roots2) != iterations)
+    {
+      throw new RuntimeException("parallel iteration count differs");
+    }
+    // the backward error of each root, and the sum of the roots
+    Complex sum = new Complex(0);
+    ComplexBuffer v = new ComplexBuffer();
+    for (int i = 0; i < n; i++)
+    {
+      Complex z = roots.get(i);
+      if (!z.equals(roots2.get(i)))
+      {
+        throw new RuntimeException("parallel roots differ");
+      }
+      double bound = 0;
+      for (int k = n; k >= 0; k--)
+      {
+        bound = bound*z.abs() + p.getCoefficient(k).abs();
+      }
+      if (!(p.evaluate(z, v).abs() <= 1e-12*n*bound))
+      {
+        throw new RuntimeException("not a root: " + z);
+      }
+      sum = sum.add(z);
+    }
+    Complex vieta = p.getCoefficient(n - 1).divide(p.getCoefficient(n))
+                     .negate();
+    assertClose(1e-9*n, sum, vieta);
+  }
+  private static void assertRelativeRoots(double relTol,
+                                          ComplexBufferArray expected,
+                                          ComplexBufferArray actual)
+  {
+    for (int i = 0; i < expected.size(); i++)
+    {
+      Complex e = expected.get(i);
+      double dist = Double.POSITIVE_INFINITY;
+      for (int j = 0; j < actual.size(); j++)
+      {
+        dist = Math.min(dist, actual.get(j).subtract(e).abs());
+      }
+      if (!(dist <= relTol*e.abs()))
+      {
+        throw new RuntimeException("root " + e + " not found: " + dist);
+      }
+    }
+  }
+  private static void aberthScaleTest()
+  {
+    // the squared magnitudes of these roots and values are out of range
+    double[][][] r = {{{1e-170, 0}, {1, 0}},
+                      {{1e150, 0}, {1e-150, 0}, {0, 1}},
+                      {{1e-100, 1e-100}, {-3e-100, 0}, {2, -1}}};
+    for (double[][] rr: r)
+    {
+      ComplexBufferArray expected = new ComplexBufferArray(rr.length);
+      for (int i = 0; i < rr.length; i++)
+      {
+        expected.set(i, rr[i][0], rr[i][1]);
+      }
+      ComplexBufferArray roots = new ComplexBufferArray(rr.length);
+      if (new ComplexAberth(100).solve(fromRoots(expected), roots) < 0)
+      {
+        throw new RuntimeException("not converged");
+      }
+      assertRelativeRoots(1e-12, expected, roots);
+    }
+    // 1e-170*z^2 + 1 has the roots +-1e85i
+    ComplexBufferArray c = new ComplexBufferArray(3);
+    c.set(0, 1.0).set(2, 1e-170);
+    ComplexBufferArray roots = new ComplexBufferArray(2);
+    if (new ComplexAberth(100).solve(new ComplexPolynomial(c), roots) < 0)
+    {
+      throw new RuntimeException("not converged");
+    }
+    ComplexBufferArray expected = new ComplexBufferArray(2);
+    expected.set(0, 0.0, 1e85).set(1, 0.0, -1e85);
+    assertRelativeRoots(1e-12, expected, roots);
+  }
+  private static void aberthEdgeTest()
+  {
+    ComplexBufferArray c = new ComplexBufferArray(2);
+    c.set(0, 3).set(1, 0);
+    boolean thrown = false;
+    try
+    {
+      new ComplexAberth(10).solve(new ComplexPolynomial(c),
+                                  new ComplexBufferArray(1));
+    }
+    catch (IllegalArgumentException e)
+    {
+      thrown = true;
+    }
+    if (!thrown)
+    {
+      throw new RuntimeException("zero leading coefficient accepted");
+    }
+    if (new ComplexAberth(10).solve(new ComplexPolynomial(c.set(1, 2)),
+                                    new ComplexBufferArray(1)) < 0 ||
+        new ComplexAberth(0).solve(newPolynomial(5, 1),
+                                   new ComplexBufferArray(5)) != -1)
+    {
+      throw new RuntimeException("invalid iteration count");
+    }
+  }
+  public static void main(String[] args)
+  {
+    knownTest();
+    for (int points = 0; points < 10; points++)
+    {
+      batchTest(0, points);
+      batchTest(1, points);
+      batchTest(17, points);
+    }
+    batchTest(200, 101);
+    rootsOfUnityTest(0, 1);
+    rootsOfUnityTest(5, 16);
+    rootsOfUnityTest(40, 16);
+    rootsOfUnityTest(100, 360);
+    rootsOfUnityTest(30, 257);
+    knownRootsTest();
+    randomRootsTest(1);
+    randomRootsTest(20);
+    aberthEdgeTest();
+    aberthScaleTest();
+    ForkJoinPool pool = new ForkJoinPool(4);
+    largeDegreeTest(100, pool);
+    largeDegreeTest(1000, pool);
+    pool.shutdown();
+  }
+};
@@ -0,0 +1,1009 @@
+package fi.iki.jmtilli.javafastcomplex;
+import java.util.Random;
+/*
+  Copyright (C) 2026 Juha-Matti Tilli
+  
+  Permission is hereby granted, free of charge, to any person obtaining a copy
+  of this software and associated documentation files (the "Software"), to deal
+  in the Software without restriction, including without limitation the rights
+  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+  copies of the Software, and to permit persons to whom the Software is
+  furnished to do so, subject to the following conditions:
+  
+  The above copyright notice and this permission notice shall be included in
+  all copies or substantial portions of the Software.
+  
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+  SOFTWARE.
+ */
+public class ComplexTestSpecial {
+  private static void assertClose(double tol, ComplexNumber a,
+                                  ComplexNumber b)
+  {
+    double dr = a.getReal() - b.getReal(), di = a.getImag() - b.getImag();
+    if (!(Math.sqrt(dr*dr + di*di) <= tol*Math.max(1.0, b.abs())))
+    {
+      throw new RuntimeException("inequal: " + a + ", " + b);
+    }
+  }
+  private static void assertNaN(ComplexNumber a)
+  {
+    if (!Double.isNaN(a.getReal()) || !Double.isNaN(a.getImag()))
+    {
+      throw new RuntimeException("not NaN: " + a);
+    }
+  }
+  private static void knownTest()
+  {
+    final double euler = 0.57721566490153286061;
+    double factorial = 1;
+    for (int n = 1; n < 30; n++)
+    {
+      assertClose(1e-14, new Complex(n).gamma(), new Complex(factorial));
+      assertClose(1e-14, new Complex(n).lgamma(),
+                  new Complex(Math.log(factorial)));
+      factorial *= n;
+    }
+    assertClose(1e-15, new Complex(1).lgamma(), new Complex(0));
+    assertClose(1e-15, new Complex(2).lgamma(), new Complex(0));
+    assertClose(1e-14, new Complex(0.5).gamma(),
+                new Complex(Math.sqrt(Math.PI)));
+    assertClose(1e-14, new Complex(-0.5).gamma(),
+                new Complex(-2*Math.sqrt(Math.PI)));
+    assertClose(1e-15, new Complex(1).digamma(), new Complex(-euler));
+    assertClose(1e-15, new Complex(0.5).digamma(),
+                new Complex(-euler - 2*Math.log(2)));
+    assertClose(1e-14, new Complex(0, 1).gamma(),
+                new Complex(-0.15494982830181069, -0.49801566811835604));
+    // |z|^2 overflows, but lgamma and digamma stay finite
+    final double log1e200 = 200*Math.log(10);
+    Complex big = new Complex(1e200, 1).lgamma();
+    assertClose(1e-15, new Complex(big.getReal()/1e200),
+                new Complex(log1e200 - 1));
+    assertClose(1e-14, new Complex(big.getImag()), new Complex(log1e200));
+    big = new Complex(1, 1e200).lgamma();
+    assertClose(1e-15, big.divide(1e200),
+                new Complex(-0.5*Math.PI, log1e200 - 1));
+    assertClose(1e-15, new Complex(1e200, 1).digamma(),
+                new Complex(log1e200, 1e-200));
+    assertNaN(new Complex(0).gamma());
+    assertNaN(new Complex(-3).lgamma());
+    assertNaN(new Complex(-7).digamma());
+    assertNaN(new Complex(Double.NaN, 1).gamma());
+  }
+  /*
+     |gamma(iy)|^2 = pi/(y*sinh(pi*y)), |gamma(1/2+iy)|^2 = pi/cosh(pi*y)
+     and Im digamma(iy) = 1/(2y) + pi/2*coth(pi*y)
+   */
+  private static void imaginaryAxisTest()
+  {
+    for (double y = 0.125; y < 40; y *= 1.5)
+    {
+      double expect = Math.log(Math.PI/(y*Math.sinh(Math.PI*y)))/2;
+      double value = new Complex(0, y).lgamma().getReal();
+      if (!(Math.abs(value - expect) <= 1e-13*Math.max(1, Math.abs(expect))))
+      {
+        throw new RuntimeException("|gamma(iy)| " + value + ", " + expect);
+      }
+      expect = Math.log(Math.PI/Math.cosh(Math.PI*y))/2;
+      value = new Complex(0.5, -y).lgamma().getReal();
+      if (!(Math.abs(value - expect) <= 1e-13*Math.max(1, Math.abs(expect))))
+      {
+        throw new RuntimeException("|gamma(1/2+iy)| " + value + ", " +
+                                   expect);
+      }
+      expect = 0.5/y + 0.5*Math.PI/Math.tanh(Math.PI*y);
+      value = new Complex(0, y).digamma().getImag();
+      if (!(Math.abs(value - expect) <= 1e-13*expect))
+      {
+        throw new RuntimeException("digamma(iy) " + value + ", " + expect);
+      }
+    }
+  }
+  /*
+     lgamma(z + 1) = lgamma(z) + log(z) modulo 2*pi*i, gamma(z + 1) =
+     z*gamma(z), digamma(z + 1) = digamma(z) + 1/z, and the principal
+     branch is continuous off the negative real axis, so its imaginary part
+     agrees with the sum of the imaginary parts of log(z + k).
+   */
+  private static void recurrenceTest()
+  {
+    Random rnd = new Random(1);
+    for (int i = 0; i < 20000; i++)
+    {
+      double re = 30*rnd.nextDouble() - 15, im = 30*rnd.nextDouble() - 15;
+      if (i % 4 == 0)
+      {
+        im *= 0.01;
+      }
+      Complex z = new Complex(re, im);
+      Complex z1 = new Complex(re + 1, im);
+      Complex l = z.lgamma(), l1 = z1.lgamma();
+      Complex d = l1.subtract(l).subtract(z.log());
+      double k = Math.rint(d.getImag()/(2*Math.PI));
+      double tol = 1e-13*(1 + l.abs());
+      if (!(Math.abs(d.getReal()) <= tol) ||
+          !(Math.abs(d.getImag() - 2*Math.PI*k) <= tol))
+      {
+        throw new RuntimeException("lgamma recurrence at " + z + ": " + d);
+      }
+      if (im > 0 && re > 0 && k != 0)
+      {
+        throw new RuntimeException("lgamma branch at " + z + ": " + d);
+      }
+      if (l.getReal() < 600)
+      {
+        assertClose(1e-12, z.multiply(z.gamma()), z1.gamma());
+      }
+      assertClose(1e-13, z.digamma().add(new Complex(1).divide(z)),
+                  z1.digamma());
+      assertClose(0, z.conjugate().lgamma(), l.conjugate());
+      assertClose(0, z.conjugate().digamma(), z.digamma().conjugate());
+    }
+  }
+  /*
+     The imaginary part of the principal branch of lgamma along a line
+     Im z = y > 0 is continuous, so it may not jump when the evaluation
+     changes between the reflection formula, the recurrence, the Taylor
+     series and the Stirling series.
+   */
+  private static void continuityTest()
+  {
+    double[] ys = {1e-3, 0.05, 0.3, 1, 6.99, 7, 7.01, 20};
+    for (double y: ys)
+    {
+      Complex prev = new Complex(-20, y).lgamma();
+      for (double x = -20; x < 20; x += 1.0/512)
+      {
+        Complex cur = new Complex(x, y).lgamma();
+        Complex slope = new Complex(x, y).digamma();
+        // The step is small compared to the distance to the nearest pole,
+        // so lgamma may change at most by roughly |digamma|*h
+        double maxStep = (slope.abs() + 10/y)*(1.0/512) + 1e-9;
+        if (!(Math.abs(cur.getImag() - prev.getImag()) <= maxStep))
+        {
+          throw new RuntimeException("lgamma discontinuous at " + x + " + " +
+                                     y + "i: " + prev + ", " + cur);
+        }
+        prev = cur;
+      }
+    }
+  }
+  /*
+     The digamma function is the derivative of lgamma, checked with a
+     central difference, and gamma(z)*gamma(1 - z) = pi/sin(pi*z)
+   */
+  private static void derivativeReflectionTest()
+  {
+    Random rnd = new Random(2);
+    for (int i = 0; i < 2000; i++)
+    {
+      double re = 20*rnd.nextDouble() - 10, im = 20*rnd.nextDouble() - 10;
+      double h = 1e-5;
+      Complex z = new Complex(re, im);
+      Complex d = new Complex(re + h, im).lgamma().subtract(
+                  new Complex(re - h, im).lgamma()).divide(2*h);
+      assertClose(1e-6, d, z.digamma());
+      Complex lhs = z.gamma().multiply(new Complex(1 - re, -im).gamma());
+      Complex rhs = new Complex(Math.PI).divide(
+          z.multiply(Math.PI).sin());
+      assertClose(1e-11, lhs, rhs);
+    }
+  }
+  private static void arrayTest()
+  {
+    Random rnd = new Random(3);
+    int n = 1000;
+    ComplexBufferArray a = new ComplexBufferArray(n);
+    ComplexBufferArray b = new ComplexBufferArray(n);
+    ComplexBufferArray c = new ComplexBufferArray(n);
+    ComplexBufferArray d = new ComplexBufferArray(n);
+    for (int i = 0; i < n; i++)
+    {
+      a.set(i, 40*rnd.nextDouble() - 20, 40*rnd.nextDouble() - 20);
+    }
+    b.setAll(a);
+    c.setAll(a);
+    b.lgammaAllInPlace();
+    c.lgammaRangeInPlace(1, n - 1);
+    ComplexBuffer buf = new ComplexBuffer();
+    for (int i = 0; i < n; i++)
+    {
+      Complex expect = a.get(i).lgamma();
+      assertClose(0, b.get(i), expect);
+      assertClose(0, ComplexUtils.lgamma(a, i), expect);
+      assertClose(0, buf.set(a.get(i)).lgammaInPlace(), expect);
+      assertClose(0, c.get(i), (i == 0 || i == n - 1) ? a.get(i) : expect);
+    }
+    b.setAll(a).gammaAllInPlace();
+    c.setAll(a).digammaAllInPlace();
+    for (int i = 0; i < n; i++)
+    {
+      assertClose(0, b.get(i), a.get(i).gamma());
+      assertClose(0, c.get(i), a.get(i).digamma());
+      assertClose(0, buf.set(a.get(i)).gammaInPlace(), a.get(i).gamma());
+      assertClose(0, d.setAll(a).digammaInPlace(i).get(i),
+                  a.get(i).digamma());
+    }
+  }
+  private static void errorFunctionKnownTest()
+  {
+    double[][] w = {
+      {1, 0, 0.36787944117144233, 0.6071577058413937},
+      {0, 1, 0.427583576155807, 0},
+      {0.5, 0.001, 0.7781517183125491, 0.4781471751215842},
+      {3, -2, -0.08133907992862736, 0.12108616246299844},
+      {-6.5, 0.25, 0.003458990300212573, -0.08772622487633382},
+      {6.9, 0.3, 0.003665936636462247, 0.08248909460720535},
+      {7.1, 0.3, 0.0034562012339147716, 0.08012548578648072},
+      {20, 1, 0.001412234766392966, 0.028173995667521982},
+      {-30, -0.5, -0.00031387498369284795, -0.01881154486772567},
+      {1e-3, 2e-3, 0.9977462401578149, 0.0011243874298884008},
+      {0, -2.5, 1035.814842972623, 0}};
+    for (double[] v: w)
+    {
+      assertClose(3e-14, new Complex(v[0], v[1]).faddeeva(),
+                  new Complex(v[2], v[3]));
+      assertClose(3e-14, new Complex(v[1], -v[0]).erfcx(),
+                  new Complex(v[2], v[3]));
+    }
+    double[][] erf = {
+      {1, 0, 0.8427007929497149, 0},
+      {1, 1, 1.3161512816979477, 0.19045346923783468},
+      {1e-4, -2e-4, 0.00011283792084694159, -0.00022567583417135525},
+      {-2, 0.5, -1.0035022433130363, 0.004740903031294336},
+      {0.3, 3, 1467.6902832182313, -166.5609245255572},
+      {0, 1, 0, 1.6504257587975428}};
+    for (double[] v: erf)
+    {
+      Complex expect = new Complex(v[2], v[3]);
+      assertClose(1e-14*expect.abs(), new Complex(v[0], v[1]).erf(), expect);
+      assertClose(1e-14, new Complex(v[0], v[1]).erfc(),
+                  new Complex(1).subtract(expect));
+    }
+    double[][] erfc = {
+      {3, 0, 2.209049699858544e-05, 0},
+      {4, 4, 0.021450766923918074, -0.09733969063083187},
+      {5, -1, -2.959776546910024e-12, -2.846018382085594e-12}};
+    for (double[] v: erfc)
+    {
+      Complex expect = new Complex(v[2], v[3]);
+      assertClose(1e-14*expect.abs(), new Complex(v[0], v[1]).erfc(),
+                  expect);
+    }
+    // exact symmetries on the axes
+    if (new Complex(0, 2).erf().getReal() != 0 ||
+        new Complex(1.5, 0).erf().getImag() != 0 ||
+        new Complex(1.5, 0).faddeeva().getReal() != Math.exp(-2.25) ||
+        new Complex(0, 3).faddeeva().getImag() != 0)
+    {
+      throw new RuntimeException("error function not real on the axes");
+    }
+  }
+  /*
+     w'(z) = -2*z*w(z) + 2i/sqrt(pi), w(-conj(z)) = conj(w(z)),
+     erf(-z) = -erf(z) and erf(z) + erfc(z) = 1
+   */
+  private static void errorFunctionIdentityTest()
+  {
+    Random rnd = new Random(4);
+    Complex twoIOverSqrtPi = new Complex(0, 2/Math.sqrt(Math.PI));
+    for (int i = 0; i < 20000; i++)
+    {
+      double re = 24*rnd.nextDouble() - 12, im = 12*rnd.nextDouble() - 6;
+      if (i % 4 == 0)
+      {
+        im *= 1e-3;
+      }
+      double h = 1e-6;
+      Complex z = new Complex(re, im);
+      Complex w = z.faddeeva();
+      Complex d = new Complex(re + h, im).faddeeva().subtract(
+                  new Complex(re - h, im).faddeeva()).divide(2*h);
+      Complex expect = z.multiply(w).multiply(-2).add(twoIOverSqrtPi);
+      assertClose(1e-7*(1 + z.abs()*w.abs()), d, expect);
+      assertClose(1e-15*w.abs(), new Complex(-re, im).faddeeva(),
+                  w.conjugate());
+      Complex erf = z.erf();
+      assertClose(0, new Complex(-re, -im).erf(), erf.negate());
+      if (re*re + im*im < 16)
+      {
+        assertClose(1e-14*Math.max(1, erf.abs()), erf.add(z.erfc()),
+                    new Complex(1));
+      }
+    }
+  }
+  private static void errorFunctionArrayTest()
+  {
+    Random rnd = new Random(5);
+    int n = 1000;
+    ComplexBufferArray a = new ComplexBufferArray(n);
+    ComplexBufferArray b = new ComplexBufferArray(n);
+    for (int i = 0; i < n; i++)
+    {
+      double scale = (i % 3 == 0) ? 0.5 : (i % 3 == 1) ? 5 : 15;
+      a.set(i, scale*(2*rnd.nextDouble() - 1), scale*(2*rnd.nextDouble() - 1));
+    }
+    a.set(1, 2, 0).set(2, 0, -3).set(3, 0, 0.25).set(4, -0.25, 0);
+    ComplexBuffer buf = new ComplexBuffer();
+    b.setAll(a).faddeevaAllInPlace();
+    for (int i = 0; i < n; i++)
+    {
+      assertClose(0, b.get(i), a.get(i).faddeeva());
+      assertClose(0, buf.set(a.get(i)).faddeevaInPlace(), b.get(i));
+    }
+    b.setAll(a).erfcxAllInPlace();
+    for (int i = 0; i < n; i++)
+    {
+      assertClose(0, b.get(i), a.get(i).erfcx());
+      assertClose(0, ComplexUtils.erfcx(a, i), b.get(i));
+    }
+    b.setAll(a).erfcRangeInPlace(3, n - 5);
+    for (int i = 0; i < n; i++)
+    {
+      assertClose(0, b.get(i), (i < 3 || i >= n - 5) ? a.get(i) :
+                               a.get(i).erfc());
+    }
+    b.setAll(a).erfAllInPlace();
+    for (int i = 0; i < n; i++)
+    {
+      assertClose(0, b.get(i), a.get(i).erf());
+      assertClose(0, a.get(i).erf(), buf.set(a.get(i)).erfInPlace());
+    }
+    for (int i = 0; i < n; i++)
+    {
+      b.setAll(a).erfInPlace(i);
+      assertClose(0, b.get(i), a.get(i).erf());
+    }
+  }
+  private static void assertRelative(double tol, double scale,
+                                     ComplexNumber a, ComplexNumber b)
+  {
+    double dr = a.getReal() - b.getReal(), di = a.getImag() - b.getImag();
+    if (!(Math.sqrt(dr*dr + di*di) <= tol*Math.max(scale, b.abs())))
+    {
+      throw new RuntimeException("inequal: " + a + ", " + b);
+    }
+  }
+  private static void besselKnownTest()
+  {
+    ComplexBufferArray j = new ComplexBufferArray(12);
+    ComplexBufferArray y = new ComplexBufferArray(12);
+    ComplexBufferArray h1 = new ComplexBufferArray(12);
+    ComplexBufferArray h2 = new ComplexBufferArray(12);
+    ComplexBufferArray i = new ComplexBufferArray(12);
+    ComplexBufferArray k = new ComplexBufferArray(12);
+    Complex z = new Complex(1.5, 0.5);
+    ComplexBessel.besselJ(z, j);
+    ComplexBessel.besselY(z, y);
+    ComplexBessel.hankel1(z, h1);
+    ComplexBessel.hankel2(z, h2);
+    ComplexBessel.besselI(z, i);
+    ComplexBessel.besselK(z, k);
+    assertRelative(1e-14, 0, j.get(0),
+                   new Complex(0.5295140485479566, -0.2874548129590187));
+    assertRelative(1e-14, 0, y.get(0),
+                   new Complex(0.4639393363985016, 0.20226373155022684));
+    assertRelative(1e-14, 0, h1.get(0),
+                   new Complex(0.3272503169977297, 0.1764845234394829));
+    assertRelative(1e-14, 0, h2.get(0),
+                   new Complex(0.7317777800981834, -0.7513941493575202));
+    assertRelative(1e-14, 0, i.get(0),
+                   new Complex(1.5247265350575945, 0.47523949213396444));
+    assertRelative(1e-14, 0, k.get(0),
+                   new Complex(0.1672845613509406, -0.12565741212241094));
+    assertRelative(1e-14, 0, j.get(5),
+                   new Complex(5.9884694929751776e-05,
+                               0.0023664454637037278));
+    assertRelative(1e-14, 0, y.get(5),
+                   new Complex(-1.687486107516152, 28.005559004543496));
+    assertRelative(1e-14, 0, i.get(5),
+                   new Complex(-0.00027841781873897434,
+                               0.00278259934557562));
+    assertRelative(1e-14, 0, k.get(5),
+                   new Complex(-4.387764010521715, -34.05288787031456));
+    z = new Complex(3, 20);
+    ComplexBessel.besselJ(z, j);
+    ComplexBessel.hankel1(z, h1);
+    ComplexBessel.hankel2(z, h2);
+    assertRelative(1e-14, 0, j.get(11),
+                   new Complex(481516.53332720144, 2187443.9147433983));
+    assertRelative(1e-14, 0, h1.get(11),
+                   new Complex(-5.859265036770826e-09,
+                               -2.018276163173734e-09));
+    assertRelative(1e-14, 0, h2.get(11),
+                   new Complex(963033.0666544088, 4374887.8294867985));
+    z = new Complex(-4, 2.5);
+    ComplexBessel.besselY(z, y);
+    ComplexBessel.besselK(z, k);
+    assertRelative(1e-14, 0, y.get(2),
+                   new Complex(-1.2284625566326581, 1.4387743777747277));
+    assertRelative(1e-14, 0, k.get(2),
+                   new Complex(-13.688314391987571, 17.295784053533254));
+    ComplexBessel.besselK(new Complex(-7, -1), k);
+    assertRelative(1e-14, 0, k.get(3),
+                   new Complex(-230.91427711497258, 139.97491351099669));
+    ComplexBessel.besselY(new Complex(-12), y);
+    ComplexBessel.besselK(new Complex(-12), k);
+    assertRelative(1e-14, 0, y.get(1),
+                   new Complex(0.05709921826089652, 0.4468942089812552));
+    assertRelative(1e-14, 0, k.get(1),
+                   new Complex(-2.2907574647671874e-06, -56992.7280586067));
+    z = new Complex(12);
+    ComplexBessel.besselJ(z, j);
+    ComplexBessel.besselY(z, y);
+    ComplexBessel.besselI(z, i);
+    ComplexBessel.besselK(z, k);
+    assertRelative(1e-14, 0, j.get(1), new Complex(-0.2234471044906276));
+    assertRelative(1e-14, 0, y.get(1), new Complex(-0.05709921826089652));
+    assertRelative(1e-14, 0, i.get(1), new Complex(18141.348781638833));
+    assertRelative(1e-14, 0, k.get(1), new Complex(2.2907574647671874e-06));
+    if (j.getImag(1) != 0 || y.getImag(1) != 0 || i.getImag(1) != 0 ||
+        k.getImag(1) != 0)
+    {
+      throw new RuntimeException("real argument gives complex value");
+    }
+    ComplexBessel.besselJ(new Complex(0), j);
+    ComplexBessel.besselI(new Complex(0), i);
+    ComplexBessel.besselK(new Complex(0), k);
+    assertClose(0, j.get(0), new Complex(1));
+    assertClose(0, i.get(0), new Complex(1));
+    assertClose(0, j.get(3), new Complex(0));
+    assertNaN(k.get(0));
+    ComplexBessel.hankel1(new Complex(Double.NaN, 1), h1);
+    ComplexBessel.besselJ(new Complex(1, Double.NaN), j);
+    assertNaN(h1.get(4));
+    assertNaN(j.get(0));
+  }
+  /*
+     J_{n+1}*Y_n - J_n*Y_{n+1} = 2/(pi*z), the same for H^(1), H^(2) with
+     -4i/(pi*z), and I_n*K_{n+1} + I_{n+1}*K_n = 1/z
+   */
+  private static void besselWronskianTest()
+  {
+    final int n = 40;
+    ComplexBufferArray j = new ComplexBufferArray(n);
+    ComplexBufferArray y = new ComplexBufferArray(n);
+    ComplexBufferArray h1 = new ComplexBufferArray(n);
+    ComplexBufferArray h2 = new ComplexBufferArray(n);
+    ComplexBufferArray i = new ComplexBufferArray(n);
+    ComplexBufferArray k = new ComplexBufferArray(n);
+    Random rand = new Random(21);
+    for (int iter = 0; iter < 300; iter++)
+    {
+      double r = Math.exp(rand.nextDouble()*8 - 4);
+      double phi = (rand.nextDouble()*2 - 1)*Math.PI;
+      Complex z = new Complex(r*Math.cos(phi), r*Math.sin(phi));
+      ComplexBessel.besselJ(z, j);
+      ComplexBessel.besselY(z, y);
+      ComplexBessel.hankel1(z, h1);
+      ComplexBessel.hankel2(z, h2);
+      ComplexBessel.besselI(z, i);
+      ComplexBessel.besselK(z, k);
+      Complex jy = new Complex(2/Math.PI).divide(z);
+      Complex hh = new Complex(0, -4/Math.PI).divide(z);
+      Complex ik = new Complex(1).divide(z);
+      for (int m = 0; m + 1 < n; m++)
+      {
+        Complex a = j.get(m + 1).multiply(y.get(m));
+        Complex b = j.get(m).multiply(y.get(m + 1));
+        assertRelative(1e-13, Math.max(a.abs(), b.abs()),
+                       a.subtract(b), jy);
+        a = h1.get(m + 1).multiply(h2.get(m));
+        b = h1.get(m).multiply(h2.get(m + 1));
+        assertRelative(1e-13, Math.max(a.abs(), b.abs()),
+                       a.subtract(b), hh);
+        a = i.get(m).multiply(k.get(m + 1));
+        b = i.get(m + 1).multiply(k.get(m));
+        assertRelative(1e-13, Math.max(a.abs(), b.abs()), a.add(b), ik);
+        assertRelative(1e-13, Math.max(h1.get(m).abs(), h2.get(m).abs()),
+                       h1.get(m).add(h2.get(m)),
+                       j.get(m).multiply(2));
+      }
+    }
+  }
+  /*
+     J_n(-z) = (-1)^n*J_n(z), J_n(conj z) = conj J_n(z),
+     H^(1)_n(conj z) = conj H^(2)_n(z) and J_0 + 2*sum J_2k = 1
+   */
+  private static void besselSymmetryTest()
+  {
+    final int n = 60;
+    ComplexBufferArray a = new ComplexBufferArray(n);
+    ComplexBufferArray b = new ComplexBufferArray(n);
+    Random rand = new Random(22);
+    for (int iter = 0; iter < 200; iter++)
+    {
+      Complex z = new Complex(rand.nextDouble()*50 - 25,
+                              rand.nextDouble()*10 - 5);
+      ComplexBessel.besselJ(z, a);
+      ComplexBessel.besselJ(z.negate(), b);
+      Complex sum = a.get(0);
+      for (int m = 0; m < n; m++)
+      {
+        assertRelative(1e-14, 0, b.get(m),
+                       (m & 1) == 0 ? a.get(m) : a.get(m).negate());
+        if (m > 0 && (m & 1) == 0)
+        {
+          sum = sum.add(a.get(m).multiply(2));
+        }
+      }
+      assertRelative(1e-14, Math.exp(Math.abs(z.getImag())), sum,
+                     new Complex(1));
+      ComplexBessel.besselJ(z.conjugate(), b);
+      for (int m = 0; m < n; m++)
+      {
+        assertRelative(1e-14, 0, b.get(m), a.get(m).conjugate());
+      }
+      ComplexBessel.hankel1(z, a);
+      ComplexBessel.hankel2(z.conjugate(), b);
+      for (int m = 0; m < n; m++)
+      {
+        assertRelative(1e-14, 0, b.get(m), a.get(m).conjugate());
+      }
+    }
+  }
+  /*
+     The values must agree on both sides of the boundaries |z| = 18 and
+     |Im z| = 2 between the methods for the low orders of the Hankel
+     function
+   */
+  private static void besselContinuityTest()
+  {
+    final double eps = 1e-14;
+    ComplexBufferArray a = new ComplexBufferArray(20);
+    ComplexBufferArray b = new ComplexBufferArray(20);
+    for (double phi = -3; phi <= 3; phi += 0.25)
+    {
+      Complex lo = new Complex((18 - eps)*Math.cos(phi),
+                               (18 - eps)*Math.sin(phi));
+      Complex hi = new Complex((18 + eps)*Math.cos(phi),
+                               (18 + eps)*Math.sin(phi));
+      ComplexBessel.hankel1(lo, a);
+      ComplexBessel.hankel1(hi, b);
+      for (int m = 0; m < 20; m++)
+      {
+        assertRelative(1e-12, 0, a.get(m), b.get(m));
+      }
+    }
+    for (double x = -17; x <= 17; x += 0.5)
+    {
+      for (double sign = -1; sign <= 1; sign += 2)
+      {
+        ComplexBessel.besselK(new Complex(x, sign*(2 - eps)), a);
+        ComplexBessel.besselK(new Complex(x, sign*(2 + eps)), b);
+        for (int m = 0; m < 20; m++)
+        {
+          assertRelative(1e-12, 0, a.get(m), b.get(m));
+        }
+        ComplexBessel.besselY(new Complex(x, sign*(2 - eps)), a);
+        ComplexBessel.besselY(new Complex(x, sign*(2 + eps)), b);
+        for (int m = 0; m < 20; m++)
+        {
+          assertRelative(1e-12, 0, a.get(m), b.get(m));
+        }
+      }
+    }
+  }
+  /*
+     On the negative real axis, the imaginary part -0.0 gives the values
+     below the branch cut, Y_n(-x - 0i) = conj Y_n(-x + 0i), and the same
+     for K_n, whichever method calculates the low orders
+   */
+  private static void besselBranchCutTest()
+  {
+    ComplexBufferArray a = new ComplexBufferArray(20);
+    ComplexBufferArray b = new ComplexBufferArray(20);
+    for (double x = 0.25; x <= 30; x += 0.75)
+    {
+      ComplexBessel.besselY(new Complex(-x, 0.0), a);
+      ComplexBessel.besselY(new Complex(-x, -0.0), b);
+      for (int m = 0; m < 20; m++)
+      {
+        assertRelative(1e-14, 0, b.get(m), a.get(m).conjugate());
+      }
+      ComplexBessel.besselK(new Complex(-x, 0.0), a);
+      ComplexBessel.besselK(new Complex(-x, -0.0), b);
+      for (int m = 0; m < 20; m++)
+      {
+        assertRelative(1e-14, 0, b.get(m), a.get(m).conjugate());
+      }
+    }
+  }
+  /*
+     Many orders, and orders far beyond the argument, must underflow to
+     zero without NaN
+   */
+  private static void besselHighOrderTest()
+  {
+    ComplexBufferArray a = new ComplexBufferArray(500);
+    ComplexBessel.besselJ(new Complex(5, 5), a);
+    for (int m = 0; m < 500; m++)
+    {
+      if (Double.isNaN(a.getReal(m)) || Double.isNaN(a.getImag(m)) ||
+          a.get(m).abs() > 100)
+      {
+        throw new RuntimeException("order " + m + ": " + a.get(m));
+      }
+    }
+    if (a.get(499).abs() != 0)
+    {
+      throw new RuntimeException("no underflow: " + a.get(499));
+    }
+    ComplexBessel.besselJ(new Complex(1, 1), new ComplexBufferArray(0));
+    ComplexBessel.besselK(new Complex(1, 1), new ComplexBufferArray(1));
+  }
+  /*
+     Real orders against the power series J_nu(z) = (z/2)^nu*sum
+     (-z^2/4)^k/(k!*Gamma(nu + k + 1)), Y_nu from J_nu and J_-nu, and the
+     same for I_nu and K_nu
+   */
+  private static void besselRealKnownTest()
+  {
+    ComplexBufferArray j = new ComplexBufferArray(3);
+    ComplexBufferArray y = new ComplexBufferArray(3);
+    ComplexBufferArray i = new ComplexBufferArray(3);
+    ComplexBufferArray k = new ComplexBufferArray(3);
+    Complex z = new Complex(1.5, 0.5);
+    ComplexBessel.besselJ(0.3, z, j);
+    ComplexBessel.besselY(0.3, z, y);
+    ComplexBessel.besselI(0.3, z, i);
+    ComplexBessel.besselK(0.3, z, k);
+    assertRelative(1e-14, 0, j.get(0),
+                   new Complex(0.6792842249692951, -0.173686290141284));
+    assertRelative(1e-14, 0, y.get(0),
+                   new Complex(0.19049347382565562, 0.30322708128958575));
+    assertRelative(1e-14, 0, i.get(0),
+                   new Complex(1.4128135482276836, 0.5072661843634945));
+    assertRelative(1e-14, 0, k.get(0),
+                   new Complex(0.17023353990276635, -0.1294825201900138));
+    z = new Complex(-2, 1);
+    ComplexBessel.besselJ(1.7, z, j);
+    ComplexBessel.besselY(1.7, z, y);
+    ComplexBessel.besselI(1.7, z, i);
+    ComplexBessel.besselK(1.7, z, k);
+    assertRelative(1e-14, 0, j.get(0),
+                   new Complex(0.142157808427884, -0.5829619297980692));
+    assertRelative(1e-14, 0, y.get(0),
+                   new Complex(0.36717788670452295, -0.017342475786586282));
+    assertRelative(1e-14, 0, i.get(0),
+                   new Complex(-0.5014921251826404, -0.9092660322774089));
+    assertRelative(1e-14, 0, k.get(0),
+                   new Complex(-3.0806302899625315, -1.2588012266623518));
+    z = new Complex(0.3, -0.2);
+    ComplexBessel.besselJ(2.25, z, j);
+    ComplexBessel.besselY(2.25, z, y);
+    ComplexBessel.besselI(2.25, z, i);
+    ComplexBessel.besselK(2.25, z, k);
+    assertRelative(1e-14, 0, j.get(0),
+                   new Complex(0.0021036769980033246, -0.008003537003523575));
+    assertRelative(1e-14, 0, y.get(0),
+                   new Complex(-4.62778385320434, -16.558298367168526));
+    assertRelative(1e-14, 0, i.get(0),
+                   new Complex(0.0019706702186122306, -0.00810309995949074));
+    assertRelative(1e-14, 0, k.get(0),
+                   new Complex(5.8914338309565855, 25.81034458377938));
+    // the values below the branch cut
+    z = new Complex(-3.5, -0.0);
+    ComplexBessel.besselJ(0.3, z, j);
+    ComplexBessel.besselY(0.3, z, y);
+    ComplexBessel.besselI(0.3, z, i);
+    ComplexBessel.besselK(0.3, z, k);
+    assertRelative(1e-14, 0, j.get(0),
+                   new Complex(-0.15136303127297338, 0.2083333396718334));
+    assertRelative(1e-14, 0, y.get(0),
+                   new Complex(0.19890064960063755, 0.5764893206262363));
+    assertRelative(1e-14, 0, i.get(0),
+                   new Complex(4.265686521994981, -5.871213807271453));
+    assertRelative(1e-14, 0, k.get(0),
+                   new Complex(0.011652212052648459, 22.815264971834015));
+    ComplexBessel.besselJ(0.3, new Complex(3), j);
+    ComplexBessel.besselK(0.3, new Complex(3), k);
+    if (j.getImag(1) != 0 || k.getImag(2) != 0)
+    {
+      throw new RuntimeException("real argument gives complex value");
+    }
+    ComplexBessel.besselJ(0.5, new Complex(0), j);
+    ComplexBessel.besselI(0.0, new Complex(0), i);
+    ComplexBessel.besselK(0.5, new Complex(0), k);
+    assertClose(0, j.get(0), new Complex(0));
+    assertClose(0, i.get(0), new Complex(1));
+    assertClose(0, i.get(1), new Complex(0));
+    assertNaN(k.get(0));
+    ComplexBessel.besselY(0.5, new Complex(Double.NaN, 1), y);
+    assertNaN(y.get(2));
+    try
+    {
+      ComplexBessel.besselJ(-0.5, new Complex(1), j);
+      throw new RuntimeException("negative order accepted");
+    }
+    catch (IllegalArgumentException e)
+    {
+    }
+  }
+  /*
+     The real orders must agree with the integer and half-integer orders,
+     and satisfy the Wronskians of the integer orders
+   */
+  private static void besselRealOrderTest()
+  {
+    final int n = 30;
+    ComplexBufferArray a = new ComplexBufferArray(n);
+    ComplexBufferArray b = new ComplexBufferArray(n);
+    ComplexBufferArray j = new ComplexBufferArray(n);
+    ComplexBufferArray y = new ComplexBufferArray(n);
+    ComplexBufferArray h1 = new ComplexBufferArray(n);
+    ComplexBufferArray h2 = new ComplexBufferArray(n);
+    ComplexBufferArray i = new ComplexBufferArray(n);
+    ComplexBufferArray k = new ComplexBufferArray(n);
+    ComplexBufferArray c = new ComplexBufferArray(n + 2);
+    ComplexBufferArray d = new ComplexBufferArray(n + 2);
+    Random rand = new Random(25);
+    for (int iter = 0; iter < 300; iter++)
+    {
+      double r = Math.exp(rand.nextDouble()*8 - 4);
+      double phi = (rand.nextDouble()*2 - 1)*Math.PI;
+      Complex z = new Complex(r*Math.cos(phi), r*Math.sin(phi));
+      ComplexBessel.besselJ(1.0, z, a);
+      ComplexBessel.besselJ(z, c);
+      ComplexBessel.hankel1(2.0, z, h1);
+      ComplexBessel.hankel1(z, d);
+      for (int m = 0; m < n; m++)
+      {
+        assertRelative(1e-13, 0, a.get(m), c.get(m + 1));
+        assertRelative(1e-13, 0, h1.get(m), d.get(m + 2));
+      }
+      ComplexBessel.besselK(1.0, z, a);
+      ComplexBessel.besselK(z, c);
+      ComplexBessel.besselY(0.5, z, y);
+      ComplexBessel.besselYHalf(z, b);
+      for (int m = 0; m < n; m++)
+      {
+        assertRelative(1e-13, 0, a.get(m), c.get(m + 1));
+        // the zeros of Y are measured against the size of H
+        assertRelative(1e-13, 1/Math.sqrt(r), y.get(m), b.get(m));
+      }
+      double nu = rand.nextDouble()*10;
+      ComplexBessel.besselJ(nu, z, j);
+      ComplexBessel.besselY(nu, z, y);
+      ComplexBessel.hankel1(nu, z, h1);
+      ComplexBessel.hankel2(nu, z, h2);
+      ComplexBessel.besselI(nu, z, i);
+      ComplexBessel.besselK(nu, z, k);
+      Complex jy = new Complex(2/Math.PI).divide(z);
+      Complex hh = new Complex(0, -4/Math.PI).divide(z);
+      Complex ik = new Complex(1).divide(z);
+      for (int m = 0; m + 1 < n; m++)
+      {
+        Complex p = j.get(m + 1).multiply(y.get(m));
+        Complex q = j.get(m).multiply(y.get(m + 1));
+        assertRelative(1e-13, Math.max(p.abs(), q.abs()),
+                       p.subtract(q), jy);
+        p = h1.get(m + 1).multiply(h2.get(m));
+        q = h1.get(m).multiply(h2.get(m + 1));
+        assertRelative(1e-13, Math.max(p.abs(), q.abs()),
+                       p.subtract(q), hh);
+        p = i.get(m).multiply(k.get(m + 1));
+        q = i.get(m + 1).multiply(k.get(m));
+        assertRelative(1e-13, Math.max(p.abs(), q.abs()), p.add(q), ik);
+        assertRelative(1e-13, Math.max(h1.get(m).abs(), h2.get(m).abs()),
+                       h1.get(m).add(h2.get(m)),
+                       j.get(m).multiply(2));
+      }
+    }
+  }
+  /*
+     The elementary spherical functions of the orders 0, 1 and 2, and the
+     half-integer orders J_{1/2}(z) = sqrt(2/(pi*z))*sin(z) and
+     Y_{1/2}(z) = -sqrt(2/(pi*z))*cos(z)
+   */
+  private static void sphericalKnownTest()
+  {
+    ComplexBufferArray j = new ComplexBufferArray(8);
+    ComplexBufferArray y = new ComplexBufferArray(8);
+    ComplexBufferArray h1 = new ComplexBufferArray(8);
+    ComplexBufferArray h2 = new ComplexBufferArray(8);
+    ComplexBufferArray jh = new ComplexBufferArray(8);
+    ComplexBufferArray yh = new ComplexBufferArray(8);
+    ComplexBufferArray h1h = new ComplexBufferArray(8);
+    ComplexBufferArray h2h = new ComplexBufferArray(8);
+    Complex[] zs = {new Complex(1.5, 0.5), new Complex(Math.PI),
+                    new Complex(-4, 2.5), new Complex(3, 20),
+                    new Complex(0.25, -0.125), new Complex(-7, -1),
+                    new Complex(30, 0.5), new Complex(-7.5)};
+    for (Complex z: zs)
+    {
+      ComplexBessel.sphericalJ(z, j);
+      ComplexBessel.sphericalY(z, y);
+      ComplexBessel.sphericalHankel1(z, h1);
+      ComplexBessel.sphericalHankel2(z, h2);
+      ComplexBessel.besselJHalf(z, jh);
+      ComplexBessel.besselYHalf(z, yh);
+      ComplexBessel.hankel1Half(z, h1h);
+      ComplexBessel.hankel2Half(z, h2h);
+      Complex sin = z.sin(), cos = z.cos();
+      Complex j0 = sin.divide(z), j1 = j0.subtract(cos).divide(z);
+      Complex j2 = j1.multiply(3).divide(z).subtract(j0);
+      Complex y0 = cos.divide(z).negate(), y1 = y0.subtract(sin).divide(z);
+      Complex y2 = y1.multiply(3).divide(z).subtract(y0);
+      Complex[] jr = {j0, j1, j2}, yr = {y0, y1, y2};
+      double e = sin.abs() + cos.abs();
+      double r = z.abs();
+      for (int m = 0; m <= 2; m++)
+      {
+        // the upward recurrence of the reference cancels for small |z|
+        double scale = e*Math.max(1/r, Math.pow(r, -m - 1));
+        assertRelative(1e-13, scale, j.get(m), jr[m]);
+        assertRelative(1e-13, scale, y.get(m), yr[m]);
+        Complex iy = yr[m].multiply(new Complex(0, 1));
+        assertRelative(1e-13, scale, h1.get(m), jr[m].add(iy));
+        assertRelative(1e-13, scale, h2.get(m), jr[m].subtract(iy));
+      }
+      Complex sq = new Complex(2/Math.PI).divide(z).sqrt();
+      if (z.getImag() == 0 && z.getReal() < 0)
+      {
+        // the value from above the branch cut
+        sq = new Complex(0, -Math.sqrt(-2/(Math.PI*z.getReal())));
+      }
+      assertRelative(1e-13, e*sq.abs(), jh.get(0), sq.multiply(sin));
+      assertRelative(1e-13, e*sq.abs(), yh.get(0),
+                     sq.multiply(cos).negate());
+      Complex w = sq.multiply(z);
+      for (int m = 0; m < 8; m++)
+      {
+        assertRelative(1e-14, 0, jh.get(m), w.multiply(j.get(m)));
+        assertRelative(1e-14, 0, yh.get(m), w.multiply(y.get(m)));
+        assertRelative(1e-14, 0, h1h.get(m), w.multiply(h1.get(m)));
+        assertRelative(1e-14, 0, h2h.get(m), w.multiply(h2.get(m)));
+      }
+    }
+    ComplexBessel.sphericalJ(new Complex(-7.5), j);
+    ComplexBessel.sphericalY(new Complex(-7.5), y);
+    ComplexBessel.besselJHalf(new Complex(7.5), jh);
+    for (int m = 0; m < 8; m++)
+    {
+      if (j.getImag(m) != 0 || y.getImag(m) != 0 || jh.getImag(m) != 0)
+      {
+        throw new RuntimeException("real argument gives complex value");
+      }
+    }
+    ComplexBessel.sphericalJ(new Complex(0), j);
+    ComplexBessel.besselJHalf(new Complex(0), jh);
+    ComplexBessel.sphericalY(new Complex(0), y);
+    ComplexBessel.hankel1Half(new Complex(0), h1h);
+    assertClose(0, j.get(0), new Complex(1));
+    assertClose(0, j.get(3), new Complex(0));
+    assertClose(0, jh.get(0), new Complex(0));
+    assertNaN(y.get(0));
+    assertNaN(h1h.get(2));
+    ComplexBessel.sphericalHankel2(new Complex(Double.NaN, 1), h2);
+    ComplexBessel.besselYHalf(new Complex(1, Double.NaN), yh);
+    assertNaN(h2.get(4));
+    assertNaN(yh.get(0));
+    ComplexBessel.sphericalJ(new Complex(1, 1), new ComplexBufferArray(0));
+    ComplexBessel.sphericalY(new Complex(1, 1), new ComplexBufferArray(1));
+  }
+  /*
+     j_{n+1}*y_n - j_n*y_{n+1} = 1/z^2, the same for h^(1), h^(2) with
+     -2i/z^2, h^(1) + h^(2) = 2*j, the Wronskian of the half-integer
+     orders 2/(pi*z), and sum (2n + 1)*j_n^2 = 1
+   */
+  private static void sphericalWronskianTest()
+  {
+    final int n = 40;
+    ComplexBufferArray j = new ComplexBufferArray(n);
+    ComplexBufferArray y = new ComplexBufferArray(n);
+    ComplexBufferArray h1 = new ComplexBufferArray(n);
+    ComplexBufferArray h2 = new ComplexBufferArray(n);
+    ComplexBufferArray jh = new ComplexBufferArray(n);
+    ComplexBufferArray yh = new ComplexBufferArray(n);
+    Random rand = new Random(23);
+    for (int iter = 0; iter < 300; iter++)
+    {
+      double r = Math.exp(rand.nextDouble()*7 - 4);
+      double phi = (rand.nextDouble()*2 - 1)*Math.PI;
+      Complex z = new Complex(r*Math.cos(phi), r*Math.sin(phi));
+      ComplexBessel.sphericalJ(z, j);
+      ComplexBessel.sphericalY(z, y);
+      ComplexBessel.sphericalHankel1(z, h1);
+      ComplexBessel.sphericalHankel2(z, h2);
+      ComplexBessel.besselJHalf(z, jh);
+      ComplexBessel.besselYHalf(z, yh);
+      Complex z2 = z.multiply(z);
+      Complex jy = new Complex(1).divide(z2);
+      Complex hh = new Complex(0, -2).divide(z2);
+      Complex jyh = new Complex(2/Math.PI).divide(z);
+      Complex sum = new Complex(0);
+      for (int m = 0; m + 1 < n; m++)
+      {
+        Complex a = j.get(m + 1).multiply(y.get(m));
+        Complex b = j.get(m).multiply(y.get(m + 1));
+        assertRelative(1e-13, Math.max(a.abs(), b.abs()),
+                       a.subtract(b), jy);
+        a = h1.get(m + 1).multiply(h2.get(m));
+        b = h1.get(m).multiply(h2.get(m + 1));
+        assertRelative(1e-13, Math.max(a.abs(), b.abs()),
+                       a.subtract(b), hh);
+        a = jh.get(m + 1).multiply(yh.get(m));
+        b = jh.get(m).multiply(yh.get(m + 1));
+        assertRelative(1e-13, Math.max(a.abs(), b.abs()),
+                       a.subtract(b), jyh);
+        assertRelative(1e-13, Math.max(h1.get(m).abs(), h2.get(m).abs()),
+                       h1.get(m).add(h2.get(m)),
+                       j.get(m).multiply(2));
+        sum = sum.add(j.get(m).multiply(j.get(m)).multiply(2*m + 1));
+      }
+      assertRelative(1e-13, Math.exp(2*Math.abs(z.getImag())), sum,
+                     new Complex(1));
+    }
+  }
+  /*
+     j_n(-z) = (-1)^n*j_n(z), y_n(-z) = (-1)^(n+1)*y_n(z),
+     j_n(conj z) = conj j_n(z) and h^(1)_n(conj z) = conj h^(2)_n(z)
+   */
+  private static void sphericalSymmetryTest()
+  {
+    final int n = 60;
+    ComplexBufferArray a = new ComplexBufferArray(n);
+    ComplexBufferArray b = new ComplexBufferArray(n);
+    Random rand = new Random(24);
+    for (int iter = 0; iter < 200; iter++)
+    {
+      Complex z = new Complex(rand.nextDouble()*50 - 25,
+                              rand.nextDouble()*10 - 5);
+      ComplexBessel.sphericalJ(z, a);
+      ComplexBessel.sphericalJ(z.negate(), b);
+      for (int m = 0; m < n; m++)
+      {
+        assertRelative(1e-14, 0, b.get(m),
+                       (m & 1) == 0 ? a.get(m) : a.get(m).negate());
+      }
+      ComplexBessel.sphericalJ(z.conjugate(), b);
+      for (int m = 0; m < n; m++)
+      {
+        assertRelative(1e-14, 0, b.get(m), a.get(m).conjugate());
+      }
+      ComplexBessel.sphericalY(z, a);
+      ComplexBessel.sphericalY(z.negate(), b);
+      for (int m = 0; m < n; m++)
+      {
+        assertRelative(1e-13, 0, b.get(m),
+                       (m & 1) == 0 ? a.get(m).negate() : a.get(m));
+      }
+      ComplexBessel.sphericalHankel1(z, a);
+      ComplexBessel.sphericalHankel2(z.conjugate(), b);
+      for (int m = 0; m < n; m++)
+      {
+        assertRelative(1e-14, 0, b.get(m), a.get(m).conjugate());
+      }
+    }
+  }
+  public static void main(String[] args)
+  {
+    knownTest();
+    imaginaryAxisTest();
+    recurrenceTest();
+    continuityTest();
+    derivativeReflectionTest();
+    arrayTest();
+    errorFunctionKnownTest();
+    errorFunctionIdentityTest();
+    errorFunctionArrayTest();
+    besselKnownTest();
+    besselWronskianTest();
+    besselSymmetryTest();
+    besselContinuityTest();
+    besselBranchCutTest();
+    besselHighOrderTest();
+    besselRealKnownTest();
+    besselRealOrderTest();
+    sphericalKnownTest();
+    sphericalWronskianTest();
+    sphericalSymmetryTest();
+  }
+};
@@ -253,16 +253,35 @@ public class ComplexUtils {
                .multiplyInPlace(b, j).expInPlace().get();
   }
 
+  /**
+     Returns the absolute value of a complex number given as its real and
+     imaginary parts.
+
+     If the complex number is NaN, returns NaN. If the complex
+     number is infinite, returns the infinity.
+
+     @param re The real part
+     @param im The imaginary part
+     @return The absolute value of the complex number.
+   */
+  static double abs(double re, double im)
+  {
+    if (Double.isNaN(re) || Double.isNaN(im))
+    {
+      // This is required: otherwise infinity overrides NaN
+      return Double.NaN;
+    }
+    return Math.hypot(re, im);
+  }
   /**
      Calculate an auxiliary number for square root calculation
 
-     @param c The complex number
+     @param re The real part of the complex number
+     @param im The imaginary part of the complex number
      @return The auxiliary number
    */
-  static double calcSqrtAuxiliaryNumber(ComplexNumber c)
+  static double calcSqrtAuxiliaryNumber(double re, double im)
   {
-    final double re = c.getReal();
-    final double im = c.getImag();
     if (re == 0 && im == 0)
     {
       return 0.0;
@@ -284,31 +303,23 @@ public class ComplexUtils {
   /**
      Calculate an auxiliary number for square root calculation
 
+     @param c The complex number
+     @return The auxiliary number
+   */
+  static double calcSqrtAuxiliaryNumber(ComplexNumber c)
+  {
+    return calcSqrtAuxiliaryNumber(c.getReal(), c.getImag());
+  }
+  /**
+     Calculate an auxiliary number for square root calculation
+
      @param c The complex number array
      @param i The array index
      @return The auxiliary number
    */
   static double calcSqrtAuxiliaryNumber(ComplexNumberArray c, int i)
   {
-    final double re = c.getReal(i);
-    final double im = c.getImag(i);
-    if (re == 0 && im == 0)
-    {
-      return 0.0;
-    }
-    else if (Math.abs(re) >= Math.abs(im))
-    {
-      final double im_div_re = im/re;
-      return   Math.sqrt(Math.abs(re))
-             * Math.sqrt(0.5 + 0.5*Math.sqrt(1 + im_div_re*im_div_re));
-    }
-    else
-    {
-      final double re_div_im = re/im;
-      return   Math.sqrt(Math.abs(im))
-             * Math.sqrt(0.5 * (  Math.abs(re_div_im)
-                                + Math.sqrt(1 + re_div_im*re_div_im)));
-    }
+    return calcSqrtAuxiliaryNumber(c.getReal(i), c.getImag(i));
   }
 
   /**
@@ -1452,6 +1463,173 @@ public class ComplexUtils {
     final double d = Math.cosh(real_x2) + Math.cos(imag_x2);
     return new Complex(Math.sinh(real_x2)/d, Math.sin(imag_x2)/d);
   }
+  /**
+     Calculate the principal branch of the log-gamma function of a complex
+     number.
+    
+     @param c The complex number
+     @return The log-gamma function of c
+   */
+  public static Complex lgamma(ComplexNumber c)
+  {
+    return ComplexGamma.lgamma(c.getReal(), c.getImag(), new ComplexBuffer())
+                       .get();
+  }
+  /**
+     Calculate the principal branch of the log-gamma function of a complex
+     number.
+    
+     @param c The complex number array
+     @param i The array index
+     @return The log-gamma function of c
+   */
+  public static Complex lgamma(ComplexNumberArray c, int i)
+  {
+    return ComplexGamma.lgamma(c.getReal(i), c.getImag(i), new ComplexBuffer())
+                       .get();
+  }
+  /**
+     Calculate the gamma function of a complex number.
+    
+     @param c The complex number
+     @return The gamma function of c
+   */
+  public static Complex gamma(ComplexNumber c)
+  {
+    return ComplexGamma.gamma(c.getReal(), c.getImag(), new ComplexBuffer())
+                       .get();
+  }
+  /**
+     Calculate the gamma function of a complex number.
+    
+     @param c The complex number array
+     @param i The array index
+     @return The gamma function of c
+   */
+  public static Complex gamma(ComplexNumberArray c, int i)
+  {
+    return ComplexGamma.gamma(c.getReal(i), c.getImag(i), new ComplexBuffer())
+                       .get();
+  }
+  /**
+     Calculate the digamma function of a complex number.
+    
+     @param c The complex number
+     @return The digamma function of c
+   */
+  public static Complex digamma(ComplexNumber c)
+  {
+    return ComplexGamma.digamma(c.getReal(), c.getImag(), new ComplexBuffer())
+                       .get();
+  }
+  /**
+     Calculate the digamma function of a complex number.
+    
+     @param c The complex number array
+     @param i The array index
+     @return The digamma function of c
+   */
+  public static Complex digamma(ComplexNumberArray c, int i)
+  {
+    return ComplexGamma.digamma(c.getReal(i), c.getImag(i), new ComplexBuffer())
+                       .get();
+  }
+  /**
+     Calculate the Faddeeva function w(z) = exp(-z^2)*erfc(-iz) of a complex
+     number.
+    
+     @param c The complex number
+     @return The Faddeeva function of c
+   */
+  public static Complex faddeeva(ComplexNumber c)
+  {
+    return ComplexFaddeeva.faddeeva(c.getReal(), c.getImag(),
+                              new ComplexBuffer()).get();
+  }
+  /**
+     Calculate the Faddeeva function w(z) = exp(-z^2)*erfc(-iz) of a complex
+     number.
+    
+     @param c The complex number array
+     @param i The array index
+     @return The Faddeeva function of c
+   */
+  public static Complex faddeeva(ComplexNumberArray c, int i)
+  {
+    return ComplexFaddeeva.faddeeva(c.getReal(i), c.getImag(i),
+                              new ComplexBuffer()).get();
+  }
+  /**
+     Calculate the error function of a complex number.
+    
+     @param c The complex number
+     @return The error function of c
+   */
+  public static Complex erf(ComplexNumber c)
+  {
+    return ComplexFaddeeva.erf(c.getReal(), c.getImag(), new ComplexBuffer())
+                          .get();
+  }
+  /**
+     Calculate the error function of a complex number.
+    
+     @param c The complex number array
+     @param i The array index
+     @return The error function of c
+   */
+  public static Complex erf(ComplexNumberArray c, int i)
+  {
+    return ComplexFaddeeva.erf(c.getReal(i), c.getImag(i),
+                              new ComplexBuffer()).get();
+  }
+  /**
+     Calculate the complementary error function of a complex number.
+    
+     @param c The complex number
+     @return The complementary error function of c
+   */
+  public static Complex erfc(ComplexNumber c)
+  {
+    return ComplexFaddeeva.erfc(c.getReal(), c.getImag(), new ComplexBuffer())
+                          .get();
+  }
+  /**
+     Calculate the complementary error function of a complex number.
+    
+     @param c The complex number array
+     @param i The array index
+     @return The complementary error function of c
+   */
+  public static Complex erfc(ComplexNumberArray c, int i)
+  {
+    return ComplexFaddeeva.erfc(c.getReal(i), c.getImag(i),
+                              new ComplexBuffer()).get();
+  }
+  /**
+     Calculate the scaled complementary error function exp(z^2)*erfc(z) of a
+     complex number.
+    
+     @param c The complex number
+     @return The scaled complementary error function of c
+   */
+  public static Complex erfcx(ComplexNumber c)
+  {
+    return ComplexFaddeeva.erfcx(c.getReal(), c.getImag(), new ComplexBuffer())
+                          .get();
+  }
+  /**
+     Calculate the scaled complementary error function exp(z^2)*erfc(z) of a
+     complex number.
+    
+     @param c The complex number array
+     @param i The array index
+     @return The scaled complementary error function of c
+   */
+  public static Complex erfcx(ComplexNumberArray c, int i)
+  {
+    return ComplexFaddeeva.erfcx(c.getReal(i), c.getImag(i),
+                              new ComplexBuffer()).get();
+  }
 
   /**
      Returns a hash code of the complex number.